@@ -38,8 +38,6 @@ import static io.atomix.core.counter.impl.AtomicCounterOperations.GET_AND_INCREM
 import static io.atomix.core.counter.impl.AtomicCounterOperations.INCREMENT_AND_GET;
 import static io.atomix.core.counter.impl.AtomicCounterOperations.SET;
 
-import java.util.Objects;
-
 /**
  * Atomix long state.
  */
@@ -49,7 +47,7 @@ public class AtomicCounterService extends AbstractPrimitiveService {
       .register(AtomicCounterOperations.NAMESPACE)
       .build());
 
-  private Long value = 0L;
+  private long value;
 
   @Override
   protected void configure(ServiceExecutor executor) {
@@ -89,7 +87,7 @@ public class AtomicCounterService extends AbstractPrimitiveService {
    * @param commit the commit to handle
    * @return counter value
    */
-  protected Long get(Commit<Void> commit) {
+  protected long get(Commit<Void> commit) {
     return value;
   }
 
@@ -100,7 +98,8 @@ public class AtomicCounterService extends AbstractPrimitiveService {
    * @return counter value
    */
   protected boolean compareAndSet(Commit<CompareAndSet> commit) {
-    if (Objects.equals(value, commit.value().expect())) {
+    Long expect = commit.value().expect();
+    if (expect != null && value == expect) {
       value = commit.value().update();
       return true;
     }
@@ -114,9 +113,7 @@ public class AtomicCounterService extends AbstractPrimitiveService {
    * @return counter value
    */
   protected long incrementAndGet(Commit<Void> commit) {
-    Long oldValue = value;
-    value = oldValue + 1;
-    return value;
+    return ++value;
   }
 
   /**
@@ -126,9 +123,7 @@ public class AtomicCounterService extends AbstractPrimitiveService {
    * @return counter value
    */
   protected long getAndIncrement(Commit<Void> commit) {
-    Long oldValue = value;
-    value = oldValue + 1;
-    return oldValue;
+    return value++;
   }
 
   /**
@@ -138,9 +133,7 @@ public class AtomicCounterService extends AbstractPrimitiveService {
    * @return counter value
    */
   protected long decrementAndGet(Commit<Void> commit) {
-    Long oldValue = value;
-    value = oldValue - 1;
-    return value;
+    return --value;
   }
 
   /**
@@ -150,9 +143,7 @@ public class AtomicCounterService extends AbstractPrimitiveService {
    * @return counter value
    */
   protected long getAndDecrement(Commit<Void> commit) {
-    Long oldValue = value;
-    value = oldValue - 1;
-    return oldValue;
+    return value--;
   }
 
   /**
@@ -162,8 +153,7 @@ public class AtomicCounterService extends AbstractPrimitiveService {
    * @return counter value
    */
   protected long addAndGet(Commit<AddAndGet> commit) {
-    Long oldValue = value;
-    value = oldValue + commit.value().delta();
+    value += commit.value().delta();
     return value;
   }
 
@@ -174,8 +164,8 @@ public class AtomicCounterService extends AbstractPrimitiveService {
    * @return counter value
    */
   protected long getAndAdd(Commit<GetAndAdd> commit) {
-    Long oldValue = value;
-    value = oldValue + commit.value().delta();
+    long oldValue = value;
+    value += commit.value().delta();
     return oldValue;
   }
 }
\ No newline at end of file
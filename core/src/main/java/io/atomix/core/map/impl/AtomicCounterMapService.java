@@ -52,9 +52,6 @@ import static io.atomix.core.map.impl.AtomicCounterMapOperations.REMOVE_VALUE;
 import static io.atomix.core.map.impl.AtomicCounterMapOperations.REPLACE;
 import static io.atomix.core.map.impl.AtomicCounterMapOperations.SIZE;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Atomic counter map state for Atomix.
  * <p>
@@ -70,7 +67,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
       .register(AtomicCounterMapOperations.NAMESPACE)
       .build());
 
-  private Map<String, Long> map = new HashMap<>();
+  private StringLongHashMap map = new StringLongHashMap();
 
   @Override
   protected void configure(ServiceExecutor executor) {
@@ -93,23 +90,12 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
 
   @Override
   public void backup(BufferOutput<?> writer) {
-    writer.writeObject(map, SERIALIZER::encode);
+    map.writeTo(writer);
   }
 
   @Override
   public void restore(BufferInput<?> reader) {
-    map = reader.readObject(SERIALIZER::decode);
-  }
-
-  /**
-   * Returns the primitive value for the given primitive wrapper.
-   */
-  private long primitive(Long value) {
-    if (value != null) {
-      return value;
-    } else {
-      return 0;
-    }
+    map = StringLongHashMap.readFrom(reader);
   }
 
   /**
@@ -119,7 +105,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return put result
    */
   protected long put(Commit<Put> commit) {
-    return primitive(map.put(commit.value().key(), commit.value().value()));
+    return map.put(commit.value().key(), commit.value().value());
   }
 
   /**
@@ -129,7 +115,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return putIfAbsent result
    */
   protected long putIfAbsent(Commit<PutIfAbsent> commit) {
-    return primitive(map.putIfAbsent(commit.value().key(), commit.value().value()));
+    return map.putIfAbsent(commit.value().key(), commit.value().value());
   }
 
   /**
@@ -139,7 +125,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return get result
    */
   protected long get(Commit<Get> commit) {
-    return primitive(map.get(commit.value().key()));
+    return map.get(commit.value().key());
   }
 
   /**
@@ -149,15 +135,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return replace result
    */
   protected boolean replace(Commit<Replace> commit) {
-    Long value = map.get(commit.value().key());
-    if (value == null) {
-      if (commit.value().replace() == 0) {
-        map.put(commit.value().key(), commit.value().value());
-        return true;
-      } else {
-        return false;
-      }
-    } else if (value == commit.value().replace()) {
+    if (map.get(commit.value().key()) == commit.value().replace()) {
       map.put(commit.value().key(), commit.value().value());
       return true;
     }
@@ -171,7 +149,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return remove result
    */
   protected long remove(Commit<Remove> commit) {
-    return primitive(map.remove(commit.value().key()));
+    return map.remove(commit.value().key());
   }
 
   /**
@@ -181,14 +159,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return removeValue result
    */
   protected boolean removeValue(Commit<RemoveValue> commit) {
-    Long value = map.get(commit.value().key());
-    if (value == null) {
-      if (commit.value().value() == 0) {
-        map.remove(commit.value().key());
-        return true;
-      }
-      return false;
-    } else if (value == commit.value().value()) {
+    if (map.get(commit.value().key()) == commit.value().value()) {
       map.remove(commit.value().key());
       return true;
     }
@@ -203,9 +174,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return getAndIncrement result
    */
   protected long getAndIncrement(Commit<GetAndIncrement> commit) {
-    long value = primitive(map.get(commit.value().key()));
-    map.put(commit.value().key(), value + 1);
-    return value;
+    return map.getAndAdd(commit.value().key(), 1);
   }
 
   /**
@@ -216,9 +185,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return getAndDecrement result
    */
   protected long getAndDecrement(Commit<GetAndDecrement> commit) {
-    long value = primitive(map.get(commit.value().key()));
-    map.put(commit.value().key(), value - 1);
-    return value;
+    return map.getAndAdd(commit.value().key(), -1);
   }
 
   /**
@@ -229,9 +196,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return incrementAndGet result
    */
   protected long incrementAndGet(Commit<IncrementAndGet> commit) {
-    long value = primitive(map.get(commit.value().key()));
-    map.put(commit.value().key(), ++value);
-    return value;
+    return map.addAndGet(commit.value().key(), 1);
   }
 
   /**
@@ -242,9 +207,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return decrementAndGet result
    */
   protected long decrementAndGet(Commit<DecrementAndGet> commit) {
-    long value = primitive(map.get(commit.value().key()));
-    map.put(commit.value().key(), --value);
-    return value;
+    return map.addAndGet(commit.value().key(), -1);
   }
 
   /**
@@ -254,10 +217,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return addAndGet result
    */
   protected long addAndGet(Commit<AddAndGet> commit) {
-    long value = primitive(map.get(commit.value().key()));
-    value += commit.value().delta();
-    map.put(commit.value().key(), value);
-    return value;
+    return map.addAndGet(commit.value().key(), commit.value().delta());
   }
 
   /**
@@ -267,9 +227,7 @@ public class AtomicCounterMapService extends AbstractPrimitiveService {
    * @return getAndAdd result
    */
   protected long getAndAdd(Commit<GetAndAdd> commit) {
-    long value = primitive(map.get(commit.value().key()));
-    map.put(commit.value().key(), value + commit.value().delta());
-    return value;
+    return map.getAndAdd(commit.value().key(), commit.value().delta());
   }
 
   /**
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.core.map.impl;
+
+import io.atomix.storage.buffer.BufferInput;
+import io.atomix.storage.buffer.BufferOutput;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Open addressing hash map of {@code String} keys to primitive {@code long} values.
+ * <p>
+ * Keys and values are stored in parallel arrays and collisions are resolved by linear probing, so reads and
+ * updates of existing keys do not allocate. Removals use backward shift deletion rather than tombstones to keep
+ * probe sequences short under heavy churn. The map can be written to and read from a buffer as a packed stream of
+ * varint-prefixed UTF-8 keys and zig-zag varint encoded values.
+ */
+final class StringLongHashMap {
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final float LOAD_FACTOR = .5f;
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  private String[] keys;
+  private long[] values;
+  private int size;
+  private int resizeThreshold;
+
+  StringLongHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  StringLongHashMap(int expectedSize) {
+    allocate(capacityFor(expectedSize));
+  }
+
+  /**
+   * Returns the table capacity required to hold the given number of entries.
+   */
+  private static int capacityFor(int expectedSize) {
+    long required = (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+    if (required > MAX_CAPACITY) {
+      return MAX_CAPACITY;
+    }
+    return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit((int) required - 1) << 1);
+  }
+
+  private void allocate(int capacity) {
+    keys = new String[capacity];
+    values = new long[capacity];
+    resizeThreshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  /**
+   * Spreads the key hash so that keys with similar hash codes do not cluster.
+   */
+  private static int hash(String key, int mask) {
+    int hash = key.hashCode() * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  /**
+   * Returns the slot index for the given key, or {@code -1} if the key is not present.
+   */
+  private int indexOf(String key) {
+    int mask = keys.length - 1;
+    int index = hash(key, mask);
+    String candidate;
+    while ((candidate = keys[index]) != null) {
+      if (candidate.equals(key)) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the slot index for the given key, inserting the key with a zero value if it is not present.
+   */
+  private int insert(String key) {
+    checkNotNull(key, "key cannot be null");
+    int mask = keys.length - 1;
+    int index = hash(key, mask);
+    String candidate;
+    while ((candidate = keys[index]) != null) {
+      if (candidate.equals(key)) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    keys[index] = key;
+    values[index] = 0;
+    if (++size > resizeThreshold) {
+      rehash(keys.length << 1);
+      return indexOf(key);
+    }
+    return index;
+  }
+
+  private void rehash(int capacity) {
+    if (capacity > MAX_CAPACITY) {
+      throw new IllegalStateException("map capacity exceeded");
+    }
+    String[] oldKeys = keys;
+    long[] oldValues = values;
+    allocate(capacity);
+    int mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      String key = oldKeys[i];
+      if (key != null) {
+        int index = hash(key, mask);
+        while (keys[index] != null) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Removes the entry at the given slot and shifts subsequent entries in the probe sequence back.
+   */
+  private void removeAt(int index) {
+    int mask = keys.length - 1;
+    keys[index] = null;
+    values[index] = 0;
+    size--;
+
+    int hole = index;
+    int next = (index + 1) & mask;
+    String key;
+    while ((key = keys[next]) != null) {
+      int ideal = hash(key, mask);
+      // Move the entry into the hole if the hole lies cyclically between the entry's ideal slot and its slot.
+      if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = key;
+        values[hole] = values[next];
+        keys[next] = null;
+        values[next] = 0;
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+  }
+
+  /**
+   * Returns the number of entries in the map.
+   *
+   * @return the number of entries in the map
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns a boolean indicating whether the map is empty.
+   *
+   * @return indicates whether the map is empty
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns a boolean indicating whether the map contains the given key.
+   *
+   * @param key the key to check
+   * @return indicates whether the map contains the key
+   */
+  boolean containsKey(String key) {
+    return indexOf(key) != -1;
+  }
+
+  /**
+   * Returns the value for the given key, or {@code 0} if the key is not present.
+   *
+   * @param key the key for which to return the value
+   * @return the value for the key
+   */
+  long get(String key) {
+    int index = indexOf(key);
+    return index != -1 ? values[index] : 0;
+  }
+
+  /**
+   * Sets the value for the given key.
+   *
+   * @param key the key to set
+   * @param value the value to set
+   * @return the previous value for the key, or {@code 0} if the key was not present
+   */
+  long put(String key, long value) {
+    int index = insert(key);
+    long previous = values[index];
+    values[index] = value;
+    return previous;
+  }
+
+  /**
+   * Sets the value for the given key if the key is not present.
+   *
+   * @param key the key to set
+   * @param value the value to set
+   * @return the current value for the key, or {@code 0} if the key was not present
+   */
+  long putIfAbsent(String key, long value) {
+    int index = indexOf(key);
+    if (index != -1) {
+      return values[index];
+    }
+    values[insert(key)] = value;
+    return 0;
+  }
+
+  /**
+   * Adds the given delta to the value for the given key.
+   *
+   * @param key the key to update
+   * @param delta the delta to add
+   * @return the updated value
+   */
+  long addAndGet(String key, long delta) {
+    int index = insert(key);
+    return values[index] += delta;
+  }
+
+  /**
+   * Adds the given delta to the value for the given key.
+   *
+   * @param key the key to update
+   * @param delta the delta to add
+   * @return the previous value
+   */
+  long getAndAdd(String key, long delta) {
+    int index = insert(key);
+    long previous = values[index];
+    values[index] = previous + delta;
+    return previous;
+  }
+
+  /**
+   * Removes the given key from the map.
+   *
+   * @param key the key to remove
+   * @return the removed value, or {@code 0} if the key was not present
+   */
+  long remove(String key) {
+    int index = indexOf(key);
+    if (index == -1) {
+      return 0;
+    }
+    long value = values[index];
+    removeAt(index);
+    return value;
+  }
+
+  /**
+   * Removes all entries from the map.
+   */
+  void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, null);
+      Arrays.fill(values, 0);
+      size = 0;
+    }
+  }
+
+  /**
+   * Writes the map entries to the given buffer.
+   *
+   * @param output the buffer to which to write the map
+   */
+  void writeTo(BufferOutput<?> output) {
+    writeVarInt(output, size);
+    for (int i = 0; i < keys.length; i++) {
+      String key = keys[i];
+      if (key != null) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+        writeVarLong(output, (values[i] << 1) ^ (values[i] >> 63));
+      }
+    }
+  }
+
+  /**
+   * Reads a map from the given buffer.
+   *
+   * @param input the buffer from which to read the map
+   * @return the map
+   */
+  static StringLongHashMap readFrom(BufferInput<?> input) {
+    int size = readVarInt(input);
+    StringLongHashMap map = new StringLongHashMap(size);
+    for (int i = 0; i < size; i++) {
+      String key = new String(input.readBytes(readVarInt(input)), StandardCharsets.UTF_8);
+      long value = readVarLong(input);
+      map.put(key, (value >>> 1) ^ -(value & 1));
+    }
+    return map;
+  }
+
+  private static void writeVarInt(BufferOutput<?> output, int value) {
+    writeVarLong(output, value & 0xFFFFFFFFL);
+  }
+
+  private static void writeVarLong(BufferOutput<?> output, long value) {
+    while ((value & ~0x7FL) != 0) {
+      output.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    output.writeByte((int) value);
+  }
+
+  private static int readVarInt(BufferInput<?> input) {
+    return (int) readVarLong(input);
+  }
+
+  private static long readVarLong(BufferInput<?> input) {
+    long value = 0;
+    int shift = 0;
+    int b;
+    do {
+      b = input.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+}
@@ -23,6 +23,7 @@ import io.atomix.core.PrimitiveTypes;
 import io.atomix.primitive.AsyncPrimitive;
 import io.atomix.primitive.DistributedPrimitive;
 import io.atomix.primitive.PrimitiveType;
+import io.atomix.utils.concurrent.Futures;
 import io.atomix.utils.time.Versioned;
 
 import java.time.Duration;
@@ -31,6 +32,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 /**
  * Interface for a distributed multimap.
@@ -164,6 +166,43 @@ public interface AsyncConsistentMultimap<K, V> extends AsyncPrimitive {
    */
   CompletableFuture<Boolean> putAll(K key, Collection<? extends V> values);
 
+  /**
+   * Adds the set of key-value pairs for each key in the given mapping with
+   * each of the values associated with that key if each key-value pair does
+   * not already exist.
+   * <p>
+   * The default implementation calls {@link #putAll(Object, Collection)} for
+   * each key and is not atomic. Implementations may override this method to
+   * add the pairs for all keys atomically in a single operation.
+   *
+   * @param mapping the key-value pairs to be added
+   * @return a future whose value will be true if any change in the map
+   * results from this call, false otherwise
+   */
+  default CompletableFuture<Boolean> putAll(Map<K, Collection<? extends V>> mapping) {
+    return Futures.allOf(mapping.entrySet().stream()
+        .map(entry -> putAll(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList()), Boolean::logicalOr, false);
+  }
+
+  /**
+   * Removes the key-value pairs for each key in the given mapping with each
+   * of the values associated with that key if they exist.
+   * <p>
+   * The default implementation calls {@link #removeAll(Object, Collection)}
+   * for each key and is not atomic. Implementations may override this method
+   * to remove the pairs for all keys atomically in a single operation.
+   *
+   * @param mapping the key-value pairs to be removed
+   * @return a future whose value will be true if the map changes because of
+   * this call, false otherwise.
+   */
+  default CompletableFuture<Boolean> removeAll(Map<K, Collection<? extends V>> mapping) {
+    return Futures.allOf(mapping.entrySet().stream()
+        .map(entry -> removeAll(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList()), Boolean::logicalOr, false);
+  }
+
   /**
    * Stores all the values in values associated with the key specified,
    * removes all preexisting values and returns a collection of the removed
@@ -147,6 +147,46 @@ public interface ConsistentMultimap<K, V> extends SyncPrimitive {
    */
   boolean putAll(K key, Collection<? extends V> values);
 
+  /**
+   * Adds the set of key-value pairs for each key in the given mapping with
+   * each of the values associated with that key if each key-value pair does
+   * not already exist.
+   * <p>
+   * The default implementation calls {@link #putAll(Object, Collection)} for
+   * each key and is not atomic. Implementations may override this method to
+   * add the pairs for all keys atomically in a single operation.
+   *
+   * @param mapping the key-value pairs to be added
+   * @return true if any change in the map results from this call,
+   * false otherwise
+   */
+  default boolean putAll(Map<K, Collection<? extends V>> mapping) {
+    boolean changed = false;
+    for (Map.Entry<K, Collection<? extends V>> entry : mapping.entrySet()) {
+      changed |= putAll(entry.getKey(), entry.getValue());
+    }
+    return changed;
+  }
+
+  /**
+   * Removes the key-value pairs for each key in the given mapping with each
+   * of the values associated with that key if they exist.
+   * <p>
+   * The default implementation calls {@link #removeAll(Object, Collection)}
+   * for each key and is not atomic. Implementations may override this method
+   * to remove the pairs for all keys atomically in a single operation.
+   *
+   * @param mapping the key-value pairs to be removed
+   * @return true if the map changes because of this call, false otherwise.
+   */
+  default boolean removeAll(Map<K, Collection<? extends V>> mapping) {
+    boolean changed = false;
+    for (Map.Entry<K, Collection<? extends V>> entry : mapping.entrySet()) {
+      changed |= removeAll(entry.getKey(), entry.getValue());
+    }
+    return changed;
+  }
+
   /**
    * Stores all the values in values associated with the key specified,
    * removes all preexisting values and returns a collection of the removed
@@ -104,6 +104,16 @@ public class BlockingConsistentMultimap<K, V>
     return complete(asyncMultimap.putAll(key, values));
   }
 
+  @Override
+  public boolean putAll(Map<K, Collection<? extends V>> mapping) {
+    return complete(asyncMultimap.putAll(mapping));
+  }
+
+  @Override
+  public boolean removeAll(Map<K, Collection<? extends V>> mapping) {
+    return complete(asyncMultimap.removeAll(mapping));
+  }
+
   @Override
   public Versioned<Collection<? extends V>> replaceValues(
       K key, Collection<V> values) {
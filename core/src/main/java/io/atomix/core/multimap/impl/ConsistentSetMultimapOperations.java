@@ -27,6 +27,7 @@ import io.atomix.utils.time.Versioned;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -53,7 +54,9 @@ public enum ConsistentSetMultimapOperations implements OperationId {
   REPLACE(OperationType.COMMAND),
   CLEAR(OperationType.COMMAND),
   ADD_LISTENER(OperationType.COMMAND),
-  REMOVE_LISTENER(OperationType.COMMAND);
+  REMOVE_LISTENER(OperationType.COMMAND),
+  PUT_ENTRIES(OperationType.COMMAND),
+  REMOVE_ENTRIES(OperationType.COMMAND);
 
   private final OperationType type;
 
@@ -86,6 +89,8 @@ public enum ConsistentSetMultimapOperations implements OperationId {
       .register(Versioned.class)
       .register(ArrayList.class)
       .register(Maps.immutableEntry("", "").getClass())
+      .register(PutEntries.class)
+      .register(RemoveEntries.class)
       .build(ConsistentSetMultimapProxy.class.getSimpleName());
 
   /**
@@ -371,6 +376,58 @@ public enum ConsistentSetMultimapOperations implements OperationId {
     }
   }
 
+  /**
+   * Abstract multi-key entries command.
+   */
+  @SuppressWarnings("serial")
+  public abstract static class EntriesOperation extends MultimapOperation {
+    private Map<String, Collection<? extends byte[]>> entries;
+
+    public EntriesOperation() {
+    }
+
+    public EntriesOperation(Map<String, Collection<? extends byte[]>> entries) {
+      this.entries = checkNotNull(entries);
+    }
+
+    public Map<String, Collection<? extends byte[]>> entries() {
+      return entries;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(getClass())
+          .add("entries", entries)
+          .toString();
+    }
+  }
+
+  /**
+   * Command to back the multi-key putAll method.
+   */
+  @SuppressWarnings("serial")
+  public static class PutEntries extends EntriesOperation {
+    public PutEntries() {
+    }
+
+    public PutEntries(Map<String, Collection<? extends byte[]>> entries) {
+      super(entries);
+    }
+  }
+
+  /**
+   * Command to back the multi-key removeAll method.
+   */
+  @SuppressWarnings("serial")
+  public static class RemoveEntries extends EntriesOperation {
+    public RemoveEntries() {
+    }
+
+    public RemoveEntries(Map<String, Collection<? extends byte[]>> entries) {
+      super(entries);
+    }
+  }
+
   /**
    * Get value query.
    */
@@ -16,6 +16,7 @@
 
 package io.atomix.core.multimap.impl;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multiset;
 
 import io.atomix.primitive.impl.AbstractAsyncPrimitive;
@@ -30,7 +31,9 @@ import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.ContainsValu
 import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.Get;
 import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.MultiRemove;
 import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.Put;
+import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.PutEntries;
 import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.RemoveAll;
+import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.RemoveEntries;
 import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.Replace;
 import io.atomix.utils.serializer.KryoNamespace;
 import io.atomix.utils.serializer.KryoNamespaces;
@@ -49,8 +52,10 @@ import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.IS_EM
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.KEYS;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.KEY_SET;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.PUT;
+import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.PUT_ENTRIES;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.REMOVE;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.REMOVE_ALL;
+import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.REMOVE_ENTRIES;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.REMOVE_LISTENER;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.REPLACE;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.SIZE;
@@ -158,6 +163,20 @@ public class ConsistentSetMultimapProxy
     return proxy.invoke(PUT, SERIALIZER::encode, new Put(key, values, null), SERIALIZER::decode);
   }
 
+  @Override
+  public CompletableFuture<Boolean> putAll(Map<String, Collection<? extends byte[]>> mapping) {
+    return proxy.invoke(PUT_ENTRIES, SERIALIZER::encode, new PutEntries(Maps.newHashMap(mapping)), SERIALIZER::decode);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> removeAll(Map<String, Collection<? extends byte[]>> mapping) {
+    return proxy.invoke(
+        REMOVE_ENTRIES,
+        SERIALIZER::encode,
+        new RemoveEntries(Maps.newHashMap(mapping)),
+        SERIALIZER::decode);
+  }
+
   @Override
   public CompletableFuture<Versioned<Collection<? extends byte[]>>> replaceValues(
       String key, Collection<byte[]> values) {
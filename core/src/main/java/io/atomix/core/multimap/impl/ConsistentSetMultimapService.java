@@ -16,9 +16,6 @@
 
 package io.atomix.core.multimap.impl;
 
-import com.esotericsoftware.kryo.Kryo;
-import com.esotericsoftware.kryo.io.Input;
-import com.esotericsoftware.kryo.io.Output;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.ImmutableSet;
@@ -38,11 +35,12 @@ import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.Get;
 import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.MultiRemove;
 import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.MultimapOperation;
 import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.Put;
+import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.PutEntries;
 import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.RemoveAll;
+import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.RemoveEntries;
 import io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.Replace;
 import io.atomix.storage.buffer.BufferInput;
 import io.atomix.storage.buffer.BufferOutput;
-import io.atomix.utils.Match;
 import io.atomix.utils.serializer.KryoNamespace;
 import io.atomix.utils.serializer.KryoNamespaces;
 import io.atomix.utils.serializer.Serializer;
@@ -60,34 +58,32 @@ import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.IS_EM
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.KEYS;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.KEY_SET;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.PUT;
+import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.PUT_ENTRIES;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.REMOVE;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.REMOVE_ALL;
+import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.REMOVE_ENTRIES;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.REMOVE_LISTENER;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.REPLACE;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.SIZE;
 import static io.atomix.core.multimap.impl.ConsistentSetMultimapOperations.VALUES;
 
-import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.BiConsumer;
-import java.util.function.BinaryOperator;
-import java.util.function.Function;
-import java.util.function.Supplier;
-import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 /**
  * State Machine for {@link ConsistentSetMultimapProxy} resource.
+ * <p>
+ * Values are stored in hash sets keyed by the content hash of each value, and a reverse index from each value to
+ * the set of keys with which it's associated is maintained alongside the key index so that value lookups do not
+ * have to scan the entire multimap.
  */
 public class ConsistentSetMultimapService extends AbstractPrimitiveService {
 
@@ -95,34 +91,29 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
       .register(KryoNamespaces.BASIC)
       .register(ConsistentSetMultimapOperations.NAMESPACE)
       .register(ConsistentSetMultimapEvents.NAMESPACE)
-      .register(ByteArrayComparator.class)
       .register(new HashMap().keySet().getClass())
-      .register(TreeSet.class)
-      .register(new com.esotericsoftware.kryo.Serializer<NonTransactionalCommit>() {
-        @Override
-        public void write(Kryo kryo, Output output, NonTransactionalCommit object) {
-          kryo.writeClassAndObject(output, object.valueSet);
-        }
-
-        @Override
-        @SuppressWarnings("unchecked")
-        public NonTransactionalCommit read(Kryo kryo, Input input, Class<NonTransactionalCommit> type) {
-          NonTransactionalCommit commit = new NonTransactionalCommit();
-          commit.valueSet.addAll((Collection<byte[]>) kryo.readClassAndObject(input));
-          return commit;
-        }
-      }, NonTransactionalCommit.class)
       .build());
 
   private AtomicLong globalVersion = new AtomicLong(1);
   private Map<Long, Session> listeners = new LinkedHashMap<>();
   private Map<String, MapEntryValue> backingMap = Maps.newHashMap();
+  private Map<HashedValue, Set<String>> valueIndex = Maps.newHashMap();
+  private int size;
 
   @Override
   public void backup(BufferOutput<?> writer) {
     writer.writeLong(globalVersion.get());
     writer.writeObject(Sets.newHashSet(listeners.keySet()), serializer::encode);
-    writer.writeObject(backingMap, serializer::encode);
+    writer.writeInt(backingMap.size());
+    for (Map.Entry<String, MapEntryValue> entry : backingMap.entrySet()) {
+      NonTransactionalCommit value = (NonTransactionalCommit) entry.getValue();
+      writer.writeUTF8(entry.getKey());
+      writer.writeLong(value.version);
+      writer.writeInt(value.valueSet.size());
+      for (HashedValue hashedValue : value.valueSet) {
+        writer.writeInt(hashedValue.value.length).write(hashedValue.value);
+      }
+    }
   }
 
   @Override
@@ -134,7 +125,20 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
       listeners.put(sessionId, getSessions().getSession(sessionId));
     }
 
-    backingMap = reader.readObject(serializer::decode);
+    backingMap = Maps.newHashMap();
+    valueIndex = Maps.newHashMap();
+    size = 0;
+    int keyCount = reader.readInt();
+    for (int i = 0; i < keyCount; i++) {
+      String key = reader.readUTF8();
+      NonTransactionalCommit value = new NonTransactionalCommit(key);
+      value.version = reader.readLong();
+      int valueCount = reader.readInt();
+      for (int j = 0; j < valueCount; j++) {
+        value.add(new HashedValue(reader.readBytes(reader.readInt())));
+      }
+      backingMap.put(key, value);
+    }
   }
 
   @Override
@@ -154,6 +158,8 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
     executor.register(REMOVE, serializer::decode, this::multiRemove, serializer::encode);
     executor.register(PUT, serializer::decode, this::put, serializer::encode);
     executor.register(REPLACE, serializer::decode, this::replace, serializer::encode);
+    executor.register(PUT_ENTRIES, serializer::decode, this::putEntries, serializer::encode);
+    executor.register(REMOVE_ENTRIES, serializer::decode, this::removeEntries, serializer::encode);
     executor.register(ADD_LISTENER, this::listen);
     executor.register(REMOVE_LISTENER, this::unlisten);
   }
@@ -175,10 +181,7 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
    * @return number of unique key value pairs in the multimap
    */
   protected int size(Commit<Void> commit) {
-    return backingMap.values()
-        .stream()
-        .map(valueCollection -> valueCollection.values().size())
-        .collect(Collectors.summingInt(size -> size));
+    return size;
   }
 
   /**
@@ -208,19 +211,7 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
    * @return true if the value is in the multimap, else false
    */
   protected boolean containsValue(Commit<? extends ContainsValue> commit) {
-    if (backingMap.values().isEmpty()) {
-      return false;
-    }
-    Match<byte[]> match = Match.ifValue(commit.value().value());
-    return backingMap
-        .values()
-        .stream()
-        .anyMatch(valueList ->
-            valueList
-                .values()
-                .stream()
-                .anyMatch(byteValue ->
-                    match.matches(byteValue)));
+    return valueIndex.containsKey(new HashedValue(commit.value().value()));
   }
 
   /**
@@ -230,17 +221,8 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
    * @return true if the key-value pair exists, else false
    */
   protected boolean containsEntry(Commit<? extends ContainsEntry> commit) {
-    MapEntryValue entryValue =
-        backingMap.get(commit.value().key());
-    if (entryValue == null) {
-      return false;
-    } else {
-      Match valueMatch = Match.ifValue(commit.value().value());
-      return entryValue
-          .values()
-          .stream()
-          .anyMatch(byteValue -> valueMatch.matches(byteValue));
-    }
+    Set<String> keys = valueIndex.get(new HashedValue(commit.value().value()));
+    return keys != null && keys.contains(commit.value().key());
   }
 
   /**
@@ -250,6 +232,8 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
    */
   protected void clear(Commit<Void> commit) {
     backingMap.clear();
+    valueIndex.clear();
+    size = 0;
   }
 
   /**
@@ -270,10 +254,8 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
    * times to the total key-value pairs in which that key participates
    */
   protected Multiset<String> keys(Commit<Void> commit) {
-    Multiset keys = HashMultiset.create();
-    backingMap.forEach((key, mapEntryValue) -> {
-      keys.add(key, mapEntryValue.values().size());
-    });
+    Multiset<String> keys = HashMultiset.create(backingMap.size());
+    backingMap.forEach((key, mapEntryValue) -> keys.add(key, mapEntryValue.size()));
     return keys;
   }
 
@@ -284,10 +266,9 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
    * @return the set of values in the multimap with duplicates included
    */
   protected Multiset<byte[]> values(Commit<Void> commit) {
-    return backingMap
-        .values()
-        .stream()
-        .collect(new HashMultisetValueCollector());
+    Multiset<byte[]> values = HashMultiset.create(valueIndex.size());
+    valueIndex.forEach((value, keys) -> values.add(value.value, keys.size()));
+    return values;
   }
 
   /**
@@ -297,10 +278,10 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
    * @return a set of all key-value pairs in the multimap
    */
   protected Collection<Map.Entry<String, byte[]>> entries(Commit<Void> commit) {
-    return backingMap
-        .entrySet()
-        .stream()
-        .collect(new EntrySetCollector());
+    Set<Map.Entry<String, byte[]>> entries = Sets.newHashSetWithExpectedSize(size);
+    backingMap.forEach((key, mapEntryValue) -> mapEntryValue.values()
+        .forEach(value -> entries.add(Maps.immutableEntry(key, value))));
+    return entries;
   }
 
   /**
@@ -344,29 +325,10 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
    * @return true if any change results, else false
    */
   protected boolean multiRemove(Commit<? extends MultiRemove> commit) {
-    String key = commit.value().key();
-
-    if (!backingMap.containsKey(key)) {
-      return false;
-    }
-
-    Versioned<Collection<? extends byte[]>> removedValues = backingMap
-        .get(key)
-        .addCommit(commit);
-
-    if (removedValues != null) {
-      if (removedValues.value().isEmpty()) {
-        backingMap.remove(key);
-      }
-
-      publish(removedValues.value().stream()
-          .map(value -> new MultimapEvent<String, byte[]>(
-              "", key, null, value))
-          .collect(Collectors.toList()));
-      return true;
-    }
-
-    return false;
+    List<MultimapEvent<String, byte[]>> events = new ArrayList<>();
+    removeValues(commit.value().key(), commit.value().values(), events);
+    publish(events);
+    return !events.isEmpty();
   }
 
   /**
@@ -377,34 +339,98 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
    * @return true if this commit results in a change, else false
    */
   protected boolean put(Commit<? extends Put> commit) {
-    String key = commit.value().key();
-    if (commit.value().values().isEmpty()) {
-      return false;
+    List<MultimapEvent<String, byte[]>> events = new ArrayList<>();
+    putValues(commit.value().key(), commit.value().values(), events);
+    publish(events);
+    return !events.isEmpty();
+  }
+
+  /**
+   * Handles a put entries commit, returns true if any change results from this commit.
+   *
+   * @param commit a put entries commit
+   * @return true if this commit results in a change, else false
+   */
+  protected boolean putEntries(Commit<? extends PutEntries> commit) {
+    List<MultimapEvent<String, byte[]>> events = new ArrayList<>();
+    commit.value().entries().forEach((key, values) -> putValues(key, values, events));
+    publish(events);
+    return !events.isEmpty();
+  }
+
+  /**
+   * Handles a remove entries commit, returns true if any change results from this commit.
+   *
+   * @param commit a remove entries commit
+   * @return true if this commit results in a change, else false
+   */
+  protected boolean removeEntries(Commit<? extends RemoveEntries> commit) {
+    List<MultimapEvent<String, byte[]>> events = new ArrayList<>();
+    commit.value().entries().forEach((key, values) -> removeValues(key, values, events));
+    publish(events);
+    return !events.isEmpty();
+  }
+
+  /**
+   * Adds the given values to the given key, recording an event for each added value.
+   */
+  private void putValues(String key, Collection<? extends byte[]> values, List<MultimapEvent<String, byte[]>> events) {
+    if (values == null || values.isEmpty()) {
+      return;
     }
-    if (!backingMap.containsKey(key)) {
-      backingMap.put(key, new NonTransactionalCommit());
+
+    NonTransactionalCommit entry = (NonTransactionalCommit) backingMap.get(key);
+    boolean created = entry == null;
+    if (created) {
+      entry = new NonTransactionalCommit(key);
     }
 
-    Versioned<Collection<? extends byte[]>> addedValues = backingMap
-        .get(key)
-        .addCommit(commit);
+    int eventCount = events.size();
+    for (byte[] value : values) {
+      if (entry.add(new HashedValue(value))) {
+        events.add(new MultimapEvent<>("", key, value, null));
+      }
+    }
 
-    if (addedValues != null) {
-      publish(addedValues.value().stream()
-          .map(value -> new MultimapEvent<String, byte[]>(
-              "", key, value, null))
-          .collect(Collectors.toList()));
-      return true;
+    if (events.size() > eventCount) {
+      entry.version++;
+      if (created) {
+        backingMap.put(key, entry);
+      }
     }
+  }
 
-    return false;
+  /**
+   * Removes the given values from the given key, recording an event for each removed value.
+   */
+  private void removeValues(String key, Collection<? extends byte[]> values, List<MultimapEvent<String, byte[]>> events) {
+    NonTransactionalCommit entry = (NonTransactionalCommit) backingMap.get(key);
+    if (entry == null || values == null) {
+      return;
+    }
+
+    int eventCount = events.size();
+    for (byte[] value : values) {
+      if (entry.remove(new HashedValue(value))) {
+        events.add(new MultimapEvent<>("", key, null, value));
+      }
+    }
+
+    if (events.size() > eventCount) {
+      // The version is updated locally as well as globally even if this object will be removed from the map
+      // in case any other party still holds a reference to this object.
+      entry.version = globalVersion.incrementAndGet();
+      if (entry.size() == 0) {
+        backingMap.remove(key);
+      }
+    }
   }
 
   protected Versioned<Collection<? extends byte[]>> replace(
       Commit<? extends Replace> commit) {
     if (!backingMap.containsKey(commit.value().key())) {
       backingMap.put(commit.value().key(),
-          new NonTransactionalCommit());
+          new NonTransactionalCommit(commit.value().key()));
     }
     return backingMap.get(commit.value().key()).addCommit(commit);
   }
@@ -433,7 +459,9 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
    * @param events list of map event to publish
    */
   private void publish(List<MultimapEvent<String, byte[]>> events) {
-    listeners.values().forEach(session -> session.publish(CHANGE, serializer::encode, events));
+    if (!events.isEmpty()) {
+      listeners.values().forEach(session -> session.publish(CHANGE, serializer::encode, events));
+    }
   }
 
   private interface MapEntryValue {
@@ -445,6 +473,13 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
      */
     Collection<? extends byte[]> values();
 
+    /**
+     * Returns the number of values.
+     *
+     * @return the number of values
+     */
+    int size();
+
     /**
      * Returns the version of the value.
      *
@@ -455,9 +490,7 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
     /**
      * Add a new commit and modifies the set of values accordingly.
      * In the case of a replace or removeAll it returns the set of removed
-     * values. In the case of put or multiRemove it returns null for no
-     * change and a set of the added or removed values respectively if a
-     * change resulted.
+     * values.
      *
      * @param commit the commit to be added
      */
@@ -466,10 +499,12 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
   }
 
   private class NonTransactionalCommit implements MapEntryValue {
+    private final String key;
     private long version;
-    private final TreeSet<byte[]> valueSet = Sets.newTreeSet(new ByteArrayComparator());
+    private final Set<HashedValue> valueSet = Sets.newHashSet();
 
-    public NonTransactionalCommit() {
+    public NonTransactionalCommit(String key) {
+      this.key = key;
       //Set the version to current it will only be updated once this is
       // populated
       this.version = globalVersion.get();
@@ -477,7 +512,14 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
 
     @Override
     public Collection<? extends byte[]> values() {
-      return ImmutableSet.copyOf(valueSet);
+      ImmutableSet.Builder<byte[]> values = ImmutableSet.builder();
+      valueSet.forEach(value -> values.add(value.value));
+      return values.build();
+    }
+
+    @Override
+    public int size() {
+      return valueSet.size();
     }
 
     @Override
@@ -485,6 +527,58 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
       return version;
     }
 
+    /**
+     * Adds a value to the set, updating the reverse value index.
+     *
+     * @param value the value to add
+     * @return indicates whether the value was added
+     */
+    boolean add(HashedValue value) {
+      if (valueSet.add(value)) {
+        valueIndex.computeIfAbsent(value, v -> Sets.newHashSetWithExpectedSize(1)).add(key);
+        size++;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Removes a value from the set, updating the reverse value index.
+     *
+     * @param value the value to remove
+     * @return indicates whether the value was removed
+     */
+    boolean remove(HashedValue value) {
+      if (valueSet.remove(value)) {
+        unindex(value);
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Removes all values from the set, updating the reverse value index.
+     *
+     * @return the removed values
+     */
+    Set<byte[]> clear() {
+      Set<byte[]> removed = Sets.newHashSetWithExpectedSize(valueSet.size());
+      for (HashedValue value : valueSet) {
+        unindex(value);
+        removed.add(value.value);
+      }
+      valueSet.clear();
+      return removed;
+    }
+
+    private void unindex(HashedValue value) {
+      Set<String> keys = valueIndex.get(value);
+      if (keys != null && keys.remove(key) && keys.isEmpty()) {
+        valueIndex.remove(value);
+      }
+      size--;
+    }
+
     @Override
     public Versioned<Collection<? extends byte[]>> addCommit(
         Commit<? extends MultimapOperation> commit) {
@@ -492,190 +586,29 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
       Preconditions.checkNotNull(commit.value());
       Versioned<Collection<? extends byte[]>> retVersion;
 
-      if (commit.value() instanceof Put) {
-        //Using a treeset here sanitizes the input, removing duplicates
-        Set<byte[]> valuesToAdd =
-            Sets.newTreeSet(new ByteArrayComparator());
-        ((Put) commit.value()).values().forEach(value -> {
-          if (!valueSet.contains(value)) {
-            valuesToAdd.add(value);
-          }
-        });
-        if (valuesToAdd.isEmpty()) {
-          //Do not increment or add the commit if no change resulted
-          return null;
-        }
-        retVersion = new Versioned<>(valuesToAdd, version);
-        valuesToAdd.forEach(value -> valueSet.add(value));
-        version++;
-        return retVersion;
-
-      } else if (commit.value() instanceof Replace) {
-        //Will this work??  Need to check before check-in!
-        Set<byte[]> removedValues = Sets.newHashSet();
-        removedValues.addAll(valueSet);
-        retVersion = new Versioned<>(removedValues, version);
-        valueSet.clear();
-        Set<byte[]> valuesToAdd =
-            Sets.newTreeSet(new ByteArrayComparator());
-        ((Replace) commit.value()).values().forEach(value -> {
-          valuesToAdd.add(value);
-        });
-        if (valuesToAdd.isEmpty()) {
-          version = globalVersion.incrementAndGet();
-          backingMap.remove(((Replace) commit.value()).key());
-          return retVersion;
-        }
-        valuesToAdd.forEach(value -> valueSet.add(value));
+      if (commit.value() instanceof Replace) {
+        retVersion = new Versioned<>(clear(), version);
+        ((Replace) commit.value()).values().forEach(value -> add(new HashedValue(value)));
         version = globalVersion.incrementAndGet();
+        if (valueSet.isEmpty()) {
+          backingMap.remove(key);
+        }
         return retVersion;
 
       } else if (commit.value() instanceof RemoveAll) {
-        Set<byte[]> removed = Sets.newHashSet();
-        //We can assume here that values only appear once and so we
-        //do not need to sanitize the return for duplicates.
-        removed.addAll(valueSet);
-        retVersion = new Versioned<>(removed, version);
-        valueSet.clear();
-        //In the case of a removeAll all commits will be removed and
-        //unlike the multiRemove case we do not need to consider
-        //dependencies among additive and removal commits.
-
-        //Save the key for use after the commit is closed
-        String key = ((RemoveAll) commit.value()).key();
+        //In the case of a removeAll all values will be removed and the
+        //key removed from the map.
+        retVersion = new Versioned<>(clear(), version);
         version = globalVersion.incrementAndGet();
         backingMap.remove(key);
         return retVersion;
 
-      } else if (commit.value() instanceof MultiRemove) {
-        //Must first calculate how many commits the removal depends on.
-        //At this time we also sanitize the removal set by adding to a
-        //set with proper handling of byte[] equality.
-        Set<byte[]> removed = Sets.newHashSet();
-        ((MultiRemove) commit.value()).values().forEach(value -> {
-          if (valueSet.contains(value)) {
-            removed.add(value);
-          }
-        });
-        //If there is nothing to be removed no action should be taken.
-        if (removed.isEmpty()) {
-          return null;
-        }
-        //Save key in case countdown results in closing the commit.
-        String removedKey = ((MultiRemove) commit.value()).key();
-        removed.forEach(removedValue -> {
-          valueSet.remove(removedValue);
-        });
-        //The version is updated locally as well as globally even if
-        //this object will be removed from the map in case any other
-        //party still holds a reference to this object.
-        retVersion = new Versioned<>(removed, version);
-        version = globalVersion.incrementAndGet();
-        if (valueSet.isEmpty()) {
-          backingMap.remove(removedKey);
-        }
-        return retVersion;
-
       } else {
         throw new IllegalArgumentException();
       }
     }
   }
 
-  /**
-   * A collector that creates MapEntryValues and creates a multiset of all
-   * values in the map an equal number of times to the number of sets in
-   * which they participate.
-   */
-  private static class HashMultisetValueCollector implements
-      Collector<MapEntryValue,
-          HashMultiset<byte[]>,
-          HashMultiset<byte[]>> {
-
-    @Override
-    public Supplier<HashMultiset<byte[]>> supplier() {
-      return HashMultiset::create;
-    }
-
-    @Override
-    public BiConsumer<HashMultiset<byte[]>, MapEntryValue> accumulator() {
-      return (multiset, mapEntryValue) ->
-          multiset.addAll(mapEntryValue.values());
-    }
-
-    @Override
-    public BinaryOperator<HashMultiset<byte[]>> combiner() {
-      return (setOne, setTwo) -> {
-        setOne.addAll(setTwo);
-        return setOne;
-      };
-    }
-
-    @Override
-    public Function<HashMultiset<byte[]>,
-        HashMultiset<byte[]>> finisher() {
-      return Function.identity();
-    }
-
-    @Override
-    public Set<Characteristics> characteristics() {
-      return EnumSet.of(Characteristics.UNORDERED);
-    }
-  }
-
-  /**
-   * A collector that creates Entries of {@code <String, MapEntryValue>} and
-   * creates a set of entries all key value pairs in the map.
-   */
-  private static class EntrySetCollector implements
-      Collector<Map.Entry<String, MapEntryValue>,
-          Set<Map.Entry<String, byte[]>>,
-          Set<Map.Entry<String, byte[]>>> {
-    private Set<Map.Entry<String, byte[]>> set = null;
-
-    @Override
-    public Supplier<Set<Map.Entry<String, byte[]>>> supplier() {
-      return () -> {
-        if (set == null) {
-          set = Sets.newHashSet();
-        }
-        return set;
-      };
-    }
-
-    @Override
-    public BiConsumer<Set<Map.Entry<String, byte[]>>,
-        Map.Entry<String, MapEntryValue>> accumulator() {
-      return (set, entry) -> {
-        entry
-            .getValue()
-            .values()
-            .forEach(byteValue ->
-                set.add(Maps.immutableEntry(entry.getKey(),
-                    byteValue)));
-      };
-    }
-
-    @Override
-    public BinaryOperator<Set<Map.Entry<String, byte[]>>> combiner() {
-      return (setOne, setTwo) -> {
-        setOne.addAll(setTwo);
-        return setOne;
-      };
-    }
-
-    @Override
-    public Function<Set<Map.Entry<String, byte[]>>,
-        Set<Map.Entry<String, byte[]>>> finisher() {
-      return (unused) -> set;
-    }
-
-    @Override
-    public Set<Characteristics> characteristics() {
-      return EnumSet.of(Characteristics.UNORDERED);
-    }
-  }
-
   /**
    * Utility for turning a {@code MapEntryValue} to {@code Versioned}.
    *
@@ -690,24 +623,33 @@ public class ConsistentSetMultimapService extends AbstractPrimitiveService {
             value.version());
   }
 
-  private static class ByteArrayComparator implements Comparator<byte[]>, Serializable {
+  /**
+   * Byte array value wrapper that implements content based equality with a cached hash code.
+   */
+  private static final class HashedValue {
+    private final byte[] value;
+    private final int hash;
 
-    private static final long serialVersionUID = 1L;
+    HashedValue(byte[] value) {
+      this.value = value;
+      this.hash = Arrays.hashCode(value);
+    }
 
     @Override
-    public int compare(byte[] o1, byte[] o2) {
-      if (Arrays.equals(o1, o2)) {
-        return 0;
-      } else {
-        for (int i = 0; i < o1.length && i < o2.length; i++) {
-          if (o1[i] < o2[i]) {
-            return -1;
-          } else if (o1[i] > o2[i]) {
-            return 1;
-          }
-        }
-        return o1.length > o2.length ? 1 : -1;
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (object == this) {
+        return true;
+      }
+      if (!(object instanceof HashedValue)) {
+        return false;
       }
+      HashedValue that = (HashedValue) object;
+      return hash == that.hash && Arrays.equals(value, that.value);
     }
   }
-}
\ No newline at end of file
+}
@@ -102,6 +102,16 @@ public class DelegatingAsyncConsistentMultimap<K, V>
     return delegateMap.putAll(key, values);
   }
 
+  @Override
+  public CompletableFuture<Boolean> putAll(Map<K, Collection<? extends V>> mapping) {
+    return delegateMap.putAll(mapping);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> removeAll(Map<K, Collection<? extends V>> mapping) {
+    return delegateMap.removeAll(mapping);
+  }
+
   @Override
   public CompletableFuture<Versioned<Collection<? extends V>>>
   replaceValues(K key, Collection<V> values) {
@@ -186,6 +186,30 @@ public class TranscodingAsyncConsistentMultimap<K1, V1, K2, V2> implements Async
     }
   }
 
+  @Override
+  public CompletableFuture<Boolean> putAll(Map<K1, Collection<? extends V1>> mapping) {
+    try {
+      return backingMap.putAll(encodeEntries(mapping));
+    } catch (Exception e) {
+      return Futures.exceptionalFuture(e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Boolean> removeAll(Map<K1, Collection<? extends V1>> mapping) {
+    try {
+      return backingMap.removeAll(encodeEntries(mapping));
+    } catch (Exception e) {
+      return Futures.exceptionalFuture(e);
+    }
+  }
+
+  private Map<K2, Collection<? extends V2>> encodeEntries(Map<K1, Collection<? extends V1>> mapping) {
+    Map<K2, Collection<? extends V2>> entries = Maps.newHashMapWithExpectedSize(mapping.size());
+    mapping.forEach((key, values) -> entries.put(keyEncoder.apply(key), valueCollectionEncode.apply(values)));
+    return entries;
+  }
+
   @Override
   public CompletableFuture<Versioned<Collection<? extends V1>>>
   replaceValues(K1 key, Collection<V1> values) {
@@ -27,16 +27,88 @@ import io.atomix.protocols.raft.ReadConsistency;
 import io.atomix.protocols.raft.proxy.CommunicationStrategy;
 
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Work queue builder.
  */
 public abstract class WorkQueueBuilder<E> extends DistributedPrimitiveBuilder<WorkQueueBuilder<E>, WorkQueue<E>> {
 
+  private Duration taskTimeout = Duration.ZERO;
+  private boolean partitioned;
+
   public WorkQueueBuilder(String name) {
     super(PrimitiveTypes.workQueue(), name);
   }
 
+  /**
+   * Sets the task visibility timeout in milliseconds.
+   * <p>
+   * Tasks that are taken but not completed within the timeout are returned to the queue. A timeout of
+   * {@code 0} indicates tasks are held until completed or the worker's session is closed.
+   *
+   * @param timeoutMillis the task visibility timeout in milliseconds
+   * @return the work queue builder
+   */
+  public WorkQueueBuilder<E> withTaskTimeout(long timeoutMillis) {
+    return withTaskTimeout(Duration.ofMillis(timeoutMillis));
+  }
+
+  /**
+   * Sets the task visibility timeout.
+   *
+   * @param timeout the task visibility timeout
+   * @param unit the timeout time unit
+   * @return the work queue builder
+   */
+  public WorkQueueBuilder<E> withTaskTimeout(long timeout, TimeUnit unit) {
+    return withTaskTimeout(Duration.ofMillis(unit.toMillis(timeout)));
+  }
+
+  /**
+   * Sets the task visibility timeout.
+   *
+   * @param timeout the task visibility timeout
+   * @return the work queue builder
+   */
+  public WorkQueueBuilder<E> withTaskTimeout(Duration timeout) {
+    this.taskTimeout = checkNotNull(timeout);
+    return this;
+  }
+
+  /**
+   * Spreads the queue across all partitions of the partition group.
+   * <p>
+   * A partitioned queue scales throughput with the number of partitions, but tasks are only ordered within
+   * each partition.
+   *
+   * @return the work queue builder
+   */
+  public WorkQueueBuilder<E> withPartitioning() {
+    this.partitioned = true;
+    return this;
+  }
+
+  /**
+   * Returns whether the queue is spread across all partitions of the partition group.
+   *
+   * @return {@code true} if the queue is partitioned; {@code false} otherwise
+   */
+  public boolean partitioned() {
+    return partitioned;
+  }
+
+  /**
+   * Returns the task visibility timeout.
+   *
+   * @return the task visibility timeout
+   */
+  public Duration taskTimeout() {
+    return taskTimeout;
+  }
+
   @Override
   protected Consistency defaultConsistency() {
     return Consistency.SEQUENTIAL;
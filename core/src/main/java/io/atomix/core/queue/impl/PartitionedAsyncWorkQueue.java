@@ -0,0 +1,262 @@
+/*
+ * Copyright 2016-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.core.queue.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.atomix.core.queue.AsyncWorkQueue;
+import io.atomix.core.queue.Task;
+import io.atomix.core.queue.WorkQueue;
+import io.atomix.core.queue.WorkQueueStats;
+import io.atomix.primitive.partition.PartitionId;
+import io.atomix.utils.concurrent.Futures;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link AsyncWorkQueue} that has its tasks partitioned horizontally across several {@link AsyncWorkQueue queues}.
+ * <p>
+ * Added tasks are spread across partitions, and takes are served from the partitions estimated to hold the
+ * most pending tasks first. The estimates are maintained from the results of adds, takes and stats requests
+ * made by this client. Task identifiers returned by this queue are prefixed with the identifier of the
+ * partition from which the task was taken so completions can be routed back to the owning partition.
+ * <p>
+ * Tasks are only ordered within a partition; there is no FIFO ordering across partitions.
+ *
+ * @param <E> task payload type
+ */
+public class PartitionedAsyncWorkQueue<E> implements AsyncWorkQueue<E> {
+  private static final char TASK_ID_SEPARATOR = ':';
+
+  private final String name;
+  private final TreeMap<PartitionId, AsyncWorkQueue<E>> partitions = Maps.newTreeMap();
+  private final Map<Integer, PartitionId> partitionIds = new HashMap<>();
+  private final Map<PartitionId, AtomicLong> pendingEstimates = new ConcurrentHashMap<>();
+  private final AtomicInteger addIndex = new AtomicInteger();
+  private final AtomicInteger takeIndex = new AtomicInteger();
+
+  public PartitionedAsyncWorkQueue(String name, Map<PartitionId, AsyncWorkQueue<E>> partitions) {
+    this.name = name;
+    this.partitions.putAll(checkNotNull(partitions));
+    checkArgument(!this.partitions.isEmpty(), "partitions cannot be empty");
+    for (PartitionId partitionId : this.partitions.keySet()) {
+      partitionIds.put(partitionId.id(), partitionId);
+      pendingEstimates.put(partitionId, new AtomicLong());
+    }
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public CompletableFuture<Void> addMultiple(Collection<E> items) {
+    if (items.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // Split the items into contiguous chunks, rotating the starting partition so that small batches are
+    // spread evenly across partitions as well.
+    List<E> list = new ArrayList<>(items);
+    List<PartitionId> order = rotate(addIndex.getAndIncrement());
+    int count = Math.min(order.size(), list.size());
+    List<CompletableFuture<Void>> futures = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      PartitionId partitionId = order.get(i);
+      List<E> chunk = new ArrayList<>(list.subList(i * list.size() / count, (i + 1) * list.size() / count));
+      futures.add(partitions.get(partitionId).addMultiple(chunk)
+          .thenRun(() -> pendingEstimates.get(partitionId).addAndGet(chunk.size())));
+    }
+    return Futures.allOf(futures).thenApply(v -> null);
+  }
+
+  @Override
+  public CompletableFuture<Collection<Task<E>>> take(int maxItems) {
+    if (maxItems <= 0) {
+      return CompletableFuture.completedFuture(ImmutableList.of());
+    }
+    List<Task<E>> tasks = new ArrayList<>(maxItems);
+    return take(takeOrder().iterator(), maxItems, tasks).thenApply(v -> tasks);
+  }
+
+  /**
+   * Takes tasks from each partition in order until the requested number of tasks has been taken.
+   */
+  private CompletableFuture<Void> take(Iterator<PartitionId> iterator, int maxItems, List<Task<E>> tasks) {
+    if (tasks.size() >= maxItems || !iterator.hasNext()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    PartitionId partitionId = iterator.next();
+    int requested = maxItems - tasks.size();
+    return partitions.get(partitionId).take(requested).thenCompose(taken -> {
+      AtomicLong estimate = pendingEstimates.get(partitionId);
+      if (taken.size() < requested) {
+        estimate.set(0);
+      } else {
+        estimate.updateAndGet(pending -> Math.max(pending - taken.size(), 0));
+      }
+      for (Task<E> task : taken) {
+        tasks.add(new Task<>(encodeTaskId(partitionId, task.taskId()), task.payload()));
+      }
+      return take(iterator, maxItems, tasks);
+    });
+  }
+
+  /**
+   * Returns the order in which to take from partitions.
+   * <p>
+   * Partitions are ordered by their estimated number of pending tasks. Partitions with equal estimates are
+   * rotated between takes to spread load across partitions that are not tracked by this client.
+   */
+  private List<PartitionId> takeOrder() {
+    List<PartitionId> order = rotate(takeIndex.getAndIncrement());
+    Map<PartitionId, Long> estimates = Maps.newHashMap();
+    for (PartitionId partitionId : order) {
+      estimates.put(partitionId, pendingEstimates.get(partitionId).get());
+    }
+    order.sort(Comparator.comparing((PartitionId partitionId) -> estimates.get(partitionId)).reversed());
+    return order;
+  }
+
+  /**
+   * Returns the list of partitions rotated by the given offset.
+   */
+  private List<PartitionId> rotate(int offset) {
+    List<PartitionId> order = Lists.newArrayList(partitions.keySet());
+    int start = Math.floorMod(offset, order.size());
+    List<PartitionId> rotated = new ArrayList<>(order.size());
+    rotated.addAll(order.subList(start, order.size()));
+    rotated.addAll(order.subList(0, start));
+    return rotated;
+  }
+
+  @Override
+  public CompletableFuture<Void> complete(Collection<String> taskIds) {
+    if (taskIds.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    Map<PartitionId, List<String>> partitionTaskIds = new HashMap<>();
+    for (String taskId : taskIds) {
+      int index = taskId.indexOf(TASK_ID_SEPARATOR);
+      if (index > 0) {
+        try {
+          PartitionId partitionId = partitionIds.get(Integer.parseInt(taskId.substring(0, index)));
+          if (partitionId != null) {
+            partitionTaskIds.computeIfAbsent(partitionId, id -> new ArrayList<>()).add(taskId.substring(index + 1));
+          }
+        } catch (NumberFormatException e) {
+          // Ignore task IDs not issued by this queue.
+        }
+      }
+    }
+    return Futures.allOf(partitionTaskIds.entrySet().stream()
+        .map(entry -> partitions.get(entry.getKey()).complete(entry.getValue()))
+        .collect(Collectors.toList()))
+        .thenApply(v -> null);
+  }
+
+  private static String encodeTaskId(PartitionId partitionId, String taskId) {
+    return String.valueOf(partitionId.id()) + TASK_ID_SEPARATOR + taskId;
+  }
+
+  @Override
+  public CompletableFuture<Void> registerTaskProcessor(Consumer<E> taskProcessor, int parallelism, Executor executor) {
+    // Divide the parallelism across partitions, processing at least one task at a time from each partition.
+    List<CompletableFuture<Void>> futures = new ArrayList<>(partitions.size());
+    int i = 0;
+    for (AsyncWorkQueue<E> partition : partitions.values()) {
+      int share = parallelism / partitions.size() + (i++ < parallelism % partitions.size() ? 1 : 0);
+      futures.add(partition.registerTaskProcessor(taskProcessor, Math.max(share, 1), executor));
+    }
+    return Futures.allOf(futures).thenApply(v -> null);
+  }
+
+  @Override
+  public CompletableFuture<Void> stopProcessing() {
+    return Futures.allOf(partitions.values().stream()
+        .map(AsyncWorkQueue::stopProcessing)
+        .collect(Collectors.toList()))
+        .thenApply(v -> null);
+  }
+
+  @Override
+  public CompletableFuture<WorkQueueStats> stats() {
+    Map<PartitionId, CompletableFuture<WorkQueueStats>> futures = new HashMap<>();
+    partitions.forEach((partitionId, partition) -> futures.put(partitionId, partition.stats()
+        .thenApply(stats -> {
+          pendingEstimates.get(partitionId).set(stats.totalPending());
+          return stats;
+        })));
+    return Futures.allOf(Lists.newArrayList(futures.values()))
+        .thenApply(stats -> WorkQueueStats.builder()
+            .withTotalPending(stats.stream().mapToLong(WorkQueueStats::totalPending).sum())
+            .withTotalInProgress(stats.stream().mapToLong(WorkQueueStats::totalInProgress).sum())
+            .withTotalCompleted(stats.stream().mapToLong(WorkQueueStats::totalCompleted).sum())
+            .build());
+  }
+
+  @Override
+  public CompletableFuture<Void> destroy() {
+    return Futures.allOf(partitions.values().stream()
+        .map(AsyncWorkQueue::destroy)
+        .collect(Collectors.toList()))
+        .thenApply(v -> null);
+  }
+
+  @Override
+  public CompletableFuture<Void> close() {
+    return Futures.allOf(partitions.values().stream()
+        .map(AsyncWorkQueue::close)
+        .collect(Collectors.toList()))
+        .thenApply(v -> null);
+  }
+
+  @Override
+  public WorkQueue<E> sync(Duration operationTimeout) {
+    return new BlockingWorkQueue<>(this, operationTimeout.toMillis());
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("name", name)
+        .add("partitions", partitions.keySet())
+        .toString();
+  }
+}
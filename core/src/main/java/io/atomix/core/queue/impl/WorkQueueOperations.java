@@ -23,6 +23,7 @@ import io.atomix.primitive.operation.OperationType;
 import io.atomix.utils.serializer.KryoNamespace;
 import io.atomix.utils.serializer.KryoNamespaces;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 /**
@@ -38,7 +39,8 @@ public enum WorkQueueOperations implements OperationId {
   ADD(OperationType.COMMAND),
   TAKE(OperationType.COMMAND),
   COMPLETE(OperationType.COMMAND),
-  CLEAR(OperationType.COMMAND);
+  CLEAR(OperationType.COMMAND),
+  ACK(OperationType.COMMAND);
 
   private final OperationType type;
 
@@ -64,6 +66,7 @@ public enum WorkQueueOperations implements OperationId {
       .register(Complete.class)
       .register(Task.class)
       .register(WorkQueueStats.class)
+      .register(Ack.class)
       .build(WorkQueueOperations.class.getSimpleName());
 
   /**
@@ -104,22 +107,40 @@ public enum WorkQueueOperations implements OperationId {
   @SuppressWarnings("serial")
   public static class Take extends WorkQueueOperation {
     private int maxTasks;
+    private long timeout;
 
     private Take() {
     }
 
     public Take(int maxTasks) {
+      this(maxTasks, 0);
+    }
+
+    public Take(int maxTasks, long timeout) {
       this.maxTasks = maxTasks;
+      this.timeout = timeout;
     }
 
     public int maxTasks() {
       return maxTasks;
     }
 
+    /**
+     * Returns the visibility timeout for the taken tasks in milliseconds.
+     * <p>
+     * If the timeout is {@code 0}, tasks remain assigned until they're completed or the session is closed.
+     *
+     * @return the visibility timeout in milliseconds
+     */
+    public long timeout() {
+      return timeout;
+    }
+
     @Override
     public String toString() {
       return MoreObjects.toStringHelper(getClass())
           .add("maxTasks", maxTasks)
+          .add("timeout", timeout)
           .toString();
     }
   }
@@ -146,4 +167,32 @@ public enum WorkQueueOperations implements OperationId {
           .toString();
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Command to complete ranges of numeric task identifiers.
+   * <p>
+   * Ranges are encoded as pairs of inclusive {@code [first, last]} task identifiers.
+   */
+  @SuppressWarnings("serial")
+  public static class Ack extends WorkQueueOperation {
+    private long[] ranges;
+
+    private Ack() {
+    }
+
+    public Ack(long[] ranges) {
+      this.ranges = ranges;
+    }
+
+    public long[] ranges() {
+      return ranges;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(getClass())
+          .add("ranges", Arrays.toString(ranges))
+          .toString();
+    }
+  }
+}
@@ -21,6 +21,7 @@ import io.atomix.core.queue.AsyncWorkQueue;
 import io.atomix.core.queue.Task;
 import io.atomix.core.queue.WorkQueue;
 import io.atomix.core.queue.WorkQueueStats;
+import io.atomix.core.queue.impl.WorkQueueOperations.Ack;
 import io.atomix.core.queue.impl.WorkQueueOperations.Add;
 import io.atomix.core.queue.impl.WorkQueueOperations.Complete;
 import io.atomix.core.queue.impl.WorkQueueOperations.Take;
@@ -34,6 +35,7 @@ import io.atomix.utils.serializer.Serializer;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Timer;
@@ -46,6 +48,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import static io.atomix.core.queue.impl.WorkQueueEvents.TASK_AVAILABLE;
+import static io.atomix.core.queue.impl.WorkQueueOperations.ACK;
 import static io.atomix.core.queue.impl.WorkQueueOperations.ADD;
 import static io.atomix.core.queue.impl.WorkQueueOperations.CLEAR;
 import static io.atomix.core.queue.impl.WorkQueueOperations.COMPLETE;
@@ -72,9 +75,15 @@ public class WorkQueueProxy extends AbstractAsyncPrimitive implements AsyncWorkQ
   private final AtomicReference<TaskProcessor> taskProcessor = new AtomicReference<>();
   private final Timer timer = new Timer("atomix-work-queue-completer");
   private final AtomicBoolean isRegistered = new AtomicBoolean(false);
+  private final long taskTimeout;
 
   public WorkQueueProxy(PrimitiveProxy proxy) {
+    this(proxy, Duration.ZERO);
+  }
+
+  public WorkQueueProxy(PrimitiveProxy proxy, Duration taskTimeout) {
     super(proxy);
+    this.taskTimeout = taskTimeout.toMillis();
     executor = newSingleThreadExecutor(namedThreads("atomix-work-queue-" + proxy.name() + "-%d", log));
     proxy.addStateChangeListener(state -> {
       if (state == PrimitiveProxy.State.CONNECTED && isRegistered.get()) {
@@ -104,7 +113,7 @@ public class WorkQueueProxy extends AbstractAsyncPrimitive implements AsyncWorkQ
     if (maxTasks <= 0) {
       return CompletableFuture.completedFuture(ImmutableList.of());
     }
-    return proxy.invoke(TAKE, SERIALIZER::encode, new Take(maxTasks), SERIALIZER::decode);
+    return proxy.invoke(TAKE, SERIALIZER::encode, new Take(maxTasks, taskTimeout), SERIALIZER::decode);
   }
 
   @Override
@@ -112,7 +121,41 @@ public class WorkQueueProxy extends AbstractAsyncPrimitive implements AsyncWorkQ
     if (taskIds.isEmpty()) {
       return CompletableFuture.completedFuture(null);
     }
-    return proxy.invoke(COMPLETE, SERIALIZER::encode, new Complete(taskIds));
+    long[] ranges = toRanges(taskIds);
+    if (ranges == null) {
+      return proxy.invoke(COMPLETE, SERIALIZER::encode, new Complete(taskIds));
+    }
+    return proxy.invoke(ACK, SERIALIZER::encode, new Ack(ranges));
+  }
+
+  /**
+   * Encodes the given task IDs as sorted pairs of inclusive ranges.
+   *
+   * @return the encoded ranges or {@code null} if any task ID is not numeric
+   */
+  private static long[] toRanges(Collection<String> taskIds) {
+    long[] ids = new long[taskIds.size()];
+    int i = 0;
+    for (String taskId : taskIds) {
+      try {
+        ids[i++] = Long.parseLong(taskId);
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+    Arrays.sort(ids);
+
+    long[] ranges = new long[ids.length * 2];
+    int count = 0;
+    for (long id : ids) {
+      if (count > 0 && id <= ranges[count - 1] + 1) {
+        ranges[count - 1] = Math.max(ranges[count - 1], id);
+      } else {
+        ranges[count++] = id;
+        ranges[count++] = id;
+      }
+    }
+    return Arrays.copyOf(ranges, count);
   }
 
   @Override
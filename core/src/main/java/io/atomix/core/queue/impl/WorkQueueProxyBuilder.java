@@ -15,11 +15,19 @@
  */
 package io.atomix.core.queue.impl;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.atomix.core.queue.AsyncWorkQueue;
 import io.atomix.core.queue.WorkQueue;
 import io.atomix.core.queue.WorkQueueBuilder;
 import io.atomix.primitive.PrimitiveManagementService;
 import io.atomix.primitive.PrimitiveProtocol;
+import io.atomix.primitive.partition.Partition;
+import io.atomix.primitive.partition.PartitionGroup;
+import io.atomix.primitive.partition.PartitionId;
+import io.atomix.utils.concurrent.Futures;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -38,6 +46,10 @@ public class WorkQueueProxyBuilder<E> extends WorkQueueBuilder<E> {
   @Override
   @SuppressWarnings("unchecked")
   public CompletableFuture<WorkQueue<E>> buildAsync() {
+    if (partitioned()) {
+      return buildPartitionedAsync();
+    }
+
     PrimitiveProtocol protocol = protocol();
     return managementService.getPartitionService()
         .getPartitionGroup(protocol)
@@ -45,6 +57,25 @@ public class WorkQueueProxyBuilder<E> extends WorkQueueBuilder<E> {
         .getPrimitiveClient()
         .newProxy(name(), primitiveType(), protocol)
         .connect()
-        .thenApply(proxy -> new TranscodingAsyncWorkQueue<E, byte[]>(new WorkQueueProxy(proxy), serializer()::encode, serializer()::decode).sync());
+        .thenApply(proxy -> new TranscodingAsyncWorkQueue<E, byte[]>(new WorkQueueProxy(proxy, taskTimeout()), serializer()::encode, serializer()::decode).sync());
+  }
+
+  private CompletableFuture<WorkQueue<E>> buildPartitionedAsync() {
+    PrimitiveProtocol protocol = protocol();
+    PartitionGroup partitions = managementService.getPartitionService().getPartitionGroup(protocol);
+
+    Map<PartitionId, CompletableFuture<AsyncWorkQueue<byte[]>>> queues = Maps.newConcurrentMap();
+    for (Partition partition : partitions.getPartitions()) {
+      queues.put(partition.id(), partition.getPrimitiveClient()
+          .newProxy(name(), primitiveType(), protocol)
+          .connect()
+          .thenApply(proxy -> new WorkQueueProxy(proxy, taskTimeout())));
+    }
+
+    return Futures.allOf(Lists.newArrayList(queues.values()))
+        .thenApply(q -> {
+          AsyncWorkQueue<byte[]> partitionedQueue = new PartitionedAsyncWorkQueue<>(name(), Maps.transformValues(queues, v -> v.getNow(null)));
+          return new TranscodingAsyncWorkQueue<E, byte[]>(partitionedQueue, serializer()::encode, serializer()::decode).sync();
+        });
   }
 }
@@ -16,14 +16,10 @@
 package io.atomix.core.queue.impl;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Queues;
-import com.google.common.collect.Sets;
-
 import io.atomix.core.queue.Task;
 import io.atomix.core.queue.WorkQueueStats;
+import io.atomix.core.queue.impl.WorkQueueOperations.Ack;
 import io.atomix.core.queue.impl.WorkQueueOperations.Add;
 import io.atomix.core.queue.impl.WorkQueueOperations.Complete;
 import io.atomix.core.queue.impl.WorkQueueOperations.Take;
@@ -33,11 +29,27 @@ import io.atomix.primitive.service.ServiceExecutor;
 import io.atomix.primitive.session.Session;
 import io.atomix.storage.buffer.BufferInput;
 import io.atomix.storage.buffer.BufferOutput;
+import io.atomix.utils.concurrent.Scheduled;
 import io.atomix.utils.serializer.KryoNamespace;
 import io.atomix.utils.serializer.KryoNamespaces;
 import io.atomix.utils.serializer.Serializer;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static io.atomix.core.queue.impl.WorkQueueEvents.TASK_AVAILABLE;
+import static io.atomix.core.queue.impl.WorkQueueOperations.ACK;
 import static io.atomix.core.queue.impl.WorkQueueOperations.ADD;
 import static io.atomix.core.queue.impl.WorkQueueOperations.CLEAR;
 import static io.atomix.core.queue.impl.WorkQueueOperations.COMPLETE;
@@ -46,21 +58,17 @@ import static io.atomix.core.queue.impl.WorkQueueOperations.STATS;
 import static io.atomix.core.queue.impl.WorkQueueOperations.TAKE;
 import static io.atomix.core.queue.impl.WorkQueueOperations.UNREGISTER;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
 /**
  * State machine for {@link WorkQueueProxy} resource.
+ * <p>
+ * Tasks are identified by a monotonically increasing numeric identifier and are held in a FIFO queue until
+ * taken. Each {@link Take} assigns a batch of tasks to the taking session under a single lease. Leases are
+ * released when all of their tasks are completed, when the session is closed or expires, or, if the take
+ * specified a visibility timeout, when the timeout elapses on the deterministic service scheduler. Tasks
+ * from released leases that were not completed are returned to the head of the queue.
+ * <p>
+ * Workers are notified fairly: only workers whose last take left them with spare capacity are notified when
+ * tasks become available, and no more workers are notified than there are available tasks.
  */
 public class WorkQueueService extends AbstractPrimitiveService {
 
@@ -68,34 +76,98 @@ public class WorkQueueService extends AbstractPrimitiveService {
       .register(KryoNamespaces.BASIC)
       .register(WorkQueueOperations.NAMESPACE)
       .register(WorkQueueEvents.NAMESPACE)
-      .register(TaskAssignment.class)
-      .register(new HashMap().keySet().getClass())
-      .register(ArrayDeque.class)
       .build());
 
-  private final AtomicLong totalCompleted = new AtomicLong(0);
-
-  private Queue<Task<byte[]>> unassignedTasks = Queues.newArrayDeque();
-  private Map<String, TaskAssignment> assignments = Maps.newHashMap();
-  private Map<Long, Session> registeredWorkers = Maps.newHashMap();
+  private long nextTaskId;
+  private long totalCompleted;
+  private final Deque<QueuedTask> unassignedTasks = new ArrayDeque<>();
+  private final Map<Long, Lease> assignments = new HashMap<>();
+  private final Map<Long, Set<Lease>> sessionLeases = new HashMap<>();
+  private final Map<Long, Session> registeredWorkers = new LinkedHashMap<>();
+  private final Set<Long> waitingWorkers = new LinkedHashSet<>();
 
   @Override
   public void backup(BufferOutput<?> writer) {
-    writer.writeObject(Sets.newHashSet(registeredWorkers.keySet()), SERIALIZER::encode);
-    writer.writeObject(assignments, SERIALIZER::encode);
-    writer.writeObject(unassignedTasks, SERIALIZER::encode);
-    writer.writeLong(totalCompleted.get());
+    writer.writeLong(nextTaskId);
+    writer.writeLong(totalCompleted);
+
+    writer.writeInt(registeredWorkers.size());
+    registeredWorkers.keySet().forEach(writer::writeLong);
+    writer.writeInt(waitingWorkers.size());
+    waitingWorkers.forEach(writer::writeLong);
+
+    writer.writeInt(unassignedTasks.size());
+    for (QueuedTask task : unassignedTasks) {
+      writeTask(task, writer);
+    }
+
+    int leaseCount = 0;
+    for (Set<Lease> leases : sessionLeases.values()) {
+      leaseCount += leases.size();
+    }
+    writer.writeInt(leaseCount);
+    for (Set<Lease> leases : sessionLeases.values()) {
+      for (Lease lease : leases) {
+        writer.writeLong(lease.id);
+        writer.writeLong(lease.sessionId);
+        writer.writeLong(lease.expire);
+        writer.writeInt(lease.remaining);
+        for (QueuedTask task : lease.tasks) {
+          if (assignments.get(task.id) == lease) {
+            writeTask(task, writer);
+          }
+        }
+      }
+    }
   }
 
   @Override
   public void restore(BufferInput<?> reader) {
-    registeredWorkers = Maps.newHashMap();
-    for (Long sessionId : reader.<Set<Long>>readObject(SERIALIZER::decode)) {
+    reset();
+    nextTaskId = reader.readLong();
+    totalCompleted = reader.readLong();
+
+    int workerCount = reader.readInt();
+    for (int i = 0; i < workerCount; i++) {
+      long sessionId = reader.readLong();
       registeredWorkers.put(sessionId, getSessions().getSession(sessionId));
     }
-    assignments = reader.readObject(SERIALIZER::decode);
-    unassignedTasks = reader.readObject(SERIALIZER::decode);
-    totalCompleted.set(reader.readLong());
+    int waitingCount = reader.readInt();
+    for (int i = 0; i < waitingCount; i++) {
+      waitingWorkers.add(reader.readLong());
+    }
+
+    int taskCount = reader.readInt();
+    for (int i = 0; i < taskCount; i++) {
+      unassignedTasks.add(readTask(reader));
+    }
+
+    int leaseCount = reader.readInt();
+    for (int i = 0; i < leaseCount; i++) {
+      long id = reader.readLong();
+      long sessionId = reader.readLong();
+      long expire = reader.readLong();
+      QueuedTask[] tasks = new QueuedTask[reader.readInt()];
+      for (int j = 0; j < tasks.length; j++) {
+        tasks[j] = readTask(reader);
+      }
+      Lease lease = new Lease(id, sessionId, expire, tasks);
+      acquireLease(lease);
+      if (expire > 0) {
+        scheduleExpiration(lease, Math.max(expire - getWallClock().getTime().unixTimestamp(), 0));
+      }
+    }
+  }
+
+  private static void writeTask(QueuedTask task, BufferOutput<?> writer) {
+    writer.writeLong(task.id);
+    writer.writeInt(task.payload.length);
+    writer.write(task.payload);
+  }
+
+  private static QueuedTask readTask(BufferInput<?> reader) {
+    long id = reader.readLong();
+    return new QueuedTask(id, reader.readBytes(reader.readInt()));
   }
 
   @Override
@@ -106,88 +178,219 @@ public class WorkQueueService extends AbstractPrimitiveService {
     executor.register(ADD, SERIALIZER::decode, this::add);
     executor.register(TAKE, SERIALIZER::decode, this::take, SERIALIZER::encode);
     executor.register(COMPLETE, SERIALIZER::decode, this::complete);
+    executor.register(ACK, SERIALIZER::decode, this::ack);
     executor.register(CLEAR, this::clear);
   }
 
   protected WorkQueueStats stats(Commit<Void> commit) {
     return WorkQueueStats.builder()
-        .withTotalCompleted(totalCompleted.get())
+        .withTotalCompleted(totalCompleted)
         .withTotalPending(unassignedTasks.size())
         .withTotalInProgress(assignments.size())
         .build();
   }
 
   protected void clear(Commit<Void> commit) {
+    reset();
+  }
+
+  /**
+   * Resets the queue state, cancelling all lease timers.
+   */
+  private void reset() {
+    sessionLeases.values().forEach(leases -> leases.forEach(Lease::cancel));
+    sessionLeases.clear();
     unassignedTasks.clear();
     assignments.clear();
     registeredWorkers.clear();
-    totalCompleted.set(0);
+    waitingWorkers.clear();
+    totalCompleted = 0;
   }
 
   protected void register(Commit<Void> commit) {
-    registeredWorkers.put(commit.session().sessionId().id(), commit.session());
+    long sessionId = commit.session().sessionId().id();
+    registeredWorkers.put(sessionId, commit.session());
+    waitingWorkers.add(sessionId);
   }
 
   protected void unregister(Commit<Void> commit) {
-    registeredWorkers.remove(commit.session().sessionId().id());
+    long sessionId = commit.session().sessionId().id();
+    registeredWorkers.remove(sessionId);
+    waitingWorkers.remove(sessionId);
   }
 
   protected void add(Commit<? extends Add> commit) {
     Collection<byte[]> items = commit.value().items();
-
-    AtomicInteger itemIndex = new AtomicInteger(0);
-    items.forEach(item -> {
-      String taskId = String.format("%d:%d:%d", commit.session().sessionId().id(),
-          commit.index(),
-          itemIndex.getAndIncrement());
-      unassignedTasks.add(new Task<>(taskId, item));
-    });
-
-    // Send an event to all sessions that have expressed interest in task processing
-    // and are not actively processing a task.
-    registeredWorkers.values().forEach(session -> session.publish(TASK_AVAILABLE));
-    // FIXME: This generates a lot of event traffic.
+    for (byte[] item : items) {
+      unassignedTasks.add(new QueuedTask(++nextTaskId, item));
+    }
+    notifyWorkers(items.size());
   }
 
   protected Collection<Task<byte[]>> take(Commit<? extends Take> commit) {
-    try {
-      if (unassignedTasks.isEmpty()) {
-        return ImmutableList.of();
+    long sessionId = commit.session().sessionId().id();
+    int maxTasks = commit.value().maxTasks();
+    int count = Math.min(maxTasks, unassignedTasks.size());
+
+    // Workers that are left with spare capacity after the take are eligible for notifications.
+    if (registeredWorkers.containsKey(sessionId)) {
+      waitingWorkers.remove(sessionId);
+      if (count < maxTasks) {
+        waitingWorkers.add(sessionId);
       }
-      long sessionId = commit.session().sessionId().id();
-      int maxTasks = commit.value().maxTasks();
-      return IntStream.range(0, Math.min(maxTasks, unassignedTasks.size()))
-          .mapToObj(i -> {
-            Task<byte[]> task = unassignedTasks.poll();
-            String taskId = task.taskId();
-            TaskAssignment assignment = new TaskAssignment(sessionId, task);
+    }
+
+    if (count <= 0) {
+      return ImmutableList.of();
+    }
 
-            // bookkeeping
-            assignments.put(taskId, assignment);
+    long timeout = commit.value().timeout();
+    QueuedTask[] tasks = new QueuedTask[count];
+    List<Task<byte[]>> taken = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      QueuedTask task = unassignedTasks.poll();
+      tasks[i] = task;
+      taken.add(new Task<>(String.valueOf(task.id), task.payload));
+    }
 
-            return task;
-          })
-          .collect(Collectors.toCollection(ArrayList::new));
-    } catch (Exception e) {
-      getLogger().warn("State machine update failed", e);
-      throw Throwables.propagate(e);
+    Lease lease = new Lease(
+        commit.index(),
+        sessionId,
+        timeout > 0 ? getWallClock().getTime().unixTimestamp() + timeout : 0,
+        tasks);
+    acquireLease(lease);
+    if (timeout > 0) {
+      scheduleExpiration(lease, timeout);
     }
+    return taken;
   }
 
   protected void complete(Commit<? extends Complete> commit) {
     long sessionId = commit.session().sessionId().id();
-    try {
-      commit.value().taskIds().forEach(taskId -> {
-        TaskAssignment assignment = assignments.get(taskId);
-        if (assignment != null && assignment.sessionId() == sessionId) {
-          assignments.remove(taskId);
-          // bookkeeping
-          totalCompleted.incrementAndGet();
+    for (String taskId : commit.value().taskIds()) {
+      try {
+        completeTask(Long.parseLong(taskId), sessionId);
+      } catch (NumberFormatException e) {
+        getLogger().debug("Ignoring unknown task {}", taskId);
+      }
+    }
+  }
+
+  protected void ack(Commit<? extends Ack> commit) {
+    long sessionId = commit.session().sessionId().id();
+    long[] ranges = commit.value().ranges();
+    checkArgument(ranges.length % 2 == 0, "ranges must be pairs of task identifiers");
+    for (int i = 0; i < ranges.length; i += 2) {
+      checkArgument(ranges[i] <= ranges[i + 1], "invalid task range [%s, %s]", ranges[i], ranges[i + 1]);
+    }
+
+    // Ranges are client supplied and may be arbitrarily wide, so scan the leased tasks rather than the ranges.
+    Set<Lease> leases = sessionLeases.get(sessionId);
+    if (leases == null) {
+      return;
+    }
+    for (Lease lease : new ArrayList<>(leases)) {
+      for (QueuedTask task : lease.tasks) {
+        if (assignments.get(task.id) == lease && inRanges(task.id, ranges)) {
+          completeTask(task.id, sessionId);
         }
-      });
-    } catch (Exception e) {
-      getLogger().warn("State machine update failed", e);
-      throw Throwables.propagate(e);
+      }
+    }
+  }
+
+  /**
+   * Returns a boolean indicating whether the given task identifier falls within any of the given ranges.
+   */
+  private static boolean inRanges(long taskId, long[] ranges) {
+    for (int i = 0; i < ranges.length; i += 2) {
+      if (taskId >= ranges[i] && taskId <= ranges[i + 1]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Completes the given task if it's assigned to the given session.
+   */
+  private void completeTask(long taskId, long sessionId) {
+    Lease lease = assignments.get(taskId);
+    if (lease != null && lease.sessionId == sessionId) {
+      assignments.remove(taskId);
+      totalCompleted++;
+      if (--lease.remaining == 0) {
+        releaseLease(lease);
+      }
+    }
+  }
+
+  /**
+   * Assigns the lease's tasks to the lease's session.
+   */
+  private void acquireLease(Lease lease) {
+    for (QueuedTask task : lease.tasks) {
+      assignments.put(task.id, lease);
+    }
+    sessionLeases.computeIfAbsent(lease.sessionId, id -> new LinkedHashSet<>()).add(lease);
+  }
+
+  /**
+   * Releases the given lease without returning its tasks to the queue.
+   */
+  private void releaseLease(Lease lease) {
+    lease.cancel();
+    Set<Lease> leases = sessionLeases.get(lease.sessionId);
+    if (leases != null) {
+      leases.remove(lease);
+      if (leases.isEmpty()) {
+        sessionLeases.remove(lease.sessionId);
+      }
+    }
+  }
+
+  /**
+   * Schedules the given lease to expire after the given delay.
+   */
+  private void scheduleExpiration(Lease lease, long delay) {
+    lease.timer = getScheduler().schedule(Duration.ofMillis(delay), () -> {
+      lease.timer = null;
+      releaseLease(lease);
+      notifyWorkers(requeue(lease));
+    });
+  }
+
+  /**
+   * Returns incomplete tasks from the given lease to the head of the queue, preserving their order.
+   *
+   * @return the number of tasks returned to the queue
+   */
+  private int requeue(Lease lease) {
+    int count = 0;
+    for (int i = lease.tasks.length - 1; i >= 0; i--) {
+      QueuedTask task = lease.tasks[i];
+      if (assignments.get(task.id) == lease) {
+        assignments.remove(task.id);
+        unassignedTasks.addFirst(task);
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Notifies up to {@code count} waiting workers that tasks are available.
+   * <p>
+   * Notified workers are removed from the waiting set until their next take leaves them with spare capacity.
+   */
+  private void notifyWorkers(int count) {
+    Iterator<Long> iterator = waitingWorkers.iterator();
+    while (count > 0 && iterator.hasNext()) {
+      Session session = registeredWorkers.get(iterator.next());
+      iterator.remove();
+      if (session != null && session.getState().active()) {
+        session.publishLatest(TASK_AVAILABLE);
+        count--;
+      }
     }
   }
 
@@ -203,42 +406,69 @@ public class WorkQueueService extends AbstractPrimitiveService {
 
   private void evictWorker(long sessionId) {
     registeredWorkers.remove(sessionId);
+    waitingWorkers.remove(sessionId);
 
-    // TODO: Maintain an index of tasks by session for efficient access.
-    Iterator<Map.Entry<String, TaskAssignment>> iter = assignments.entrySet().iterator();
-    while (iter.hasNext()) {
-      Map.Entry<String, TaskAssignment> entry = iter.next();
-      TaskAssignment assignment = entry.getValue();
-      if (assignment.sessionId() == sessionId) {
-        unassignedTasks.add(assignment.task());
-        iter.remove();
+    Set<Lease> leases = sessionLeases.remove(sessionId);
+    if (leases != null) {
+      // Requeue the most recent leases first so the oldest tasks end up at the head of the queue.
+      List<Lease> released = new ArrayList<>(leases);
+      int count = 0;
+      for (int i = released.size() - 1; i >= 0; i--) {
+        Lease lease = released.get(i);
+        lease.cancel();
+        count += requeue(lease);
       }
+      notifyWorkers(count);
     }
   }
 
-  private static class TaskAssignment {
-    private final long sessionId;
-    private final Task<byte[]> task;
+  /**
+   * Task that has been added to the queue.
+   */
+  private static class QueuedTask {
+    private final long id;
+    private final byte[] payload;
 
-    public TaskAssignment(long sessionId, Task<byte[]> task) {
-      this.sessionId = sessionId;
-      this.task = task;
+    QueuedTask(long id, byte[] payload) {
+      this.id = id;
+      this.payload = payload;
     }
+  }
+
+  /**
+   * Batch of tasks assigned to a session by a single take.
+   */
+  private static class Lease {
+    private final long id;
+    private final long sessionId;
+    private final long expire;
+    private final QueuedTask[] tasks;
+    private int remaining;
+    private Scheduled timer;
 
-    public long sessionId() {
-      return sessionId;
+    Lease(long id, long sessionId, long expire, QueuedTask[] tasks) {
+      this.id = id;
+      this.sessionId = sessionId;
+      this.expire = expire;
+      this.tasks = tasks;
+      this.remaining = tasks.length;
     }
 
-    public Task<byte[]> task() {
-      return task;
+    void cancel() {
+      if (timer != null) {
+        timer.cancel();
+        timer = null;
+      }
     }
 
     @Override
     public String toString() {
       return MoreObjects.toStringHelper(getClass())
+          .add("id", id)
           .add("sessionId", sessionId)
-          .add("task", task)
+          .add("expire", expire)
+          .add("remaining", remaining)
           .toString();
     }
   }
-}
\ No newline at end of file
+}
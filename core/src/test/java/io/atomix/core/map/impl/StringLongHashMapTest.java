@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.core.map.impl;
+
+import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.HeapBuffer;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * String to long hash map test.
+ */
+public class StringLongHashMapTest {
+  @Test
+  public void testBasicOperations() throws Exception {
+    StringLongHashMap map = new StringLongHashMap();
+    assertTrue(map.isEmpty());
+    assertEquals(0, map.get("foo"));
+    assertEquals(0, map.put("foo", 1));
+    assertEquals(1, map.put("foo", 2));
+    assertEquals(2, map.putIfAbsent("foo", 3));
+    assertEquals(3, map.addAndGet("foo", 1));
+    assertEquals(3, map.getAndAdd("foo", -1));
+    assertEquals(2, map.get("foo"));
+    assertEquals(1, map.size());
+    assertEquals(2, map.remove("foo"));
+    assertFalse(map.containsKey("foo"));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void testRandomOperations() throws Exception {
+    StringLongHashMap map = new StringLongHashMap();
+    Map<String, Long> expected = new HashMap<>();
+    Random random = new Random(1);
+    for (int i = 0; i < 100000; i++) {
+      String key = String.valueOf(random.nextInt(5000));
+      if (random.nextInt(4) == 0) {
+        Long value = expected.remove(key);
+        assertEquals(value != null ? value : 0, map.remove(key));
+      } else {
+        long delta = random.nextInt(100) - 50;
+        expected.merge(key, delta, Long::sum);
+        assertEquals((long) expected.get(key), map.addAndGet(key, delta));
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals((long) value, map.get(key)));
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    StringLongHashMap map = new StringLongHashMap();
+    for (int i = 0; i < 1000; i++) {
+      map.put("key" + i, i % 2 == 0 ? i : -i * 1000000000L);
+    }
+
+    Buffer buffer = HeapBuffer.allocate();
+    map.writeTo(buffer);
+
+    StringLongHashMap copy = StringLongHashMap.readFrom(buffer.flip());
+    assertEquals(1000, copy.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i % 2 == 0 ? i : -i * 1000000000L, copy.get("key" + i));
+    }
+  }
+}
@@ -371,6 +371,44 @@ public class ConsistentSetMultimapTest extends AbstractPrimitiveTest {
     map.destroy().join();
   }
 
+  /**
+   * Tests the multi-key bulk put and remove operations.
+   */
+  @Test
+  public void testBulkOperations() throws Exception {
+    AsyncConsistentMultimap<String, String> map = createResource("testFiveMap");
+
+    Map<String, Collection<? extends String>> entries = Maps.newHashMap();
+    all.forEach(key -> entries.put(key, all));
+    assertTrue(map.putAll(entries).join());
+    assertFalse(map.putAll(entries).join());
+    assertEquals(16, (int) map.size().join());
+
+    all.forEach(value -> assertTrue(map.containsValue(value).join()));
+    assertTrue(map.containsEntry(one, two).join());
+    assertFalse(map.containsValue("none").join());
+
+    Map<String, Collection<? extends String>> removals = Maps.newHashMap();
+    removals.put(one, all);
+    removals.put(two, Lists.newArrayList(one, two));
+    assertTrue(map.removeAll(removals).join());
+    assertFalse(map.removeAll(removals).join());
+    assertEquals(10, (int) map.size().join());
+    assertFalse(map.containsKey(one).join());
+    assertFalse(map.containsEntry(two, one).join());
+    assertTrue(map.containsEntry(two, three).join());
+    assertTrue(map.containsValue(one).join());
+
+    removals.clear();
+    removals.put(three, Lists.newArrayList(one));
+    removals.put(four, Lists.newArrayList(one));
+    assertTrue(map.removeAll(removals).join());
+    assertFalse(map.containsValue(one).join());
+    assertEquals(8, (int) map.size().join());
+
+    map.destroy().join();
+  }
+
   private AsyncConsistentMultimap<String, String> createResource(String mapName) {
     try {
       return atomix().<String, String>consistentMultimapBuilder(mapName).build().async();
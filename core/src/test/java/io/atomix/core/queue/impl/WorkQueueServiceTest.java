@@ -18,8 +18,10 @@ package io.atomix.core.queue.impl;
 import io.atomix.core.PrimitiveTypes;
 import io.atomix.core.queue.Task;
 import io.atomix.core.queue.impl.WorkQueueService;
+import io.atomix.core.queue.impl.WorkQueueOperations.Ack;
 import io.atomix.core.queue.impl.WorkQueueOperations.Add;
 import io.atomix.core.queue.impl.WorkQueueOperations.Take;
+import io.atomix.primitive.PrimitiveException;
 import io.atomix.primitive.PrimitiveId;
 import io.atomix.primitive.service.ServiceContext;
 import io.atomix.primitive.service.impl.DefaultCommit;
@@ -27,16 +29,24 @@ import io.atomix.primitive.session.Session;
 import io.atomix.primitive.session.SessionId;
 import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.HeapBuffer;
+import io.atomix.utils.serializer.KryoNamespace;
+import io.atomix.utils.serializer.KryoNamespaces;
+import io.atomix.utils.serializer.Serializer;
+import io.atomix.utils.time.WallClock;
+import io.atomix.utils.time.WallClockTimestamp;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 
+import static io.atomix.core.queue.impl.WorkQueueOperations.ACK;
 import static io.atomix.core.queue.impl.WorkQueueOperations.ADD;
 import static io.atomix.core.queue.impl.WorkQueueOperations.TAKE;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -44,6 +54,12 @@ import static org.mockito.Mockito.when;
  * Work queue service test.
  */
 public class WorkQueueServiceTest {
+  private static final Serializer SERIALIZER = Serializer.using(KryoNamespace.builder()
+      .register(KryoNamespaces.BASIC)
+      .register(WorkQueueOperations.NAMESPACE)
+      .register(WorkQueueEvents.NAMESPACE)
+      .build());
+
   @Test
   public void testSnapshot() throws Exception {
     ServiceContext context = mock(ServiceContext.class);
@@ -81,4 +97,141 @@ public class WorkQueueServiceTest {
     assertEquals(1, value.size());
     assertArrayEquals("Hello world!".getBytes(), value.iterator().next().payload());
   }
+
+  @Test
+  public void testAckAndRequeue() throws Exception {
+    ServiceContext context = mock(ServiceContext.class);
+    when(context.serviceType()).thenReturn(PrimitiveTypes.workQueue());
+    when(context.serviceName()).thenReturn("test");
+    when(context.serviceId()).thenReturn(PrimitiveId.from(1));
+
+    Session session1 = mock(Session.class);
+    when(session1.sessionId()).thenReturn(SessionId.from(1));
+    Session session2 = mock(Session.class);
+    when(session2.sessionId()).thenReturn(SessionId.from(2));
+
+    WorkQueueService service = new WorkQueueService();
+    service.init(context);
+
+    service.add(new DefaultCommit<>(
+        2,
+        ADD,
+        new Add(Arrays.asList("a".getBytes(), "b".getBytes(), "c".getBytes(), "d".getBytes())),
+        session1,
+        System.currentTimeMillis()));
+
+    Collection<Task<byte[]>> tasks = service.take(new DefaultCommit<>(
+        3,
+        TAKE,
+        new Take(3),
+        session1,
+        System.currentTimeMillis()));
+    assertEquals(3, tasks.size());
+    Iterator<Task<byte[]>> iterator = tasks.iterator();
+    long first = Long.parseLong(iterator.next().taskId());
+    iterator.next();
+    long last = Long.parseLong(iterator.next().taskId());
+
+    // Acks from other sessions are ignored.
+    service.ack(new DefaultCommit<>(4, ACK, new Ack(new long[]{first, first}), session2, System.currentTimeMillis()));
+    service.ack(new DefaultCommit<>(5, ACK, new Ack(new long[]{last, last}), session1, System.currentTimeMillis()));
+    assertEquals(1, service.stats(new DefaultCommit<>(6, null, null, session1, 0)).totalCompleted());
+    assertEquals(2, service.stats(new DefaultCommit<>(6, null, null, session1, 0)).totalInProgress());
+
+    Buffer buffer = HeapBuffer.allocate();
+    service.backup(buffer);
+    service = new WorkQueueService();
+    service.init(context);
+    service.restore(buffer.flip());
+
+    // Closing the session returns its incomplete tasks to the head of the queue in order.
+    service.onClose(session1);
+    tasks = service.take(new DefaultCommit<>(
+        7,
+        TAKE,
+        new Take(10),
+        session2,
+        System.currentTimeMillis()));
+    assertEquals(3, tasks.size());
+    iterator = tasks.iterator();
+    assertArrayEquals("a".getBytes(), iterator.next().payload());
+    assertArrayEquals("b".getBytes(), iterator.next().payload());
+    assertArrayEquals("d".getBytes(), iterator.next().payload());
+  }
+
+  @Test
+  public void testLeaseExpiration() throws Exception {
+    ServiceContext context = mock(ServiceContext.class);
+    when(context.serviceType()).thenReturn(PrimitiveTypes.workQueue());
+    when(context.serviceName()).thenReturn("test");
+    when(context.serviceId()).thenReturn(PrimitiveId.from(1));
+    when(context.wallClock()).thenReturn(new WallClock());
+
+    Session session1 = mock(Session.class);
+    when(session1.sessionId()).thenReturn(SessionId.from(1));
+    Session session2 = mock(Session.class);
+    when(session2.sessionId()).thenReturn(SessionId.from(2));
+
+    WorkQueueService service = new WorkQueueService();
+    service.init(context);
+
+    long timestamp = System.currentTimeMillis();
+    service.apply(new DefaultCommit<>(
+        2,
+        ADD,
+        SERIALIZER.encode(new Add(Arrays.asList("a".getBytes(), "b".getBytes()))),
+        session1,
+        timestamp));
+
+    Collection<Task<byte[]>> tasks = SERIALIZER.decode(service.apply(new DefaultCommit<>(
+        3,
+        TAKE,
+        SERIALIZER.encode(new Take(2, 1000)),
+        session1,
+        timestamp)));
+    assertEquals(2, tasks.size());
+    Iterator<Task<byte[]>> iterator = tasks.iterator();
+    long first = Long.parseLong(iterator.next().taskId());
+    long last = Long.parseLong(iterator.next().taskId());
+
+    // Inverted ranges are rejected.
+    try {
+      service.apply(new DefaultCommit<>(
+          4,
+          ACK,
+          SERIALIZER.encode(new Ack(new long[]{last, first})),
+          session1,
+          timestamp));
+      fail();
+    } catch (PrimitiveException.ServiceException e) {
+    }
+    assertEquals(2, service.stats(new DefaultCommit<>(5, null, null, session1, 0)).totalInProgress());
+
+    // Arbitrarily wide ranges only complete the tasks leased to the session.
+    service.apply(new DefaultCommit<>(
+        6,
+        ACK,
+        SERIALIZER.encode(new Ack(new long[]{last, Long.MAX_VALUE})),
+        session1,
+        timestamp));
+    assertEquals(1, service.stats(new DefaultCommit<>(7, null, null, session1, 0)).totalCompleted());
+    assertEquals(1, service.stats(new DefaultCommit<>(7, null, null, session1, 0)).totalInProgress());
+
+    // The unacknowledged task is redelivered once the lease expires.
+    service.tick(WallClockTimestamp.from(timestamp + 1000));
+    assertEquals(1, service.stats(new DefaultCommit<>(8, null, null, session1, 0)).totalInProgress());
+    service.tick(WallClockTimestamp.from(timestamp + 1001));
+    assertEquals(0, service.stats(new DefaultCommit<>(8, null, null, session1, 0)).totalInProgress());
+
+    tasks = SERIALIZER.decode(service.apply(new DefaultCommit<>(
+        9,
+        TAKE,
+        SERIALIZER.encode(new Take(2)),
+        session2,
+        timestamp + 1001)));
+    assertEquals(1, tasks.size());
+    Task<byte[]> task = tasks.iterator().next();
+    assertEquals(first, Long.parseLong(task.taskId()));
+    assertArrayEquals("a".getBytes(), task.payload());
+  }
 }
@@ -26,7 +26,9 @@ import org.junit.Test;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -101,6 +103,30 @@ public class WorkQueueTest extends AbstractPrimitiveTest {
     assertNull(queue2.take().join());
   }
 
+  @Test
+  public void testPartitionedTakeAndComplete() throws Throwable {
+    String queueName = UUID.randomUUID().toString();
+    AsyncWorkQueue<String> queue1 = atomix().<String>workQueueBuilder(queueName).withPartitioning().build().async();
+    queue1.addMultiple(Arrays.asList("a", "b", "c", "d", "e", "f")).join();
+
+    WorkQueueStats stats = queue1.stats().join();
+    assertEquals(6, stats.totalPending());
+
+    AsyncWorkQueue<String> queue2 = atomix().<String>workQueueBuilder(queueName).withPartitioning().build().async();
+    Collection<Task<String>> tasks = queue2.take(10).join();
+    assertEquals(6, tasks.size());
+
+    stats = queue2.stats().join();
+    assertEquals(0, stats.totalPending());
+    assertEquals(6, stats.totalInProgress());
+
+    queue2.complete(tasks.stream().map(Task::taskId).collect(Collectors.toList())).join();
+    stats = queue1.stats().join();
+    assertEquals(0, stats.totalPending());
+    assertEquals(0, stats.totalInProgress());
+    assertEquals(6, stats.totalCompleted());
+  }
+
   @Test
   public void testUnexpectedClientClose() throws Throwable {
     String queueName = UUID.randomUUID().toString();
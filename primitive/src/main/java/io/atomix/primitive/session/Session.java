@@ -136,6 +136,38 @@ public interface Session {
    */
   void publish(PrimitiveEvent event);
 
+  /**
+   * Publishes an empty event to the session, replacing any undelivered events of the same type.
+   *
+   * @param eventType the event type
+   */
+  default void publishLatest(EventType eventType) {
+    publishLatest(eventType, HeapBytes.EMPTY);
+  }
+
+  /**
+   * Publishes an event to the session, replacing any undelivered events of the same type.
+   *
+   * @param eventType the event identifier
+   * @param event     the event to publish
+   * @throws NullPointerException if the event is {@code null}
+   */
+  default void publishLatest(EventType eventType, byte[] event) {
+    publishLatest(new PrimitiveEvent(EventType.simplify(eventType), event));
+  }
+
+  /**
+   * Publishes an event to the session, replacing any undelivered events of the same type.
+   * <p>
+   * Conflated events are intended for notifications where only the most recent value is meaningful to the client.
+   * Implementations that do not buffer events may simply {@link #publish(PrimitiveEvent) publish} the event.
+   *
+   * @param event the event to publish
+   */
+  default void publishLatest(PrimitiveEvent event) {
+    publish(event);
+  }
+
   /**
    * Session state enums.
    */
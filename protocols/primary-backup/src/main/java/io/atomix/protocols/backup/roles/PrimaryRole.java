@@ -29,7 +29,8 @@ import io.atomix.protocols.backup.protocol.HeartbeatOperation;
 import io.atomix.protocols.backup.protocol.RestoreRequest;
 import io.atomix.protocols.backup.protocol.RestoreResponse;
 import io.atomix.protocols.backup.service.impl.PrimaryBackupServiceContext;
-import io.atomix.storage.buffer.HeapBuffer;
+import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.SlabAllocator;
 import io.atomix.utils.concurrent.Futures;
 import io.atomix.utils.concurrent.Scheduled;
 
@@ -157,10 +158,12 @@ public class PrimaryRole extends PrimaryBackupRole {
       return CompletableFuture.completedFuture(logResponse(RestoreResponse.error()));
     }
 
-    HeapBuffer buffer = HeapBuffer.allocate();
-    context.service().backup(buffer);
-    buffer.flip();
-    byte[] bytes = buffer.readBytes(buffer.remaining());
+    byte[] bytes;
+    try (Buffer buffer = SlabAllocator.DEFAULT.allocate()) {
+      context.service().backup(buffer);
+      buffer.flip();
+      bytes = buffer.readBytes(buffer.remaining());
+    }
     return CompletableFuture.completedFuture(
         RestoreResponse.ok(context.currentIndex(), context.currentTimestamp(), bytes))
         .thenApply(this::logResponse);
@@ -199,6 +199,7 @@ public interface RaftClient extends PrimitiveClient<RaftProtocol> {
     protected RaftClientProtocol protocol;
     protected ThreadModel threadModel = ThreadModel.SHARED_THREAD_POOL;
     protected int threadPoolSize = Runtime.getRuntime().availableProcessors();
+    protected boolean sessionMultiplexing;
 
     protected Builder(Collection<NodeId> cluster) {
       this.cluster = checkNotNull(cluster, "cluster cannot be null");
@@ -267,5 +268,21 @@ public interface RaftClient extends PrimitiveClient<RaftProtocol> {
       this.threadPoolSize = threadPoolSize;
       return this;
     }
+
+    /**
+     * Sets whether to multiplex primitive sessions over a single client session.
+     * <p>
+     * When session multiplexing is enabled, the client opens a single client session with the cluster and opens
+     * all primitive sessions under it. Primitive sessions retain their own command and event sequencing, but are
+     * kept alive and expired with the client session, so keep-alive traffic and session expiration work scale with
+     * the number of clients rather than the number of primitives.
+     *
+     * @param sessionMultiplexing whether to enable session multiplexing
+     * @return the client builder
+     */
+    public Builder withSessionMultiplexing(boolean sessionMultiplexing) {
+      this.sessionMultiplexing = sessionMultiplexing;
+      return this;
+    }
   }
 }
@@ -28,6 +28,7 @@ import io.atomix.protocols.raft.protocol.RaftServerProtocol;
 import io.atomix.protocols.raft.storage.RaftStorage;
 import io.atomix.protocols.raft.storage.log.RaftLog;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.statistics.StorageStatistics;
 import io.atomix.utils.concurrent.ThreadModel;
 
 import java.net.InetAddress;
@@ -288,6 +289,30 @@ public interface RaftServer {
    */
   Role getRole();
 
+  /**
+   * Returns the number of committed entries the given member has yet to receive from the leader.
+   * <p>
+   * Replication lag is tracked by the leader, which replicates entries to {@link RaftMember.Type#PASSIVE} members at
+   * a lower priority than voting members. For passive members serving reads, this can be used to monitor how far the
+   * member has fallen behind the leader.
+   *
+   * @param memberId The identifier of the member for which to return the replication lag.
+   * @return The number of committed entries the member has yet to receive.
+   * @throws IllegalStateException if the server is not the leader
+   * @throws IllegalArgumentException if the member is not a member of the cluster
+   */
+  long getReplicationLag(NodeId memberId);
+
+  /**
+   * Returns the server's storage statistics.
+   * <p>
+   * Storage statistics include the disk space available to the server's storage directory along with live
+   * statistics for the server's log and snapshots.
+   *
+   * @return The server's storage statistics.
+   */
+  StorageStatistics getStorageStatistics();
+
   /**
    * Returns whether the server is the leader.
    *
@@ -551,6 +576,7 @@ public interface RaftServer {
     private static final Duration DEFAULT_ELECTION_TIMEOUT = Duration.ofMillis(750);
     private static final Duration DEFAULT_HEARTBEAT_INTERVAL = Duration.ofMillis(250);
     private static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofMillis(5000);
+    private static final Duration DEFAULT_MAX_CLOCK_DRIFT = Duration.ofMillis(100);
     private static final ThreadModel DEFAULT_THREAD_MODEL = ThreadModel.SHARED_THREAD_POOL;
     private static final int DEFAULT_THREAD_POOL_SIZE = Runtime.getRuntime().availableProcessors();
 
@@ -562,9 +588,11 @@ public interface RaftServer {
     protected Duration electionTimeout = DEFAULT_ELECTION_TIMEOUT;
     protected Duration heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
     protected Duration sessionTimeout = DEFAULT_SESSION_TIMEOUT;
+    protected Duration maxClockDrift = DEFAULT_MAX_CLOCK_DRIFT;
     protected PrimitiveTypeRegistry primitiveTypes = new PrimitiveTypeRegistry();
     protected ThreadModel threadModel = DEFAULT_THREAD_MODEL;
     protected int threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
+    protected int serviceThreads;
 
     protected Builder(NodeId localNodeId) {
       this.localNodeId = checkNotNull(localNodeId, "localNodeId cannot be null");
@@ -711,6 +739,27 @@ public interface RaftServer {
       return this;
     }
 
+    /**
+     * Sets the maximum clock drift between servers, returning the Raft configuration for method chaining.
+     * <p>
+     * The maximum clock drift bounds how far the clocks of any two servers may drift apart over the course of an
+     * election timeout. Leaders serve {@link ReadConsistency#LINEARIZABLE_LEASE} reads
+     * locally for the election timeout less the maximum clock drift after a heartbeat is acknowledged by a majority
+     * of the cluster.
+     *
+     * @param maxClockDrift The maximum clock drift.
+     * @return The server builder.
+     * @throws IllegalArgumentException If the maximum clock drift is negative or not less than the election timeout
+     * @throws NullPointerException     if {@code maxClockDrift} is null
+     */
+    public Builder withMaxClockDrift(Duration maxClockDrift) {
+      checkNotNull(maxClockDrift, "maxClockDrift cannot be null");
+      checkArgument(!maxClockDrift.isNegative(), "maxClockDrift must not be negative");
+      checkArgument(maxClockDrift.toMillis() < electionTimeout.toMillis(), "maxClockDrift must be less than electionTimeout");
+      this.maxClockDrift = maxClockDrift;
+      return this;
+    }
+
     /**
      * Sets the server thread pool size.
      *
@@ -722,5 +771,23 @@ public interface RaftServer {
       this.threadPoolSize = threadPoolSize;
       return this;
     }
+
+    /**
+     * Sets the number of threads on which to apply operations to services.
+     * <p>
+     * By default, operations on all the services in a partition are applied on a single state machine thread.
+     * If the number of service threads is positive, each service is assigned to one of the service threads and
+     * commands and queries for different services are applied in parallel. Entries that affect multiple services,
+     * like session and configuration changes, are still applied in log order after all prior entries.
+     *
+     * @param serviceThreads The number of service threads, or {@code 0} to apply all services on the state machine thread.
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code serviceThreads} is negative
+     */
+    public Builder withServiceThreads(int serviceThreads) {
+      checkArgument(serviceThreads >= 0, "serviceThreads must not be negative");
+      this.serviceThreads = serviceThreads;
+      return this;
+    }
   }
 }
@@ -17,6 +17,7 @@ package io.atomix.protocols.raft.cluster.impl;
 
 import io.atomix.protocols.raft.storage.log.RaftLog;
 import io.atomix.protocols.raft.storage.log.RaftLogReader;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -29,19 +30,22 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public final class RaftMemberContext {
   private static final int MAX_APPENDS = 2;
   private static final int APPEND_WINDOW_SIZE = 8;
+  private static final int MAX_INSTALLS = 4;
   private final DefaultRaftMember member;
   private long term;
   private long configIndex;
   private long snapshotIndex;
   private long nextSnapshotIndex;
   private int nextSnapshotOffset;
-  private long matchIndex;
+  private int snapshotChunkSize;
+  private SnapshotReader snapshotReader;
+  private volatile long matchIndex;
   private long heartbeatTime;
   private int appending;
   private boolean appendSucceeded;
   private long appendTime;
   private boolean configuring;
-  private boolean installing;
+  private int installing;
   private int failures;
   private long failureTime;
   private volatile RaftLogReader reader;
@@ -58,23 +62,30 @@ public final class RaftMemberContext {
     snapshotIndex = 0;
     nextSnapshotIndex = 0;
     nextSnapshotOffset = 0;
+    snapshotChunkSize = 0;
+    setSnapshotReader(null);
     matchIndex = 0;
     heartbeatTime = 0;
     appending = 0;
     timeStats.clear();
     configuring = false;
-    installing = false;
+    installing = 0;
     appendSucceeded = false;
     failures = 0;
     failureTime = 0;
 
+    // Close the previous reader so it doesn't hold on to segment files.
+    if (reader != null) {
+      reader.close();
+    }
+
     switch (member.getType()) {
       case PASSIVE:
-        reader = log.openReader(log.writer().getLastIndex() + 1, RaftLogReader.Mode.COMMITS);
+        reader = log.openSequentialReader(log.writer().getLastIndex() + 1, RaftLogReader.Mode.COMMITS);
         break;
       case PROMOTABLE:
       case ACTIVE:
-        reader = log.openReader(log.writer().getLastIndex() + 1, RaftLogReader.Mode.ALL);
+        reader = log.openSequentialReader(log.writer().getLastIndex() + 1, RaftLogReader.Mode.ALL);
         break;
     }
   }
@@ -187,6 +198,45 @@ public final class RaftMemberContext {
     this.nextSnapshotOffset = nextSnapshotOffset;
   }
 
+  /**
+   * Returns the size of the next snapshot chunk to send to the member.
+   *
+   * @return The size of the next snapshot chunk to send to the member.
+   */
+  public int getSnapshotChunkSize() {
+    return snapshotChunkSize;
+  }
+
+  /**
+   * Sets the size of the next snapshot chunk to send to the member.
+   *
+   * @param snapshotChunkSize The size of the next snapshot chunk to send to the member.
+   */
+  public void setSnapshotChunkSize(int snapshotChunkSize) {
+    this.snapshotChunkSize = snapshotChunkSize;
+  }
+
+  /**
+   * Returns the reader from which snapshot chunks are streamed to the member.
+   *
+   * @return The member's snapshot reader, or {@code null} if no snapshot is being streamed to the member.
+   */
+  public SnapshotReader getSnapshotReader() {
+    return snapshotReader;
+  }
+
+  /**
+   * Sets the reader from which snapshot chunks are streamed to the member, closing the existing reader.
+   *
+   * @param snapshotReader The member's snapshot reader, or {@code null} to stop streaming the snapshot.
+   */
+  public void setSnapshotReader(SnapshotReader snapshotReader) {
+    if (this.snapshotReader != null && this.snapshotReader != snapshotReader) {
+      this.snapshotReader.close();
+    }
+    this.snapshotReader = snapshotReader;
+  }
+
   /**
    * Returns the member's match index.
    *
@@ -297,25 +347,28 @@ public final class RaftMemberContext {
 
   /**
    * Returns a boolean indicating whether an install request can be sent to the member.
+   * <p>
+   * Install requests can be sent as long as the number of in-flight requests is below the install window
+   * and chunks of the snapshot being streamed to the member remain to be sent.
    *
    * @return Indicates whether an install request can be sent to the member.
    */
   public boolean canInstall() {
-    return !installing;
+    return installing < MAX_INSTALLS && (snapshotReader == null || snapshotReader.hasRemaining());
   }
 
   /**
    * Starts an install request to the member.
    */
   public void startInstall() {
-    installing = true;
+    installing++;
   }
 
   /**
    * Completes an install request to the member.
    */
   public void completeInstall() {
-    installing = false;
+    installing--;
   }
 
   /**
@@ -384,6 +437,7 @@ public final class RaftMemberContext {
         .add("snapshotIndex", snapshotIndex)
         .add("nextSnapshotIndex", nextSnapshotIndex)
         .add("nextSnapshotOffset", nextSnapshotOffset)
+        .add("snapshotChunkSize", snapshotChunkSize)
         .add("matchIndex", matchIndex)
         .add("nextIndex", reader != null ? reader.getNextIndex() : matchIndex + 1)
         .add("heartbeatTime", heartbeatTime)
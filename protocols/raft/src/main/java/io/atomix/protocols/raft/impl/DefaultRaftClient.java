@@ -63,14 +63,15 @@ public class DefaultRaftClient implements RaftClient {
       NodeId nodeId,
       Collection<NodeId> cluster,
       RaftClientProtocol protocol,
-      ThreadContextFactory threadContextFactory) {
+      ThreadContextFactory threadContextFactory,
+      boolean sessionMultiplexing) {
     this.clientId = checkNotNull(clientId, "clientId cannot be null");
     this.cluster = checkNotNull(cluster, "cluster cannot be null");
     this.protocol = checkNotNull(protocol, "protocol cannot be null");
     this.threadContextFactory = checkNotNull(threadContextFactory, "threadContextFactory cannot be null");
     this.threadContext = threadContextFactory.createContext();
     this.metadata = new DefaultRaftMetadataClient(clientId, protocol, selectorManager, threadContextFactory.createContext());
-    this.sessionManager = new RaftProxyManager(clientId, nodeId, protocol, selectorManager, threadContextFactory);
+    this.sessionManager = new RaftProxyManager(clientId, nodeId, protocol, selectorManager, threadContextFactory, sessionMultiplexing);
   }
 
   @Override
@@ -200,7 +201,7 @@ public class DefaultRaftClient implements RaftClient {
           .addValue(clientId)
           .build());
       ThreadContextFactory threadContextFactory = threadModel.factory("raft-client-" + clientId + "-%d", threadPoolSize, log);
-      return new DefaultRaftClient(clientId, nodeId, cluster, protocol, threadContextFactory);
+      return new DefaultRaftClient(clientId, nodeId, cluster, protocol, threadContextFactory, sessionMultiplexing);
     }
   }
 }
@@ -19,7 +19,9 @@ import io.atomix.cluster.NodeId;
 import io.atomix.primitive.service.PrimitiveService;
 import io.atomix.protocols.raft.RaftServer;
 import io.atomix.protocols.raft.cluster.RaftCluster;
+import io.atomix.protocols.raft.cluster.impl.RaftMemberContext;
 import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.storage.statistics.StorageStatistics;
 import io.atomix.utils.concurrent.Futures;
 import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
@@ -31,7 +33,9 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * Provides a standalone implementation of the <a href="http://raft.github.io/">Raft consensus algorithm</a>.
@@ -68,6 +72,22 @@ public class DefaultRaftServer implements RaftServer {
     return context.getRole();
   }
 
+  @Override
+  public long getReplicationLag(NodeId memberId) {
+    checkState(context.getRole() == Role.LEADER, "Replication lag is only tracked by the leader");
+    if (memberId.equals(context.getCluster().getMember().nodeId())) {
+      return 0;
+    }
+    RaftMemberContext member = context.getCluster().getMemberState(memberId);
+    checkArgument(member != null, "Unknown member %s", memberId);
+    return Math.max(context.getCommitIndex() - member.getMatchIndex(), 0);
+  }
+
+  @Override
+  public StorageStatistics getStorageStatistics() {
+    return context.getStorage().statistics();
+  }
+
   @Override
   public void addRoleChangeListener(Consumer<Role> listener) {
     context.addRoleChangeListener(listener);
@@ -238,10 +258,11 @@ public class DefaultRaftServer implements RaftServer {
         storage = RaftStorage.builder().build();
       }
 
-      RaftContext raft = new RaftContext(name, localNodeId, clusterService, protocol, storage, primitiveTypes, threadModel, threadPoolSize);
+      RaftContext raft = new RaftContext(name, localNodeId, clusterService, protocol, storage, primitiveTypes, threadModel, threadPoolSize, serviceThreads);
       raft.setElectionTimeout(electionTimeout);
       raft.setHeartbeatInterval(heartbeatInterval);
       raft.setSessionTimeout(sessionTimeout);
+      raft.setMaxClockDrift(maxClockDrift);
 
       return new DefaultRaftServer(raft);
     }
@@ -51,8 +51,12 @@ import io.atomix.utils.logging.LoggerContext;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
@@ -98,19 +102,21 @@ public class RaftContext implements AutoCloseable {
   private final ThreadContextFactory threadContextFactory;
   private final ThreadContext loadContext;
   private final ThreadContext stateContext;
+  private final List<ThreadContext> serviceContexts;
   private final ThreadContext compactionContext;
   protected RaftRole role = new InactiveRole(this);
   private Duration electionTimeout = Duration.ofMillis(500);
   private Duration heartbeatInterval = Duration.ofMillis(150);
   private Duration sessionTimeout = Duration.ofMillis(5000);
+  private Duration maxClockDrift = Duration.ofMillis(100);
   private volatile NodeId leader;
   private volatile long term;
   private NodeId lastVotedFor;
   private long commitIndex;
   private volatile long firstCommitIndex;
   private volatile long lastApplied;
+  private final TreeMap<Long, CompletableFuture<Void>> appliedFutures = new TreeMap<>();
 
-  @SuppressWarnings("unchecked")
   public RaftContext(
       String name,
       NodeId localNodeId,
@@ -120,6 +126,20 @@ public class RaftContext implements AutoCloseable {
       PrimitiveTypeRegistry primitiveTypes,
       ThreadModel threadModel,
       int threadPoolSize) {
+    this(name, localNodeId, clusterService, protocol, storage, primitiveTypes, threadModel, threadPoolSize, 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  public RaftContext(
+      String name,
+      NodeId localNodeId,
+      ClusterService clusterService,
+      RaftServerProtocol protocol,
+      RaftStorage storage,
+      PrimitiveTypeRegistry primitiveTypes,
+      ThreadModel threadModel,
+      int threadPoolSize,
+      int serviceThreads) {
     this.name = checkNotNull(name, "name cannot be null");
     this.clusterService = checkNotNull(clusterService, "clusterService cannot be null");
     this.protocol = checkNotNull(protocol, "protocol cannot be null");
@@ -134,6 +154,10 @@ public class RaftContext implements AutoCloseable {
     this.loadContext = new SingleThreadContext(namedThreads(baseThreadName + "-load", log));
     this.stateContext = new SingleThreadContext(namedThreads(baseThreadName + "-state", log));
     this.compactionContext = new SingleThreadContext(namedThreads(baseThreadName + "-compaction", log));
+    this.serviceContexts = new ArrayList<>(serviceThreads);
+    for (int i = 0; i < serviceThreads; i++) {
+      serviceContexts.add(new SingleThreadContext(namedThreads(baseThreadName + "-service-" + i, log)));
+    }
 
     this.threadContextFactory = threadModel.factory(baseThreadName + "-%d", threadPoolSize, log);
 
@@ -155,7 +179,7 @@ public class RaftContext implements AutoCloseable {
     this.snapshotStore = storage.openSnapshotStore();
 
     // Create a new internal server state machine.
-    this.stateMachine = new RaftServiceManager(this, stateContext, compactionContext, threadContextFactory);
+    this.stateMachine = new RaftServiceManager(this, stateContext, serviceContexts, compactionContext, threadContextFactory);
 
     this.cluster = new RaftClusterContext(localNodeId, this);
 
@@ -309,6 +333,24 @@ public class RaftContext implements AutoCloseable {
     return electionTimeout;
   }
 
+  /**
+   * Sets the maximum clock drift.
+   *
+   * @param maxClockDrift The maximum clock drift between servers over an election timeout.
+   */
+  public void setMaxClockDrift(Duration maxClockDrift) {
+    this.maxClockDrift = checkNotNull(maxClockDrift, "maxClockDrift cannot be null");
+  }
+
+  /**
+   * Returns the maximum clock drift.
+   *
+   * @return The maximum clock drift between servers over an election timeout.
+   */
+  public Duration getMaxClockDrift() {
+    return maxClockDrift;
+  }
+
   /**
    * Sets the heartbeat interval.
    *
@@ -513,6 +555,11 @@ public class RaftContext implements AutoCloseable {
    */
   public void setLastApplied(long lastApplied) {
     this.lastApplied = Math.max(this.lastApplied, lastApplied);
+    if (!appliedFutures.isEmpty()) {
+      SortedMap<Long, CompletableFuture<Void>> applied = appliedFutures.headMap(this.lastApplied, true);
+      applied.values().forEach(future -> future.complete(null));
+      applied.clear();
+    }
     if (state == State.ACTIVE) {
       threadContext.execute(() -> {
         if (state == State.ACTIVE && this.lastApplied >= firstCommitIndex) {
@@ -523,6 +570,23 @@ public class RaftContext implements AutoCloseable {
     }
   }
 
+  /**
+   * Returns a future to be completed once the given index has been applied.
+   * <p>
+   * The future is completed on the server thread once the entry at the given index has been submitted to the
+   * state machine, so operations submitted to the state machine after completion are ordered after the entry.
+   *
+   * @param index the index to await
+   * @return a future to be completed once the given index has been applied
+   */
+  public CompletableFuture<Void> awaitApplied(long index) {
+    checkThread();
+    if (index <= lastApplied) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return appliedFutures.computeIfAbsent(index, i -> new CompletableFuture<>());
+  }
+
   /**
    * Returns the last applied index.
    *
@@ -661,10 +725,12 @@ public class RaftContext implements AutoCloseable {
     protocol.registerReconfigureHandler(request -> runOnContext(() -> role.onReconfigure(request)));
     protocol.registerLeaveHandler(request -> runOnContext(() -> role.onLeave(request)));
     protocol.registerTransferHandler(request -> runOnContext(() -> role.onTransfer(request)));
+    protocol.registerReadIndexHandler(request -> runOnContext(() -> role.onReadIndex(request)));
     protocol.registerAppendHandler(request -> runOnContext(() -> role.onAppend(request)));
     protocol.registerPollHandler(request -> runOnContext(() -> role.onPoll(request)));
     protocol.registerVoteHandler(request -> runOnContext(() -> role.onVote(request)));
     protocol.registerCommandHandler(request -> runOnContext(() -> role.onCommand(request)));
+    protocol.registerCommandBatchHandler(request -> runOnContext(() -> role.onCommandBatch(request)));
     protocol.registerQueryHandler(request -> runOnContext(() -> role.onQuery(request)));
   }
 
@@ -696,10 +762,12 @@ public class RaftContext implements AutoCloseable {
     protocol.unregisterReconfigureHandler();
     protocol.unregisterLeaveHandler();
     protocol.unregisterTransferHandler();
+    protocol.unregisterReadIndexHandler();
     protocol.unregisterAppendHandler();
     protocol.unregisterPollHandler();
     protocol.unregisterVoteHandler();
     protocol.unregisterCommandHandler();
+    protocol.unregisterCommandBatchHandler();
     protocol.unregisterQueryHandler();
   }
 
@@ -838,6 +906,7 @@ public class RaftContext implements AutoCloseable {
 
     // Close the log.
     try {
+      logReader.close();
       raftLog.close();
     } catch (Exception e) {
     }
@@ -859,6 +928,7 @@ public class RaftContext implements AutoCloseable {
     threadContext.close();
     loadContext.close();
     stateContext.close();
+    serviceContexts.forEach(ThreadContext::close);
     compactionContext.close();
     threadContextFactory.close();
   }
@@ -15,6 +15,7 @@
  */
 package io.atomix.protocols.raft.impl;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.Longs;
 import io.atomix.cluster.NodeId;
@@ -26,6 +27,7 @@ import io.atomix.primitive.session.SessionMetadata;
 import io.atomix.protocols.raft.RaftException;
 import io.atomix.protocols.raft.RaftServer;
 import io.atomix.protocols.raft.service.RaftServiceContext;
+import io.atomix.protocols.raft.session.RaftClientSession;
 import io.atomix.protocols.raft.session.RaftSession;
 import io.atomix.protocols.raft.storage.log.RaftLog;
 import io.atomix.protocols.raft.storage.log.RaftLogReader;
@@ -55,11 +57,15 @@ import org.slf4j.Logger;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -68,6 +74,12 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <p>
  * The internal state machine handles application of commands to the user provided {@link PrimitiveService}
  * and keeps track of internal state like sessions and the various indexes relevant to log compaction.
+ * <p>
+ * Entries are read from the log and dispatched in order on the state thread. If service threads are provided,
+ * each service is assigned to one of them, and commands and queries are applied on the thread of the service
+ * that owns the session, so independent services are applied in parallel. Entries that affect multiple services,
+ * like session and configuration changes, as well as snapshots are barriers: they're applied on the state thread
+ * once all service threads have applied the entries that preceded them.
  */
 public class RaftServiceManager implements AutoCloseable {
   private static final Duration SNAPSHOT_INTERVAL = Duration.ofSeconds(10);
@@ -79,6 +91,7 @@ public class RaftServiceManager implements AutoCloseable {
   private final Logger logger;
   private final RaftContext raft;
   private final ThreadContext stateContext;
+  private final List<ThreadContext> serviceContexts;
   private final ThreadContext compactionContext;
   private final ThreadContextFactory threadContextFactory;
   private final RaftLog log;
@@ -86,12 +99,24 @@ public class RaftServiceManager implements AutoCloseable {
   private final Map<Long, CompletableFuture> futures = Maps.newHashMap();
   private volatile CompletableFuture<Void> compactFuture;
   private long lastCompacted;
+  private boolean servicesBusy;
+  private final AtomicReference<RuntimeException> serviceFailure = new AtomicReference<>();
 
   public RaftServiceManager(RaftContext raft, ThreadContext stateContext, ThreadContext compactionContext, ThreadContextFactory threadContextFactory) {
+    this(raft, stateContext, Collections.emptyList(), compactionContext, threadContextFactory);
+  }
+
+  public RaftServiceManager(
+      RaftContext raft,
+      ThreadContext stateContext,
+      List<ThreadContext> serviceContexts,
+      ThreadContext compactionContext,
+      ThreadContextFactory threadContextFactory) {
     this.raft = checkNotNull(raft, "state cannot be null");
     this.log = raft.getLog();
     this.reader = log.openReader(1, RaftLogReader.Mode.COMMITS);
     this.stateContext = stateContext;
+    this.serviceContexts = checkNotNull(serviceContexts, "serviceContexts cannot be null");
     this.compactionContext = compactionContext;
     this.threadContextFactory = threadContextFactory;
     this.logger = ContextualLoggerFactory.getLogger(getClass(), LoggerContext.builder(RaftServer.class)
@@ -109,6 +134,102 @@ public class RaftServiceManager implements AutoCloseable {
     return stateContext;
   }
 
+  /**
+   * Returns the thread context on which to apply operations to the given service.
+   *
+   * @param primitiveId the service identifier
+   * @return the service thread context
+   */
+  private ThreadContext serviceExecutor(PrimitiveId primitiveId) {
+    if (serviceContexts.isEmpty()) {
+      return stateContext;
+    }
+    return serviceContexts.get((int) Math.abs(primitiveId.id() % serviceContexts.size()));
+  }
+
+  /**
+   * Executes the given task on the thread of the service that owns the given session.
+   *
+   * @param sessionId the session identifier
+   * @param future    the future to fail if the task throws an exception
+   * @param task      the task to execute
+   */
+  private void executeService(long sessionId, CompletableFuture<?> future, Runnable task) {
+    RaftSession session = raft.getSessions().getSession(sessionId);
+    ThreadContext executor = session != null ? session.getService().executor() : stateContext;
+    if (executor == stateContext) {
+      task.run();
+    } else {
+      servicesBusy = true;
+      executor.execute(() -> {
+        try {
+          task.run();
+        } catch (Exception e) {
+          future.completeExceptionally(e);
+        }
+      });
+    }
+  }
+
+  /**
+   * Executes the given session operation on the thread of the given service.
+   * <p>
+   * Session event and result state is owned by the service thread, which also handles event publish responses and
+   * session resets, so session operations applied by entries that affect multiple services must run there as well.
+   * Failures are rethrown on the state thread once the service threads have been awaited.
+   *
+   * @param service the service on whose thread to execute the task
+   * @param task    the task to execute
+   */
+  private void executeService(RaftServiceContext service, Runnable task) {
+    ThreadContext executor = service.executor();
+    if (executor == stateContext) {
+      task.run();
+    } else {
+      servicesBusy = true;
+      executor.execute(() -> {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          serviceFailure.compareAndSet(null, e);
+        }
+      });
+    }
+  }
+
+  /**
+   * Blocks the state thread until all service threads have applied the entries dispatched to them.
+   */
+  private void awaitServices() {
+    if (!servicesBusy) {
+      return;
+    }
+
+    CountDownLatch latch = new CountDownLatch(serviceContexts.size());
+    for (ThreadContext serviceContext : serviceContexts) {
+      serviceContext.execute(latch::countDown);
+    }
+
+    boolean interrupted = false;
+    while (true) {
+      try {
+        latch.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    servicesBusy = false;
+
+    RuntimeException failure = serviceFailure.getAndSet(null);
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
   /**
    * Returns a boolean indicating whether the node is running out of disk space.
    */
@@ -183,9 +304,17 @@ public class RaftServiceManager implements AutoCloseable {
       compactFuture = new OrderedFuture<>();
 
       // Wait for snapshots in all state machines to be completed before compacting the log at the last applied index.
+      long startTime = System.nanoTime();
       takeSnapshots(lastApplied).whenCompleteAsync((snapshot, error) -> {
         if (error == null) {
-          scheduleCompletion(snapshot.persist());
+          Snapshot persistedSnapshot = snapshot.persist();
+
+          // Once the temporary snapshot has been persisted, close it to release its buffer.
+          if (persistedSnapshot != snapshot) {
+            snapshot.close();
+          }
+          raft.getStorage().statistics().getSnapshotLatency().record(System.nanoTime() - startTime);
+          scheduleCompletion(persistedSnapshot);
         }
       }, compactionContext);
 
@@ -412,18 +541,25 @@ public class RaftServiceManager implements AutoCloseable {
       logger.trace("Applying {}", entry);
       try {
         if (entry.type() == QueryEntry.class) {
-          applyQuery(entry.cast()).whenComplete((r, e) -> {
+          Indexed<QueryEntry> query = entry.cast();
+          executeService(query.entry().session(), future, () -> applyQuery(query).whenComplete((r, e) -> {
             if (e != null) {
               future.completeExceptionally(e);
             } else {
               future.complete((T) r);
             }
-          });
+          }));
         } else {
           install(entry.index());
           if (entry.type() == CommandEntry.class) {
-            future.complete((T) applyCommand(entry.cast()));
-          } else if (entry.type() == OpenSessionEntry.class) {
+            Indexed<CommandEntry> command = entry.cast();
+            executeService(command.entry().session(), future, () -> future.complete((T) applyCommand(command)));
+            return;
+          }
+
+          // Entries that affect multiple services are applied once services have applied all prior entries.
+          awaitServices();
+          if (entry.type() == OpenSessionEntry.class) {
             future.complete((T) (Long) applyOpenSession(entry.cast()));
           } else if (entry.type() == KeepAliveEntry.class) {
             future.complete((T) applyKeepAlive(entry.cast()));
@@ -453,8 +589,10 @@ public class RaftServiceManager implements AutoCloseable {
    * @param index the index for which to take snapshots
    */
   private Snapshot snapshot(long index) {
+    awaitServices();
     Snapshot snapshot = raft.getSnapshotStore().newTemporarySnapshot(index, new WallClockTimestamp());
     try (SnapshotWriter writer = snapshot.openWriter()) {
+      snapshotClientSessions(writer);
       for (RaftServiceContext service : raft.getServices()) {
         writer.buffer().mark();
         SnapshotWriter serviceWriter = new SnapshotWriter(writer.buffer().writeInt(0).slice(), writer.snapshot());
@@ -469,6 +607,25 @@ public class RaftServiceManager implements AutoCloseable {
     return snapshot;
   }
 
+  /**
+   * Takes a snapshot of client sessions.
+   * <p>
+   * Client sessions are written ahead of services so that multiplexed service sessions can be attached to their
+   * client session when the snapshot is installed.
+   *
+   * @param writer the snapshot writer
+   */
+  private void snapshotClientSessions(SnapshotWriter writer) {
+    Collection<RaftClientSession> clientSessions = raft.getSessions().getClientSessions();
+    writer.writeInt(clientSessions.size());
+    for (RaftClientSession session : clientSessions) {
+      writer.writeLong(session.sessionId().id());
+      writer.writeString(session.nodeId().id());
+      writer.writeLong(session.timeout());
+      writer.writeLong(session.getLastUpdated());
+    }
+  }
+
   /**
    * Takes a snapshot of the given service.
    *
@@ -492,8 +649,11 @@ public class RaftServiceManager implements AutoCloseable {
 
     // If snapshots exist for the prior index, iterate through snapshots and populate services/sessions.
     if (snapshot != null) {
+      awaitServices();
       logger.debug("Installing snapshot {}", snapshot);
+      long startTime = System.nanoTime();
       try (SnapshotReader reader = snapshot.openReader()) {
+        installClientSessions(reader);
         while (reader.hasRemaining()) {
           int length = reader.readInt();
           if (length > 0) {
@@ -503,6 +663,23 @@ public class RaftServiceManager implements AutoCloseable {
           }
         }
       }
+      raft.getStorage().statistics().getSnapshotInstallLatency().record(System.nanoTime() - startTime);
+    }
+  }
+
+  /**
+   * Restores client sessions from the given snapshot.
+   *
+   * @param reader the snapshot reader
+   */
+  private void installClientSessions(SnapshotReader reader) {
+    int sessionCount = reader.readInt();
+    for (int i = 0; i < sessionCount; i++) {
+      SessionId sessionId = SessionId.from(reader.readLong());
+      NodeId node = NodeId.from(reader.readString());
+      long timeout = reader.readLong();
+      long lastUpdated = reader.readLong();
+      raft.getSessions().addClientSession(new RaftClientSession(sessionId, node, timeout, lastUpdated));
     }
   }
 
@@ -531,6 +708,8 @@ public class RaftServiceManager implements AutoCloseable {
    * @return whether to complete the snapshot at the given index
    */
   private boolean completeSnapshot(long index) {
+    awaitServices();
+
     // Compute the lowest completed index for all sessions that belong to this state machine.
     long lastCompleted = index;
     for (RaftSession session : raft.getSessions().getSessions()) {
@@ -549,6 +728,7 @@ public class RaftServiceManager implements AutoCloseable {
     for (RaftServiceContext service : raft.getServices()) {
       service.keepAliveSessions(entry.index(), entry.entry().timestamp());
     }
+    keepAliveClientSessions(entry.entry().timestamp());
     return CompletableFuture.completedFuture(null);
   }
 
@@ -563,9 +743,43 @@ public class RaftServiceManager implements AutoCloseable {
     for (RaftServiceContext service : raft.getServices()) {
       service.keepAliveSessions(entry.index(), entry.entry().timestamp());
     }
+    keepAliveClientSessions(entry.entry().timestamp());
     return CompletableFuture.completedFuture(null);
   }
 
+  /**
+   * Keeps all client sessions alive using the given timestamp.
+   */
+  private void keepAliveClientSessions(long timestamp) {
+    for (RaftClientSession session : raft.getSessions().getClientSessions()) {
+      session.setLastUpdated(timestamp);
+    }
+  }
+
+  /**
+   * Expires sessions and client sessions that have timed out at the given timestamp.
+   */
+  private void expireSessions(long index, long timestamp) {
+    raft.getSessions().expireSessions(
+        timestamp,
+        session -> executeService(session.getService(), () -> session.getService().expireSession(index, timestamp, session)),
+        session -> {
+          logger.debug("Client session expired in {} milliseconds: {}", timestamp - session.getLastUpdated(), session);
+          closeClientSession(index, timestamp, session, true);
+        });
+    awaitServices();
+  }
+
+  /**
+   * Closes the given client session along with the service sessions opened under it.
+   */
+  private void closeClientSession(long index, long timestamp, RaftClientSession clientSession, boolean expired) {
+    raft.getSessions().removeClientSession(clientSession.sessionId());
+    for (RaftSession session : Lists.newArrayList(clientSession.getSessions())) {
+      executeService(session.getService(), () -> session.getService().closeSession(index, timestamp, session, expired));
+    }
+  }
+
   /**
    * Applies a session keep alive entry to the state machine.
    * <p>
@@ -595,25 +809,45 @@ public class RaftServiceManager implements AutoCloseable {
     long[] commandSequences = entry.entry().commandSequenceNumbers();
     long[] eventIndexes = entry.entry().eventIndexes();
 
-    // Iterate through session identifiers and keep sessions alive.
-    List<Long> successfulSessionIds = new ArrayList<>(sessionIds.length);
+    // Iterate through session identifiers and keep sessions alive on their services' threads.
+    boolean[] keptAlive = new boolean[sessionIds.length];
     for (int i = 0; i < sessionIds.length; i++) {
+      final int sessionIndex = i;
       long sessionId = sessionIds[i];
       long commandSequence = commandSequences[i];
       long eventIndex = eventIndexes[i];
 
       RaftSession session = raft.getSessions().getSession(sessionId);
       if (session != null) {
-        if (session.getService().keepAlive(entry.index(), entry.entry().timestamp(), session, commandSequence, eventIndex)) {
-          successfulSessionIds.add(sessionId);
+        RaftServiceContext service = session.getService();
+        executeService(service, () -> keptAlive[sessionIndex] =
+            service.keepAlive(entry.index(), entry.entry().timestamp(), session, commandSequence, eventIndex));
+      } else {
+        // Keeping a client session alive keeps alive all the service sessions opened under it.
+        RaftClientSession clientSession = raft.getSessions().getClientSession(sessionId);
+        if (clientSession != null) {
+          clientSession.setLastUpdated(entry.entry().timestamp());
+          keptAlive[i] = true;
         }
       }
     }
+    awaitServices();
+
+    List<Long> successfulSessionIds = new ArrayList<>(sessionIds.length);
+    for (int i = 0; i < sessionIds.length; i++) {
+      if (keptAlive[i]) {
+        successfulSessionIds.add(sessionIds[i]);
+      }
+    }
+
+    // Expire sessions that are due to time out.
+    expireSessions(entry.index(), entry.entry().timestamp());
 
-    // Iterate through services and complete keep-alives, causing sessions to be expired if necessary.
+    // Iterate through services and complete keep-alives, advancing service clocks.
     for (RaftServiceContext service : raft.getServices()) {
-      service.completeKeepAlive(entry.index(), entry.entry().timestamp());
+      executeService(service, () -> service.completeKeepAlive(entry.index(), entry.entry().timestamp()));
     }
+    awaitServices();
 
     return Longs.toArray(successfulSessionIds);
   }
@@ -641,6 +875,7 @@ public class RaftServiceManager implements AutoCloseable {
         primitiveType,
         primitiveType.newService(),
         raft,
+        serviceExecutor(primitiveId),
         threadContextFactory);
     raft.getServices().registerService(service);
 
@@ -655,6 +890,28 @@ public class RaftServiceManager implements AutoCloseable {
    * Applies an open session entry to the state machine.
    */
   private long applyOpenSession(Indexed<OpenSessionEntry> entry) {
+    // Expire sessions that are due to time out.
+    expireSessions(entry.index(), entry.entry().timestamp());
+
+    // If the entry does not indicate a service, open a client session under which service sessions can be opened.
+    if (entry.entry().isClientSession()) {
+      RaftClientSession clientSession = raft.getSessions().addClientSession(new RaftClientSession(
+          SessionId.from(entry.index()),
+          NodeId.from(entry.entry().memberId()),
+          entry.entry().maxTimeout(),
+          entry.entry().timestamp()));
+      return clientSession.sessionId().id();
+    }
+
+    // If the session is to be multiplexed, ensure the client session has not been closed or expired.
+    RaftClientSession clientSession = null;
+    if (entry.entry().clientSession() != 0) {
+      clientSession = raft.getSessions().getClientSession(entry.entry().clientSession());
+      if (clientSession == null) {
+        throw new RaftException.UnknownSession("Unknown client session: " + entry.entry().clientSession());
+      }
+    }
+
     PrimitiveType primitiveType = raft.getPrimitiveTypes().get(entry.entry().serviceType());
     if (primitiveType == null) {
         throw new RaftException.UnknownService("Unknown service type " + entry.entry().serviceType());
@@ -681,7 +938,12 @@ public class RaftServiceManager implements AutoCloseable {
         service,
         raft,
         threadContextFactory));
-    return service.openSession(entry.index(), entry.entry().timestamp(), session);
+    if (clientSession != null) {
+      clientSession.addSession(session);
+    }
+    executeService(service, () -> service.openSession(entry.index(), entry.entry().timestamp(), session));
+    awaitServices();
+    return sessionId.id();
   }
 
   /**
@@ -690,14 +952,22 @@ public class RaftServiceManager implements AutoCloseable {
   private void applyCloseSession(Indexed<CloseSessionEntry> entry) {
     RaftSession session = raft.getSessions().getSession(entry.entry().session());
 
-    // If the server session is null, the session either never existed or already expired.
+    // If the server session is null, the session either never existed, already expired, or is a client session.
     if (session == null) {
-      throw new RaftException.UnknownSession("Unknown session: " + entry.entry().session());
+      RaftClientSession clientSession = raft.getSessions().getClientSession(entry.entry().session());
+      if (clientSession == null) {
+        throw new RaftException.UnknownSession("Unknown session: " + entry.entry().session());
+      }
+      closeClientSession(entry.index(), entry.entry().timestamp(), clientSession, entry.entry().expired());
+    } else {
+      // Get the state machine executor associated with the session and unregister the session.
+      RaftServiceContext service = session.getService();
+      executeService(service, () -> service.closeSession(entry.index(), entry.entry().timestamp(), session, entry.entry().expired()));
     }
+    awaitServices();
 
-    // Get the state machine executor associated with the session and unregister the session.
-    RaftServiceContext service = session.getService();
-    service.closeSession(entry.index(), entry.entry().timestamp(), session, entry.entry().expired());
+    // Expire sessions that are due to time out.
+    expireSessions(entry.index(), entry.entry().timestamp());
   }
 
   /**
@@ -813,5 +1083,6 @@ public class RaftServiceManager implements AutoCloseable {
   @Override
   public void close() {
     // Don't close the thread context here since state machines can be reused.
+    reader.close();
   }
 }
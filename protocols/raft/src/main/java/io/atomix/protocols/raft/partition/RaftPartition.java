@@ -27,6 +27,8 @@ import io.atomix.protocols.raft.partition.impl.RaftNamespaces;
 import io.atomix.protocols.raft.partition.impl.RaftPartitionClient;
 import io.atomix.protocols.raft.partition.impl.RaftPartitionServer;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.statistics.StorageStatistics;
+import io.atomix.utils.concurrent.Futures;
 import io.atomix.utils.serializer.Serializer;
 
 import java.io.File;
@@ -44,14 +46,20 @@ public class RaftPartition implements Partition<RaftProtocol> {
   private final PartitionId partitionId;
   private final StorageLevel storageLevel;
   private final File dataDirectory;
+  private final int serviceThreads;
   private PartitionMetadata partition;
   private RaftPartitionClient client;
   private RaftPartitionServer server;
 
   public RaftPartition(PartitionId partitionId, StorageLevel storageLevel, File dataDirectory) {
+    this(partitionId, storageLevel, dataDirectory, 0);
+  }
+
+  public RaftPartition(PartitionId partitionId, StorageLevel storageLevel, File dataDirectory, int serviceThreads) {
     this.partitionId = partitionId;
     this.storageLevel = storageLevel;
     this.dataDirectory = dataDirectory;
+    this.serviceThreads = serviceThreads;
   }
 
   @Override
@@ -98,6 +106,28 @@ public class RaftPartition implements Partition<RaftProtocol> {
     return partition != null ? partition.members() : Collections.emptyList();
   }
 
+  /**
+   * Returns whether the local node is a member of the partition.
+   *
+   * @return whether the local node is a member of the partition
+   */
+  boolean isMember() {
+    return server != null;
+  }
+
+  /**
+   * Attempts to transfer leadership of the partition to the local node.
+   *
+   * @return future to be completed once the local node has been elected leader
+   */
+  CompletableFuture<Void> promote() {
+    RaftPartitionServer server = this.server;
+    if (server == null) {
+      return Futures.exceptionalFuture(new IllegalStateException("Not a member of the partition"));
+    }
+    return server.promote();
+  }
+
   /**
    * Returns the Raft partition storage level.
    *
@@ -116,6 +146,25 @@ public class RaftPartition implements Partition<RaftProtocol> {
     return dataDirectory;
   }
 
+  /**
+   * Returns the number of threads on which to apply operations to the partition's services.
+   *
+   * @return the number of service threads, or {@code 0} if services are applied on the state machine thread
+   */
+  public int serviceThreads() {
+    return serviceThreads;
+  }
+
+  /**
+   * Returns the storage statistics for the local member of the partition.
+   *
+   * @return the partition storage statistics, or {@code null} if the local node is not a member of the partition
+   */
+  public StorageStatistics getStorageStatistics() {
+    RaftPartitionServer server = this.server;
+    return server != null ? server.getStorageStatistics() : null;
+  }
+
   @Override
   public PrimitiveClient<RaftProtocol> getPrimitiveClient() {
     return client;
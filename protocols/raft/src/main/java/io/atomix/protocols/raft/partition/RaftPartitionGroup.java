@@ -37,19 +37,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static io.atomix.utils.concurrent.Threads.namedThreads;
 
 /**
  * Raft partition group.
@@ -67,9 +74,15 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
   }
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RaftPartitionGroup.class);
+  private static final Duration DEFAULT_BALANCE_INTERVAL = Duration.ofSeconds(15);
+  private static final int LEADER_IMBALANCE_THRESHOLD = 1;
+  private static final int DEFAULT_SERVICE_THREADS = 0;
 
   private final String name;
   private final int partitionSize;
+  private final Duration balanceInterval;
+  private ScheduledExecutorService balanceScheduler;
+  private ScheduledFuture<?> balanceFuture;
   private final Map<PartitionId, RaftPartition> partitions = Maps.newConcurrentMap();
   private final List<PartitionId> sortedPartitionIds = Lists.newCopyOnWriteArrayList();
   private final ClusterEventListener clusterEventListener = this::handleClusterEvent;
@@ -78,8 +91,13 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
   private CompletableFuture<Void> metadataChangeFuture = CompletableFuture.completedFuture(null);
 
   public RaftPartitionGroup(String name, Collection<RaftPartition> partitions, int partitionSize) {
+    this(name, partitions, partitionSize, DEFAULT_BALANCE_INTERVAL);
+  }
+
+  public RaftPartitionGroup(String name, Collection<RaftPartition> partitions, int partitionSize, Duration balanceInterval) {
     this.name = name;
     this.partitionSize = partitionSize;
+    this.balanceInterval = balanceInterval;
     partitions.forEach(p -> {
       this.partitions.put(p.id(), p);
       this.sortedPartitionIds.add(p.id());
@@ -125,11 +143,130 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
         })
         .collect(Collectors.toList());
     return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).thenApply(v -> {
+      startBalancer();
       LOGGER.info("Started");
       return this;
     });
   }
 
+  /**
+   * Starts periodically balancing partition leaders across the members of the group.
+   */
+  private void startBalancer() {
+    if (balanceInterval != null && !balanceInterval.isZero()) {
+      balanceScheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("atomix-" + name + "-balancer", LOGGER));
+      balanceFuture = balanceScheduler.scheduleWithFixedDelay(
+          this::balanceLeaders, balanceInterval.toMillis(), balanceInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Stops balancing partition leaders.
+   */
+  private void stopBalancer() {
+    if (balanceFuture != null) {
+      balanceFuture.cancel(false);
+      balanceFuture = null;
+    }
+    if (balanceScheduler != null) {
+      balanceScheduler.shutdownNow();
+      balanceScheduler = null;
+    }
+  }
+
+  /**
+   * Transfers leadership of at most one partition to the local node if the local node leads fewer partitions
+   * than the busiest node.
+   * <p>
+   * Balancing runs on a scheduled executor, so failures are logged rather than propagated to prevent a single
+   * failure from cancelling future balance attempts.
+   */
+  private void balanceLeaders() {
+    try {
+      RaftPartition partition = getBalanceCandidate(managementService.getClusterService().getLocalNode().id());
+      if (partition != null) {
+        partition.promote().whenComplete((result, error) -> {
+          if (error != null) {
+            LOGGER.debug("Failed to transfer leadership of {}", partition.id(), error);
+          }
+        });
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Failed to balance partition leaders", e);
+    }
+  }
+
+  /**
+   * Returns the partition for which the given node should take leadership to balance leaders across the group.
+   * <p>
+   * Each node only ever takes leadership for itself, and only from a node that leads more than
+   * {@link #LEADER_IMBALANCE_THRESHOLD} partitions more than the local node, so a transfer always reduces the
+   * imbalance and leaders never oscillate between nodes. For each leader, only the member of the leader's partitions
+   * leading the fewest partitions, with ties broken by the lowest node ID, takes leadership from it so that multiple
+   * nodes don't concurrently promote themselves in the same partitions. Balancing is skipped while any partition is
+   * without a leader.
+   *
+   * @param localNodeId the local node identifier
+   * @return the partition to promote, or {@code null} if the local node should not take leadership of a partition
+   */
+  RaftPartition getBalanceCandidate(NodeId localNodeId) {
+    // Count the number of partitions led by each member of the group.
+    Map<NodeId, Integer> leaders = new HashMap<>();
+    for (RaftPartition partition : partitions.values()) {
+      NodeId leader = partition.primary();
+      if (leader == null) {
+        return null;
+      }
+      partition.members().forEach(member -> leaders.putIfAbsent(member, 0));
+      leaders.merge(leader, 1, Integer::sum);
+    }
+
+    // Find the partition of which the local node is a member that is led by the busiest node from which the local
+    // node is responsible for taking leadership.
+    int localLeaders = leaders.getOrDefault(localNodeId, 0);
+    RaftPartition candidate = null;
+    int maxLeaders = localLeaders + LEADER_IMBALANCE_THRESHOLD;
+    for (RaftPartition partition : partitions.values()) {
+      NodeId leader = partition.primary();
+      int leaderLeaders = leaders.get(leader);
+      if (leaderLeaders > maxLeaders
+          && partition.members().contains(localNodeId)
+          && localNodeId.equals(getLeastLoadedMember(leader, leaders))) {
+        candidate = partition;
+        maxLeaders = leaderLeaders;
+      }
+    }
+
+    if (candidate != null) {
+      LOGGER.debug("Transferring leadership of {} from {} ({} leaders) to {} ({} leaders)",
+          candidate.id(), candidate.primary(), maxLeaders, localNodeId, localLeaders);
+    }
+    return candidate;
+  }
+
+  /**
+   * Returns the member of the given leader's partitions that leads the fewest partitions.
+   *
+   * @param leader  the leader whose partitions to search
+   * @param leaders the number of partitions led by each member of the group
+   * @return the least loaded member of the leader's partitions, with ties broken by the lowest node ID
+   */
+  private NodeId getLeastLoadedMember(NodeId leader, Map<NodeId, Integer> leaders) {
+    NodeId leastLoaded = null;
+    for (RaftPartition partition : partitions.values()) {
+      if (leader.equals(partition.primary())) {
+        for (NodeId member : partition.members()) {
+          if (!member.equals(leader) && (leastLoaded == null
+              || leaders.get(member) < leaders.get(leastLoaded)
+              || (leaders.get(member).equals(leaders.get(leastLoaded)) && member.compareTo(leastLoaded) < 0))) {
+            leastLoaded = member;
+          }
+        }
+      }
+    }
+    return leastLoaded;
+  }
+
   private synchronized void handleClusterEvent(ClusterEvent event) {
     if (event.type() == ClusterEvent.Type.NODE_ADDED && event.subject().type() == Node.Type.DATA) {
       metadataChangeFuture = metadataChangeFuture.thenCompose(v -> {
@@ -175,6 +312,7 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
 
   @Override
   public CompletableFuture<Void> close() {
+    stopBalancer();
     List<CompletableFuture<Void>> futures = partitions.values().stream()
         .map(RaftPartition::close)
         .collect(Collectors.toList());
@@ -199,6 +337,8 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
     private int partitionSize;
     private StorageLevel storageLevel = StorageLevel.MAPPED;
     private File dataDirectory = new File(System.getProperty("user.dir"), "data");
+    private Duration balanceInterval = DEFAULT_BALANCE_INTERVAL;
+    private int serviceThreads = DEFAULT_SERVICE_THREADS;
 
     protected Builder(String name) {
       super(name);
@@ -252,14 +392,51 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
       return this;
     }
 
+    /**
+     * Sets the interval at which partition leaders are balanced across the members of the group.
+     * <p>
+     * On each interval, a node that leads fewer partitions than the busiest member of a partition it belongs to
+     * requests a leadership transfer for at most one partition. Use {@link Duration#ZERO} to disable balancing.
+     *
+     * @param balanceInterval the leader balance interval
+     * @return the Raft partition group builder
+     * @throws IllegalArgumentException if the balance interval is negative
+     */
+    public Builder withBalanceInterval(Duration balanceInterval) {
+      checkNotNull(balanceInterval, "balanceInterval cannot be null");
+      checkArgument(!balanceInterval.isNegative(), "balanceInterval must not be negative");
+      this.balanceInterval = balanceInterval;
+      return this;
+    }
+
+    /**
+     * Sets the number of threads on which each partition applies operations to its services.
+     * <p>
+     * Operations on different services in a partition are applied in parallel on the service threads. Defaults to
+     * {@code 0}, which applies all operations in a partition on a single state machine thread.
+     *
+     * @param serviceThreads the number of service threads per partition
+     * @return the Raft partition group builder
+     * @throws IllegalArgumentException if the number of service threads is negative
+     */
+    public Builder withServiceThreads(int serviceThreads) {
+      checkArgument(serviceThreads >= 0, "serviceThreads must not be negative");
+      this.serviceThreads = serviceThreads;
+      return this;
+    }
+
     @Override
     public ManagedPartitionGroup build() {
       File partitionsDir = new File(dataDirectory, "partitions");
       List<RaftPartition> partitions = new ArrayList<>(numPartitions);
       for (int i = 0; i < numPartitions; i++) {
-        partitions.add(new RaftPartition(PartitionId.from(name, i + 1), storageLevel, new File(partitionsDir, String.valueOf(i + 1))));
+        partitions.add(new RaftPartition(
+            PartitionId.from(name, i + 1),
+            storageLevel,
+            new File(partitionsDir, String.valueOf(i + 1)),
+            serviceThreads));
       }
-      return new RaftPartitionGroup(name, partitions, partitionSize);
+      return new RaftPartitionGroup(name, partitions, partitionSize, balanceInterval);
     }
   }
 }
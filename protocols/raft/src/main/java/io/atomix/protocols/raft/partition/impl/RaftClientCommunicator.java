@@ -21,6 +21,8 @@ import io.atomix.cluster.messaging.ClusterMessagingService;
 import io.atomix.primitive.session.SessionId;
 import io.atomix.protocols.raft.protocol.CloseSessionRequest;
 import io.atomix.protocols.raft.protocol.CloseSessionResponse;
+import io.atomix.protocols.raft.protocol.CommandBatchRequest;
+import io.atomix.protocols.raft.protocol.CommandBatchResponse;
 import io.atomix.protocols.raft.protocol.CommandRequest;
 import io.atomix.protocols.raft.protocol.CommandResponse;
 import io.atomix.protocols.raft.protocol.HeartbeatRequest;
@@ -32,12 +34,15 @@ import io.atomix.protocols.raft.protocol.MetadataResponse;
 import io.atomix.protocols.raft.protocol.OpenSessionRequest;
 import io.atomix.protocols.raft.protocol.OpenSessionResponse;
 import io.atomix.protocols.raft.protocol.PublishRequest;
+import io.atomix.protocols.raft.protocol.PublishResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftClientProtocol;
+import io.atomix.protocols.raft.protocol.RaftResponse;
 import io.atomix.protocols.raft.protocol.ResetRequest;
 import io.atomix.utils.serializer.Serializer;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -91,6 +96,11 @@ public class RaftClientCommunicator implements RaftClientProtocol {
     return sendAndReceive(context.commandSubject, request, nodeId);
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> commandBatch(NodeId nodeId, CommandBatchRequest request) {
+    return sendAndReceive(context.commandBatchSubject, request, nodeId);
+  }
+
   @Override
   public CompletableFuture<MetadataResponse> metadata(NodeId nodeId, MetadataRequest request) {
     return sendAndReceive(context.metadataSubject, request, nodeId);
@@ -113,7 +123,17 @@ public class RaftClientCommunicator implements RaftClientProtocol {
 
   @Override
   public void registerPublishListener(SessionId sessionId, Consumer<PublishRequest> listener, Executor executor) {
-    clusterCommunicator.subscribe(context.publishSubject(sessionId.id()), serializer::decode, listener, executor);
+    clusterCommunicator.<List<PublishRequest>, PublishResponse>subscribe(
+        context.publishSubject(sessionId.id()),
+        serializer::decode,
+        requests -> {
+          requests.forEach(listener);
+          return PublishResponse.builder()
+              .withStatus(RaftResponse.Status.OK)
+              .build();
+        },
+        serializer::encode,
+        executor);
   }
 
   @Override
@@ -26,6 +26,7 @@ class RaftMessageContext {
   final String keepAliveSubject;
   final String querySubject;
   final String commandSubject;
+  final String commandBatchSubject;
   final String metadataSubject;
   final String joinSubject;
   final String leaveSubject;
@@ -33,6 +34,7 @@ class RaftMessageContext {
   final String reconfigureSubject;
   final String installSubject;
   final String transferSubject;
+  final String readIndexSubject;
   final String pollSubject;
   final String voteSubject;
   final String appendSubject;
@@ -45,6 +47,7 @@ class RaftMessageContext {
     this.keepAliveSubject = getSubject(prefix, "keep-alive");
     this.querySubject = getSubject(prefix, "query");
     this.commandSubject = getSubject(prefix, "command");
+    this.commandBatchSubject = getSubject(prefix, "command-batch");
     this.metadataSubject = getSubject(prefix, "metadata");
     this.joinSubject = getSubject(prefix, "join");
     this.leaveSubject = getSubject(prefix, "leave");
@@ -52,6 +55,7 @@ class RaftMessageContext {
     this.reconfigureSubject = getSubject(prefix, "reconfigure");
     this.installSubject = getSubject(prefix, "install");
     this.transferSubject = getSubject(prefix, "transfer");
+    this.readIndexSubject = getSubject(prefix, "read-index");
     this.pollSubject = getSubject(prefix, "poll");
     this.voteSubject = getSubject(prefix, "vote");
     this.appendSubject = getSubject(prefix, "append");
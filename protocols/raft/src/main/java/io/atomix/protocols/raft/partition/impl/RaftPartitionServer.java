@@ -23,6 +23,7 @@ import io.atomix.primitive.partition.Partition;
 import io.atomix.protocols.raft.RaftServer;
 import io.atomix.protocols.raft.partition.RaftPartition;
 import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.storage.statistics.StorageStatistics;
 import io.atomix.utils.Managed;
 import io.atomix.utils.serializer.Serializer;
 import org.slf4j.Logger;
@@ -99,6 +100,15 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
     return server.shutdown();
   }
 
+  /**
+   * Attempts to transfer leadership of the partition to the local server.
+   *
+   * @return future to be completed once the local server has been elected leader
+   */
+  public CompletableFuture<Void> promote() {
+    return server.promote().thenApply(v -> null);
+  }
+
   /**
    * Closes the server and exits the partition.
    *
@@ -149,6 +159,7 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
             .withDirectory(partition.dataDirectory())
             .withMaxSegmentSize(MAX_SEGMENT_SIZE)
             .build())
+        .withServiceThreads(partition.serviceThreads())
         .build();
   }
 
@@ -164,6 +175,16 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
     }).thenApply(v -> null);
   }
 
+  /**
+   * Returns the server's storage statistics.
+   *
+   * @return the server's storage statistics, or {@code null} if the server has not been started
+   */
+  public StorageStatistics getStorageStatistics() {
+    RaftServer server = this.server;
+    return server != null ? server.getStorageStatistics() : null;
+  }
+
   @Override
   public boolean isRunning() {
     return server.isRunning();
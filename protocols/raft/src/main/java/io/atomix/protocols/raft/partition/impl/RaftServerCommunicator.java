@@ -23,6 +23,8 @@ import io.atomix.protocols.raft.protocol.AppendRequest;
 import io.atomix.protocols.raft.protocol.AppendResponse;
 import io.atomix.protocols.raft.protocol.CloseSessionRequest;
 import io.atomix.protocols.raft.protocol.CloseSessionResponse;
+import io.atomix.protocols.raft.protocol.CommandBatchRequest;
+import io.atomix.protocols.raft.protocol.CommandBatchResponse;
 import io.atomix.protocols.raft.protocol.CommandRequest;
 import io.atomix.protocols.raft.protocol.CommandResponse;
 import io.atomix.protocols.raft.protocol.ConfigureRequest;
@@ -44,18 +46,22 @@ import io.atomix.protocols.raft.protocol.OpenSessionResponse;
 import io.atomix.protocols.raft.protocol.PollRequest;
 import io.atomix.protocols.raft.protocol.PollResponse;
 import io.atomix.protocols.raft.protocol.PublishRequest;
+import io.atomix.protocols.raft.protocol.PublishResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftServerProtocol;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.ResetRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.TransferRequest;
 import io.atomix.protocols.raft.protocol.TransferResponse;
 import io.atomix.protocols.raft.protocol.VoteRequest;
 import io.atomix.protocols.raft.protocol.VoteResponse;
 import io.atomix.utils.serializer.Serializer;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -108,6 +114,11 @@ public class RaftServerCommunicator implements RaftServerProtocol {
     return sendAndReceive(context.commandSubject, request, nodeId);
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> commandBatch(NodeId nodeId, CommandBatchRequest request) {
+    return sendAndReceive(context.commandBatchSubject, request, nodeId);
+  }
+
   @Override
   public CompletableFuture<MetadataResponse> metadata(NodeId nodeId, MetadataRequest request) {
     return sendAndReceive(context.metadataSubject, request, nodeId);
@@ -143,6 +154,11 @@ public class RaftServerCommunicator implements RaftServerProtocol {
     return sendAndReceive(context.transferSubject, request, nodeId);
   }
 
+  @Override
+  public CompletableFuture<ReadIndexResponse> readIndex(NodeId nodeId, ReadIndexRequest request) {
+    return sendAndReceive(context.readIndexSubject, request, nodeId);
+  }
+
   @Override
   public CompletableFuture<PollResponse> poll(NodeId nodeId, PollRequest request) {
     return sendAndReceive(context.pollSubject, request, nodeId);
@@ -159,8 +175,8 @@ public class RaftServerCommunicator implements RaftServerProtocol {
   }
 
   @Override
-  public void publish(NodeId nodeId, PublishRequest request) {
-    clusterCommunicator.unicast(context.publishSubject(request.session()), request, serializer::encode, NodeId.from(nodeId.id()));
+  public CompletableFuture<PublishResponse> publish(NodeId nodeId, List<PublishRequest> requests) {
+    return sendAndReceive(context.publishSubject(requests.get(0).session()), requests, nodeId);
   }
 
   @Override
@@ -218,6 +234,16 @@ public class RaftServerCommunicator implements RaftServerProtocol {
     clusterCommunicator.unsubscribe(context.commandSubject);
   }
 
+  @Override
+  public void registerCommandBatchHandler(Function<CommandBatchRequest, CompletableFuture<CommandBatchResponse>> handler) {
+    clusterCommunicator.subscribe(context.commandBatchSubject, serializer::decode, handler, serializer::encode);
+  }
+
+  @Override
+  public void unregisterCommandBatchHandler() {
+    clusterCommunicator.unsubscribe(context.commandBatchSubject);
+  }
+
   @Override
   public void registerMetadataHandler(Function<MetadataRequest, CompletableFuture<MetadataResponse>> handler) {
     clusterCommunicator.subscribe(context.metadataSubject, serializer::decode, handler, serializer::encode);
@@ -288,6 +314,16 @@ public class RaftServerCommunicator implements RaftServerProtocol {
     clusterCommunicator.unsubscribe(context.transferSubject);
   }
 
+  @Override
+  public void registerReadIndexHandler(Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> handler) {
+    clusterCommunicator.subscribe(context.readIndexSubject, serializer::decode, handler, serializer::encode);
+  }
+
+  @Override
+  public void unregisterReadIndexHandler() {
+    clusterCommunicator.unsubscribe(context.readIndexSubject);
+  }
+
   @Override
   public void registerPollHandler(Function<PollRequest, CompletableFuture<PollResponse>> handler) {
     clusterCommunicator.subscribe(context.pollSubject, serializer::decode, handler, serializer::encode);
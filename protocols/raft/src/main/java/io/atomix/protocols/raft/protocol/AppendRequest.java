@@ -16,7 +16,7 @@
 package io.atomix.protocols.raft.protocol;
 
 import io.atomix.cluster.NodeId;
-import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
+import io.atomix.protocols.raft.storage.log.RaftLogRecord;
 
 import java.util.Arrays;
 import java.util.List;
@@ -48,10 +48,10 @@ public class AppendRequest extends AbstractRaftRequest {
   private final String leader;
   private final long prevLogIndex;
   private final long prevLogTerm;
-  private final List<RaftLogEntry> entries;
+  private final List<RaftLogRecord> entries;
   private final long commitIndex;
 
-  public AppendRequest(long term, String leader, long prevLogIndex, long prevLogTerm, List<RaftLogEntry> entries, long commitIndex) {
+  public AppendRequest(long term, String leader, long prevLogIndex, long prevLogTerm, List<RaftLogRecord> entries, long commitIndex) {
     this.term = term;
     this.leader = leader;
     this.prevLogIndex = prevLogIndex;
@@ -98,10 +98,13 @@ public class AppendRequest extends AbstractRaftRequest {
 
   /**
    * Returns the log entries to append.
+   * <p>
+   * Entries are sent as {@link RaftLogRecord records} in the serialized form in which they're stored in the
+   * leader's log. The first entry's index is {@link #prevLogIndex()} + 1.
    *
    * @return A list of log entries.
    */
-  public List<RaftLogEntry> entries() {
+  public List<RaftLogRecord> entries() {
     return entries;
   }
 
@@ -153,7 +156,7 @@ public class AppendRequest extends AbstractRaftRequest {
     private String leader;
     private long logIndex;
     private long logTerm;
-    private List<RaftLogEntry> entries;
+    private List<RaftLogRecord> entries;
     private long commitIndex = -1;
 
     /**
@@ -214,7 +217,7 @@ public class AppendRequest extends AbstractRaftRequest {
      * @return The append request builder.
      * @throws NullPointerException if {@code entries} is null
      */
-    public Builder withEntries(RaftLogEntry... entries) {
+    public Builder withEntries(RaftLogRecord... entries) {
       return withEntries(Arrays.asList(checkNotNull(entries, "entries cannot be null")));
     }
 
@@ -226,7 +229,7 @@ public class AppendRequest extends AbstractRaftRequest {
      * @throws NullPointerException if {@code entries} is null
      */
     @SuppressWarnings("unchecked")
-    public Builder withEntries(List<RaftLogEntry> entries) {
+    public Builder withEntries(List<RaftLogRecord> entries) {
       this.entries = checkNotNull(entries, "entries cannot be null");
       return this;
     }
@@ -238,7 +241,7 @@ public class AppendRequest extends AbstractRaftRequest {
      * @return The request builder.
      * @throws NullPointerException if {@code entry} is {@code null}
      */
-    public Builder addEntry(RaftLogEntry entry) {
+    public Builder addEntry(RaftLogRecord entry) {
       this.entries.add(checkNotNull(entry, "entry"));
       return this;
     }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.protocol;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Client command batch request.
+ * <p>
+ * Command batch requests are submitted by clients to commit a number of {@link CommandRequest}s for a single
+ * {@link #session()} in one round trip. The server handles the commands in the order in which they appear in the
+ * batch, exactly as if each command had been submitted individually, and responds with a
+ * {@link CommandBatchResponse} containing a response for each command in the same order.
+ */
+public class CommandBatchRequest extends SessionRequest {
+
+  /**
+   * Returns a new command batch request builder.
+   *
+   * @return A new command batch request builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private final List<CommandRequest> commands;
+
+  public CommandBatchRequest(long session, List<CommandRequest> commands) {
+    super(session);
+    this.commands = commands;
+  }
+
+  /**
+   * Returns the batched command requests.
+   *
+   * @return The batched command requests.
+   */
+  public List<CommandRequest> commands() {
+    return commands;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getClass(), session, commands);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof CommandBatchRequest) {
+      CommandBatchRequest request = (CommandBatchRequest) object;
+      return request.session == session
+          && request.commands.equals(commands);
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("session", session)
+        .add("commands", commands.size())
+        .toString();
+  }
+
+  /**
+   * Command batch request builder.
+   */
+  public static class Builder extends SessionRequest.Builder<Builder, CommandBatchRequest> {
+    private List<CommandRequest> commands;
+
+    /**
+     * Sets the batched command requests.
+     *
+     * @param commands The batched command requests.
+     * @return The command batch request builder.
+     * @throws NullPointerException if {@code commands} is null
+     */
+    public Builder withCommands(List<CommandRequest> commands) {
+      this.commands = checkNotNull(commands, "commands cannot be null");
+      return this;
+    }
+
+    @Override
+    protected void validate() {
+      super.validate();
+      checkNotNull(commands, "commands cannot be null");
+      checkArgument(!commands.isEmpty(), "commands cannot be empty");
+      for (CommandRequest command : commands) {
+        checkArgument(command.session() == session, "commands must belong to the batch session");
+      }
+    }
+
+    @Override
+    public CommandBatchRequest build() {
+      validate();
+      return new CommandBatchRequest(session, commands);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.protocol;
+
+import io.atomix.protocols.raft.RaftError;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Client command batch response.
+ * <p>
+ * Command batch responses are sent by servers to clients upon the completion of all the commands in a
+ * {@link CommandBatchRequest}. If the batch as a whole could not be handled, the response status is
+ * {@link Status#ERROR}. Otherwise, {@link #responses()} contains a {@link CommandResponse} for each command
+ * in the request in the order in which the commands appear in the request, and each must be checked for errors.
+ */
+public class CommandBatchResponse extends AbstractRaftResponse {
+
+  /**
+   * Returns a new command batch response builder.
+   *
+   * @return A new command batch response builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private final List<CommandResponse> responses;
+
+  public CommandBatchResponse(Status status, RaftError error, List<CommandResponse> responses) {
+    super(status, error);
+    this.responses = responses;
+  }
+
+  /**
+   * Returns the command responses.
+   *
+   * @return The command responses in the order of the batched commands.
+   */
+  public List<CommandResponse> responses() {
+    return responses;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getClass(), status, responses);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof CommandBatchResponse) {
+      CommandBatchResponse response = (CommandBatchResponse) object;
+      return response.status == status
+          && Objects.equals(response.responses, responses);
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    if (status == Status.OK) {
+      return toStringHelper(this)
+          .add("status", status)
+          .add("responses", responses)
+          .toString();
+    } else {
+      return toStringHelper(this)
+          .add("status", status)
+          .add("error", error)
+          .toString();
+    }
+  }
+
+  /**
+   * Command batch response builder.
+   */
+  public static class Builder extends AbstractRaftResponse.Builder<Builder, CommandBatchResponse> {
+    private List<CommandResponse> responses;
+
+    /**
+     * Sets the command responses.
+     *
+     * @param responses The command responses in the order of the batched commands.
+     * @return The command batch response builder.
+     * @throws NullPointerException if {@code responses} is null
+     */
+    public Builder withResponses(List<CommandResponse> responses) {
+      this.responses = checkNotNull(responses, "responses cannot be null");
+      return this;
+    }
+
+    @Override
+    protected void validate() {
+      super.validate();
+      if (status == Status.OK) {
+        checkNotNull(responses, "responses cannot be null");
+      }
+    }
+
+    @Override
+    public CommandBatchResponse build() {
+      validate();
+      return new CommandBatchResponse(status, error, responses);
+    }
+  }
+}
@@ -32,7 +32,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * that its log is further behind than the last snapshot taken by the leader. Snapshots are sent
  * in chunks, with each chunk being sent in a separate install request. As requests are received by
  * the follower, the snapshot is reconstructed based on the provided {@link #chunkOffset()} and other
- * metadata. The last install request will be sent with {@link #complete()} being {@code true} to
+ * metadata. The chunk offset is the position of the chunk's first byte within the snapshot, so chunks
+ * may vary in size. The last install request will be sent with {@link #complete()} being {@code true} to
  * indicate that all chunks of the snapshot have been sent.
  */
 public class InstallRequest extends AbstractRaftRequest {
@@ -101,9 +102,9 @@ public class InstallRequest extends AbstractRaftRequest {
   }
 
   /**
-   * Returns the offset of the snapshot chunk.
+   * Returns the byte offset of the snapshot chunk within the snapshot.
    *
-   * @return The offset of the snapshot chunk.
+   * @return The byte offset of the snapshot chunk.
    */
   public int chunkOffset() {
     return offset;
@@ -45,14 +45,16 @@ public class OpenSessionRequest extends AbstractRaftRequest {
   private final ReadConsistency readConsistency;
   private final long minTimeout;
   private final long maxTimeout;
+  private final long clientSession;
 
-  public OpenSessionRequest(String node, String name, String typeName, ReadConsistency readConsistency, long minTimeout, long maxTimeout) {
+  public OpenSessionRequest(String node, String name, String typeName, ReadConsistency readConsistency, long minTimeout, long maxTimeout, long clientSession) {
     this.node = node;
     this.name = name;
     this.typeName = typeName;
     this.readConsistency = readConsistency;
     this.minTimeout = minTimeout;
     this.maxTimeout = maxTimeout;
+    this.clientSession = clientSession;
   }
 
   /**
@@ -64,6 +66,27 @@ public class OpenSessionRequest extends AbstractRaftRequest {
     return node;
   }
 
+  /**
+   * Returns a boolean indicating whether the request opens a client session.
+   * <p>
+   * Client sessions are not associated with a service. Instead, they're used to keep alive and expire the service
+   * sessions that are opened under them.
+   *
+   * @return indicates whether the request opens a client session
+   */
+  public boolean isClientSession() {
+    return name == null;
+  }
+
+  /**
+   * Returns the client session under which to open the service session.
+   *
+   * @return The client session identifier or {@code 0} if the session is not multiplexed.
+   */
+  public long clientSession() {
+    return clientSession;
+  }
+
   /**
    * Returns the state machine name.
    *
@@ -111,7 +134,7 @@ public class OpenSessionRequest extends AbstractRaftRequest {
 
   @Override
   public int hashCode() {
-    return Objects.hash(getClass(), name, typeName, minTimeout, maxTimeout);
+    return Objects.hash(getClass(), name, typeName, minTimeout, maxTimeout, clientSession);
   }
 
   @Override
@@ -119,11 +142,12 @@ public class OpenSessionRequest extends AbstractRaftRequest {
     if (object instanceof OpenSessionRequest) {
       OpenSessionRequest request = (OpenSessionRequest) object;
       return request.node.equals(node)
-          && request.name.equals(name)
-          && request.typeName.equals(typeName)
+          && Objects.equals(request.name, name)
+          && Objects.equals(request.typeName, typeName)
           && request.readConsistency == readConsistency
           && request.minTimeout == minTimeout
-          && request.maxTimeout == maxTimeout;
+          && request.maxTimeout == maxTimeout
+          && request.clientSession == clientSession;
     }
     return false;
   }
@@ -137,6 +161,7 @@ public class OpenSessionRequest extends AbstractRaftRequest {
         .add("readConsistency", readConsistency)
         .add("minTimeout", minTimeout)
         .add("maxTimeout", maxTimeout)
+        .add("clientSession", clientSession)
         .toString();
   }
 
@@ -150,6 +175,7 @@ public class OpenSessionRequest extends AbstractRaftRequest {
     private ReadConsistency readConsistency = ReadConsistency.LINEARIZABLE;
     private long minTimeout;
     private long maxTimeout;
+    private long clientSession;
 
     /**
      * Sets the client node identifier.
@@ -225,12 +251,27 @@ public class OpenSessionRequest extends AbstractRaftRequest {
       return this;
     }
 
+    /**
+     * Sets the client session under which to open the service session.
+     * <p>
+     * Service sessions opened under a client session are kept alive and expired with the client session.
+     *
+     * @param clientSession The client session identifier.
+     * @return The open session request builder.
+     * @throws IllegalArgumentException if {@code clientSession} is not positive
+     */
+    public Builder withClientSession(long clientSession) {
+      checkArgument(clientSession > 0, "clientSession must be positive");
+      this.clientSession = clientSession;
+      return this;
+    }
+
     @Override
     protected void validate() {
       super.validate();
       checkNotNull(nodeId, "client cannot be null");
-      checkNotNull(serviceName, "name cannot be null");
-      checkNotNull(serviceType, "typeName cannot be null");
+      checkArgument((serviceName == null) == (serviceType == null), "name and typeName must both be set for service sessions");
+      checkArgument(serviceName != null || clientSession == 0, "client sessions cannot be opened under a client session");
       checkArgument(minTimeout >= 0, "minTimeout must be positive");
       checkArgument(maxTimeout >= 0, "maxTimeout must be positive");
     }
@@ -241,7 +282,7 @@ public class OpenSessionRequest extends AbstractRaftRequest {
     @Override
     public OpenSessionRequest build() {
       validate();
-      return new OpenSessionRequest(nodeId, serviceName, serviceType, readConsistency, minTimeout, maxTimeout);
+      return new OpenSessionRequest(nodeId, serviceName, serviceType, readConsistency, minTimeout, maxTimeout, clientSession);
     }
   }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.protocol;
+
+import io.atomix.protocols.raft.RaftError;
+
+import java.util.Objects;
+
+/**
+ * Event publish response.
+ * <p>
+ * Publish responses are sent by clients once a batch of {@link PublishRequest}s has been handed to the session's
+ * event listener. Servers use responses as credits to limit the number of event batches in flight to each client.
+ */
+public class PublishResponse extends SessionResponse {
+
+  /**
+   * Returns a new publish response builder.
+   *
+   * @return A new publish response builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public PublishResponse(Status status, RaftError error) {
+    super(status, error);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof PublishResponse) {
+      PublishResponse response = (PublishResponse) object;
+      return response.status == status && Objects.equals(response.error, error);
+    }
+    return false;
+  }
+
+  /**
+   * Publish response builder.
+   */
+  public static class Builder extends SessionResponse.Builder<Builder, PublishResponse> {
+    @Override
+    public PublishResponse build() {
+      validate();
+      return new PublishResponse(status, error);
+    }
+  }
+}
@@ -74,6 +74,15 @@ public interface RaftClientProtocol {
    */
   CompletableFuture<CommandResponse> command(NodeId nodeId, CommandRequest request);
 
+  /**
+   * Sends a command batch request to the given node.
+   *
+   * @param nodeId  the node to which to send the request
+   * @param request the request to send
+   * @return a future to be completed with the response
+   */
+  CompletableFuture<CommandBatchResponse> commandBatch(NodeId nodeId, CommandBatchRequest request);
+
   /**
    * Sends a metadata request to the given node.
    *
@@ -105,6 +114,9 @@ public interface RaftClientProtocol {
 
   /**
    * Registers a publish request listener.
+   * <p>
+   * Publish requests are received in batches. The listener is called once for each request in a batch, in order,
+   * and the batch is acknowledged to the server once all of its requests have been handed to the listener.
    *
    * @param sessionId the session for which to listen for the publish request
    * @param listener  the listener to register
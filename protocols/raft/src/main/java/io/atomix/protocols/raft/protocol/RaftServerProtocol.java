@@ -18,6 +18,7 @@ package io.atomix.protocols.raft.protocol;
 import io.atomix.cluster.NodeId;
 import io.atomix.primitive.session.SessionId;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -73,6 +74,15 @@ public interface RaftServerProtocol {
    */
   CompletableFuture<CommandResponse> command(NodeId nodeId, CommandRequest request);
 
+  /**
+   * Sends a command batch request to the given node.
+   *
+   * @param nodeId  the node to which to send the request
+   * @param request the request to send
+   * @return a future to be completed with the response
+   */
+  CompletableFuture<CommandBatchResponse> commandBatch(NodeId nodeId, CommandBatchRequest request);
+
   /**
    * Sends a metadata request to the given node.
    *
@@ -136,6 +146,15 @@ public interface RaftServerProtocol {
    */
   CompletableFuture<TransferResponse> transfer(NodeId nodeId, TransferRequest request);
 
+  /**
+   * Sends a read index request to the given node.
+   *
+   * @param nodeId  the node to which to send the request
+   * @param request the request to send
+   * @return a future to be completed with the response
+   */
+  CompletableFuture<ReadIndexResponse> readIndex(NodeId nodeId, ReadIndexRequest request);
+
   /**
    * Sends a poll request to the given node.
    *
@@ -173,12 +192,16 @@ public interface RaftServerProtocol {
   CompletableFuture<HeartbeatResponse> heartbeat(NodeId nodeId, HeartbeatRequest request);
 
   /**
-   * Unicasts a publish request to the given node.
+   * Sends a batch of publish requests to the given node.
+   * <p>
+   * All requests in the batch must belong to the same session and must be ordered by event index. The returned
+   * future is completed once the client has accepted the batch.
    *
-   * @param nodeId  the node to which to send the request
-   * @param request the request to send
+   * @param nodeId   the node to which to send the requests
+   * @param requests the requests to send
+   * @return a future to be completed with the response
    */
-  void publish(NodeId nodeId, PublishRequest request);
+  CompletableFuture<PublishResponse> publish(NodeId nodeId, List<PublishRequest> requests);
 
   /**
    * Registers an open session request callback.
@@ -240,6 +263,18 @@ public interface RaftServerProtocol {
    */
   void unregisterCommandHandler();
 
+  /**
+   * Registers a command batch request callback.
+   *
+   * @param handler the command batch request handler to register
+   */
+  void registerCommandBatchHandler(Function<CommandBatchRequest, CompletableFuture<CommandBatchResponse>> handler);
+
+  /**
+   * Unregisters the command batch request handler.
+   */
+  void unregisterCommandBatchHandler();
+
   /**
    * Registers a metadata request callback.
    *
@@ -288,6 +323,18 @@ public interface RaftServerProtocol {
    */
   void unregisterTransferHandler();
 
+  /**
+   * Registers a read index request callback.
+   *
+   * @param handler the read index request handler to register
+   */
+  void registerReadIndexHandler(Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> handler);
+
+  /**
+   * Unregisters the read index request handler.
+   */
+  void unregisterReadIndexHandler();
+
   /**
    * Registers a configure request callback.
    *
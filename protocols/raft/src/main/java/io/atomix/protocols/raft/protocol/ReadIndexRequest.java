@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.protocol;
+
+import io.atomix.cluster.NodeId;
+
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Read index request.
+ * <p>
+ * Read index requests are sent by followers to the leader to obtain a read index for linearizable queries.
+ * The leader responds with its commit index once it has confirmed its leadership with a majority of the
+ * cluster, after which the follower may serve queries once its state machine has applied the read index.
+ */
+public class ReadIndexRequest extends AbstractRaftRequest {
+
+  /**
+   * Returns a new read index request builder.
+   *
+   * @return A new read index request builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private final NodeId member;
+
+  public ReadIndexRequest(NodeId member) {
+    this.member = member;
+  }
+
+  /**
+   * Returns the requesting member.
+   *
+   * @return The requesting member.
+   */
+  public NodeId member() {
+    return member;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getClass(), member);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof ReadIndexRequest) {
+      ReadIndexRequest request = (ReadIndexRequest) object;
+      return request.member.equals(member);
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("member", member)
+        .toString();
+  }
+
+  /**
+   * Read index request builder.
+   */
+  public static class Builder extends AbstractRaftRequest.Builder<Builder, ReadIndexRequest> {
+    private NodeId member;
+
+    /**
+     * Sets the requesting member.
+     *
+     * @param member The requesting member.
+     * @return The read index request builder.
+     * @throws NullPointerException if {@code member} is null
+     */
+    public Builder withMember(NodeId member) {
+      this.member = checkNotNull(member, "member cannot be null");
+      return this;
+    }
+
+    @Override
+    protected void validate() {
+      super.validate();
+      checkNotNull(member, "member cannot be null");
+    }
+
+    @Override
+    public ReadIndexRequest build() {
+      validate();
+      return new ReadIndexRequest(member);
+    }
+  }
+}
@@ -19,6 +19,8 @@ import io.atomix.cluster.NodeId;
 import io.atomix.protocols.raft.RaftError;
 import io.atomix.protocols.raft.protocol.CloseSessionRequest;
 import io.atomix.protocols.raft.protocol.CloseSessionResponse;
+import io.atomix.protocols.raft.protocol.CommandBatchRequest;
+import io.atomix.protocols.raft.protocol.CommandBatchResponse;
 import io.atomix.protocols.raft.protocol.CommandRequest;
 import io.atomix.protocols.raft.protocol.CommandResponse;
 import io.atomix.protocols.raft.protocol.KeepAliveRequest;
@@ -190,6 +192,22 @@ public class RaftProxyConnection {
     return future;
   }
 
+  /**
+   * Sends a command batch request to the given node.
+   *
+   * @param request the request to send
+   * @return a future to be completed with the response
+   */
+  public CompletableFuture<CommandBatchResponse> commandBatch(CommandBatchRequest request) {
+    CompletableFuture<CommandBatchResponse> future = new CompletableFuture<>();
+    if (context.isCurrentContext()) {
+      sendRequest(request, protocol::commandBatch, next(), future);
+    } else {
+      context.execute(() -> sendRequest(request, protocol::commandBatch, next(), future));
+    }
+    return future;
+  }
+
   /**
    * Sends a metadata request to the given node.
    *
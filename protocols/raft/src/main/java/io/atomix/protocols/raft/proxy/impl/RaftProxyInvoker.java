@@ -20,6 +20,7 @@ import io.atomix.primitive.operation.PrimitiveOperation;
 import io.atomix.primitive.proxy.PrimitiveProxy;
 import io.atomix.protocols.raft.RaftError;
 import io.atomix.protocols.raft.RaftException;
+import io.atomix.protocols.raft.protocol.CommandBatchRequest;
 import io.atomix.protocols.raft.protocol.CommandRequest;
 import io.atomix.protocols.raft.protocol.CommandResponse;
 import io.atomix.protocols.raft.protocol.OperationRequest;
@@ -34,6 +35,7 @@ import java.nio.channels.ClosedChannelException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -49,6 +51,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 final class RaftProxyInvoker {
   private static final int[] FIBONACCI = new int[]{1, 1, 2, 3, 5};
+  private static final int MAX_BATCH_SIZE = 128;
   private static final Predicate<Throwable> EXCEPTION_PREDICATE = e ->
       e instanceof ConnectException
           || e instanceof TimeoutException
@@ -64,6 +67,7 @@ final class RaftProxyInvoker {
   private final RaftProxyManager manager;
   private final ThreadContext context;
   private final Map<Long, OperationAttempt> attempts = new LinkedHashMap<>();
+  private final List<CommandAttempt> pendingCommands = new ArrayList<>();
   private final AtomicLong keepAliveIndex = new AtomicLong();
 
   public RaftProxyInvoker(
@@ -121,6 +125,74 @@ final class RaftProxyInvoker {
     invoke(new CommandAttempt(sequencer.nextRequest(), request, future));
   }
 
+  /**
+   * Queues a command attempt to be sent to the leader.
+   * <p>
+   * Rather than sending each command as soon as it's submitted, commands are queued until the tasks already pending
+   * on the invoker's thread have run. Commands submitted by pipelined clients in the meantime are sent to the leader
+   * together in a single {@link CommandBatchRequest}, which the leader handles in order as if each command had been
+   * sent individually. Commands are still sequenced and retried individually.
+   */
+  private void sendCommand(CommandAttempt attempt) {
+    pendingCommands.add(attempt);
+    if (pendingCommands.size() == 1) {
+      context.execute(this::flushCommands);
+    } else if (pendingCommands.size() >= MAX_BATCH_SIZE) {
+      flushCommands();
+    }
+  }
+
+  /**
+   * Sends queued command attempts to the leader.
+   */
+  private void flushCommands() {
+    if (pendingCommands.isEmpty()) {
+      return;
+    }
+
+    // If only a single command is pending, send it in a plain command request.
+    if (pendingCommands.size() == 1) {
+      CommandAttempt attempt = pendingCommands.remove(0);
+      leaderConnection.command(attempt.request).whenComplete(attempt);
+      return;
+    }
+
+    List<CommandAttempt> batch = new ArrayList<>(pendingCommands);
+    pendingCommands.clear();
+
+    List<CommandRequest> commands = new ArrayList<>(batch.size());
+    for (CommandAttempt attempt : batch) {
+      commands.add(attempt.request);
+    }
+
+    CommandBatchRequest request = CommandBatchRequest.builder()
+        .withSession(state.getSessionId().id())
+        .withCommands(commands)
+        .build();
+    leaderConnection.commandBatch(request).whenComplete((response, error) -> {
+      if (error == null) {
+        if (response.status() == RaftResponse.Status.OK) {
+          for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).accept(response.responses().get(i), null);
+          }
+        } else {
+          // If the batch as a whole failed, handle the error for each command as if it was sent individually.
+          CommandResponse commandResponse = CommandResponse.builder()
+              .withStatus(RaftResponse.Status.ERROR)
+              .withError(response.error())
+              .build();
+          for (CommandAttempt attempt : batch) {
+            attempt.accept(commandResponse, null);
+          }
+        }
+      } else {
+        for (CommandAttempt attempt : batch) {
+          attempt.accept(null, error);
+        }
+      }
+    });
+  }
+
   /**
    * Submits a query to the cluster.
    */
@@ -209,6 +281,7 @@ final class RaftProxyInvoker {
    * @return A completable future to be completed with a list of pending operations.
    */
   public CompletableFuture<Void> close() {
+    pendingCommands.clear();
     for (OperationAttempt attempt : new ArrayList<>(attempts.values())) {
       attempt.fail(new PrimitiveException.ClosedSession("session closed"));
     }
@@ -332,7 +405,7 @@ final class RaftProxyInvoker {
 
     @Override
     protected void send() {
-      leaderConnection.command(request).whenComplete(this);
+      sendCommand(this);
     }
 
     @Override
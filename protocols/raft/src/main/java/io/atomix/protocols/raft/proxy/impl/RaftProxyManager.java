@@ -23,6 +23,7 @@ import io.atomix.primitive.PrimitiveType;
 import io.atomix.primitive.proxy.PrimitiveProxy;
 import io.atomix.primitive.session.SessionId;
 import io.atomix.protocols.raft.RaftClient;
+import io.atomix.protocols.raft.RaftError;
 import io.atomix.protocols.raft.RaftException;
 import io.atomix.protocols.raft.ReadConsistency;
 import io.atomix.protocols.raft.protocol.CloseSessionRequest;
@@ -73,8 +74,16 @@ public class RaftProxyManager {
   private final Map<Long, RaftProxyState> sessions = new ConcurrentHashMap<>();
   private final Map<Long, Scheduled> keepAliveTimers = new ConcurrentHashMap<>();
   private final AtomicBoolean open = new AtomicBoolean();
+  private final boolean sessionMultiplexing;
+  private CompletableFuture<RaftProxyState> clientSessionFuture;
+  private volatile RaftProxyState clientSession;
 
   public RaftProxyManager(String clientId, NodeId nodeId, RaftClientProtocol protocol, MemberSelectorManager selectorManager, ThreadContextFactory threadContextFactory) {
+    this(clientId, nodeId, protocol, selectorManager, threadContextFactory, false);
+  }
+
+  public RaftProxyManager(String clientId, NodeId nodeId, RaftClientProtocol protocol, MemberSelectorManager selectorManager, ThreadContextFactory threadContextFactory, boolean sessionMultiplexing) {
+    this.sessionMultiplexing = sessionMultiplexing;
     this.clientId = checkNotNull(clientId, "clientId cannot be null");
     this.nodeId = checkNotNull(nodeId, "memberId cannot be null");
     this.protocol = checkNotNull(protocol, "protocol cannot be null");
@@ -162,28 +171,50 @@ public class RaftProxyManager {
     checkNotNull(communicationStrategy, "communicationStrategy cannot be null");
     checkNotNull(maxTimeout, "timeout cannot be null");
 
+    // If session multiplexing is enabled, open the session under the client session.
+    if (sessionMultiplexing) {
+      return openClientSession(minTimeout, maxTimeout).thenCompose(clientSession ->
+          openSession(serviceName, primitiveType, readConsistency, minTimeout, maxTimeout, clientSession));
+    }
+    return openSession(serviceName, primitiveType, readConsistency, minTimeout, maxTimeout, null);
+  }
+
+  /**
+   * Opens a new session, optionally under the given client session.
+   */
+  private CompletableFuture<RaftProxyState> openSession(
+      String serviceName,
+      PrimitiveType primitiveType,
+      ReadConsistency readConsistency,
+      Duration minTimeout,
+      Duration maxTimeout,
+      RaftProxyState clientSession) {
     log.debug("Opening session; name: {}, type: {}", serviceName, primitiveType);
-    OpenSessionRequest request = OpenSessionRequest.builder()
+    OpenSessionRequest.Builder builder = OpenSessionRequest.builder()
         .withNodeId(nodeId)
         .withServiceName(serviceName)
         .withServiceType(primitiveType)
         .withReadConsistency(readConsistency)
         .withMinTimeout(minTimeout.toMillis())
-        .withMaxTimeout(maxTimeout.toMillis())
-        .build();
+        .withMaxTimeout(maxTimeout.toMillis());
+    if (clientSession != null) {
+      builder.withClientSession(clientSession.getSessionId().id());
+    }
+    OpenSessionRequest request = builder.build();
 
     CompletableFuture<RaftProxyState> future = new CompletableFuture<>();
     ThreadContext proxyContext = threadContextFactory.createContext();
     connection.openSession(request).whenCompleteAsync((response, error) -> {
       if (error == null) {
         if (response.status() == RaftResponse.Status.OK) {
-          // Create and store the proxy state.
+          // Create and store the proxy state. Multiplexed sessions are kept alive on the client session's schedule.
           RaftProxyState state = new RaftProxyState(
               clientId,
               SessionId.from(response.session()),
               serviceName,
               primitiveType,
-              response.timeout());
+              clientSession != null ? clientSession.getSessionTimeout() : response.timeout(),
+              clientSession != null);
           sessions.put(state.getSessionId().id(), state);
 
           state.addStateChangeListener(s -> {
@@ -197,6 +228,10 @@ public class RaftProxyManager {
 
           future.complete(state);
         } else {
+          // If the client session is unknown to the cluster, it has expired and must be reopened.
+          if (clientSession != null && response.error().type() == RaftError.Type.UNKNOWN_SESSION) {
+            resetClientSession(clientSession);
+          }
           future.completeExceptionally(new RaftException.Unavailable(response.error().message()));
         }
       } else {
@@ -206,6 +241,59 @@ public class RaftProxyManager {
     return future;
   }
 
+  /**
+   * Opens the client session under which multiplexed sessions are opened if it's not already open.
+   */
+  private synchronized CompletableFuture<RaftProxyState> openClientSession(Duration minTimeout, Duration maxTimeout) {
+    if (clientSessionFuture == null || clientSessionFuture.isCompletedExceptionally()) {
+      log.debug("Opening client session");
+      OpenSessionRequest request = OpenSessionRequest.builder()
+          .withNodeId(nodeId)
+          .withMinTimeout(minTimeout.toMillis())
+          .withMaxTimeout(maxTimeout.toMillis())
+          .build();
+
+      CompletableFuture<RaftProxyState> future = new CompletableFuture<>();
+      clientSessionFuture = future;
+      connection.openSession(request).whenComplete((response, error) -> {
+        if (error == null) {
+          if (response.status() == RaftResponse.Status.OK) {
+            RaftProxyState state = new RaftProxyState(
+                clientId,
+                SessionId.from(response.session()),
+                null,
+                null,
+                response.timeout());
+            synchronized (this) {
+              if (clientSessionFuture == future) {
+                clientSession = state;
+              }
+            }
+            future.complete(state);
+          } else {
+            future.completeExceptionally(new RaftException.Unavailable(response.error().message()));
+          }
+        } else {
+          future.completeExceptionally(new RaftException.Unavailable(error.getMessage()));
+        }
+      });
+    }
+    return clientSessionFuture;
+  }
+
+  /**
+   * Resets the given client session once it has been closed or expired, causing a new client session to be opened
+   * for subsequent multiplexed sessions.
+   */
+  private synchronized void resetClientSession(RaftProxyState clientSession) {
+    if (this.clientSession == clientSession) {
+      log.debug("Client session {} closed", clientSession.getSessionId());
+      this.clientSession = null;
+      this.clientSessionFuture = null;
+    }
+    clientSession.setState(PrimitiveProxy.State.CLOSED);
+  }
+
   /**
    * Closes a session.
    *
@@ -313,24 +401,40 @@ public class RaftProxyManager {
         .filter(session -> session.getSessionTimeout() == sessionTimeout)
         .collect(Collectors.toList());
 
+    // Multiplexed sessions are kept alive by the client session.
+    RaftProxyState clientSession = this.clientSession;
+    if (clientSession != null && clientSession.getSessionTimeout() != sessionTimeout) {
+      clientSession = null;
+    }
+
     // If no sessions need keep-alives to be sent, skip and reschedule the keep-alive.
-    if (needKeepAlive.isEmpty()) {
+    if (needKeepAlive.isEmpty() && clientSession == null) {
       return;
     }
 
+    // Multiplexed sessions only need to be sent when they have new command responses or events to acknowledge.
+    List<RaftProxyState> sendKeepAlive = needKeepAlive.stream()
+        .filter(RaftProxyState::needsKeepAlive)
+        .collect(Collectors.toList());
+    int offset = clientSession != null ? 1 : 0;
+
     // Allocate session IDs, command response sequence numbers, and event index arrays.
-    long[] sessionIds = new long[needKeepAlive.size()];
-    long[] commandResponses = new long[needKeepAlive.size()];
-    long[] eventIndexes = new long[needKeepAlive.size()];
+    long[] sessionIds = new long[sendKeepAlive.size() + offset];
+    long[] commandResponses = new long[sendKeepAlive.size() + offset];
+    long[] eventIndexes = new long[sendKeepAlive.size() + offset];
 
     // For each session that needs to be kept alive, populate batch request arrays.
     int i = 0;
-    for (RaftProxyState sessionState : needKeepAlive) {
+    if (clientSession != null) {
+      sessionIds[i++] = clientSession.getSessionId().id();
+    }
+    for (RaftProxyState sessionState : sendKeepAlive) {
       sessionIds[i] = sessionState.getSessionId().id();
       commandResponses[i] = sessionState.getCommandResponse();
       eventIndexes[i] = sessionState.getEventIndex();
       i++;
     }
+    final RaftProxyState keepAliveClientSession = clientSession;
 
     log.trace("Keeping {} sessions alive", sessionIds.length);
 
@@ -349,10 +453,28 @@ public class RaftProxyManager {
           if (response.status() == RaftResponse.Status.OK) {
             selectorManager.resetAll(response.leader(), response.members());
 
-            // Iterate through sessions and close sessions that weren't kept alive by the request (have already been closed).
+            // If the client session was not kept alive, it has been closed along with its multiplexed sessions.
             Set<Long> keptAliveSessions = Sets.newHashSet(Longs.asList(response.sessionIds()));
+            boolean clientSessionKeptAlive = keepAliveClientSession != null
+                && keptAliveSessions.contains(keepAliveClientSession.getSessionId().id());
+            if (keepAliveClientSession != null && !clientSessionKeptAlive) {
+              resetClientSession(keepAliveClientSession);
+            }
+
+            // Record the command responses and events acknowledged for multiplexed sessions.
+            for (int j = offset; j < sessionIds.length; j++) {
+              if (keptAliveSessions.contains(sessionIds[j])) {
+                sendKeepAlive.get(j - offset).setKeepAlive(commandResponses[j], eventIndexes[j]);
+              }
+            }
+
+            // Iterate through sessions and close sessions that weren't kept alive by the request (have already been closed).
+            // Multiplexed sessions that were not sent in the request are kept alive by the client session.
+            Set<Long> sentSessions = Sets.newHashSet(Longs.asList(sessionIds));
             for (RaftProxyState session : needKeepAlive) {
-              if (keptAliveSessions.contains(session.getSessionId().id())) {
+              long sessionId = session.getSessionId().id();
+              if (keptAliveSessions.contains(sessionId)
+                  || (session.isMultiplexed() && clientSessionKeptAlive && !sentSessions.contains(sessionId))) {
                 session.setState(PrimitiveProxy.State.CONNECTED);
               } else {
                 session.setState(PrimitiveProxy.State.CLOSED);
@@ -432,13 +554,25 @@ public class RaftProxyManager {
     if (open.compareAndSet(true, false)) {
       CompletableFuture<Void> future = new CompletableFuture<>();
       threadContext.execute(() -> {
+        RaftProxyState clientSession;
         synchronized (this) {
           for (Scheduled keepAliveFuture : keepAliveTimers.values()) {
             keepAliveFuture.cancel();
           }
           protocol.unregisterHeartbeatHandler();
+          clientSession = this.clientSession;
+        }
+
+        // Close the client session, if any, to close any remaining multiplexed sessions.
+        if (clientSession != null) {
+          log.debug("Closing client session {}", clientSession.getSessionId());
+          connection.closeSession(CloseSessionRequest.builder()
+              .withSession(clientSession.getSessionId().id())
+              .build())
+              .whenComplete((response, error) -> future.complete(null));
+        } else {
+          future.complete(null);
         }
-        future.complete(null);
       });
       return future;
     }
@@ -34,21 +34,30 @@ public final class RaftProxyState {
   private final String serviceName;
   private final PrimitiveType primitiveType;
   private final long timeout;
+  private final boolean multiplexed;
   private volatile PrimitiveProxy.State state = PrimitiveProxy.State.CONNECTED;
   private volatile long commandRequest;
   private volatile long commandResponse;
   private volatile long responseIndex;
   private volatile long eventIndex;
+  private volatile long keepAliveCommandResponse;
+  private volatile long keepAliveEventIndex;
   private final Set<Consumer<PrimitiveProxy.State>> changeListeners = new CopyOnWriteArraySet<>();
 
   RaftProxyState(String clientId, SessionId sessionId, String serviceName, PrimitiveType primitiveType, long timeout) {
+    this(clientId, sessionId, serviceName, primitiveType, timeout, false);
+  }
+
+  RaftProxyState(String clientId, SessionId sessionId, String serviceName, PrimitiveType primitiveType, long timeout, boolean multiplexed) {
     this.clientId = clientId;
     this.sessionId = sessionId;
     this.serviceName = serviceName;
     this.primitiveType = primitiveType;
     this.timeout = timeout;
+    this.multiplexed = multiplexed;
     this.responseIndex = sessionId.id();
     this.eventIndex = sessionId.id();
+    this.keepAliveEventIndex = sessionId.id();
   }
 
   /**
@@ -96,6 +105,38 @@ public final class RaftProxyState {
     return timeout;
   }
 
+  /**
+   * Returns a boolean indicating whether the session is multiplexed over the client session.
+   *
+   * @return indicates whether the session is multiplexed over the client session
+   */
+  public boolean isMultiplexed() {
+    return multiplexed;
+  }
+
+  /**
+   * Returns a boolean indicating whether the session must be included in the next keep-alive request.
+   * <p>
+   * Multiplexed sessions are kept alive by the client session, so they only need to be included in keep-alive
+   * requests when command responses or events have been received since the last keep-alive.
+   *
+   * @return indicates whether the session must be included in the next keep-alive request
+   */
+  boolean needsKeepAlive() {
+    return !multiplexed || commandResponse != keepAliveCommandResponse || eventIndex != keepAliveEventIndex;
+  }
+
+  /**
+   * Records the command response and event index acknowledged by a keep-alive request.
+   *
+   * @param commandResponse the acknowledged command response sequence number
+   * @param eventIndex      the acknowledged event index
+   */
+  void setKeepAlive(long commandResponse, long eventIndex) {
+    this.keepAliveCommandResponse = commandResponse;
+    this.keepAliveEventIndex = eventIndex;
+  }
+
   /**
    * Returns the session state.
    *
@@ -28,6 +28,7 @@ import io.atomix.protocols.raft.protocol.InstallResponse;
 import io.atomix.protocols.raft.protocol.RaftRequest;
 import io.atomix.protocols.raft.protocol.RaftResponse;
 import io.atomix.protocols.raft.storage.log.RaftLogReader;
+import io.atomix.protocols.raft.storage.log.RaftLogRecord;
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
@@ -47,6 +48,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 abstract class AbstractAppender implements AutoCloseable {
   private static final int MAX_BATCH_SIZE = 1024 * 32;
+  private static final int MIN_CHUNK_SIZE = 1024 * 32;
+  private static final int MAX_CHUNK_SIZE = 1024 * 1024;
   protected final Logger log;
   protected final RaftContext raft;
   protected boolean open = true;
@@ -129,7 +132,7 @@ abstract class AbstractAppender implements AutoCloseable {
         .withCommitIndex(raft.getCommitIndex());
 
     // Build a list of entries to send to the member.
-    final List<RaftLogEntry> entries = new ArrayList<>();
+    final List<RaftLogRecord> entries = new ArrayList<>();
 
     // Build a list of entries up to the MAX_BATCH_SIZE. Note that entries in the log may
     // be null if they've been compacted and the member to which we're sending entries is just
@@ -141,9 +144,10 @@ abstract class AbstractAppender implements AutoCloseable {
 
     // Iterate through the log until the last index or the end of the log is reached.
     while (reader.hasNext()) {
-      // Otherwise, read the next entry and add it to the batch.
+      // Otherwise, read the next entry and add its serialized form to the batch. Entries read from
+      // disk are not decoded.
       Indexed<RaftLogEntry> entry = reader.next();
-      entries.add(entry.entry());
+      entries.add(RaftLogRecord.of(entry));
       size += entry.size();
       if (entry.index() == lastIndex || size >= MAX_BATCH_SIZE) {
         break;
@@ -402,37 +406,46 @@ abstract class AbstractAppender implements AutoCloseable {
 
   /**
    * Builds an install request for the given member.
+   * <p>
+   * Snapshots are streamed to each member from a reader that's held open for the duration of the install,
+   * so chunks are read sequentially from the member's current offset. Chunk sizes start small and grow as
+   * chunks are acknowledged by the member.
    */
   protected InstallRequest buildInstallRequest(RaftMemberContext member, Snapshot snapshot) {
+    // If the snapshot has changed, start streaming the new snapshot from the beginning.
     if (member.getNextSnapshotIndex() != snapshot.index()) {
       member.setNextSnapshotIndex(snapshot.index());
       member.setNextSnapshotOffset(0);
+      member.setSnapshotReader(null);
     }
 
-    InstallRequest request;
-    synchronized (snapshot) {
-      // Open a new snapshot reader.
-      try (SnapshotReader reader = snapshot.openReader()) {
-        // Skip to the next batch of bytes according to the snapshot chunk size and current offset.
-        reader.skip(member.getNextSnapshotOffset() * MAX_BATCH_SIZE);
-        byte[] data = new byte[Math.min(MAX_BATCH_SIZE, reader.remaining())];
-        reader.read(data);
-
-        // Create the install request, indicating whether this is the last chunk of data based on the number
-        // of bytes remaining in the buffer.
-        DefaultRaftMember leader = raft.getLeader();
-        request = InstallRequest.builder()
-            .withTerm(raft.getTerm())
-            .withLeader(leader != null ? leader.nodeId() : null)
-            .withIndex(snapshot.index())
-            .withOffset(member.getNextSnapshotOffset())
-            .withData(data)
-            .withComplete(!reader.hasRemaining())
-            .build();
+    // If no snapshot reader is open for the member, open a new reader and skip to the member's next offset.
+    SnapshotReader reader = member.getSnapshotReader();
+    if (reader == null) {
+      synchronized (snapshot) {
+        reader = snapshot.openReader();
       }
+      reader.skip(member.getNextSnapshotOffset());
+      member.setSnapshotReader(reader);
+      member.setSnapshotChunkSize(MIN_CHUNK_SIZE);
     }
 
-    return request;
+    int offset = member.getNextSnapshotOffset();
+    byte[] data = new byte[Math.min(member.getSnapshotChunkSize(), reader.remaining())];
+    reader.read(data);
+    member.setNextSnapshotOffset(offset + data.length);
+
+    // Create the install request, indicating whether this is the last chunk of data based on the number
+    // of bytes remaining in the buffer.
+    DefaultRaftMember leader = raft.getLeader();
+    return InstallRequest.builder()
+        .withTerm(raft.getTerm())
+        .withLeader(leader != null ? leader.nodeId() : null)
+        .withIndex(snapshot.index())
+        .withOffset(offset)
+        .withData(data)
+        .withComplete(!reader.hasRemaining())
+        .build();
   }
 
   /**
@@ -443,6 +456,7 @@ abstract class AbstractAppender implements AutoCloseable {
     member.startInstall();
 
     long timestamp = System.currentTimeMillis();
+    SnapshotReader reader = member.getSnapshotReader();
 
     log.trace("Sending {} to {}", request, member.getMember().nodeId());
     raft.getProtocol().install(member.getMember().nodeId(), request).whenCompleteAsync((response, error) -> {
@@ -450,7 +464,10 @@ abstract class AbstractAppender implements AutoCloseable {
       member.completeInstall();
 
       if (open) {
-        if (error == null) {
+        // If the snapshot stream was reset after the request was sent, ignore the response.
+        if (member.getSnapshotReader() != reader) {
+          log.trace("Ignoring stale install response from {}", member.getMember().nodeId());
+        } else if (error == null) {
           log.trace("Received {} from {}", response, member.getMember().nodeId());
           handleInstallResponse(member, request, response, timestamp);
         } else {
@@ -467,10 +484,10 @@ abstract class AbstractAppender implements AutoCloseable {
    * Handles an install response failure.
    */
   protected void handleInstallResponseFailure(RaftMemberContext member, InstallRequest request, Throwable error) {
-    // Reset the member's snapshot index and offset to resend the snapshot from the start
-    // once a connection to the member is re-established.
-    member.setNextSnapshotIndex(0);
+    // Reset the member's snapshot stream. The snapshot will be resent from the start once a connection to
+    // the member is re-established, and the member will indicate the offset from which to resume.
     member.setNextSnapshotOffset(0);
+    member.setSnapshotReader(null);
 
     // Log the failed attempt to contact the member.
     failAttempt(member, request, error);
@@ -490,7 +507,6 @@ abstract class AbstractAppender implements AutoCloseable {
   /**
    * Handles an OK install response.
    */
-  @SuppressWarnings("unused")
   protected void handleInstallResponseOk(RaftMemberContext member, InstallRequest request, InstallResponse response) {
     // Reset the member failure count and update the member's status if necessary.
     succeedAttempt(member);
@@ -500,11 +516,18 @@ abstract class AbstractAppender implements AutoCloseable {
     if (request.complete()) {
       member.setNextSnapshotIndex(0);
       member.setNextSnapshotOffset(0);
+      member.setSnapshotReader(null);
       member.setSnapshotIndex(request.snapshotIndex());
     }
-    // If more install requests remain, increment the member's snapshot offset.
+    // If more install requests remain, increase the chunk size and skip any chunks the member already has.
     else {
-      member.setNextSnapshotOffset(request.chunkOffset() + 1);
+      member.setSnapshotChunkSize(Math.min(member.getSnapshotChunkSize() * 2, MAX_CHUNK_SIZE));
+      if (response.nextOffset() > member.getNextSnapshotOffset()) {
+        SnapshotReader reader = member.getSnapshotReader();
+        int skip = Math.min(response.nextOffset() - member.getNextSnapshotOffset(), reader.remaining());
+        reader.skip(skip);
+        member.setNextSnapshotOffset(member.getNextSnapshotOffset() + skip);
+      }
     }
 
     // Recursively append entries to the member.
@@ -517,8 +540,10 @@ abstract class AbstractAppender implements AutoCloseable {
   @SuppressWarnings("unused")
   protected void handleInstallResponseError(RaftMemberContext member, InstallRequest request, InstallResponse response) {
     log.warn("Failed to install {}", member.getMember().nodeId());
-    member.setNextSnapshotIndex(0);
-    member.setNextSnapshotOffset(0);
+
+    // Resume the snapshot stream from the offset expected by the member.
+    member.setNextSnapshotOffset(response.nextOffset());
+    member.setSnapshotReader(null);
   }
 
   @Override
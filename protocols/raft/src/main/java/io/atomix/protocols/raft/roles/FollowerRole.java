@@ -29,6 +29,8 @@ import io.atomix.protocols.raft.protocol.ConfigureResponse;
 import io.atomix.protocols.raft.protocol.InstallRequest;
 import io.atomix.protocols.raft.protocol.InstallResponse;
 import io.atomix.protocols.raft.protocol.PollRequest;
+import io.atomix.protocols.raft.protocol.PollResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
 import io.atomix.protocols.raft.protocol.VoteRequest;
 import io.atomix.protocols.raft.protocol.VoteResponse;
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
@@ -50,9 +52,13 @@ public final class FollowerRole extends ActiveRole {
   private final ClusterEventListener clusterListener = this::handleClusterEvent;
   private final Random random = new Random();
   private Scheduled heartbeatTimer;
+  private long leaderTime;
 
   public FollowerRole(RaftContext context) {
     super(context);
+    // A new follower may have acknowledged a leader before it was restarted or transitioned, and that
+    // acknowledgement may still back the leader's read lease. Treat the leader as having just been heard from.
+    this.leaderTime = System.currentTimeMillis();
   }
 
   @Override
@@ -189,6 +195,7 @@ public final class FollowerRole extends ActiveRole {
   @Override
   public CompletableFuture<InstallResponse> onInstall(InstallRequest request) {
     CompletableFuture<InstallResponse> future = super.onInstall(request);
+    recordLeaderContact(request.term());
     resetHeartbeatTimeout();
     return future;
   }
@@ -196,6 +203,7 @@ public final class FollowerRole extends ActiveRole {
   @Override
   public CompletableFuture<ConfigureResponse> onConfigure(ConfigureRequest request) {
     CompletableFuture<ConfigureResponse> future = super.onConfigure(request);
+    recordLeaderContact(request.term());
     resetHeartbeatTimeout();
     return future;
   }
@@ -203,14 +211,58 @@ public final class FollowerRole extends ActiveRole {
   @Override
   public CompletableFuture<AppendResponse> onAppend(AppendRequest request) {
     CompletableFuture<AppendResponse> future = super.onAppend(request);
+    recordLeaderContact(request.term());
 
     // Reset the heartbeat timeout.
     resetHeartbeatTimeout();
     return future;
   }
 
+  /**
+   * Records the time at which the leader for the given term was last heard from.
+   */
+  private void recordLeaderContact(long term) {
+    if (term == raft.getTerm()) {
+      leaderTime = System.currentTimeMillis();
+    }
+  }
+
+  /**
+   * Returns a boolean indicating whether the leader was heard from within an election timeout.
+   */
+  private boolean isLeaderContactRecent() {
+    return System.currentTimeMillis() - leaderTime < raft.getElectionTimeout().toMillis();
+  }
+
+  @Override
+  protected PollResponse handlePoll(PollRequest request) {
+    // Reject polls while the leader was heard from within an election timeout. Leaders rely on this to serve
+    // reads from a lease, since no new leader can be elected until a majority of the cluster has stopped
+    // hearing from the current leader for an election timeout.
+    if (isLeaderContactRecent()) {
+      log.debug("Rejected {}: leader was contacted within the election timeout", request);
+      return PollResponse.builder()
+          .withStatus(RaftResponse.Status.OK)
+          .withTerm(raft.getTerm())
+          .withAccepted(false)
+          .build();
+    }
+    return super.handlePoll(request);
+  }
+
   @Override
   protected VoteResponse handleVote(VoteRequest request) {
+    // Reject votes while the leader was heard from within an election timeout for the same reason polls are rejected.
+    // Leadership transfers step the leader down rather than starting an election, so no vote bypasses the lease.
+    if (isLeaderContactRecent()) {
+      log.debug("Rejected {}: leader was contacted within the election timeout", request);
+      return VoteResponse.builder()
+          .withStatus(RaftResponse.Status.OK)
+          .withTerm(raft.getTerm())
+          .withVoted(false)
+          .build();
+    }
+
     // Reset the heartbeat timeout if we voted for another candidate.
     VoteResponse response = super.handleVote(request);
     if (response.voted()) {
@@ -22,6 +22,8 @@ import io.atomix.protocols.raft.protocol.AppendRequest;
 import io.atomix.protocols.raft.protocol.AppendResponse;
 import io.atomix.protocols.raft.protocol.CloseSessionRequest;
 import io.atomix.protocols.raft.protocol.CloseSessionResponse;
+import io.atomix.protocols.raft.protocol.CommandBatchRequest;
+import io.atomix.protocols.raft.protocol.CommandBatchResponse;
 import io.atomix.protocols.raft.protocol.CommandRequest;
 import io.atomix.protocols.raft.protocol.CommandResponse;
 import io.atomix.protocols.raft.protocol.ConfigureRequest;
@@ -42,6 +44,8 @@ import io.atomix.protocols.raft.protocol.PollRequest;
 import io.atomix.protocols.raft.protocol.PollResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse.Status;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
@@ -174,6 +178,15 @@ public class InactiveRole extends AbstractRole {
         .build()));
   }
 
+  @Override
+  public CompletableFuture<ReadIndexResponse> onReadIndex(ReadIndexRequest request) {
+    logRequest(request);
+    return Futures.completedFuture(logResponse(ReadIndexResponse.builder()
+        .withStatus(Status.ERROR)
+        .withError(RaftError.Type.UNAVAILABLE)
+        .build()));
+  }
+
   @Override
   public CompletableFuture<AppendResponse> onAppend(AppendRequest request) {
     logRequest(request);
@@ -210,6 +223,15 @@ public class InactiveRole extends AbstractRole {
         .build()));
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> onCommandBatch(CommandBatchRequest request) {
+    logRequest(request);
+    return Futures.completedFuture(logResponse(CommandBatchResponse.builder()
+        .withStatus(Status.ERROR)
+        .withError(RaftError.Type.UNAVAILABLE)
+        .build()));
+  }
+
   @Override
   public CompletableFuture<QueryResponse> onQuery(QueryRequest request) {
     logRequest(request);
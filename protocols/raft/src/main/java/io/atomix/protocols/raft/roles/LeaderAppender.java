@@ -48,7 +48,10 @@ final class LeaderAppender extends AbstractAppender {
   private final long leaderIndex;
   private final long electionTimeout;
   private final long heartbeatInterval;
+  private final long leaseTimeout;
   private long heartbeatTime;
+  private long leaseExpiration;
+  private boolean flushing;
   private final Map<Long, CompletableFuture<Long>> appendFutures = new HashMap<>();
   private final List<TimestampedFuture<Long>> heartbeatFutures = new ArrayList<>();
 
@@ -59,6 +62,7 @@ final class LeaderAppender extends AbstractAppender {
     this.heartbeatTime = leaderTime;
     this.electionTimeout = raft.getElectionTimeout().toMillis();
     this.heartbeatInterval = raft.getHeartbeatInterval().toMillis();
+    this.leaseTimeout = electionTimeout - raft.getMaxClockDrift().toMillis();
   }
 
   /**
@@ -70,6 +74,20 @@ final class LeaderAppender extends AbstractAppender {
     return heartbeatTime;
   }
 
+  /**
+   * Returns a boolean indicating whether the leader holds a valid read lease.
+   * <p>
+   * The lease is held for the election timeout less the maximum clock drift from the time at which the last
+   * heartbeat acknowledged by a majority of the cluster was sent. Followers will not grant a poll request while
+   * they have heard from a leader within the election timeout, so no other leader can be elected before the
+   * lease expires.
+   *
+   * @return indicates whether the leader's read lease is valid
+   */
+  public boolean isLeaseValid() {
+    return getQuorumIndex() < 0 || System.currentTimeMillis() < leaseExpiration;
+  }
+
   /**
    * Returns the leader index.
    *
@@ -103,7 +121,8 @@ final class LeaderAppender extends AbstractAppender {
     raft.checkThread();
 
     // If there are no other active members in the cluster, simply complete the append operation.
-    if (raft.getCluster().getRemoteMemberStates().isEmpty()) {
+    if (raft.getCluster().getActiveMemberStates().isEmpty()) {
+      sendHeartbeats();
       return CompletableFuture.completedFuture(null);
     }
 
@@ -112,10 +131,22 @@ final class LeaderAppender extends AbstractAppender {
     heartbeatFutures.add(future);
 
     // Iterate through members and append entries. Futures will be completed on responses from followers.
-    for (RaftMemberContext member : raft.getCluster().getRemoteMemberStates()) {
+    sendHeartbeats();
+    return future;
+  }
+
+  /**
+   * Sends entries to passive members of the cluster.
+   * <p>
+   * Passive members don't count towards the commit quorum or leadership confirmation, so they're replicated
+   * at a lower priority than voting members: entries are sent to passive members on the heartbeat interval
+   * and as prior appends to them complete, with at most one append in flight to each passive member.
+   */
+  public void appendPassiveMembers() {
+    raft.checkThread();
+    for (RaftMemberContext member : raft.getCluster().getPassiveMemberStates()) {
       appendEntries(member);
     }
-    return future;
   }
 
   /**
@@ -135,8 +166,18 @@ final class LeaderAppender extends AbstractAppender {
       return CompletableFuture.completedFuture(index);
     }
 
+    // If the entry has not yet been flushed to the leader's disk, flush it in the background. The leader's
+    // vote only counts towards the commit of the entry once the entry is durable.
+    boolean durable = index <= raft.getLogWriter().getDurableIndex();
+    if (!durable) {
+      flushEntries();
+    }
+
     // If there are no other stateful servers in the cluster, immediately commit the index.
     if (raft.getCluster().getActiveMemberStates().isEmpty() && raft.getCluster().getPassiveMemberStates().isEmpty()) {
+      if (!durable) {
+        return appendFutures.computeIfAbsent(index, i -> new CompletableFuture<>());
+      }
       long previousCommitIndex = raft.getCommitIndex();
       raft.setCommitIndex(index);
       completeCommits(previousCommitIndex, index);
@@ -145,6 +186,9 @@ final class LeaderAppender extends AbstractAppender {
     // If there are no other active members in the cluster, update the commit index and complete the commit.
     // The updated commit index will be sent to passive/reserve members on heartbeats.
     else if (raft.getCluster().getActiveMemberStates().isEmpty()) {
+      if (!durable) {
+        return appendFutures.computeIfAbsent(index, i -> new CompletableFuture<>());
+      }
       long previousCommitIndex = raft.getCommitIndex();
       raft.setCommitIndex(index);
       completeCommits(previousCommitIndex, index);
@@ -160,6 +204,31 @@ final class LeaderAppender extends AbstractAppender {
     });
   }
 
+  /**
+   * Flushes the leader's log in the background and checks whether entries can be committed once the flush completes.
+   * <p>
+   * Only a single flush is in progress at any given time. Entries appended while a flush is in progress are flushed
+   * together once the prior flush completes.
+   */
+  private void flushEntries() {
+    if (flushing || raft.getLogWriter().getDurableIndex() >= raft.getLogWriter().getLastIndex()) {
+      return;
+    }
+
+    flushing = true;
+    raft.getLogWriter().flushAsync().whenCompleteAsync((durableIndex, error) -> {
+      flushing = false;
+      if (open) {
+        if (error == null) {
+          commitEntries();
+          flushEntries();
+        } else {
+          log.warn("Failed to flush entries", error);
+        }
+      }
+    }, raft.getThreadContext());
+  }
+
   @Override
   protected void appendEntries(RaftMemberContext member) {
     // Prevent recursive, asynchronous appends from being executed if the appender has been closed.
@@ -201,16 +270,28 @@ final class LeaderAppender extends AbstractAppender {
 
         log.debug("Replicating snapshot {} to {}", snapshot.index(), member.getMember().nodeId());
         sendInstallRequest(member, buildInstallRequest(member, snapshot));
-      } else if (member.canAppend()) {
+      } else if (canAppend(member)) {
         sendAppendRequest(member, buildAppendRequest(member, -1));
       }
     }
     // If no AppendRequest is already being sent, send an AppendRequest.
-    else if (member.canAppend()) {
+    else if (canAppend(member)) {
       sendAppendRequest(member, buildAppendRequest(member, -1));
     }
   }
 
+  /**
+   * Returns whether an append request can be sent to the given member.
+   * <p>
+   * Appends are pipelined to voting members, but only a single append may be in flight to a passive member.
+   */
+  private boolean canAppend(RaftMemberContext member) {
+    if (member.getMember().getType() == RaftMember.Type.PASSIVE) {
+      return member.canHeartbeat();
+    }
+    return member.canAppend();
+  }
+
   @Override
   protected boolean hasMoreEntries(RaftMemberContext member) {
     // If the member's nextIndex is an entry in the local log then more entries can be sent.
@@ -245,6 +326,11 @@ final class LeaderAppender extends AbstractAppender {
     long heartbeatTime = computeHeartbeatTime();
     long currentTimestamp = System.currentTimeMillis();
 
+    // Extend the read lease only with heartbeats sent during this leader's term.
+    if (heartbeatTime >= leaderTime) {
+      leaseExpiration = Math.max(leaseExpiration, heartbeatTime + leaseTimeout);
+    }
+
     // Iterate through pending timestamped heartbeat futures and complete all futures where the timestamp
     // is greater than the last timestamp a quorum of the cluster was contacted.
     Iterator<TimestampedFuture<Long>> iterator = heartbeatFutures.iterator();
@@ -293,11 +379,13 @@ final class LeaderAppender extends AbstractAppender {
   }
 
   /**
-   * Attempts to send heartbeats to all followers.
+   * Attempts to send heartbeats to all voting and promotable followers.
    */
   private void sendHeartbeats() {
     for (RaftMemberContext member : raft.getCluster().getRemoteMemberStates()) {
-      appendEntries(member);
+      if (member.getMember().getType() != RaftMember.Type.PASSIVE) {
+        appendEntries(member);
+      }
     }
   }
 
@@ -316,7 +404,7 @@ final class LeaderAppender extends AbstractAppender {
     // If the active members list is empty (a configuration change occurred between an append request/response)
     // ensure all commit futures are completed and cleared.
     if (members.isEmpty()) {
-      long commitIndex = raft.getLogWriter().getLastIndex();
+      long commitIndex = raft.getLogWriter().getDurableIndex();
       long previousCommitIndex = raft.setCommitIndex(commitIndex);
       if (commitIndex > previousCommitIndex) {
         log.trace("Committed entries up to {}", commitIndex);
@@ -325,8 +413,13 @@ final class LeaderAppender extends AbstractAppender {
       return;
     }
 
-    // Calculate the current commit index as the median matchIndex.
-    long commitIndex = members.get(getQuorumIndex()).getMatchIndex();
+    // Calculate the current commit index as the median matchIndex. The leader's own vote is counted only for
+    // entries that have been flushed to the leader's disk.
+    int quorumIndex = getQuorumIndex();
+    long commitIndex = Math.min(members.get(quorumIndex).getMatchIndex(), raft.getLogWriter().getDurableIndex());
+    if (members.size() > quorumIndex + 1) {
+      commitIndex = Math.max(commitIndex, members.get(quorumIndex + 1).getMatchIndex());
+    }
 
     // If the commit index has increased then update the commit index. Note that in order to ensure
     // the leader completeness property holds, we verify that the commit index is greater than or equal to
@@ -450,6 +543,7 @@ final class LeaderAppender extends AbstractAppender {
   @Override
   public void close() {
     super.close();
+    raft.getCluster().getRemoteMemberStates().forEach(member -> member.setSnapshotReader(null));
     appendFutures.values().forEach(future ->
         future.completeExceptionally(new IllegalStateException("Inactive state")));
     heartbeatFutures.forEach(future ->
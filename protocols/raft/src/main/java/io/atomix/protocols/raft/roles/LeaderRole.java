@@ -33,6 +33,8 @@ import io.atomix.protocols.raft.protocol.AppendRequest;
 import io.atomix.protocols.raft.protocol.AppendResponse;
 import io.atomix.protocols.raft.protocol.CloseSessionRequest;
 import io.atomix.protocols.raft.protocol.CloseSessionResponse;
+import io.atomix.protocols.raft.protocol.CommandBatchRequest;
+import io.atomix.protocols.raft.protocol.CommandBatchResponse;
 import io.atomix.protocols.raft.protocol.CommandRequest;
 import io.atomix.protocols.raft.protocol.CommandResponse;
 import io.atomix.protocols.raft.protocol.JoinRequest;
@@ -49,6 +51,8 @@ import io.atomix.protocols.raft.protocol.PollRequest;
 import io.atomix.protocols.raft.protocol.PollResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
@@ -74,7 +78,9 @@ import io.atomix.utils.concurrent.Scheduled;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -93,6 +99,8 @@ public final class LeaderRole extends ActiveRole {
   private final Set<SessionId> expiring = Sets.newHashSet();
   private long configuring;
   private boolean transferring;
+  private CompletableFuture<Void> readIndexFuture;
+  private boolean readIndexInFlight;
 
   public LeaderRole(RaftContext context) {
     super(context);
@@ -182,6 +190,7 @@ public final class LeaderRole extends ActiveRole {
     raft.checkThread();
     if (isRunning()) {
       appender.appendEntries();
+      appender.appendPassiveMembers();
     }
   }
 
@@ -193,20 +202,26 @@ public final class LeaderRole extends ActiveRole {
       log.debug("Node {} deactivated", event.subject().id());
       raft.getSessions().getSessions().stream()
           .filter(session -> session.nodeId().equals(event.subject().id()))
-          .forEach(this::expireSession);
+          .filter(session -> session.getClientSession() == null)
+          .forEach(session -> expireSession(session.sessionId()));
+
+      // Expiring a client session expires all the service sessions opened under it.
+      raft.getSessions().getClientSessions().stream()
+          .filter(session -> session.nodeId().equals(event.subject().id()))
+          .forEach(session -> expireSession(session.sessionId()));
     }
   }
 
   /**
    * Expires the given session.
    */
-  private void expireSession(RaftSession session) {
-    if (expiring.add(session.sessionId())) {
-      log.debug("Expiring session due to heartbeat failure: {}", session);
-      appendAndCompact(new CloseSessionEntry(raft.getTerm(), System.currentTimeMillis(), session.sessionId().id(), true))
+  private void expireSession(SessionId sessionId) {
+    if (expiring.add(sessionId)) {
+      log.debug("Expiring session due to heartbeat failure: {}", sessionId);
+      appendAndCompact(new CloseSessionEntry(raft.getTerm(), System.currentTimeMillis(), sessionId.id(), true))
               .whenCompleteAsync((entry, error) -> {
                 if (error != null) {
-                  expiring.remove(session.sessionId());
+                  expiring.remove(sessionId);
                   return;
                 }
 
@@ -215,9 +230,9 @@ public final class LeaderRole extends ActiveRole {
                   if (isRunning()) {
                     if (commitError == null) {
                       raft.getServiceManager().<Long>apply(entry.index())
-                              .whenCompleteAsync((r, e) -> expiring.remove(session.sessionId()), raft.getThreadContext());
+                              .whenCompleteAsync((r, e) -> expiring.remove(sessionId), raft.getThreadContext());
                     } else {
-                      expiring.remove(session.sessionId());
+                      expiring.remove(sessionId);
                     }
                   }
                 });
@@ -660,6 +675,31 @@ public final class LeaderRole extends ActiveRole {
     return future.thenApply(this::logResponse);
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> onCommandBatch(final CommandBatchRequest request) {
+    raft.checkThread();
+    logRequest(request);
+
+    if (transferring) {
+      return CompletableFuture.completedFuture(logResponse(CommandBatchResponse.builder()
+          .withStatus(RaftResponse.Status.ERROR)
+          .withError(RaftError.Type.ILLEGAL_MEMBER_STATE)
+          .build()));
+    }
+
+    // Handle each command in batch order exactly as if it had been submitted individually. This preserves request
+    // sequencing and duplicate detection, and appends the batch's commands to the log as consecutive entries.
+    List<CompletableFuture<CommandResponse>> futures = new ArrayList<>(request.commands().size());
+    for (CommandRequest command : request.commands()) {
+      futures.add(onCommand(command));
+    }
+    return Futures.allOf(futures)
+        .thenApply(responses -> logResponse(CommandBatchResponse.builder()
+            .withStatus(RaftResponse.Status.OK)
+            .withResponses(new ArrayList<>(responses))
+            .build()));
+  }
+
   /**
    * Sequentially drains pending commands from the session's command request queue.
    *
@@ -778,27 +818,117 @@ public final class LeaderRole extends ActiveRole {
   /**
    * Executes a bounded linearizable query.
    * <p>
-   * Bounded linearizable queries succeed as long as this server remains the leader. This is possible
-   * since the leader will step down in the event it fails to contact a majority of the cluster.
+   * Bounded linearizable queries are served locally while the leader holds a read lease. The lease is extended
+   * each time a majority of the cluster acknowledges a heartbeat and is bounded by the election timeout less the
+   * maximum clock drift, since followers will not elect a new leader within an election timeout of hearing from
+   * this one. If the lease has expired, the query falls back to the ReadIndex protocol.
    */
   private CompletableFuture<QueryResponse> queryBoundedLinearizable(Indexed<QueryEntry> entry) {
-    return applyQuery(entry);
+    if (raft.getCommitIndex() < appender.getIndex() || !appender.isLeaseValid()) {
+      return queryLinearizable(entry);
+    }
+
+    // The leader only applies committed entries on demand, so ensure committed entries are applied.
+    final long readIndex = raft.getCommitIndex();
+    raft.getServiceManager().applyAll(readIndex);
+    return raft.awaitApplied(readIndex).thenCompose(v -> applyQuery(entry));
   }
 
   /**
    * Executes a linearizable query.
    * <p>
-   * Linearizable queries are first sequenced with commands and then applied to the state machine. Once
-   * applied, we verify the node's leadership prior to responding successfully to the query.
+   * Linearizable queries are executed using the ReadIndex protocol: the leader records its commit index as the
+   * query's read index, confirms its leadership with a quorum of the cluster, and applies the query once the
+   * state machine has applied entries up to the read index.
    */
   private CompletableFuture<QueryResponse> queryLinearizable(Indexed<QueryEntry> entry) {
-    return applyQuery(entry)
-        .thenComposeAsync(response -> appender.appendEntries()
-            .thenApply(index -> response)
-            .exceptionally(error -> QueryResponse.builder()
-                .withStatus(RaftResponse.Status.ERROR)
-                .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
-                .build()), raft.getThreadContext());
+    return readIndex()
+        .thenComposeAsync(readIndex -> {
+          // The leader only applies committed entries on demand, so ensure entries up to the read index are applied.
+          raft.getServiceManager().applyAll(readIndex);
+          return raft.awaitApplied(readIndex).thenCompose(v -> applyQuery(entry));
+        }, raft.getThreadContext())
+        .exceptionally(error -> QueryResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
+            .build());
+  }
+
+  @Override
+  public CompletableFuture<ReadIndexResponse> onReadIndex(ReadIndexRequest request) {
+    raft.checkThread();
+    logRequest(request);
+
+    return readIndex()
+        .thenApply(readIndex -> ReadIndexResponse.builder()
+            .withStatus(RaftResponse.Status.OK)
+            .withIndex(readIndex)
+            .build())
+        .exceptionally(error -> ReadIndexResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
+            .build())
+        .thenApply(this::logResponse);
+  }
+
+  /**
+   * Returns a read index to be completed once leadership has been confirmed.
+   * <p>
+   * The read index is the commit index at the time the read is received. Leadership is confirmed with a single
+   * heartbeat round for all reads received while the previous round is in flight.
+   */
+  private CompletableFuture<Long> readIndex() {
+    // The commit index can only be used as a read index once an entry from the leader's term has been committed.
+    if (raft.getCommitIndex() < appender.getIndex()) {
+      return appender.appendEntries(appender.getIndex())
+          .thenComposeAsync(index -> readIndex(), raft.getThreadContext());
+    }
+
+    final long readIndex = raft.getCommitIndex();
+    CompletableFuture<Void> future = readIndexFuture;
+    if (future == null) {
+      future = readIndexFuture = new CompletableFuture<>();
+      if (!readIndexInFlight) {
+        confirmLeadership();
+      }
+    }
+    return future.thenApply(v -> readIndex);
+  }
+
+  /**
+   * Confirms leadership for the pending batch of reads.
+   */
+  private void confirmLeadership() {
+    CompletableFuture<Void> future = readIndexFuture;
+    readIndexFuture = null;
+    readIndexInFlight = true;
+    appender.appendEntries().whenComplete((result, error) -> {
+      readIndexInFlight = false;
+      if (error == null) {
+        future.complete(null);
+      } else {
+        future.completeExceptionally(error);
+      }
+
+      // If reads were received while the heartbeat was in flight, confirm leadership for the next batch.
+      if (readIndexFuture != null) {
+        if (isRunning()) {
+          confirmLeadership();
+        } else {
+          failPendingReads();
+        }
+      }
+    });
+  }
+
+  /**
+   * Fails reads awaiting leadership confirmation.
+   */
+  private void failPendingReads() {
+    if (readIndexFuture != null) {
+      readIndexFuture.completeExceptionally(new RaftException.ProtocolException("Leader stepped down"));
+      readIndexFuture = null;
+    }
   }
 
   @Override
@@ -820,7 +950,7 @@ public final class LeaderRole extends ActiveRole {
     logRequest(request);
 
     CompletableFuture<OpenSessionResponse> future = new CompletableFuture<>();
-    appendAndCompact(new OpenSessionEntry(term, timestamp, request.node(), request.serviceName(), request.serviceType(), request.readConsistency(), minTimeout, maxTimeout))
+    appendAndCompact(new OpenSessionEntry(term, timestamp, request.node(), request.serviceName(), request.serviceType(), request.readConsistency(), minTimeout, maxTimeout, request.clientSession()))
         .whenCompleteAsync((entry, error) -> {
           if (error != null) {
             future.complete(logResponse(OpenSessionResponse.builder()
@@ -1092,6 +1222,7 @@ public final class LeaderRole extends ActiveRole {
         .thenRun(appender::close)
         .thenRun(this::cancelAppendTimer)
         .thenRun(this::stepDown)
-        .thenRun(this::failPendingCommands);
+        .thenRun(this::failPendingCommands)
+        .thenRun(this::failPendingReads);
   }
 }
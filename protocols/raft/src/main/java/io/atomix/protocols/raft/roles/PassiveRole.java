@@ -24,6 +24,7 @@ import io.atomix.protocols.raft.impl.RaftContext;
 import io.atomix.protocols.raft.protocol.*;
 import io.atomix.protocols.raft.session.RaftSession;
 import io.atomix.protocols.raft.storage.log.RaftLogReader;
+import io.atomix.protocols.raft.storage.log.RaftLogRecord;
 import io.atomix.protocols.raft.storage.log.RaftLogWriter;
 import io.atomix.protocols.raft.storage.log.entry.QueryEntry;
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
@@ -43,6 +44,8 @@ import static com.google.common.base.MoreObjects.toStringHelper;
  */
 public class PassiveRole extends InactiveRole {
   private PendingSnapshot pendingSnapshot;
+  private CompletableFuture<Long> readIndexFuture;
+  private boolean readIndexInFlight;
 
   public PassiveRole(RaftContext context) {
     super(context);
@@ -197,7 +200,7 @@ public class PassiveRole extends InactiveRole {
       }
 
       // Iterate through entries and append them.
-      for (RaftLogEntry entry : request.entries()) {
+      for (RaftLogRecord entry : request.entries()) {
         long index = ++lastLogIndex;
 
         // Get the last entry written to the log by the writer.
@@ -220,9 +223,10 @@ public class PassiveRole extends InactiveRole {
             // Read the existing entry from the log.
             Indexed<RaftLogEntry> existingEntry = reader.next();
 
-            // If the existing entry term doesn't match the leader's term for the same entry, truncate
-            // the log and append the leader's entry.
-            if (existingEntry.entry().term() != entry.term()) {
+            // If the existing entry doesn't match the leader's entry, truncate the log and append the leader's entry.
+            // Entries are replicated in their serialized form, so two entries with the same index and term have
+            // identical bytes and entries from different terms differ since the term is part of the entry.
+            if (!entry.matches(existingEntry)) {
               writer.truncate(index - 1);
               if (!appendEntry(index, entry, writer, future)) {
                 return;
@@ -232,9 +236,8 @@ public class PassiveRole extends InactiveRole {
           // If the last written entry is equal to the append entry index, we don't need
           // to read the entry from disk and can just compare the last entry in the writer.
           else if (lastEntry.index() == index) {
-            // If the last entry term doesn't match the leader's term for the same entry, truncate
-            // the log and append the leader's entry.
-            if (lastEntry.entry().term() != entry.term()) {
+            // If the last entry doesn't match the leader's entry, truncate the log and append the leader's entry.
+            if (!entry.matches(lastEntry)) {
               writer.truncate(index - 1);
               if (!appendEntry(index, entry, writer, future)) {
                 return;
@@ -278,17 +281,46 @@ public class PassiveRole extends InactiveRole {
       raft.getServiceManager().applyAll(commitIndex);
     }
 
+    // If entries have not yet been flushed to disk, acknowledge the request once the entries are durable. The
+    // flush is performed in the background so the server can continue handling requests in the meantime.
+    RaftLogWriter writer = raft.getLogWriter();
+    if (lastLogIndex > writer.getDurableIndex()) {
+      long appendedIndex = lastLogIndex;
+      long epoch = writer.getFlushEpoch();
+      writer.flushAsync().whenCompleteAsync((durableIndex, error) -> {
+        if (error != null) {
+          log.warn("Failed to flush entries", error);
+          failAppend(writer.getDurableIndex(), future);
+        }
+        // If the log was truncated while the entries were being flushed, the flushed entries may have been
+        // replaced by a later append request, so fail the request and let the leader resend from the durable index.
+        else if (epoch != writer.getFlushEpoch()) {
+          failAppend(writer.getDurableIndex(), future);
+        } else {
+          succeedAppend(Math.min(appendedIndex, durableIndex), future);
+        }
+      }, raft.getThreadContext());
+      return;
+    }
+
     // Return a successful append response.
     succeedAppend(lastLogIndex, future);
   }
 
   /**
-   * Attempts to append an entry, returning {@code false} if the append fails due to an {@link StorageException.OutOfDiskSpace} exception.
+   * Attempts to append an entry, returning {@code false} if the append fails due to an {@link StorageException.OutOfDiskSpace}
+   * or {@link StorageException.InvalidChecksum} exception.
+   * <p>
+   * The entry's serialized bytes are written to the log as-is and the entry is not decoded until it's applied.
    */
-  private boolean appendEntry(long index, RaftLogEntry entry, RaftLogWriter writer, CompletableFuture<AppendResponse> future) {
+  private boolean appendEntry(long index, RaftLogRecord entry, RaftLogWriter writer, CompletableFuture<AppendResponse> future) {
     try {
-      Indexed<RaftLogEntry> indexed = writer.append(entry);
-      log.trace("Appended {}", indexed);
+      writer.append(entry.toIndexed(index, raft.getStorage().serializer()));
+      log.trace("Appended {} at index {}", entry, index);
+    } catch (StorageException.InvalidChecksum e) {
+      log.warn("Append failed: {}", e.getMessage());
+      failAppend(index - 1, future);
+      return false;
     } catch (StorageException.OutOfDiskSpace e) {
       log.trace("Append failed: {}", e);
       raft.getServiceManager().compact();
@@ -358,8 +390,11 @@ public class PassiveRole extends InactiveRole {
       return queryForward(request);
     }
 
-    // If the session's consistency level is SEQUENTIAL, handle the request here, otherwise forward it.
-    if (session.readConsistency() == ReadConsistency.SEQUENTIAL) {
+    // If the session's consistency level is SEQUENTIAL, handle the request here. If the session's consistency
+    // level is LINEARIZABLE, handle the request here once a read index has been obtained from the leader.
+    // Otherwise, forward it.
+    if (session.readConsistency() == ReadConsistency.SEQUENTIAL
+        || session.readConsistency() == ReadConsistency.LINEARIZABLE) {
 
       // If the commit index is not in the log then we've fallen too far behind the leader to perform a local query.
       // Forward the request to the leader.
@@ -377,12 +412,78 @@ public class PassiveRole extends InactiveRole {
               request.sequenceNumber(),
               request.operation()), 0);
 
+      if (session.readConsistency() == ReadConsistency.LINEARIZABLE) {
+        return queryReadIndex(entry, request);
+      }
       return applyQuery(entry).thenApply(this::logResponse);
     } else {
       return queryForward(request);
     }
   }
 
+  /**
+   * Performs a linearizable query using a read index obtained from the leader.
+   * <p>
+   * If a read index cannot be obtained, the query is forwarded to the leader.
+   */
+  private CompletableFuture<QueryResponse> queryReadIndex(Indexed<QueryEntry> entry, QueryRequest request) {
+    return readIndex()
+        .handleAsync((readIndex, error) -> {
+          if (error == null) {
+            return raft.awaitApplied(readIndex)
+                .thenCompose(v -> applyQuery(entry))
+                .thenApply(this::logResponse);
+          }
+          log.trace("Failed to obtain read index, forwarding query to leader");
+          return queryForward(request);
+        }, raft.getThreadContext())
+        .thenCompose(future -> future);
+  }
+
+  /**
+   * Returns a read index obtained from the leader.
+   * <p>
+   * Concurrent queries share read index requests: a single request is outstanding at any time, and queries
+   * received while it is in flight are batched into the next request.
+   */
+  private CompletableFuture<Long> readIndex() {
+    CompletableFuture<Long> future = readIndexFuture;
+    if (future == null) {
+      future = readIndexFuture = new CompletableFuture<>();
+      if (!readIndexInFlight) {
+        requestReadIndex();
+      }
+    }
+    return future;
+  }
+
+  /**
+   * Requests a read index from the leader for the pending batch of queries.
+   */
+  private void requestReadIndex() {
+    CompletableFuture<Long> future = readIndexFuture;
+    readIndexFuture = null;
+    readIndexInFlight = true;
+    ReadIndexRequest request = ReadIndexRequest.builder()
+        .withMember(raft.getCluster().getMember().nodeId())
+        .build();
+    forward(request, raft.getProtocol()::readIndex).whenComplete((response, error) -> {
+      readIndexInFlight = false;
+      if (error == null && response.status() == RaftResponse.Status.OK) {
+        future.complete(response.index());
+      } else if (error == null) {
+        future.completeExceptionally(response.error().createException());
+      } else {
+        future.completeExceptionally(error);
+      }
+
+      // If queries were received while the request was in flight, request a read index for the next batch.
+      if (readIndexFuture != null) {
+        requestReadIndex();
+      }
+    });
+  }
+
   /**
    * Forwards the query to the leader.
    */
@@ -472,15 +573,17 @@ public class PassiveRole extends InactiveRole {
       return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
           .withStatus(RaftResponse.Status.ERROR)
           .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request term is less than the local term " + request.term())
+          .withNextOffset(getNextOffset(request))
           .build()));
     }
 
-    // If the snapshot already exists locally, do not overwrite it with a replicated snapshot. Simply reply to the
-    // request successfully.
+    // If the snapshot already exists locally, do not overwrite it with a replicated snapshot. Simply acknowledge
+    // the chunk so the leader continues streaming until it sends the final chunk.
     Snapshot existingSnapshot = raft.getSnapshotStore().getSnapshot(request.snapshotIndex());
     if (existingSnapshot != null) {
       return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
           .withStatus(RaftResponse.Status.OK)
+          .withNextOffset(request.chunkOffset() + request.data().length)
           .build()));
     }
 
@@ -502,6 +605,7 @@ public class PassiveRole extends InactiveRole {
         return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
             .withStatus(RaftResponse.Status.ERROR)
             .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request chunk offset is invalid")
+            .withNextOffset(0)
             .build()));
       }
 
@@ -511,38 +615,49 @@ public class PassiveRole extends InactiveRole {
       pendingSnapshot = new PendingSnapshot(snapshot);
     }
 
-    // If the request offset is greater than the next expected snapshot offset, fail the request.
+    // If the request offset is greater than the next expected snapshot offset, fail the request and
+    // indicate the offset from which the leader should resume sending the snapshot.
     if (request.chunkOffset() > pendingSnapshot.nextOffset()) {
       return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
           .withStatus(RaftResponse.Status.ERROR)
           .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request chunk offset does not match the next chunk offset")
-          .build()));
-    }
-    // If the request offset has already been written, return OK to skip to the next chunk.
-    else if (request.chunkOffset() < pendingSnapshot.nextOffset()) {
-      return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
-          .withStatus(RaftResponse.Status.OK)
+          .withNextOffset(pendingSnapshot.nextOffset())
           .build()));
     }
 
-    // Write the data to the snapshot.
-    try (SnapshotWriter writer = pendingSnapshot.snapshot().openWriter()) {
-      writer.write(request.data());
+    // Write the portion of the chunk that has not already been written to the snapshot. Chunks may overlap
+    // bytes that have already been written if the snapshot is resent by a new leader.
+    int position = pendingSnapshot.nextOffset() - request.chunkOffset();
+    if (position < request.data().length) {
+      try (SnapshotWriter writer = pendingSnapshot.snapshot().openWriter()) {
+        writer.write(request.data(), position, request.data().length - position);
+      }
+      pendingSnapshot.incrementOffset(request.data().length - position);
     }
 
-    // If the snapshot is complete, store the snapshot and reset state, otherwise update the next snapshot offset.
+    // If the snapshot is complete, store the snapshot and reset state.
+    int nextOffset = pendingSnapshot.nextOffset();
     if (request.complete()) {
       pendingSnapshot.commit();
       pendingSnapshot = null;
-    } else {
-      pendingSnapshot.incrementOffset();
     }
 
     return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
         .withStatus(RaftResponse.Status.OK)
+        .withNextOffset(nextOffset)
         .build()));
   }
 
+  /**
+   * Returns the offset from which the leader should resume sending the snapshot in the given request.
+   */
+  private int getNextOffset(InstallRequest request) {
+    if (pendingSnapshot != null && pendingSnapshot.snapshot().index() == request.snapshotIndex()) {
+      return pendingSnapshot.nextOffset();
+    }
+    return 0;
+  }
+
   @Override
   public CompletableFuture<MetadataResponse> onMetadata(MetadataRequest request) {
     raft.checkThread();
@@ -606,6 +721,26 @@ public class PassiveRole extends InactiveRole {
     }
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> onCommandBatch(CommandBatchRequest request) {
+    raft.checkThread();
+    logRequest(request);
+
+    if (raft.getLeader() == null) {
+      return CompletableFuture.completedFuture(logResponse(CommandBatchResponse.builder()
+          .withStatus(RaftResponse.Status.ERROR)
+          .withError(RaftError.Type.NO_LEADER)
+          .build()));
+    } else {
+      return forward(request, raft.getProtocol()::commandBatch)
+          .exceptionally(error -> CommandBatchResponse.builder()
+              .withStatus(RaftResponse.Status.ERROR)
+              .withError(RaftError.Type.NO_LEADER)
+              .build())
+          .thenApply(this::logResponse);
+    }
+  }
+
   @Override
   public CompletableFuture<KeepAliveResponse> onKeepAlive(KeepAliveRequest request) {
     raft.checkThread();
@@ -739,7 +874,7 @@ public class PassiveRole extends InactiveRole {
    */
   private static class PendingSnapshot {
     private final Snapshot snapshot;
-    private long nextOffset;
+    private int nextOffset;
 
     public PendingSnapshot(Snapshot snapshot) {
       this.snapshot = snapshot;
@@ -755,19 +890,21 @@ public class PassiveRole extends InactiveRole {
     }
 
     /**
-     * Returns and increments the next snapshot offset.
+     * Returns the next snapshot offset.
      *
      * @return the next snapshot offset
      */
-    public long nextOffset() {
+    public int nextOffset() {
       return nextOffset;
     }
 
     /**
-     * Increments the next snapshot offset.
+     * Increments the next snapshot offset by the given number of bytes.
+     *
+     * @param bytes the number of bytes written to the snapshot
      */
-    public void incrementOffset() {
-      nextOffset++;
+    public void incrementOffset(int bytes) {
+      nextOffset += bytes;
     }
 
     /**
@@ -20,6 +20,8 @@ import io.atomix.protocols.raft.protocol.AppendRequest;
 import io.atomix.protocols.raft.protocol.AppendResponse;
 import io.atomix.protocols.raft.protocol.CloseSessionRequest;
 import io.atomix.protocols.raft.protocol.CloseSessionResponse;
+import io.atomix.protocols.raft.protocol.CommandBatchRequest;
+import io.atomix.protocols.raft.protocol.CommandBatchResponse;
 import io.atomix.protocols.raft.protocol.CommandRequest;
 import io.atomix.protocols.raft.protocol.CommandResponse;
 import io.atomix.protocols.raft.protocol.ConfigureRequest;
@@ -40,6 +42,8 @@ import io.atomix.protocols.raft.protocol.PollRequest;
 import io.atomix.protocols.raft.protocol.PollResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.TransferRequest;
@@ -142,6 +146,14 @@ public interface RaftRole extends Managed<RaftRole> {
    */
   CompletableFuture<TransferResponse> onTransfer(TransferRequest request);
 
+  /**
+   * Handles a read index request.
+   *
+   * @param request The request to handle.
+   * @return A completable future to be completed with the request response.
+   */
+  CompletableFuture<ReadIndexResponse> onReadIndex(ReadIndexRequest request);
+
   /**
    * Handles an append request.
    *
@@ -174,6 +186,14 @@ public interface RaftRole extends Managed<RaftRole> {
    */
   CompletableFuture<CommandResponse> onCommand(CommandRequest request);
 
+  /**
+   * Handles a command batch request.
+   *
+   * @param request The request to handle.
+   * @return A completable future to be completed with the request response.
+   */
+  CompletableFuture<CommandBatchResponse> onCommandBatch(CommandBatchRequest request);
+
   /**
    * Handles a query request.
    *
@@ -32,10 +32,12 @@ import io.atomix.protocols.raft.RaftException;
 import io.atomix.protocols.raft.ReadConsistency;
 import io.atomix.protocols.raft.impl.OperationResult;
 import io.atomix.protocols.raft.impl.RaftContext;
+import io.atomix.protocols.raft.session.RaftClientSession;
 import io.atomix.protocols.raft.session.RaftSession;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
 import io.atomix.storage.buffer.Bytes;
+import io.atomix.utils.concurrent.ThreadContext;
 import io.atomix.utils.concurrent.ThreadContextFactory;
 import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
@@ -61,6 +63,7 @@ public class RaftServiceContext implements ServiceContext {
   private final PrimitiveService service;
   private final RaftContext raft;
   private final RaftSessions sessions;
+  private final ThreadContext executor;
   private final ThreadContextFactory threadContextFactory;
   private long currentIndex;
   private Session currentSession;
@@ -85,6 +88,7 @@ public class RaftServiceContext implements ServiceContext {
       PrimitiveType primitiveType,
       PrimitiveService service,
       RaftContext raft,
+      ThreadContext executor,
       ThreadContextFactory threadContextFactory) {
     this.primitiveId = checkNotNull(primitiveId);
     this.serviceName = checkNotNull(serviceName);
@@ -92,6 +96,7 @@ public class RaftServiceContext implements ServiceContext {
     this.service = checkNotNull(service);
     this.raft = checkNotNull(raft);
     this.sessions = new RaftSessions(primitiveId, raft.getSessions());
+    this.executor = checkNotNull(executor);
     this.threadContextFactory = threadContextFactory;
     this.log = ContextualLoggerFactory.getLogger(getClass(), LoggerContext.builder(PrimitiveService.class)
         .addValue(primitiveId)
@@ -109,6 +114,15 @@ public class RaftServiceContext implements ServiceContext {
     service.init(this);
   }
 
+  /**
+   * Returns the thread context on which operations are applied to the service.
+   *
+   * @return the service thread context
+   */
+  public ThreadContext executor() {
+    return executor;
+  }
+
   @Override
   public PrimitiveId serviceId() {
     return primitiveId;
@@ -177,16 +191,23 @@ public class RaftServiceContext implements ServiceContext {
   }
 
   /**
-   * Expires sessions that have timed out.
+   * Expires the given session.
+   *
+   * @param index     The index at which the session expired.
+   * @param timestamp The timestamp at which the session expired.
+   * @param session   The session to expire.
    */
-  private void expireSessions(long timestamp) {
-    // Iterate through registered sessions.
-    for (RaftSession session : sessions.getSessions()) {
-      if (session.isTimedOut(timestamp)) {
-        log.debug("Session expired in {} milliseconds: {}", timestamp - session.getLastUpdated(), session);
-        sessions.expireSession(session);
-      }
-    }
+  public void expireSession(long index, long timestamp, RaftSession session) {
+    log.debug("Session expired in {} milliseconds: {}", timestamp - session.getLastUpdated(), session);
+
+    // Update the state machine index/timestamp.
+    tick(index, timestamp);
+
+    // Remove the session from the sessions list.
+    sessions.expireSession(session);
+
+    // Commit the index, causing events to be sent to clients if necessary.
+    commit();
   }
 
   /**
@@ -227,6 +248,15 @@ public class RaftServiceContext implements ServiceContext {
       session.setLastCompleted(reader.readLong());
       session.setLastApplied(reader.snapshot().index());
       session.setLastUpdated(sessionTimestamp);
+
+      // If the session was opened under a client session, attach it to the client session.
+      long clientSessionId = reader.readLong();
+      if (clientSessionId != 0) {
+        RaftClientSession clientSession = raft.getSessions().getClientSession(clientSessionId);
+        if (clientSession != null) {
+          clientSession.addSession(session);
+        }
+      }
       sessions.openSession(session);
     }
     currentIndex = reader.snapshot().index();
@@ -256,6 +286,7 @@ public class RaftServiceContext implements ServiceContext {
       writer.writeLong(session.getCommandSequence());
       writer.writeLong(session.getEventIndex());
       writer.writeLong(session.getLastCompleted());
+      writer.writeLong(session.getClientSession() != null ? session.getClientSession().sessionId().id() : 0);
     }
     service.backup(writer);
   }
@@ -276,9 +307,6 @@ public class RaftServiceContext implements ServiceContext {
     // Update the state machine index/timestamp.
     tick(index, timestamp);
 
-    // Expire sessions that have timed out.
-    expireSessions(currentTimestamp);
-
     // Add the session to the sessions list.
     sessions.openSession(session);
 
@@ -345,9 +373,6 @@ public class RaftServiceContext implements ServiceContext {
     // Update the state machine index/timestamp.
     tick(index, timestamp);
 
-    // Expire sessions that have timed out.
-    expireSessions(currentTimestamp);
-
     // Commit the index, causing events to be sent to clients if necessary.
     commit();
   }
@@ -386,9 +411,6 @@ public class RaftServiceContext implements ServiceContext {
     // Update the state machine index/timestamp.
     tick(index, timestamp);
 
-    // Expire sessions that have timed out.
-    expireSessions(currentTimestamp);
-
     // Remove the session from the sessions list.
     if (expired) {
       sessions.expireSession(session);
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.session;
+
+import com.google.common.collect.Sets;
+import io.atomix.cluster.NodeId;
+import io.atomix.primitive.session.SessionId;
+import io.atomix.utils.TimestampPrinter;
+
+import java.util.Collection;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Raft client session.
+ * <p>
+ * A client session multiplexes the service sessions opened by a single client within a partition. Service sessions
+ * opened under a client session retain their own command sequencing and event queues, but their liveness is tracked
+ * by the client session alone: keeping the client session alive keeps all its service sessions alive, and expiring
+ * or closing the client session expires or closes its service sessions.
+ */
+public class RaftClientSession {
+  private final SessionId sessionId;
+  private final NodeId member;
+  private final long timeout;
+  private volatile long lastUpdated;
+  private final Set<RaftSession> sessions = Sets.newConcurrentHashSet();
+
+  public RaftClientSession(SessionId sessionId, NodeId member, long timeout, long lastUpdated) {
+    this.sessionId = sessionId;
+    this.member = member;
+    this.timeout = timeout;
+    this.lastUpdated = lastUpdated;
+  }
+
+  /**
+   * Returns the session identifier.
+   *
+   * @return the session identifier
+   */
+  public SessionId sessionId() {
+    return sessionId;
+  }
+
+  /**
+   * Returns the client node identifier.
+   *
+   * @return the client node identifier
+   */
+  public NodeId nodeId() {
+    return member;
+  }
+
+  /**
+   * Returns the session timeout.
+   *
+   * @return the session timeout
+   */
+  public long timeout() {
+    return timeout;
+  }
+
+  /**
+   * Returns the session update timestamp.
+   *
+   * @return the session update timestamp
+   */
+  public long getLastUpdated() {
+    return lastUpdated;
+  }
+
+  /**
+   * Updates the session timestamp.
+   *
+   * @param lastUpdated the session timestamp
+   */
+  public void setLastUpdated(long lastUpdated) {
+    this.lastUpdated = Math.max(this.lastUpdated, lastUpdated);
+  }
+
+  /**
+   * Returns a boolean indicating whether the session is timed out.
+   *
+   * @param timestamp the current timestamp
+   * @return indicates whether the session is timed out
+   */
+  public boolean isTimedOut(long timestamp) {
+    long lastUpdated = this.lastUpdated;
+    return lastUpdated > 0 && timestamp - lastUpdated > timeout;
+  }
+
+  /**
+   * Returns the service sessions opened under the client session.
+   *
+   * @return the service sessions opened under the client session
+   */
+  public Collection<RaftSession> getSessions() {
+    return sessions;
+  }
+
+  /**
+   * Adds a service session to the client session.
+   *
+   * @param session the service session to add
+   */
+  public void addSession(RaftSession session) {
+    sessions.add(session);
+    session.setClientSession(this);
+  }
+
+  /**
+   * Removes a service session from the client session.
+   *
+   * @param session the service session to remove
+   */
+  void removeSession(RaftSession session) {
+    sessions.remove(session);
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("session", sessionId)
+        .add("node", member)
+        .add("sessions", sessions.size())
+        .add("timestamp", TimestampPrinter.of(lastUpdated))
+        .toString();
+  }
+}
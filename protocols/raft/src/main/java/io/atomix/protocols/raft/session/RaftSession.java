@@ -38,13 +38,15 @@ import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 
@@ -55,6 +57,9 @@ import static com.google.common.base.Preconditions.checkState;
  * Raft session.
  */
 public class RaftSession implements Session {
+  private static final int MAX_BATCH_SIZE = 100;
+  private static final int MAX_BATCHES_IN_FLIGHT = 2;
+
   private final Logger log;
   private final SessionId sessionId;
   private final NodeId member;
@@ -67,6 +72,7 @@ public class RaftSession implements Session {
   private final RaftServiceContext context;
   private final RaftContext server;
   private final ThreadContext eventExecutor;
+  private volatile RaftClientSession clientSession;
   private volatile State state = State.CLOSED;
   private volatile long lastUpdated;
   private long requestSequence;
@@ -79,8 +85,10 @@ public class RaftSession implements Session {
   private final Map<Long, List<Runnable>> indexQueries = new HashMap<>();
   private final Map<Long, PendingCommand> pendingCommands = new HashMap<>();
   private final Map<Long, OperationResult> results = new HashMap<>();
-  private final Queue<EventHolder> events = new LinkedList<>();
+  private final Deque<EventHolder> events = new LinkedList<>();
   private volatile EventHolder currentEventList;
+  private long lastSentIndex;
+  private int batchesInFlight;
   private final Set<SessionEventListener> eventListeners = new CopyOnWriteArraySet<>();
 
   public RaftSession(
@@ -106,6 +114,7 @@ public class RaftSession implements Session {
     this.eventIndex = sessionId.id();
     this.completeIndex = sessionId.id();
     this.lastApplied = sessionId.id();
+    this.lastSentIndex = sessionId.id();
     this.protocol = server.getProtocol();
     this.context = context;
     this.server = server;
@@ -173,6 +182,24 @@ public class RaftSession implements Session {
     return context;
   }
 
+  /**
+   * Returns the client session under which the session was opened.
+   *
+   * @return the client session or {@code null} if the session is not multiplexed
+   */
+  public RaftClientSession getClientSession() {
+    return clientSession;
+  }
+
+  /**
+   * Sets the client session under which the session was opened.
+   *
+   * @param clientSession the client session
+   */
+  void setClientSession(RaftClientSession clientSession) {
+    this.clientSession = clientSession;
+  }
+
   /**
    * Returns the session update timestamp.
    *
@@ -198,6 +225,10 @@ public class RaftSession implements Session {
    * @return indicates whether the session is timed out
    */
   public boolean isTimedOut(long timestamp) {
+    // Multiplexed sessions are expired with their client session.
+    if (clientSession != null) {
+      return false;
+    }
     long lastUpdated = this.lastUpdated;
     return lastUpdated > 0 && timestamp - lastUpdated > maxTimeout;
   }
@@ -506,13 +537,36 @@ public class RaftSession implements Session {
     this.currentEventList.events.add(event);
   }
 
+  @Override
+  public void publishLatest(PrimitiveEvent event) {
+    // Remove events of the same type that have not yet been sent to the client. Events that have already
+    // been sent are left untouched since the client may have received them.
+    String type = event.type().id();
+    EventHolder current = this.currentEventList;
+    if (current != null && current.eventIndex > lastSentIndex) {
+      current.removeEvents(type);
+    }
+
+    Iterator<EventHolder> iterator = events.descendingIterator();
+    while (iterator.hasNext()) {
+      EventHolder holder = iterator.next();
+      if (holder.eventIndex <= lastSentIndex) {
+        break;
+      }
+      if (holder != current) {
+        holder.removeEvents(type);
+      }
+    }
+    publish(event);
+  }
+
   /**
    * Commits events for the given index.
    */
   public void commit(long index) {
     if (currentEventList != null && currentEventList.eventIndex == index) {
       events.add(currentEventList);
-      sendEvents(currentEventList);
+      flushEvents();
     }
     setLastApplied(index);
   }
@@ -565,37 +619,82 @@ public class RaftSession implements Session {
    */
   public void resendEvents(long index) {
     clearEvents(index);
-    for (EventHolder event : events) {
-      sendEvents(event);
-    }
+    lastSentIndex = Math.max(index, completeIndex);
+    flushEvents();
   }
 
   /**
-   * Sends an event to the session.
+   * Sends batches of unsent events to the client while the session has credits available.
+   * <p>
+   * Events are sent as soon as they're committed while credits are available. Once the client falls behind,
+   * events committed at consecutive indexes accumulate in the queue and are coalesced into a single batch
+   * when a credit is returned.
    */
-  private void sendEvents(EventHolder event) {
+  private void flushEvents() {
     // Only send events to the client if this server is the leader.
-    if (server.isLeader()) {
-      eventExecutor.execute(() -> {
-        PublishRequest request = PublishRequest.builder()
+    if (!server.isLeader()) {
+      return;
+    }
+
+    while (batchesInFlight < MAX_BATCHES_IN_FLIGHT) {
+      // Collect unsent events from the tail of the queue.
+      LinkedList<EventHolder> unsent = new LinkedList<>();
+      Iterator<EventHolder> iterator = events.descendingIterator();
+      while (iterator.hasNext()) {
+        EventHolder event = iterator.next();
+        if (event.eventIndex <= lastSentIndex) {
+          break;
+        }
+        unsent.addFirst(event);
+      }
+
+      if (unsent.isEmpty()) {
+        return;
+      }
+
+      List<PublishRequest> batch = new ArrayList<>(Math.min(unsent.size(), MAX_BATCH_SIZE));
+      for (EventHolder event : unsent) {
+        batch.add(PublishRequest.builder()
             .withSession(sessionId().id())
             .withEventIndex(event.eventIndex)
             .withPreviousIndex(event.previousIndex)
-            .withEvents(event.events)
-            .build();
-
-        log.trace("Sending {}", request);
-        protocol.publish(member, request);
-      });
+            .withEvents(new ArrayList<>(event.events))
+            .build());
+        lastSentIndex = event.eventIndex;
+        if (batch.size() == MAX_BATCH_SIZE) {
+          break;
+        }
+      }
+      sendEvents(batch);
     }
   }
 
+  /**
+   * Sends a batch of events to the session.
+   * <p>
+   * Each batch consumes a credit which is returned once the client responds or the request fails.
+   */
+  private void sendEvents(List<PublishRequest> batch) {
+    batchesInFlight++;
+    ThreadContext serviceContext = context.executor();
+    eventExecutor.execute(() -> {
+      log.trace("Sending {} events", batch.size());
+      protocol.publish(member, batch).whenCompleteAsync((response, error) -> {
+        if (error != null) {
+          log.trace("Failed to send events", error);
+        }
+        batchesInFlight--;
+        flushEvents();
+      }, serviceContext);
+    });
+  }
+
   /**
    * Opens the session.
    */
   public void open() {
     setState(State.OPEN);
-    protocol.registerResetListener(sessionId, request -> resendEvents(request.index()), server.getServiceManager().executor());
+    protocol.registerResetListener(sessionId, request -> resendEvents(request.index()), context.executor());
   }
 
   /**
@@ -604,6 +703,9 @@ public class RaftSession implements Session {
   public void expire() {
     setState(State.EXPIRED);
     protocol.unregisterResetListener(sessionId);
+    if (clientSession != null) {
+      clientSession.removeSession(this);
+    }
   }
 
   /**
@@ -612,6 +714,9 @@ public class RaftSession implements Session {
   public void close() {
     setState(State.CLOSED);
     protocol.unregisterResetListener(sessionId);
+    if (clientSession != null) {
+      clientSession.removeSession(this);
+    }
   }
 
   @Override
@@ -645,6 +750,16 @@ public class RaftSession implements Session {
       this.eventIndex = eventIndex;
       this.previousIndex = previousIndex;
     }
+
+    /**
+     * Removes all events of the given type from the holder.
+     * <p>
+     * The holder itself must be retained even if it becomes empty since clients sequence events and
+     * responses using the holder's event index.
+     */
+    private void removeEvents(String type) {
+      events.removeIf(event -> event.type().id().equals(type));
+    }
   }
 
 }
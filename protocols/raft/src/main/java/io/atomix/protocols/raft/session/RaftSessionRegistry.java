@@ -15,12 +15,20 @@
  */
 package io.atomix.protocols.raft.session;
 
+import com.google.common.collect.Sets;
 import io.atomix.primitive.PrimitiveId;
 import io.atomix.primitive.session.SessionId;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -28,20 +36,35 @@ import java.util.stream.Collectors;
  */
 public class RaftSessionRegistry {
   private final Map<Long, RaftSession> sessions = new ConcurrentHashMap<>();
+  private final Map<PrimitiveId, Set<RaftSession>> serviceSessions = new ConcurrentHashMap<>();
+  private final Map<Long, RaftClientSession> clientSessions = new ConcurrentHashMap<>();
+  private final Queue<Expiration> expirations = new PriorityQueue<>();
 
   /**
    * Adds a session.
    */
   public RaftSession addSession(RaftSession session) {
     RaftSession existingSession = sessions.putIfAbsent(session.sessionId().id(), session);
-    return existingSession != null ? existingSession : session;
+    if (existingSession != null) {
+      return existingSession;
+    }
+    serviceSessions.computeIfAbsent(session.getService().serviceId(), id -> Sets.newConcurrentHashSet()).add(session);
+    expirations.add(new Expiration(session.sessionId().id(), session.getLastUpdated() + session.maxTimeout()));
+    return session;
   }
 
   /**
    * Closes a session.
    */
   public RaftSession removeSession(SessionId sessionId) {
-    return sessions.remove(sessionId.id());
+    RaftSession session = sessions.remove(sessionId.id());
+    if (session != null) {
+      Set<RaftSession> sessions = serviceSessions.get(session.getService().serviceId());
+      if (sessions != null) {
+        sessions.remove(session);
+      }
+    }
+    return session;
   }
 
   /**
@@ -73,6 +96,50 @@ public class RaftSessionRegistry {
     return sessions.values();
   }
 
+  /**
+   * Adds a client session.
+   *
+   * @param session the client session to add
+   * @return the added client session or an existing client session with the same identifier
+   */
+  public RaftClientSession addClientSession(RaftClientSession session) {
+    RaftClientSession existingSession = clientSessions.putIfAbsent(session.sessionId().id(), session);
+    if (existingSession != null) {
+      return existingSession;
+    }
+    expirations.add(new Expiration(session.sessionId().id(), session.getLastUpdated() + session.timeout()));
+    return session;
+  }
+
+  /**
+   * Removes a client session.
+   *
+   * @param sessionId the client session identifier
+   * @return the removed client session or {@code null} if the client session doesn't exist
+   */
+  public RaftClientSession removeClientSession(SessionId sessionId) {
+    return clientSessions.remove(sessionId.id());
+  }
+
+  /**
+   * Gets a client session by session ID.
+   *
+   * @param sessionId the client session identifier
+   * @return the client session or {@code null} if the client session doesn't exist
+   */
+  public RaftClientSession getClientSession(long sessionId) {
+    return clientSessions.get(sessionId);
+  }
+
+  /**
+   * Returns the collection of registered client sessions.
+   *
+   * @return the collection of registered client sessions
+   */
+  public Collection<RaftClientSession> getClientSessions() {
+    return clientSessions.values();
+  }
+
   /**
    * Returns a set of sessions associated with the given service.
    *
@@ -80,8 +147,7 @@ public class RaftSessionRegistry {
    * @return a collection of sessions associated with the given service
    */
   public Collection<RaftSession> getSessions(PrimitiveId primitiveId) {
-    return sessions.values().stream()
-        .filter(session -> session.getService().serviceId().equals(primitiveId))
+    return serviceSessions.getOrDefault(primitiveId, Collections.emptySet()).stream()
         .filter(session -> session.getState().active())
         .collect(Collectors.toSet());
   }
@@ -92,6 +158,76 @@ public class RaftSessionRegistry {
    * @param primitiveId the service identifier
    */
   public void removeSessions(PrimitiveId primitiveId) {
-    sessions.entrySet().removeIf(e -> e.getValue().getService().serviceId().equals(primitiveId));
+    Set<RaftSession> sessions = serviceSessions.remove(primitiveId);
+    if (sessions != null) {
+      for (RaftSession session : sessions) {
+        this.sessions.remove(session.sessionId().id());
+        RaftClientSession clientSession = session.getClientSession();
+        if (clientSession != null) {
+          clientSession.removeSession(session);
+        }
+      }
+    }
+  }
+
+  /**
+   * Expires sessions that have timed out at the given timestamp.
+   * <p>
+   * Sessions are queued in order of the time at which they will expire if they're not kept alive. Queued expiration
+   * times are not updated when sessions are kept alive, so a queued time is never later than the session's actual
+   * expiration time. Once a session's queued time is reached the session is either collected for expiration or
+   * requeued at its current expiration time, so only sessions that are due to expire are visited. The queue depends
+   * on the history of each server, so timed out sessions are expired in order of their session identifiers rather than
+   * in queue order. Multiplexed sessions are expired along with their client session.
+   *
+   * @param timestamp            the current log timestamp
+   * @param sessionExpirer       the callback with which to expire a service session
+   * @param clientSessionExpirer the callback with which to expire a client session
+   */
+  public void expireSessions(long timestamp, Consumer<RaftSession> sessionExpirer, Consumer<RaftClientSession> clientSessionExpirer) {
+    SortedMap<Long, Runnable> expired = new TreeMap<>();
+    Expiration expiration;
+    while ((expiration = expirations.peek()) != null && expiration.time < timestamp) {
+      expirations.remove();
+      RaftSession session = sessions.get(expiration.sessionId);
+      if (session != null) {
+        if (session.getClientSession() == null) {
+          if (session.isTimedOut(timestamp)) {
+            expired.put(expiration.sessionId, () -> sessionExpirer.accept(session));
+          } else {
+            expirations.add(new Expiration(expiration.sessionId, Math.max(session.getLastUpdated() + session.maxTimeout(), timestamp)));
+          }
+        }
+      } else {
+        RaftClientSession clientSession = clientSessions.get(expiration.sessionId);
+        if (clientSession != null) {
+          if (clientSession.isTimedOut(timestamp)) {
+            expired.put(expiration.sessionId, () -> clientSessionExpirer.accept(clientSession));
+          } else {
+            expirations.add(new Expiration(expiration.sessionId, Math.max(clientSession.getLastUpdated() + clientSession.timeout(), timestamp)));
+          }
+        }
+      }
+    }
+    expired.values().forEach(Runnable::run);
+  }
+
+  /**
+   * Queued session expiration.
+   */
+  private static final class Expiration implements Comparable<Expiration> {
+    private final long sessionId;
+    private final long time;
+
+    private Expiration(long sessionId, long time) {
+      this.sessionId = sessionId;
+      this.time = time;
+    }
+
+    @Override
+    public int compareTo(Expiration other) {
+      int result = Long.compare(time, other.time);
+      return result != 0 ? result : Long.compare(sessionId, other.sessionId);
+    }
   }
 }
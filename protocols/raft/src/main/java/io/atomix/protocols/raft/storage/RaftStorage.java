@@ -80,6 +80,7 @@ public class RaftStorage {
   private final boolean dynamicCompaction;
   private final double freeDiskBuffer;
   private final boolean flushOnCommit;
+  private final boolean compressSegments;
   private final boolean retainStaleSnapshots;
   private final StorageStatistics statistics;
 
@@ -93,6 +94,7 @@ public class RaftStorage {
       boolean dynamicCompaction,
       double freeDiskBuffer,
       boolean flushOnCommit,
+      boolean compressSegments,
       boolean retainStaleSnapshots) {
     this.prefix = prefix;
     this.storageLevel = storageLevel;
@@ -103,6 +105,7 @@ public class RaftStorage {
     this.dynamicCompaction = dynamicCompaction;
     this.freeDiskBuffer = freeDiskBuffer;
     this.flushOnCommit = flushOnCommit;
+    this.compressSegments = compressSegments;
     this.retainStaleSnapshots = retainStaleSnapshots;
     this.statistics = new StorageStatistics(directory);
     directory.mkdirs();
@@ -201,6 +204,15 @@ public class RaftStorage {
     return flushOnCommit;
   }
 
+  /**
+   * Returns whether to compress sealed log segments.
+   *
+   * @return Whether to compress sealed log segments.
+   */
+  public boolean isCompressSegments() {
+    return compressSegments;
+  }
+
   /**
    * Returns a boolean value indicating whether to retain stale snapshots on disk.
    * <p>
@@ -288,6 +300,8 @@ public class RaftStorage {
         .withMaxSegmentSize(maxSegmentSize)
         .withMaxEntriesPerSegment(maxEntriesPerSegment)
         .withFlushOnCommit(flushOnCommit)
+        .withCompressSegments(compressSegments)
+        .withStatistics(statistics.getJournalStatistics())
         .build();
   }
 
@@ -348,6 +362,7 @@ public class RaftStorage {
     private static final boolean DEFAULT_DYNAMIC_COMPACTION = true;
     private static final double DEFAULT_FREE_DISK_BUFFER = .2;
     private static final boolean DEFAULT_FLUSH_ON_COMMIT = true;
+    private static final boolean DEFAULT_COMPRESS_SEGMENTS = false;
     private static final boolean DEFAULT_RETAIN_STALE_SNAPSHOTS = false;
 
     private String prefix = DEFAULT_PREFIX;
@@ -359,6 +374,7 @@ public class RaftStorage {
     private boolean dynamicCompaction = DEFAULT_DYNAMIC_COMPACTION;
     private double freeDiskBuffer = DEFAULT_FREE_DISK_BUFFER;
     private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+    private boolean compressSegments = DEFAULT_COMPRESS_SEGMENTS;
     private boolean retainStaleSnapshots = DEFAULT_RETAIN_STALE_SNAPSHOTS;
 
     private Builder() {
@@ -514,8 +530,8 @@ public class RaftStorage {
      * Enables flushing buffers to disk when entries are committed to a segment, returning the builder
      * for method chaining.
      * <p>
-     * When flush-on-commit is enabled, log entry buffers will be automatically flushed to disk each time
-     * an entry is committed in a given segment.
+     * When flush-on-commit is enabled, log entries are flushed to disk in the background as they're appended, and
+     * entries are only counted towards the commit quorum by a member once they've been flushed to disk by that member.
      *
      * @return The storage builder.
      */
@@ -527,8 +543,8 @@ public class RaftStorage {
      * Sets whether to flush buffers to disk when entries are committed to a segment, returning the builder
      * for method chaining.
      * <p>
-     * When flush-on-commit is enabled, log entry buffers will be automatically flushed to disk each time
-     * an entry is committed in a given segment.
+     * When flush-on-commit is enabled, log entries are flushed to disk in the background as they're appended, and
+     * entries are only counted towards the commit quorum by a member once they've been flushed to disk by that member.
      *
      * @param flushOnCommit Whether to flush buffers to disk when entries are committed to a segment.
      * @return The storage builder.
@@ -538,6 +554,31 @@ public class RaftStorage {
       return this;
     }
 
+    /**
+     * Enables compression of sealed log segments, returning the builder for method chaining.
+     * <p>
+     * When segment compression is enabled, log segments are compressed in the background once the log has rolled
+     * over to a new segment. Compressed segments are read transparently. Segment compression is ignored for
+     * {@link StorageLevel#MEMORY} logs.
+     *
+     * @return The storage builder.
+     */
+    public Builder withCompressSegments() {
+      return withCompressSegments(true);
+    }
+
+    /**
+     * Sets whether to compress sealed log segments, returning the builder for method chaining.
+     *
+     * @param compressSegments Whether to compress sealed log segments.
+     * @return The storage builder.
+     * @see #withCompressSegments()
+     */
+    public Builder withCompressSegments(boolean compressSegments) {
+      this.compressSegments = compressSegments;
+      return this;
+    }
+
     /**
      * Enables retaining stale snapshots on disk, returning the builder for method chaining.
      * <p>
@@ -587,6 +628,7 @@ public class RaftStorage {
           dynamicCompaction,
           freeDiskBuffer,
           flushOnCommit,
+          compressSegments,
           retainStaleSnapshots);
     }
   }
@@ -19,6 +19,7 @@ import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.utils.serializer.Serializer;
 import io.atomix.storage.StorageLevel;
 import io.atomix.storage.journal.DelegatingJournal;
+import io.atomix.storage.journal.JournalStatistics;
 import io.atomix.storage.journal.SegmentedJournal;
 
 import java.io.File;
@@ -46,12 +47,14 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
   private final boolean flushOnCommit;
   private final RaftLogWriter writer;
   private volatile long commitIndex;
+  private volatile long durableIndex;
 
   protected RaftLog(SegmentedJournal<RaftLogEntry> journal, boolean flushOnCommit) {
     super(journal);
     this.journal = journal;
     this.flushOnCommit = flushOnCommit;
     this.writer = new RaftLogWriter(journal.writer(), this);
+    this.durableIndex = writer.getLastIndex();
   }
 
   @Override
@@ -75,6 +78,31 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
     return new RaftLogReader(journal.openReader(index), this, mode);
   }
 
+  /**
+   * Opens a new sequential Raft log reader with the given reader mode.
+   * <p>
+   * Sequential readers are used to replicate entries to other members. While a member is up to date they read the
+   * tail of the log, but when a member falls behind they scan segments that are no longer otherwise being read.
+   * Those scans are read through a separate bounded file path so they don't compete with the tail of the log.
+   *
+   * @param index The index from which to begin reading entries.
+   * @param mode  The mode in which to read entries.
+   * @return The Raft log reader.
+   * @see SegmentedJournal#openSequentialReader(long)
+   */
+  public RaftLogReader openSequentialReader(long index, RaftLogReader.Mode mode) {
+    return new RaftLogReader(journal.openSequentialReader(index), this, mode);
+  }
+
+  /**
+   * Returns the log statistics.
+   *
+   * @return the log statistics
+   */
+  public JournalStatistics statistics() {
+    return journal.statistics();
+  }
+
   /**
    * Returns whether {@code flushOnCommit} is enabled for the log.
    *
@@ -102,6 +130,24 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
     return commitIndex;
   }
 
+  /**
+   * Sets the index up to which entries have been flushed to disk.
+   *
+   * @param index The index up to which entries have been flushed to disk.
+   */
+  void setDurableIndex(long index) {
+    this.durableIndex = index;
+  }
+
+  /**
+   * Returns the index up to which entries have been flushed to disk.
+   *
+   * @return The index up to which entries have been flushed to disk.
+   */
+  long getDurableIndex() {
+    return durableIndex;
+  }
+
   /**
    * Returns a boolean indicating whether a segment can be removed from the journal prior to the given index.
    *
@@ -272,12 +318,49 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
       return this;
     }
 
+    /**
+     * Enables compression of sealed log segments, returning the builder for method chaining.
+     * <p>
+     * When segment compression is enabled, log segments are compressed in the background once the log has rolled
+     * over to a new segment. Compressed segments are read transparently. Segment compression is ignored for
+     * {@link StorageLevel#MEMORY} logs.
+     *
+     * @return the log builder
+     */
+    public Builder withCompressSegments() {
+      return withCompressSegments(true);
+    }
+
+    /**
+     * Sets whether to compress sealed log segments, returning the builder for method chaining.
+     *
+     * @param compressSegments whether to compress sealed log segments
+     * @return the log builder
+     * @see #withCompressSegments()
+     */
+    public Builder withCompressSegments(boolean compressSegments) {
+      journalBuilder.withCompressSegments(compressSegments);
+      return this;
+    }
+
+    /**
+     * Sets the statistics to which the log records its activity, returning the builder for method chaining.
+     *
+     * @param statistics the log statistics
+     * @return the log builder
+     * @throws NullPointerException if the {@code statistics} are {@code null}
+     */
+    public Builder withStatistics(JournalStatistics statistics) {
+      journalBuilder.withStatistics(statistics);
+      return this;
+    }
+
     /**
      * Enables flushing buffers to disk when entries are committed to a segment, returning the builder
      * for method chaining.
      * <p>
-     * When flush-on-commit is enabled, log entry buffers will be automatically flushed to disk each time
-     * an entry is committed in a given segment.
+     * When flush-on-commit is enabled, log entries are flushed to disk in the background as they're appended, and
+     * entries are only counted towards the commit quorum by a member once they've been flushed to disk by that member.
      *
      * @return The storage builder.
      */
@@ -289,8 +372,8 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
      * Sets whether to flush buffers to disk when entries are committed to a segment, returning the builder
      * for method chaining.
      * <p>
-     * When flush-on-commit is enabled, log entry buffers will be automatically flushed to disk each time
-     * an entry is committed in a given segment.
+     * When flush-on-commit is enabled, log entries are flushed to disk in the background as they're appended, and
+     * entries are only counted towards the commit quorum by a member once they've been flushed to disk by that member.
      *
      * @param flushOnCommit Whether to flush buffers to disk when entries are committed to a segment.
      * @return The storage builder.
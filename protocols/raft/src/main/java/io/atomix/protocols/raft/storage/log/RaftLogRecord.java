@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.storage.log;
+
+import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
+import io.atomix.storage.journal.Indexed;
+import io.atomix.utils.serializer.Serializer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Raft log record.
+ * <p>
+ * A log record is a {@link RaftLogEntry} in the serialized form in which it's stored in the log, along with the
+ * checksum of the serialized bytes. Records are replicated in place of entries so entries don't have to be decoded
+ * and re-encoded by the leader and followers.
+ */
+public class RaftLogRecord {
+
+  /**
+   * Returns a log record for the given indexed entry.
+   *
+   * @param entry the indexed entry read from the log
+   * @return the log record for the given entry
+   */
+  public static RaftLogRecord of(Indexed<RaftLogEntry> entry) {
+    return new RaftLogRecord(entry.checksum(), checkNotNull(entry.bytes(), "entry is not serialized"));
+  }
+
+  private final long checksum;
+  private final byte[] bytes;
+
+  public RaftLogRecord(long checksum, byte[] bytes) {
+    this.checksum = checksum;
+    this.bytes = bytes;
+  }
+
+  /**
+   * Returns the checksum of the serialized entry.
+   *
+   * @return the CRC32 checksum of the serialized entry
+   */
+  public long checksum() {
+    return checksum;
+  }
+
+  /**
+   * Returns the serialized entry.
+   *
+   * @return the serialized entry
+   */
+  public byte[] bytes() {
+    return bytes;
+  }
+
+  /**
+   * Returns the size of the serialized entry.
+   *
+   * @return the size of the serialized entry
+   */
+  public int size() {
+    return bytes.length;
+  }
+
+  /**
+   * Returns a boolean indicating whether the given indexed entry is the entry stored in this record.
+   *
+   * @param entry the indexed entry to check
+   * @return indicates whether the given entry's serialized form matches this record
+   */
+  public boolean matches(Indexed<RaftLogEntry> entry) {
+    return entry.checksum() == checksum && Arrays.equals(entry.bytes(), bytes);
+  }
+
+  /**
+   * Returns an indexed entry for the record that is decoded lazily using the given serializer.
+   *
+   * @param index      the index of the entry
+   * @param serializer the serializer with which to decode the entry
+   * @return the indexed entry
+   */
+  public Indexed<RaftLogEntry> toIndexed(long index, Serializer serializer) {
+    return new Indexed<>(index, bytes, checksum, serializer);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(checksum, Arrays.hashCode(bytes));
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof RaftLogRecord) {
+      RaftLogRecord record = (RaftLogRecord) object;
+      return record.checksum == checksum && Arrays.equals(record.bytes, bytes);
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("checksum", checksum)
+        .add("size", bytes.length)
+        .toString();
+  }
+}
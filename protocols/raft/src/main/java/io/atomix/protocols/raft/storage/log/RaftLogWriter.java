@@ -19,12 +19,15 @@ import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.storage.journal.DelegatingJournalWriter;
 import io.atomix.storage.journal.SegmentedJournalWriter;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Raft log writer.
  */
 public class RaftLogWriter extends DelegatingJournalWriter<RaftLogEntry> {
   private final SegmentedJournalWriter<RaftLogEntry> writer;
   private final RaftLog log;
+  private long flushEpoch;
 
   public RaftLogWriter(SegmentedJournalWriter<RaftLogEntry> writer, RaftLog log) {
     super(writer);
@@ -38,6 +41,7 @@ public class RaftLogWriter extends DelegatingJournalWriter<RaftLogEntry> {
    * @param index the index to which to reset the head of the log
    */
   public void reset(long index) {
+    resetDurableIndex(index - 1);
     writer.reset(index);
   }
 
@@ -49,17 +53,91 @@ public class RaftLogWriter extends DelegatingJournalWriter<RaftLogEntry> {
   public void commit(long index) {
     if (index > log.getCommitIndex()) {
       log.setCommitIndex(index);
-      if (log.isFlushOnCommit()) {
-        flush();
-      }
     }
   }
 
+  /**
+   * Returns the index up to which entries are durable.
+   * <p>
+   * When {@code flushOnCommit} is enabled, this is the index up to which entries have been flushed to disk. Otherwise,
+   * entries are considered durable as soon as they're written to the log.
+   *
+   * @return The index up to which entries are durable.
+   */
+  public long getDurableIndex() {
+    return log.isFlushOnCommit() ? Math.min(log.getDurableIndex(), getLastIndex()) : getLastIndex();
+  }
+
+  /**
+   * Returns the current flush epoch.
+   * <p>
+   * The epoch is incremented each time the log is truncated or reset, invalidating flushes that were in flight.
+   *
+   * @return The current flush epoch.
+   */
+  public synchronized long getFlushEpoch() {
+    return flushEpoch;
+  }
+
+  /**
+   * Flushes entries to disk in the background.
+   * <p>
+   * When {@code flushOnCommit} is enabled, entries written prior to this call are flushed on the journal's flusher
+   * thread, and the durable index is advanced once the flush is complete. Otherwise, the returned future is
+   * completed immediately.
+   *
+   * @return A completable future to be completed with the durable index once the flush is complete.
+   */
+  public CompletableFuture<Long> flushAsync() {
+    long lastIndex = getLastIndex();
+    if (!log.isFlushOnCommit() || lastIndex <= log.getDurableIndex()) {
+      return CompletableFuture.completedFuture(getDurableIndex());
+    }
+
+    long epoch;
+    synchronized (this) {
+      epoch = flushEpoch;
+    }
+    return writer.flushAsync().thenApply(index -> {
+      advanceDurableIndex(index, epoch);
+      return log.getDurableIndex();
+    });
+  }
+
+  @Override
+  public void flush() {
+    long epoch;
+    synchronized (this) {
+      epoch = flushEpoch;
+    }
+    long index = getLastIndex();
+    super.flush();
+    advanceDurableIndex(index, epoch);
+  }
+
+  /**
+   * Advances the durable index following a flush if the log has not been truncated since the flush began.
+   */
+  private synchronized void advanceDurableIndex(long index, long epoch) {
+    if (epoch == flushEpoch && index > log.getDurableIndex()) {
+      log.setDurableIndex(index);
+    }
+  }
+
+  /**
+   * Lowers the durable index and invalidates in-flight flushes prior to the log being truncated.
+   */
+  private synchronized void resetDurableIndex(long index) {
+    flushEpoch++;
+    log.setDurableIndex(Math.min(log.getDurableIndex(), index));
+  }
+
   @Override
   public void truncate(long index) {
     if (index < log.getCommitIndex()) {
       throw new IndexOutOfBoundsException("Cannot truncate committed index: " + index);
     }
+    resetDurableIndex(index);
     super.truncate(index);
   }
 }
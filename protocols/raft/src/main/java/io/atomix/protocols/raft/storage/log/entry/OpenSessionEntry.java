@@ -30,8 +30,13 @@ public class OpenSessionEntry extends TimestampedEntry {
   private final ReadConsistency readConsistency;
   private final long minTimeout;
   private final long maxTimeout;
+  private final long clientSession;
 
   public OpenSessionEntry(long term, long timestamp, String memberId, String serviceName, String serviceType, ReadConsistency readConsistency, long minTimeout, long maxTimeout) {
+    this(term, timestamp, memberId, serviceName, serviceType, readConsistency, minTimeout, maxTimeout, 0);
+  }
+
+  public OpenSessionEntry(long term, long timestamp, String memberId, String serviceName, String serviceType, ReadConsistency readConsistency, long minTimeout, long maxTimeout, long clientSession) {
     super(term, timestamp);
     this.memberId = memberId;
     this.serviceName = serviceName;
@@ -39,6 +44,7 @@ public class OpenSessionEntry extends TimestampedEntry {
     this.readConsistency = readConsistency;
     this.minTimeout = minTimeout;
     this.maxTimeout = maxTimeout;
+    this.clientSession = clientSession;
   }
 
   /**
@@ -95,6 +101,24 @@ public class OpenSessionEntry extends TimestampedEntry {
     return maxTimeout;
   }
 
+  /**
+   * Returns a boolean indicating whether the entry opens a client session.
+   *
+   * @return indicates whether the entry opens a client session
+   */
+  public boolean isClientSession() {
+    return serviceName == null;
+  }
+
+  /**
+   * Returns the client session under which to open the service session.
+   *
+   * @return The client session identifier or {@code 0} if the session is not multiplexed.
+   */
+  public long clientSession() {
+    return clientSession;
+  }
+
   @Override
   public String toString() {
     return toStringHelper(this)
@@ -106,6 +130,7 @@ public class OpenSessionEntry extends TimestampedEntry {
         .add("readConsistency", readConsistency)
         .add("minTimeout", minTimeout)
         .add("maxTimeout", maxTimeout)
+        .add("clientSession", clientSession)
         .toString();
   }
 }
@@ -16,20 +16,23 @@
 package io.atomix.protocols.raft.storage.snapshot;
 
 import io.atomix.storage.StorageLevel;
-import io.atomix.storage.buffer.HeapBuffer;
+import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.SlabAllocator;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
- * In-memory snapshot backed by a {@link HeapBuffer}.
+ * In-memory snapshot backed by a pooled {@link SlabAllocator} buffer.
+ * <p>
+ * The buffer is returned to the allocator when the snapshot is closed.
  */
 final class MemorySnapshot extends Snapshot {
-  private final HeapBuffer buffer;
+  private final Buffer buffer;
   private final SnapshotDescriptor descriptor;
   private final SnapshotStore store;
 
-  MemorySnapshot(HeapBuffer buffer, SnapshotDescriptor descriptor, SnapshotStore store) {
+  MemorySnapshot(Buffer buffer, SnapshotDescriptor descriptor, SnapshotStore store) {
     super(descriptor, store);
     buffer.mark();
     this.buffer = checkNotNull(buffer, "buffer cannot be null");
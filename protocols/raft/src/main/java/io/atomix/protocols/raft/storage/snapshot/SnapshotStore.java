@@ -17,8 +17,9 @@ package io.atomix.protocols.raft.storage.snapshot;
 
 import io.atomix.protocols.raft.storage.RaftStorage;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.FileBuffer;
-import io.atomix.storage.buffer.HeapBuffer;
+import io.atomix.storage.buffer.SlabAllocator;
 import io.atomix.utils.time.WallClockTimestamp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -191,7 +192,7 @@ public class SnapshotStore implements AutoCloseable {
    * Creates a memory snapshot.
    */
   private Snapshot createMemorySnapshot(SnapshotDescriptor descriptor) {
-    HeapBuffer buffer = HeapBuffer.allocate(SnapshotDescriptor.BYTES, Integer.MAX_VALUE);
+    Buffer buffer = SlabAllocator.DEFAULT.allocate(SnapshotDescriptor.BYTES, Integer.MAX_VALUE);
     Snapshot snapshot = new MemorySnapshot(buffer, descriptor.copyTo(buffer), this);
     log.debug("Created memory snapshot: {}", snapshot);
     return snapshot;
@@ -235,6 +236,7 @@ public class SnapshotStore implements AutoCloseable {
 
   @Override
   public void close() {
+    snapshots.values().forEach(Snapshot::close);
   }
 
   @Override
@@ -36,6 +36,7 @@ import io.atomix.protocols.raft.cluster.RaftClusterEvent;
 import io.atomix.protocols.raft.cluster.RaftMember;
 import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
 import io.atomix.protocols.raft.protocol.TestRaftProtocolFactory;
+import io.atomix.protocols.raft.proxy.CommunicationStrategy;
 import io.atomix.protocols.raft.storage.RaftStorage;
 import io.atomix.protocols.raft.storage.log.entry.CloseSessionEntry;
 import io.atomix.protocols.raft.storage.log.entry.CommandEntry;
@@ -83,6 +84,7 @@ import java.util.stream.Collectors;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -120,6 +122,7 @@ public class RaftTest extends ConcurrentTestCase {
   protected volatile List<RaftClient> clients = new ArrayList<>();
   protected volatile List<RaftServer> servers = new ArrayList<>();
   protected volatile TestRaftProtocolFactory protocolFactory;
+  protected volatile int serviceThreads;
 
   /**
    * Tests getting session metadata.
@@ -199,6 +202,58 @@ public class RaftTest extends ConcurrentTestCase {
     Thread.sleep(5000);
   }
 
+  /**
+   * Tests replicating entries to a passive member at a lower priority than voting members.
+   */
+  @Test
+  public void testPassiveReplication() throws Throwable {
+    List<RaftServer> servers = createServers(3);
+    RaftClient client = createClient();
+    PrimitiveProxy session = createSession(client);
+    submit(session, 0, 100);
+    await(10000);
+
+    RaftServer passive = createServer(nextNodeId());
+    passive.addRoleChangeListener(role -> {
+      if (role == RaftServer.Role.PASSIVE) {
+        resume();
+      }
+    });
+    passive.listen(members.stream().map(RaftMember::nodeId).collect(Collectors.toList())).thenRun(this::resume);
+    await(10000, 2);
+
+    RaftServer leader = servers.stream().filter(RaftServer::isLeader).findFirst().get();
+    NodeId passiveId = passive.cluster().getMember().nodeId();
+
+    // With no new writes, a passive member that joined late catches up on the heartbeat interval.
+    awaitReplication(leader, passiveId);
+
+    // Entries written once the passive member has joined are sent to it as prior appends complete.
+    submit(session, 0, 100);
+    await(10000);
+    awaitReplication(leader, passiveId);
+    assertEquals(RaftServer.Role.PASSIVE, passive.getRole());
+
+    // Replication lag is only tracked by the leader.
+    RaftServer follower = servers.stream().filter(s -> !s.isLeader()).findFirst().get();
+    try {
+      follower.getReplicationLag(passiveId);
+      fail();
+    } catch (IllegalStateException e) {
+    }
+  }
+
+  /**
+   * Waits for the leader to replicate all committed entries to the given member.
+   */
+  private void awaitReplication(RaftServer leader, NodeId memberId) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (leader.getReplicationLag(memberId) > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+    }
+    assertEquals(0, leader.getReplicationLag(memberId));
+  }
+
   /**
    * Submits a bunch of commands recursively.
    */
@@ -472,6 +527,51 @@ public class RaftTest extends ConcurrentTestCase {
     testSubmitCommand(3, 5);
   }
 
+  /**
+   * Tests applying commands to services on separate service threads.
+   * <p>
+   * Commands for each service must be applied in log order, and session changes and snapshots must wait for all
+   * service threads to apply prior commands.
+   */
+  @Test
+  public void testParallelServices() throws Throwable {
+    serviceThreads = 4;
+    createServers(1);
+
+    RaftClient client = createClient();
+    List<PrimitiveProxy> sessions = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      sessions.add(createSession(client, "test-" + i, ReadConsistency.LINEARIZABLE));
+    }
+
+    // Keep the service threads busy while sessions are opened and closed until the server takes a snapshot.
+    // Commands are throttled to keep the server below the load at which snapshots are deferred.
+    long deadline = System.currentTimeMillis() + 60000;
+    while (TestPrimitiveService.SNAPSHOTS.get() == 0 && System.currentTimeMillis() < deadline) {
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (PrimitiveProxy session : sessions) {
+        futures.add(session.invoke(SLEEP));
+      }
+      createSession(client, "test-barrier", ReadConsistency.LINEARIZABLE).close().get(10, TimeUnit.SECONDS);
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get(30, TimeUnit.SECONDS);
+      Thread.sleep(100);
+    }
+
+    assertTrue(TestPrimitiveService.SNAPSHOTS.get() > 0);
+    assertTrue(TestPrimitiveService.MAX_RUNNING.get() > 1);
+    assertEquals(0, TestPrimitiveService.ORDER_VIOLATIONS.get());
+    assertEquals(0, TestPrimitiveService.BARRIER_VIOLATIONS.get());
+  }
+
+  /**
+   * Tests publishing events to sessions while keep-alives are applied to services on separate service threads.
+   */
+  @Test
+  public void testParallelServiceEvents() throws Throwable {
+    serviceThreads = 4;
+    testEvents(3);
+  }
+
   /**
    * Tests submitting a command to a partial cluster.
    */
@@ -605,6 +705,69 @@ public class RaftTest extends ConcurrentTestCase {
     testSubmitQuery(5, ReadConsistency.LINEARIZABLE);
   }
 
+  /**
+   * Tests submitting concurrent linearizable queries that share leadership confirmation rounds.
+   */
+  @Test
+  public void testConcurrentLinearizableQueries() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    PrimitiveProxy session = createSession(client, ReadConsistency.LINEARIZABLE);
+    for (int i = 0; i < 100; i++) {
+      session.invoke(READ).thenRun(this::resume);
+    }
+
+    await(30000, 100);
+  }
+
+  /**
+   * Tests lease-based queries observe prior writes.
+   */
+  @Test
+  public void testLeaseQueriesReadWrites() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    PrimitiveProxy session = createSession(client, ReadConsistency.LINEARIZABLE_LEASE);
+    for (int i = 0; i < 10; i++) {
+      long index = session.<Long>invoke(WRITE, clientSerializer::decode).get(10, TimeUnit.SECONDS);
+      long result = session.<Long>invoke(READ, clientSerializer::decode).get(10, TimeUnit.SECONDS);
+      threadAssertTrue(result >= index);
+    }
+  }
+
+  /**
+   * Tests linearizable queries served by followers using a read index obtained from the leader.
+   */
+  @Test
+  public void testFollowerLinearizableQueries() throws Throwable {
+    createServers(3);
+
+    RaftClient client1 = createClient();
+    PrimitiveProxy session1 = createSession(client1, ReadConsistency.LINEARIZABLE);
+    RaftClient client2 = createClient();
+    PrimitiveProxy session2 = client2.newProxy("test", TestPrimitiveType.INSTANCE, RaftProtocol.builder()
+        .withReadConsistency(ReadConsistency.LINEARIZABLE)
+        .withCommunicationStrategy(CommunicationStrategy.FOLLOWERS)
+        .withMinTimeout(Duration.ofMillis(250))
+        .withMaxTimeout(Duration.ofSeconds(5))
+        .build())
+        .connect()
+        .get(5, TimeUnit.SECONDS);
+
+    for (int i = 0; i < 10; i++) {
+      long index = session1.<Long>invoke(WRITE, clientSerializer::decode).get(10, TimeUnit.SECONDS);
+      for (int j = 0; j < 10; j++) {
+        session2.<Long>invoke(READ, clientSerializer::decode).thenAccept(result -> {
+          threadAssertTrue(result >= index);
+          resume();
+        });
+      }
+      await(10000, 10);
+    }
+  }
+
   /**
    * Tests submitting a query with a configured consistency level.
    */
@@ -618,6 +781,48 @@ public class RaftTest extends ConcurrentTestCase {
     await(30000);
   }
 
+  /**
+   * Tests primitive sessions multiplexed over a single client session.
+   */
+  @Test
+  public void testMultiplexedSessions() throws Throwable {
+    createServers(3);
+
+    NodeId nodeId = nextNodeId();
+    RaftClient client = RaftClient.builder()
+        .withNodeId(nodeId)
+        .withProtocol(protocolFactory.newClientProtocol(nodeId))
+        .withSessionMultiplexing(true)
+        .build();
+    client.connect(members.stream().map(RaftMember::nodeId).collect(Collectors.toList())).thenRun(this::resume);
+    await(30000);
+    clients.add(client);
+
+    List<PrimitiveProxy> sessions = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      sessions.add(client.newProxy("test-" + i, TestPrimitiveType.INSTANCE, RaftProtocol.builder()
+          .withMinTimeout(Duration.ofMillis(250))
+          .withMaxTimeout(Duration.ofSeconds(2))
+          .build())
+          .connect()
+          .get(5, TimeUnit.SECONDS));
+    }
+
+    for (PrimitiveProxy session : sessions) {
+      session.<Long>addEventListener(CHANGE_EVENT, clientSerializer::decode, event -> resume());
+      session.invoke(EVENT, clientSerializer::encode, true).thenRun(this::resume);
+    }
+    await(30000, 6);
+
+    // Wait past the session timeout to verify the sessions are kept alive by the client session.
+    Thread.sleep(5000);
+    for (PrimitiveProxy session : sessions) {
+      threadAssertEquals(PrimitiveProxy.State.CONNECTED, session.getState());
+      session.invoke(WRITE).thenRun(this::resume);
+    }
+    await(10000, 3);
+  }
+
   /**
    * Tests submitting a sequential event.
    */
@@ -1217,7 +1422,8 @@ public class RaftTest extends ConcurrentTestCase {
             .withMaxSegmentSize(1024 * 10)
             .withMaxEntriesPerSegment(10)
             .build())
-        .addPrimitiveType(TestPrimitiveType.INSTANCE);
+        .addPrimitiveType(TestPrimitiveType.INSTANCE)
+        .withServiceThreads(serviceThreads);
 
     RaftServer server = builder.build();
     servers.add(server);
@@ -1250,7 +1456,14 @@ public class RaftTest extends ConcurrentTestCase {
    * Creates a test session.
    */
   private PrimitiveProxy createSession(RaftClient client, ReadConsistency consistency) throws Exception {
-    return client.newProxy("test", TestPrimitiveType.INSTANCE, RaftProtocol.builder()
+    return createSession(client, "test", consistency);
+  }
+
+  /**
+   * Creates a test session for the given primitive.
+   */
+  private PrimitiveProxy createSession(RaftClient client, String name, ReadConsistency consistency) throws Exception {
+    return client.newProxy(name, TestPrimitiveType.INSTANCE, RaftProtocol.builder()
         .withReadConsistency(consistency)
         .withMinTimeout(Duration.ofMillis(250))
         .withMaxTimeout(Duration.ofSeconds(5))
@@ -1300,12 +1513,15 @@ public class RaftTest extends ConcurrentTestCase {
     clients = new ArrayList<>();
     servers = new ArrayList<>();
     protocolFactory = new TestRaftProtocolFactory();
+    serviceThreads = 0;
+    TestPrimitiveService.reset();
   }
 
   private static final OperationId WRITE = OperationId.command("write");
   private static final OperationId EVENT = OperationId.command("event");
   private static final OperationId EXPIRE = OperationId.command("expire");
   private static final OperationId CLOSE = OperationId.command("close");
+  private static final OperationId SLEEP = OperationId.command("sleep");
 
   private static final OperationId READ = OperationId.query("read");
 
@@ -1339,8 +1555,26 @@ public class RaftTest extends ConcurrentTestCase {
    * Test state machine.
    */
   public static class TestPrimitiveService extends AbstractPrimitiveService {
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+    private static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+    private static final AtomicInteger SNAPSHOTS = new AtomicInteger();
+    private static final AtomicInteger ORDER_VIOLATIONS = new AtomicInteger();
+    private static final AtomicInteger BARRIER_VIOLATIONS = new AtomicInteger();
+
     private Commit<Void> expire;
     private Commit<Void> close;
+    private long lastIndex;
+
+    /**
+     * Resets the statistics shared by all test services.
+     */
+    static void reset() {
+      RUNNING.set(0);
+      MAX_RUNNING.set(0);
+      SNAPSHOTS.set(0);
+      ORDER_VIOLATIONS.set(0);
+      BARRIER_VIOLATIONS.set(0);
+    }
 
     @Override
     protected void configure(ServiceExecutor executor) {
@@ -1349,6 +1583,31 @@ public class RaftTest extends ConcurrentTestCase {
       executor.register(EVENT, clientSerializer::decode, this::event, clientSerializer::encode);
       executor.register(CLOSE, c -> close(c));
       executor.register(EXPIRE, this::expire);
+      executor.register(SLEEP, c -> sleep(c));
+    }
+
+    /**
+     * Records whether an operation that must wait for all service threads overlapped with a service command.
+     */
+    private void checkBarrier() {
+      if (RUNNING.get() > 0) {
+        BARRIER_VIOLATIONS.incrementAndGet();
+      }
+    }
+
+    /**
+     * Records whether the given command was applied out of log order.
+     */
+    private void checkOrder(Commit<?> commit) {
+      if (commit.index() <= lastIndex) {
+        ORDER_VIOLATIONS.incrementAndGet();
+      }
+      lastIndex = commit.index();
+    }
+
+    @Override
+    public void onOpen(Session session) {
+      checkBarrier();
     }
 
     @Override
@@ -1360,6 +1619,7 @@ public class RaftTest extends ConcurrentTestCase {
 
     @Override
     public void onClose(Session session) {
+      checkBarrier();
       if (close != null && !session.equals(close.session())) {
         close.session().publish(CLOSE_EVENT);
       }
@@ -1367,6 +1627,8 @@ public class RaftTest extends ConcurrentTestCase {
 
     @Override
     public void backup(BufferOutput<?> writer) {
+      checkBarrier();
+      SNAPSHOTS.incrementAndGet();
       writer.writeLong(10);
     }
 
@@ -1376,9 +1638,22 @@ public class RaftTest extends ConcurrentTestCase {
     }
 
     protected long write(Commit<Void> commit) {
+      checkOrder(commit);
       return commit.index();
     }
 
+    protected void sleep(Commit<Void> commit) {
+      checkOrder(commit);
+      MAX_RUNNING.accumulateAndGet(RUNNING.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        RUNNING.decrementAndGet();
+      }
+    }
+
     protected long read(Commit<Void> commit) {
       return commit.index();
     }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.cluster.impl;
+
+import io.atomix.cluster.NodeId;
+import io.atomix.protocols.raft.cluster.RaftMember;
+import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.protocols.raft.storage.snapshot.Snapshot;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
+import io.atomix.storage.StorageLevel;
+import io.atomix.utils.time.WallClockTimestamp;
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Raft member context test.
+ */
+public class RaftMemberContextTest {
+
+  /**
+   * Tests that install requests are limited to the install window and the remaining snapshot chunks.
+   */
+  @Test
+  public void testInstallWindow() throws Exception {
+    RaftMemberContext member = new RaftMemberContext(
+        new DefaultRaftMember(NodeId.from("1"), RaftMember.Type.PASSIVE, Instant.now()), null);
+    for (int i = 0; i < 4; i++) {
+      assertTrue(member.canInstall());
+      member.startInstall();
+    }
+    assertFalse(member.canInstall());
+    member.completeInstall();
+    assertTrue(member.canInstall());
+
+    SnapshotStore store = new SnapshotStore(RaftStorage.builder()
+        .withPrefix("test")
+        .withStorageLevel(StorageLevel.MEMORY)
+        .build());
+    Snapshot snapshot = store.newSnapshot(1, new WallClockTimestamp());
+    try (SnapshotWriter writer = snapshot.openWriter()) {
+      writer.writeLong(1);
+    }
+    snapshot.complete();
+
+    // No install requests can be sent once all chunks of the snapshot have been read.
+    SnapshotReader reader = snapshot.openReader();
+    member.setSnapshotReader(reader);
+    assertTrue(member.canInstall());
+    reader.readLong();
+    assertFalse(member.canInstall());
+    member.setSnapshotReader(null);
+    store.close();
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.partition;
+
+import io.atomix.cluster.NodeId;
+import io.atomix.primitive.partition.PartitionId;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Raft partition group test.
+ */
+public class RaftPartitionGroupTest {
+  private static final NodeId NODE1 = NodeId.from("1");
+  private static final NodeId NODE2 = NodeId.from("2");
+  private static final NodeId NODE3 = NodeId.from("3");
+  private static final NodeId NODE4 = NodeId.from("4");
+
+  /**
+   * Tests that only the least loaded member of the busiest member's partitions takes leadership from it.
+   */
+  @Test
+  public void testBalanceLeaders() {
+    RaftPartitionGroup group = createGroup(NODE1, NODE1, NODE1, NODE1, NODE2, NODE2);
+    assertNull(group.getBalanceCandidate(NODE1));
+    assertNull(group.getBalanceCandidate(NODE2));
+    RaftPartition candidate = group.getBalanceCandidate(NODE3);
+    assertEquals(NODE1, candidate.primary());
+
+    // Ties between the least loaded members are broken by node ID.
+    group = createGroup(NODE1, NODE1, NODE1, NODE1, NODE2, NODE3);
+    assertNull(group.getBalanceCandidate(NODE1));
+    assertEquals(NODE1, group.getBalanceCandidate(NODE2).primary());
+    assertNull(group.getBalanceCandidate(NODE3));
+  }
+
+  /**
+   * Tests that leaders are balanced when the least loaded member of the group shares no partition with the busiest
+   * member.
+   */
+  @Test
+  public void testBalanceLeadersAcrossPartitionMembers() {
+    List<RaftPartition> partitions = new ArrayList<>();
+    for (int i = 1; i <= 4; i++) {
+      partitions.add(createPartition(i, NODE1, NODE1, NODE2, NODE3));
+    }
+    partitions.add(createPartition(5, NODE2, NODE1, NODE2, NODE3));
+    partitions.add(createPartition(6, NODE3, NODE3, NODE4));
+    RaftPartitionGroup group = new RaftPartitionGroup("test", partitions, 3);
+
+    // NODE4 leads the fewest partitions but is not a member of any partition led by NODE1, so the least loaded
+    // member of NODE1's partitions takes leadership instead.
+    assertNull(group.getBalanceCandidate(NODE4));
+    assertNull(group.getBalanceCandidate(NODE1));
+    assertNull(group.getBalanceCandidate(NODE3));
+    assertEquals(NODE1, group.getBalanceCandidate(NODE2).primary());
+  }
+
+  /**
+   * Tests that leaders are not transferred once they're balanced or while a partition has no leader.
+   */
+  @Test
+  public void testBalancedLeaders() {
+    RaftPartitionGroup group = createGroup(NODE1, NODE1, NODE2, NODE2, NODE3, NODE3);
+    assertNull(group.getBalanceCandidate(NODE1));
+    assertNull(group.getBalanceCandidate(NODE2));
+    assertNull(group.getBalanceCandidate(NODE3));
+
+    group = createGroup(NODE1, NODE1, NODE1, NODE1, NODE2, null);
+    assertNull(group.getBalanceCandidate(NODE3));
+  }
+
+  /**
+   * Creates a partition group in which each node is a member of every partition and partitions are led by the
+   * given leaders.
+   */
+  private RaftPartitionGroup createGroup(NodeId... leaders) {
+    List<RaftPartition> partitions = new ArrayList<>();
+    for (int i = 0; i < leaders.length; i++) {
+      partitions.add(createPartition(i + 1, leaders[i], NODE1, NODE2, NODE3));
+    }
+    return new RaftPartitionGroup("test", partitions, 3);
+  }
+
+  /**
+   * Creates a partition with the given leader and members.
+   */
+  private RaftPartition createPartition(int id, NodeId leader, NodeId... members) {
+    RaftPartition partition = mock(RaftPartition.class);
+    when(partition.id()).thenReturn(PartitionId.from("test", id));
+    when(partition.primary()).thenReturn(leader);
+    when(partition.members()).thenReturn(Arrays.asList(members));
+    return partition;
+  }
+}
@@ -21,6 +21,7 @@ import io.atomix.primitive.session.SessionId;
 import io.atomix.utils.concurrent.Futures;
 
 import java.net.ConnectException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -33,7 +34,7 @@ import java.util.function.Function;
  */
 public class TestRaftClientProtocol extends TestRaftProtocol implements RaftClientProtocol {
   private Function<HeartbeatRequest, CompletableFuture<HeartbeatResponse>> heartbeatHandler;
-  private final Map<Long, Consumer<PublishRequest>> publishListeners = Maps.newConcurrentMap();
+  private final Map<Long, Function<List<PublishRequest>, CompletableFuture<PublishResponse>>> publishListeners = Maps.newConcurrentMap();
 
   public TestRaftClientProtocol(NodeId memberId, Map<NodeId, TestRaftServerProtocol> servers, Map<NodeId, TestRaftClientProtocol> clients) {
     super(servers, clients);
@@ -92,6 +93,11 @@ public class TestRaftClientProtocol extends TestRaftProtocol implements RaftClie
     return getServer(memberId).thenCompose(protocol -> protocol.command(request));
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> commandBatch(NodeId memberId, CommandBatchRequest request) {
+    return getServer(memberId).thenCompose(protocol -> protocol.commandBatch(request));
+  }
+
   @Override
   public CompletableFuture<MetadataResponse> metadata(NodeId memberId, MetadataRequest request) {
     return getServer(memberId).thenCompose(protocol -> protocol.metadata(request));
@@ -107,16 +113,23 @@ public class TestRaftClientProtocol extends TestRaftProtocol implements RaftClie
     });
   }
 
-  void publish(PublishRequest request) {
-    Consumer<PublishRequest> listener = publishListeners.get(request.session());
+  CompletableFuture<PublishResponse> publish(List<PublishRequest> requests) {
+    Function<List<PublishRequest>, CompletableFuture<PublishResponse>> listener = publishListeners.get(requests.get(0).session());
     if (listener != null) {
-      listener.accept(request);
+      return listener.apply(requests);
+    } else {
+      return Futures.exceptionalFuture(new ConnectException());
     }
   }
 
   @Override
   public void registerPublishListener(SessionId sessionId, Consumer<PublishRequest> listener, Executor executor) {
-    publishListeners.put(sessionId.id(), request -> executor.execute(() -> listener.accept(request)));
+    publishListeners.put(sessionId.id(), requests -> CompletableFuture.supplyAsync(() -> {
+      requests.forEach(listener);
+      return PublishResponse.builder()
+          .withStatus(RaftResponse.Status.OK)
+          .build();
+    }, executor));
   }
 
   @Override
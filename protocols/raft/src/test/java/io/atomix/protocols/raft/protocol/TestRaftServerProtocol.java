@@ -21,6 +21,7 @@ import io.atomix.primitive.session.SessionId;
 import io.atomix.utils.concurrent.Futures;
 
 import java.net.ConnectException;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -36,6 +37,7 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
   private Function<KeepAliveRequest, CompletableFuture<KeepAliveResponse>> keepAliveHandler;
   private Function<QueryRequest, CompletableFuture<QueryResponse>> queryHandler;
   private Function<CommandRequest, CompletableFuture<CommandResponse>> commandHandler;
+  private Function<CommandBatchRequest, CompletableFuture<CommandBatchResponse>> commandBatchHandler;
   private Function<MetadataRequest, CompletableFuture<MetadataResponse>> metadataHandler;
   private Function<JoinRequest, CompletableFuture<JoinResponse>> joinHandler;
   private Function<LeaveRequest, CompletableFuture<LeaveResponse>> leaveHandler;
@@ -43,6 +45,7 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
   private Function<ReconfigureRequest, CompletableFuture<ReconfigureResponse>> reconfigureHandler;
   private Function<InstallRequest, CompletableFuture<InstallResponse>> installHandler;
   private Function<TransferRequest, CompletableFuture<TransferResponse>> transferHandler;
+  private Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> readIndexHandler;
   private Function<PollRequest, CompletableFuture<PollResponse>> pollHandler;
   private Function<VoteRequest, CompletableFuture<VoteResponse>> voteHandler;
   private Function<AppendRequest, CompletableFuture<AppendResponse>> appendHandler;
@@ -96,6 +99,11 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
     return getServer(memberId).thenCompose(listener -> listener.command(request));
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> commandBatch(NodeId memberId, CommandBatchRequest request) {
+    return getServer(memberId).thenCompose(listener -> listener.commandBatch(request));
+  }
+
   @Override
   public CompletableFuture<MetadataResponse> metadata(NodeId memberId, MetadataRequest request) {
     return getServer(memberId).thenCompose(listener -> listener.metadata(request));
@@ -131,6 +139,11 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
     return getServer(memberId).thenCompose(listener -> listener.transfer(request));
   }
 
+  @Override
+  public CompletableFuture<ReadIndexResponse> readIndex(NodeId memberId, ReadIndexRequest request) {
+    return getServer(memberId).thenCompose(listener -> listener.readIndex(request));
+  }
+
   @Override
   public CompletableFuture<PollResponse> poll(NodeId memberId, PollRequest request) {
     return getServer(memberId).thenCompose(listener -> listener.poll(request));
@@ -147,8 +160,8 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
   }
 
   @Override
-  public void publish(NodeId memberId, PublishRequest request) {
-    getClient(memberId).thenAccept(protocol -> protocol.publish(request));
+  public CompletableFuture<PublishResponse> publish(NodeId memberId, List<PublishRequest> requests) {
+    return getClient(memberId).thenCompose(protocol -> protocol.publish(requests));
   }
 
   @Override
@@ -246,6 +259,24 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
     this.commandHandler = null;
   }
 
+  CompletableFuture<CommandBatchResponse> commandBatch(CommandBatchRequest request) {
+    if (commandBatchHandler != null) {
+      return commandBatchHandler.apply(request);
+    } else {
+      return Futures.exceptionalFuture(new ConnectException());
+    }
+  }
+
+  @Override
+  public void registerCommandBatchHandler(Function<CommandBatchRequest, CompletableFuture<CommandBatchResponse>> handler) {
+    this.commandBatchHandler = handler;
+  }
+
+  @Override
+  public void unregisterCommandBatchHandler() {
+    this.commandBatchHandler = null;
+  }
+
   CompletableFuture<MetadataResponse> metadata(MetadataRequest request) {
     if (metadataHandler != null) {
       return metadataHandler.apply(request);
@@ -372,6 +403,24 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
     this.transferHandler = null;
   }
 
+  CompletableFuture<ReadIndexResponse> readIndex(ReadIndexRequest request) {
+    if (readIndexHandler != null) {
+      return readIndexHandler.apply(request);
+    } else {
+      return Futures.exceptionalFuture(new ConnectException());
+    }
+  }
+
+  @Override
+  public void registerReadIndexHandler(Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> handler) {
+    this.readIndexHandler = handler;
+  }
+
+  @Override
+  public void unregisterReadIndexHandler() {
+    this.readIndexHandler = null;
+  }
+
   CompletableFuture<PollResponse> poll(PollRequest request) {
     if (pollHandler != null) {
       return pollHandler.apply(request);
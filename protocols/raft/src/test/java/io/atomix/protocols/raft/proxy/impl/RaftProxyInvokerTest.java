@@ -20,6 +20,8 @@ import io.atomix.primitive.operation.PrimitiveOperation;
 import io.atomix.primitive.PrimitiveType;
 import io.atomix.primitive.session.SessionId;
 import io.atomix.protocols.raft.RaftException;
+import io.atomix.protocols.raft.protocol.CommandBatchRequest;
+import io.atomix.protocols.raft.protocol.CommandBatchResponse;
 import io.atomix.protocols.raft.protocol.CommandRequest;
 import io.atomix.protocols.raft.protocol.CommandResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
@@ -29,10 +31,13 @@ import io.atomix.storage.buffer.HeapBytes;
 import io.atomix.utils.concurrent.Scheduled;
 import io.atomix.utils.concurrent.ThreadContext;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -42,6 +47,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -128,6 +135,61 @@ public class RaftProxyInvokerTest {
     assertEquals(state.getResponseIndex(), 10);
   }
 
+  /**
+   * Tests batching commands submitted concurrently.
+   */
+  @Test
+  public void testBatchCommands() throws Throwable {
+    CompletableFuture<CommandBatchResponse> future = new CompletableFuture<>();
+
+    RaftProxyConnection connection = mock(RaftProxyConnection.class);
+    when(connection.commandBatch(any(CommandBatchRequest.class))).thenReturn(future);
+
+    RaftProxyState state = new RaftProxyState("test", SessionId.from(1), UUID.randomUUID().toString(), new TestPrimitiveType(), 1000);
+    RaftProxyManager manager = mock(RaftProxyManager.class);
+    QueueContext threadContext = new QueueContext();
+
+    RaftProxyInvoker submitter = new RaftProxyInvoker(connection, mock(RaftProxyConnection.class), state, new RaftProxySequencer(state), manager, threadContext);
+
+    CompletableFuture<byte[]> result1 = submitter.invoke(new PrimitiveOperation(COMMAND, HeapBytes.EMPTY));
+    CompletableFuture<byte[]> result2 = submitter.invoke(new PrimitiveOperation(COMMAND, HeapBytes.EMPTY));
+    CompletableFuture<byte[]> result3 = submitter.invoke(new PrimitiveOperation(COMMAND, HeapBytes.EMPTY));
+    threadContext.runAll();
+
+    ArgumentCaptor<CommandBatchRequest> captor = ArgumentCaptor.forClass(CommandBatchRequest.class);
+    verify(connection).commandBatch(captor.capture());
+    verify(connection, never()).command(any(CommandRequest.class));
+    assertEquals(3, captor.getValue().commands().size());
+    assertEquals(1, captor.getValue().commands().get(0).sequenceNumber());
+    assertEquals(3, captor.getValue().commands().get(2).sequenceNumber());
+
+    future.complete(CommandBatchResponse.builder()
+        .withStatus(RaftResponse.Status.OK)
+        .withResponses(Arrays.asList(
+            CommandResponse.builder()
+                .withStatus(RaftResponse.Status.OK)
+                .withIndex(10)
+                .withResult("a".getBytes())
+                .build(),
+            CommandResponse.builder()
+                .withStatus(RaftResponse.Status.OK)
+                .withIndex(11)
+                .withResult("b".getBytes())
+                .build(),
+            CommandResponse.builder()
+                .withStatus(RaftResponse.Status.OK)
+                .withIndex(12)
+                .withResult("c".getBytes())
+                .build()))
+        .build());
+
+    assertArrayEquals("a".getBytes(), result1.get());
+    assertArrayEquals("b".getBytes(), result2.get());
+    assertArrayEquals("c".getBytes(), result3.get());
+    assertEquals(state.getCommandResponse(), 3);
+    assertEquals(state.getResponseIndex(), 12);
+  }
+
   /**
    * Tests submitting a query to the cluster.
    */
@@ -318,4 +380,23 @@ public class RaftProxyInvokerTest {
     }
   }
 
+  /**
+   * Test thread context that queues tasks until they're explicitly run.
+   */
+  private static class QueueContext extends TestContext {
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+    }
+
+    void runAll() {
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        task.run();
+      }
+    }
+  }
+
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.roles;
+
+import io.atomix.cluster.NodeId;
+import io.atomix.protocols.raft.impl.RaftContext;
+import io.atomix.protocols.raft.protocol.PollRequest;
+import io.atomix.protocols.raft.protocol.VoteRequest;
+import io.atomix.protocols.raft.storage.log.RaftLogWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Follower role test.
+ */
+public class FollowerRoleTest {
+  private static final NodeId CANDIDATE = NodeId.from("candidate");
+  private static final Duration ELECTION_TIMEOUT = Duration.ofMillis(500);
+
+  private RaftContext raft;
+
+  @Before
+  public void setupContext() {
+    raft = mock(RaftContext.class);
+    when(raft.getName()).thenReturn("test");
+    when(raft.getTerm()).thenReturn(2L);
+    when(raft.getElectionTimeout()).thenReturn(ELECTION_TIMEOUT);
+    when(raft.getLogWriter()).thenReturn(mock(RaftLogWriter.class));
+  }
+
+  /**
+   * Tests that a restarted follower waits an election timeout before granting polls and votes, since its
+   * acknowledgements prior to the restart may still be backing the old leader's read lease.
+   */
+  @Test
+  public void testRestartedFollowerRespectsLeaderLease() throws Exception {
+    FollowerRole role = new FollowerRole(raft);
+    assertFalse(poll(role));
+    assertFalse(vote(role));
+
+    Thread.sleep(ELECTION_TIMEOUT.toMillis() + 100);
+    assertTrue(poll(role));
+  }
+
+  /**
+   * Sends a poll request for the test candidate to the role.
+   */
+  private boolean poll(FollowerRole role) throws Exception {
+    return role.onPoll(PollRequest.builder()
+        .withTerm(2)
+        .withCandidate(CANDIDATE)
+        .withLastLogIndex(0)
+        .withLastLogTerm(0)
+        .build())
+        .get()
+        .accepted();
+  }
+
+  /**
+   * Sends a vote request for the test candidate to the role.
+   */
+  private boolean vote(FollowerRole role) throws Exception {
+    return role.onVote(VoteRequest.builder()
+        .withTerm(2)
+        .withCandidate(CANDIDATE)
+        .withLastLogIndex(0)
+        .withLastLogTerm(0)
+        .build())
+        .get()
+        .voted();
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.roles;
+
+import io.atomix.cluster.NodeId;
+import io.atomix.protocols.raft.cluster.RaftMember;
+import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
+import io.atomix.protocols.raft.impl.RaftContext;
+import io.atomix.protocols.raft.protocol.InstallRequest;
+import io.atomix.protocols.raft.protocol.InstallResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.protocols.raft.storage.snapshot.Snapshot;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
+import io.atomix.storage.StorageLevel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Passive role test.
+ */
+public class PassiveRoleTest {
+  private static final NodeId LEADER = NodeId.from("leader");
+  private static final byte[] DATA = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12};
+
+  private SnapshotStore snapshotStore;
+  private PassiveRole role;
+
+  @Before
+  public void setupRole() {
+    snapshotStore = new SnapshotStore(RaftStorage.builder()
+        .withPrefix("test")
+        .withStorageLevel(StorageLevel.MEMORY)
+        .build());
+    RaftContext raft = mock(RaftContext.class);
+    when(raft.getName()).thenReturn("test");
+    when(raft.getTerm()).thenReturn(2L);
+    when(raft.getLeader()).thenReturn(new DefaultRaftMember(LEADER, RaftMember.Type.ACTIVE, Instant.now()));
+    when(raft.getSnapshotStore()).thenReturn(snapshotStore);
+    role = new PassiveRole(raft);
+  }
+
+  @After
+  public void closeSnapshotStore() {
+    snapshotStore.close();
+  }
+
+  /**
+   * Tests that a snapshot install resumes from the offset expected by the member.
+   */
+  @Test
+  public void testInstallResumesFromNextOffset() throws Exception {
+    InstallResponse response = install(2, 0, 4, false);
+    assertEquals(RaftResponse.Status.OK, response.status());
+    assertEquals(4, response.nextOffset());
+
+    // A chunk beyond the next offset is rejected and the leader is told where to resume.
+    response = install(2, 8, 12, true);
+    assertEquals(RaftResponse.Status.ERROR, response.status());
+    assertEquals(4, response.nextOffset());
+
+    // A resent chunk that overlaps bytes already written only appends the remaining bytes.
+    response = install(2, 2, 8, false);
+    assertEquals(RaftResponse.Status.OK, response.status());
+    assertEquals(8, response.nextOffset());
+
+    response = install(2, 8, 12, true);
+    assertEquals(RaftResponse.Status.OK, response.status());
+    assertEquals(12, response.nextOffset());
+    assertSnapshot(10);
+  }
+
+  /**
+   * Tests that chunks received out of order are resent from the offset expected by the member.
+   */
+  @Test
+  public void testInstallReorderedChunks() throws Exception {
+    // The first chunk of a new snapshot must be at offset 0.
+    InstallResponse response = install(2, 4, 8, false);
+    assertEquals(RaftResponse.Status.ERROR, response.status());
+    assertEquals(0, response.nextOffset());
+
+    assertEquals(4, install(2, 0, 4, false).nextOffset());
+    response = install(2, 8, 12, true);
+    assertEquals(RaftResponse.Status.ERROR, response.status());
+    assertEquals(4, response.nextOffset());
+    assertEquals(8, install(2, 4, 8, false).nextOffset());
+
+    // A chunk that has already been written is acknowledged at the next offset.
+    response = install(2, 4, 8, false);
+    assertEquals(RaftResponse.Status.OK, response.status());
+    assertEquals(8, response.nextOffset());
+
+    assertEquals(12, install(2, 8, 12, true).nextOffset());
+    assertSnapshot(10);
+  }
+
+  /**
+   * Tests that rejected and redundant install requests indicate the offset from which to resume.
+   */
+  @Test
+  public void testInstallResponseOffsets() throws Exception {
+    assertEquals(4, install(2, 0, 4, false).nextOffset());
+
+    // Requests from a prior term are rejected at the pending snapshot's offset.
+    InstallResponse response = install(1, 4, 8, false);
+    assertEquals(RaftResponse.Status.ERROR, response.status());
+    assertEquals(4, response.nextOffset());
+
+    assertEquals(12, install(2, 4, 12, true).nextOffset());
+    assertSnapshot(10);
+
+    // Chunks of a snapshot that already exists are acknowledged without being written.
+    response = install(2, 0, 4, false);
+    assertEquals(RaftResponse.Status.OK, response.status());
+    assertEquals(4, response.nextOffset());
+    assertSnapshot(10);
+  }
+
+  /**
+   * Sends the given range of the test snapshot to the role.
+   */
+  private InstallResponse install(long term, int start, int end, boolean complete) throws Exception {
+    return role.onInstall(InstallRequest.builder()
+        .withTerm(term)
+        .withLeader(LEADER)
+        .withIndex(10)
+        .withOffset(start)
+        .withData(Arrays.copyOfRange(DATA, start, end))
+        .withComplete(complete)
+        .build())
+        .get();
+  }
+
+  /**
+   * Asserts that the test snapshot was installed at the given index.
+   */
+  private void assertSnapshot(long index) {
+    Snapshot snapshot = snapshotStore.getSnapshot(index);
+    assertNotNull(snapshot);
+    try (SnapshotReader reader = snapshot.openReader()) {
+      byte[] data = new byte[DATA.length];
+      reader.read(data);
+      assertArrayEquals(DATA, data);
+    }
+  }
+}
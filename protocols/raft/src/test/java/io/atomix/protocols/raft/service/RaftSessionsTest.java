@@ -23,7 +23,6 @@ import io.atomix.primitive.session.SessionId;
 import io.atomix.primitive.session.SessionListener;
 import io.atomix.protocols.raft.ReadConsistency;
 import io.atomix.protocols.raft.impl.RaftContext;
-import io.atomix.protocols.raft.impl.RaftServiceManager;
 import io.atomix.protocols.raft.protocol.RaftServerProtocol;
 import io.atomix.protocols.raft.proxy.impl.TestPrimitiveType;
 import io.atomix.protocols.raft.session.RaftSession;
@@ -82,12 +81,10 @@ public class RaftSessionsTest {
     when(context.serviceType()).thenReturn(new TestPrimitiveType());
     when(context.serviceName()).thenReturn("test");
     when(context.serviceId()).thenReturn(PrimitiveId.from(1));
+    when(context.executor()).thenReturn(mock(ThreadContext.class));
 
     RaftContext server = mock(RaftContext.class);
     when(server.getProtocol()).thenReturn(mock(RaftServerProtocol.class));
-    RaftServiceManager manager = mock(RaftServiceManager.class);
-    when(manager.executor()).thenReturn(mock(ThreadContext.class));
-    when(server.getServiceManager()).thenReturn(manager);
 
     return new RaftSession(
         SessionId.from(sessionId),
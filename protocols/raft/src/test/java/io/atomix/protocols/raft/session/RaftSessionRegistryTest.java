@@ -20,7 +20,6 @@ import io.atomix.primitive.PrimitiveId;
 import io.atomix.primitive.session.SessionId;
 import io.atomix.protocols.raft.ReadConsistency;
 import io.atomix.protocols.raft.impl.RaftContext;
-import io.atomix.protocols.raft.impl.RaftServiceManager;
 import io.atomix.protocols.raft.protocol.RaftServerProtocol;
 import io.atomix.protocols.raft.proxy.impl.TestPrimitiveType;
 import io.atomix.protocols.raft.service.RaftServiceContext;
@@ -28,6 +27,11 @@ import io.atomix.utils.concurrent.ThreadContext;
 import io.atomix.utils.concurrent.ThreadContextFactory;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -52,17 +56,68 @@ public class RaftSessionRegistryTest {
     assertNull(sessionManager.getSession(1));
   }
 
+  @Test
+  public void testExpireSessions() throws Exception {
+    RaftSessionRegistry sessionManager = new RaftSessionRegistry();
+    sessionManager.addSession(createSession(1, 1000));
+    sessionManager.addSession(createSession(2, 2000));
+    sessionManager.addSession(createSession(3, 2000));
+    sessionManager.getSession(1).setLastUpdated(4000);
+
+    List<Long> expired = new ArrayList<>();
+    sessionManager.expireSessions(7001, session -> {
+      expired.add(session.sessionId().id());
+      sessionManager.removeSession(session.sessionId());
+    }, session -> {
+    });
+    assertEquals(Arrays.asList(2L, 3L), expired);
+    assertNotNull(sessionManager.getSession(1));
+
+    expired.clear();
+    sessionManager.expireSessions(9000, session -> expired.add(session.sessionId().id()), session -> {
+    });
+    assertEquals(Collections.emptyList(), expired);
+    sessionManager.expireSessions(9001, session -> expired.add(session.sessionId().id()), session -> {
+    });
+    assertEquals(Collections.singletonList(1L), expired);
+  }
+
+  @Test
+  public void testExpireRestoredSessions() throws Exception {
+    // A replayed registry queues sessions by the time at which they were opened.
+    RaftSessionRegistry replayed = new RaftSessionRegistry();
+    replayed.addSession(createSession(1, 100));
+    replayed.addSession(createSession(2, 200));
+    replayed.getSession(1).setLastUpdated(1000);
+
+    // A registry restored from a snapshot queues sessions by the time at which they were last updated.
+    RaftSessionRegistry restored = new RaftSessionRegistry();
+    restored.addSession(createSession(2, 200));
+    restored.addSession(createSession(1, 1000));
+
+    List<Long> replayedExpired = new ArrayList<>();
+    replayed.expireSessions(7000, session -> replayedExpired.add(session.sessionId().id()), session -> {
+    });
+    List<Long> restoredExpired = new ArrayList<>();
+    restored.expireSessions(7000, session -> restoredExpired.add(session.sessionId().id()), session -> {
+    });
+    assertEquals(Arrays.asList(1L, 2L), replayedExpired);
+    assertEquals(replayedExpired, restoredExpired);
+  }
+
   private RaftSession createSession(long sessionId) {
+    return createSession(sessionId, System.currentTimeMillis());
+  }
+
+  private RaftSession createSession(long sessionId, long timestamp) {
     RaftServiceContext context = mock(RaftServiceContext.class);
     when(context.serviceType()).thenReturn(new TestPrimitiveType());
     when(context.serviceName()).thenReturn("test");
     when(context.serviceId()).thenReturn(PrimitiveId.from(1));
+    when(context.executor()).thenReturn(mock(ThreadContext.class));
 
     RaftContext server = mock(RaftContext.class);
     when(server.getProtocol()).thenReturn(mock(RaftServerProtocol.class));
-    RaftServiceManager manager = mock(RaftServiceManager.class);
-    when(manager.executor()).thenReturn(mock(ThreadContext.class));
-    when(server.getServiceManager()).thenReturn(manager);
 
     return new RaftSession(
         SessionId.from(sessionId),
@@ -72,7 +127,7 @@ public class RaftSessionRegistryTest {
         ReadConsistency.LINEARIZABLE,
         100,
         5000,
-        System.currentTimeMillis(),
+        timestamp,
         context,
         server,
         mock(ThreadContextFactory.class));
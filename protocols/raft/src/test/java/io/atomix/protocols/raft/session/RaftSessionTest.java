@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.session;
+
+import io.atomix.cluster.NodeId;
+import io.atomix.primitive.PrimitiveId;
+import io.atomix.primitive.event.EventType;
+import io.atomix.primitive.operation.OperationType;
+import io.atomix.primitive.session.SessionId;
+import io.atomix.protocols.raft.ReadConsistency;
+import io.atomix.protocols.raft.impl.RaftContext;
+import io.atomix.protocols.raft.protocol.PublishRequest;
+import io.atomix.protocols.raft.protocol.PublishResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.RaftServerProtocol;
+import io.atomix.protocols.raft.proxy.impl.TestPrimitiveType;
+import io.atomix.protocols.raft.service.RaftServiceContext;
+import io.atomix.utils.concurrent.ThreadContext;
+import io.atomix.utils.concurrent.ThreadContextFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Raft session test.
+ */
+public class RaftSessionTest {
+  private static final EventType CHANGE = EventType.from("change");
+  private static final EventType OTHER = EventType.from("other");
+
+  private final AtomicLong index = new AtomicLong();
+  private final List<List<PublishRequest>> batches = new ArrayList<>();
+  private final List<CompletableFuture<PublishResponse>> responses = new ArrayList<>();
+  private RaftSession session;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setupSession() {
+    ThreadContext threadContext = mock(ThreadContext.class);
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArguments()[0]).run();
+      return null;
+    }).when(threadContext).execute(any(Runnable.class));
+    ThreadContextFactory threadContextFactory = mock(ThreadContextFactory.class);
+    when(threadContextFactory.createContext()).thenReturn(threadContext);
+
+    RaftServerProtocol protocol = mock(RaftServerProtocol.class);
+    when(protocol.publish(any(NodeId.class), anyListOf(PublishRequest.class))).thenAnswer(invocation -> {
+      batches.add((List<PublishRequest>) invocation.getArguments()[1]);
+      CompletableFuture<PublishResponse> future = new CompletableFuture<>();
+      responses.add(future);
+      return future;
+    });
+
+    RaftServiceContext context = mock(RaftServiceContext.class);
+    when(context.serviceType()).thenReturn(new TestPrimitiveType());
+    when(context.serviceName()).thenReturn("test");
+    when(context.serviceId()).thenReturn(PrimitiveId.from(1));
+    when(context.currentOperation()).thenReturn(OperationType.COMMAND);
+    when(context.currentIndex()).thenAnswer(invocation -> index.get());
+    when(context.executor()).thenReturn(threadContext);
+
+    RaftContext server = mock(RaftContext.class);
+    when(server.getProtocol()).thenReturn(protocol);
+    when(server.isLeader()).thenReturn(true);
+
+    session = new RaftSession(
+        SessionId.from(1),
+        NodeId.from("1"),
+        "test",
+        new TestPrimitiveType(),
+        ReadConsistency.LINEARIZABLE,
+        100,
+        5000,
+        System.currentTimeMillis(),
+        context,
+        server,
+        threadContextFactory);
+    session.open();
+  }
+
+  /**
+   * Tests that events are coalesced into batches once the client runs out of credits.
+   */
+  @Test
+  public void testBatchEvents() throws Exception {
+    for (long i = 2; i <= 3; i++) {
+      index.set(i);
+      session.publish(CHANGE);
+      session.commit(i);
+    }
+    assertEquals(2, batches.size());
+
+    for (long i = 4; i <= 10; i++) {
+      index.set(i);
+      session.publish(CHANGE);
+      session.commit(i);
+    }
+    assertEquals(2, batches.size());
+
+    complete(0);
+    assertEquals(3, batches.size());
+    List<PublishRequest> batch = batches.get(2);
+    assertEquals(7, batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      assertEquals(i + 4, batch.get(i).eventIndex());
+      assertEquals(i + 3, batch.get(i).previousIndex());
+    }
+
+    complete(1);
+    complete(2);
+    assertEquals(3, batches.size());
+  }
+
+  /**
+   * Tests that unsent events published with {@code publishLatest} are conflated.
+   */
+  @Test
+  public void testConflateEvents() throws Exception {
+    for (long i = 2; i <= 3; i++) {
+      index.set(i);
+      session.publishLatest(CHANGE);
+      session.commit(i);
+    }
+
+    index.set(4);
+    session.publishLatest(CHANGE);
+    session.commit(4);
+
+    index.set(5);
+    session.publish(OTHER);
+    session.publishLatest(CHANGE);
+    session.publishLatest(CHANGE);
+    session.commit(5);
+
+    complete(0);
+    List<PublishRequest> batch = batches.get(2);
+    assertEquals(2, batch.size());
+    assertEquals(4, batch.get(0).eventIndex());
+    assertTrue(batch.get(0).events().isEmpty());
+    assertEquals(5, batch.get(1).eventIndex());
+    assertEquals(2, batch.get(1).events().size());
+    assertEquals(OTHER.id(), batch.get(1).events().get(0).type().id());
+    assertEquals(CHANGE.id(), batch.get(1).events().get(1).type().id());
+
+    // Events that had already been sent when conflated events were published must be resent unchanged.
+    session.resendEvents(1);
+    complete(1);
+    assertEquals(4, batches.size());
+    batch = batches.get(3);
+    assertEquals(4, batch.size());
+    assertEquals(1, batch.get(0).events().size());
+    assertEquals(1, batch.get(1).events().size());
+    assertTrue(batch.get(2).events().isEmpty());
+  }
+
+  private void complete(int batch) {
+    responses.get(batch).complete(PublishResponse.builder()
+        .withStatus(RaftResponse.Status.OK)
+        .build());
+  }
+}
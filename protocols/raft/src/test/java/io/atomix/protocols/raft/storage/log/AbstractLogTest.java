@@ -46,9 +46,11 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -86,6 +88,10 @@ public abstract class AbstractLogTest {
   protected abstract StorageLevel storageLevel();
 
   protected RaftLog createLog() {
+    return createLog(false);
+  }
+
+  protected RaftLog createLog(boolean flushOnCommit) {
     return RaftLog.builder()
         .withName("test")
         .withDirectory(PATH.toFile())
@@ -94,6 +100,7 @@ public abstract class AbstractLogTest {
         .withMaxEntriesPerSegment(MAX_ENTRIES_PER_SEGMENT)
         .withMaxSegmentSize(MAX_SEGMENT_SIZE)
         .withIndexDensity(.2)
+        .withFlushOnCommit(flushOnCommit)
         .build();
   }
 
@@ -214,6 +221,7 @@ public abstract class AbstractLogTest {
     assertEquals(reader.getCurrentEntry(), closeSession);
     assertEquals(reader.getCurrentIndex(), 2);
     assertFalse(reader.hasNext());
+    log.close();
   }
 
   @Test
@@ -241,6 +249,41 @@ public abstract class AbstractLogTest {
 
     assertTrue(reader.hasNext());
     assertEquals(1, reader.next().index());
+    log.close();
+  }
+
+  @Test
+  public void testFlushDurableIndex() throws Exception {
+    RaftLog log = createLog(true);
+    RaftLogWriter writer = log.writer();
+
+    for (int i = 0; i < MAX_ENTRIES_PER_SEGMENT * 2 + 5; i++) {
+      writer.append(new TestEntry(1, 1));
+    }
+    assertEquals(0, writer.getDurableIndex());
+
+    assertEquals(MAX_ENTRIES_PER_SEGMENT * 2 + 5, writer.flushAsync().join().longValue());
+    assertEquals(MAX_ENTRIES_PER_SEGMENT * 2 + 5, writer.getDurableIndex());
+
+    // Truncating the log lowers the durable index.
+    writer.truncate(MAX_ENTRIES_PER_SEGMENT);
+    assertEquals(MAX_ENTRIES_PER_SEGMENT, writer.getDurableIndex());
+    writer.append(new TestEntry(1, 1));
+    assertEquals(MAX_ENTRIES_PER_SEGMENT, writer.getDurableIndex());
+    writer.flush();
+    assertEquals(MAX_ENTRIES_PER_SEGMENT + 1, writer.getDurableIndex());
+
+    // A flush that was in flight when the log was truncated does not advance the durable index.
+    writer.append(new TestEntry(1, 1));
+    writer.append(new TestEntry(1, 1));
+    long epoch = writer.getFlushEpoch();
+    CompletableFuture<Long> future = writer.flushAsync();
+    writer.truncate(MAX_ENTRIES_PER_SEGMENT + 1);
+    assertNotEquals(epoch, writer.getFlushEpoch());
+    future.join();
+    writer.append(new TestEntry(1, 1));
+    assertEquals(MAX_ENTRIES_PER_SEGMENT + 1, writer.getDurableIndex());
+    log.close();
   }
 
   @Test
@@ -280,6 +323,7 @@ public abstract class AbstractLogTest {
       assertEquals(i, entry.index());
       assertEquals(i + 2, entry.entry().term());
 
+      log.close();
       cleanupStorage();
     }
   }
@@ -325,6 +369,7 @@ public abstract class AbstractLogTest {
       assertEquals(1, entry.entry().term());
       assertEquals(32, entry.entry().bytes().length);
     }
+    log.close();
   }
 
   @Test
@@ -350,6 +395,7 @@ public abstract class AbstractLogTest {
       assertEquals(1, entry.entry().term());
       assertEquals(32, entry.entry().bytes().length);
     }
+    log.close();
   }
 
   @Test
@@ -391,6 +437,7 @@ public abstract class AbstractLogTest {
     assertTrue(committedReader.hasNext());
     assertEquals(MAX_ENTRIES_PER_SEGMENT * 5 + 1, committedReader.getNextIndex());
     assertEquals(MAX_ENTRIES_PER_SEGMENT * 5 + 1, committedReader.next().index());
+    log.close();
   }
 
   @Before
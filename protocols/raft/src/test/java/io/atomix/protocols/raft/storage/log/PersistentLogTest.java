@@ -61,5 +61,6 @@ public abstract class PersistentLogTest extends AbstractLogTest {
     assertEquals(MAX_ENTRIES_PER_SEGMENT + 1, reader.getNextIndex());
     assertEquals(reader.getFirstIndex(), reader.getNextIndex());
     assertEquals(MAX_ENTRIES_PER_SEGMENT + 1, reader.next().index());
+    log.close();
   }
 }
@@ -72,6 +72,7 @@ public abstract class AbstractSnapshotStoreTest {
       assertEquals(reader.readLong(), 11);
       assertEquals(reader.readLong(), 12);
     }
+    store.close();
   }
 
 }
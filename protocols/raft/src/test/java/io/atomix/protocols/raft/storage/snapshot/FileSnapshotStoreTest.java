@@ -87,12 +87,13 @@ public class FileSnapshotStoreTest extends AbstractSnapshotStoreTest {
   public void testPersistLoadSnapshot() {
     SnapshotStore store = createSnapshotStore();
 
-    Snapshot snapshot = store.newTemporarySnapshot(2, new WallClockTimestamp());
-    try (SnapshotWriter writer = snapshot.openWriter()) {
+    Snapshot temporarySnapshot = store.newTemporarySnapshot(2, new WallClockTimestamp());
+    try (SnapshotWriter writer = temporarySnapshot.openWriter()) {
       writer.writeLong(10);
     }
 
-    snapshot = snapshot.persist();
+    Snapshot snapshot = temporarySnapshot.persist();
+    temporarySnapshot.close();
 
     assertNull(store.getSnapshot(2));
 
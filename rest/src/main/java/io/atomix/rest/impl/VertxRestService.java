@@ -21,6 +21,7 @@ import io.atomix.core.Atomix;
 import io.atomix.core.PrimitivesService;
 import io.atomix.cluster.messaging.ClusterEventingService;
 import io.atomix.messaging.Endpoint;
+import io.atomix.primitive.partition.PartitionService;
 import io.atomix.rest.ManagedRestService;
 import io.atomix.rest.RestService;
 import io.atomix.rest.resources.ClusterResource;
@@ -74,6 +75,8 @@ public class VertxRestService implements ManagedRestService {
         .put(ClusterMessagingService.class, atomix.messagingService());
     deployment.getDispatcher().getDefaultContextObjects()
         .put(ClusterEventingService.class, atomix.eventingService());
+    deployment.getDispatcher().getDefaultContextObjects()
+        .put(PartitionService.class, atomix.partitionService());
     deployment.getDispatcher().getDefaultContextObjects()
         .put(PrimitivesService.class, atomix.primitivesService());
     deployment.getDispatcher().getDefaultContextObjects()
@@ -15,9 +15,23 @@
  */
 package io.atomix.rest.resources;
 
+import io.atomix.primitive.partition.Partition;
+import io.atomix.primitive.partition.PartitionGroup;
+import io.atomix.primitive.partition.PartitionService;
+import io.atomix.protocols.raft.partition.RaftPartition;
+import io.atomix.storage.journal.JournalStatistics;
+import io.atomix.storage.statistics.Histogram;
+import io.atomix.storage.statistics.StorageStatistics;
+
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
 
 /**
  * Status resource.
@@ -28,4 +42,145 @@ public class StatusResource extends AbstractRestResource {
   public Response getStatus() {
     return Response.ok().build();
   }
+
+  @GET
+  @Path("/storage")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getStorageStatus(@Context PartitionService partitionService) {
+    List<PartitionStorageInfo> partitions = new ArrayList<>();
+    for (PartitionGroup group : partitionService.getPartitionGroups()) {
+      for (Partition partition : group.getPartitions()) {
+        if (partition instanceof RaftPartition) {
+          StorageStatistics statistics = ((RaftPartition) partition).getStorageStatistics();
+          if (statistics != null) {
+            partitions.add(new PartitionStorageInfo(partition, statistics));
+          }
+        }
+      }
+    }
+    return Response.ok(partitions).build();
+  }
+
+  /**
+   * Partition storage information.
+   */
+  static class PartitionStorageInfo {
+    private final Partition partition;
+    private final StorageStatistics statistics;
+
+    PartitionStorageInfo(Partition partition, StorageStatistics statistics) {
+      this.partition = partition;
+      this.statistics = statistics;
+    }
+
+    public String getGroup() {
+      return partition.id().group();
+    }
+
+    public int getPartition() {
+      return partition.id().id();
+    }
+
+    public long getUsableSpace() {
+      return statistics.getUsableSpace();
+    }
+
+    public long getTotalSpace() {
+      return statistics.getTotalSpace();
+    }
+
+    public JournalInfo getJournal() {
+      return new JournalInfo(statistics.getJournalStatistics());
+    }
+
+    public HistogramInfo getSnapshotLatency() {
+      return new HistogramInfo(statistics.getSnapshotLatency());
+    }
+
+    public HistogramInfo getSnapshotInstallLatency() {
+      return new HistogramInfo(statistics.getSnapshotInstallLatency());
+    }
+  }
+
+  /**
+   * Journal information.
+   */
+  static class JournalInfo {
+    private final JournalStatistics statistics;
+
+    JournalInfo(JournalStatistics statistics) {
+      this.statistics = statistics;
+    }
+
+    public long getAppends() {
+      return statistics.getAppends();
+    }
+
+    public double getAppendRate() {
+      return statistics.getAppendRate();
+    }
+
+    public long getAppendedBytes() {
+      return statistics.getAppendedBytes();
+    }
+
+    public double getAppendByteRate() {
+      return statistics.getAppendByteRate();
+    }
+
+    public HistogramInfo getFlushLatency() {
+      return new HistogramInfo(statistics.getFlushLatency());
+    }
+
+    public double getCacheHitRate() {
+      return statistics.getCacheHitRate();
+    }
+
+    public HistogramInfo getIndexLookupLatency() {
+      return new HistogramInfo(statistics.getIndexLookupLatency());
+    }
+
+    public double getIndexScanLength() {
+      return statistics.getIndexScanLength();
+    }
+
+    public long getCompactedBytes() {
+      return statistics.getCompactedBytes();
+    }
+
+    public SortedMap<Long, Long> getSegments() {
+      return statistics.getSegmentSizes();
+    }
+  }
+
+  /**
+   * Histogram information.
+   */
+  static class HistogramInfo {
+    private final Histogram histogram;
+
+    HistogramInfo(Histogram histogram) {
+      this.histogram = histogram;
+    }
+
+    public long getCount() {
+      return histogram.getCount();
+    }
+
+    public double getMean() {
+      return histogram.getMean();
+    }
+
+    public long getP50() {
+      return histogram.getPercentile(.5);
+    }
+
+    public long getP99() {
+      return histogram.getPercentile(.99);
+    }
+
+    public long getMax() {
+      return histogram.getMax();
+    }
+  }
 }
@@ -45,4 +45,13 @@ public class StorageException extends RuntimeException {
       super(message);
     }
   }
+
+  /**
+   * Exception thrown when an entry's checksum does not match its bytes.
+   */
+  public static class InvalidChecksum extends StorageException {
+    public InvalidChecksum(String message) {
+      super(message);
+    }
+  }
 }
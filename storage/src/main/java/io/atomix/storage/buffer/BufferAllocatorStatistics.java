@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Buffer allocator statistics.
+ */
+public class BufferAllocatorStatistics {
+  final LongAdder allocations = new LongAdder();
+  final LongAdder cacheHits = new LongAdder();
+  final LongAdder poolHits = new LongAdder();
+  final LongAdder slabAllocations = new LongAdder();
+  final LongAdder unpooledAllocations = new LongAdder();
+  final LongAdder releases = new LongAdder();
+  final LongAdder leaks = new LongAdder();
+  final LongAdder cachedBytes = new LongAdder();
+
+  /**
+   * Returns the total number of buffers allocated.
+   *
+   * @return the total number of buffers allocated
+   */
+  public long getAllocations() {
+    return allocations.sum();
+  }
+
+  /**
+   * Returns the number of allocations served from a thread-local cache.
+   *
+   * @return the number of allocations served from a thread-local cache
+   */
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * Returns the number of allocations served from a shared size class pool.
+   *
+   * @return the number of allocations served from a shared size class pool
+   */
+  public long getPoolHits() {
+    return poolHits.sum();
+  }
+
+  /**
+   * Returns the number of allocations that required new slab memory to be allocated.
+   *
+   * @return the number of allocations that required new slab memory
+   */
+  public long getSlabAllocations() {
+    return slabAllocations.sum();
+  }
+
+  /**
+   * Returns the number of allocations that were too large to be pooled.
+   *
+   * @return the number of unpooled allocations
+   */
+  public long getUnpooledAllocations() {
+    return unpooledAllocations.sum();
+  }
+
+  /**
+   * Returns the number of pooled buffers released back to the allocator.
+   *
+   * @return the number of pooled buffers released back to the allocator
+   */
+  public long getReleases() {
+    return releases.sum();
+  }
+
+  /**
+   * Returns the number of pooled buffers that were garbage collected without being released.
+   * <p>
+   * Leaks are only counted when leak detection is enabled.
+   *
+   * @return the number of leaked buffers
+   */
+  public long getLeaks() {
+    return leaks.sum();
+  }
+
+  /**
+   * Returns the number of pooled buffers that are currently allocated.
+   *
+   * @return the number of pooled buffers that are currently allocated
+   */
+  public long getActiveBuffers() {
+    return getAllocations() - getUnpooledAllocations() - getReleases() - getLeaks();
+  }
+
+  /**
+   * Returns the number of bytes retained in thread-local caches and size class pools.
+   *
+   * @return the number of bytes retained by the allocator
+   */
+  public long getCachedBytes() {
+    return cachedBytes.sum();
+  }
+
+  /**
+   * Returns the ratio of pooled allocations that were served without allocating new slab memory.
+   *
+   * @return the allocator hit rate
+   */
+  public double getHitRate() {
+    long pooled = getAllocations() - getUnpooledAllocations();
+    return pooled == 0 ? 0 : (getCacheHits() + getPoolHits()) / (double) pooled;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("allocations", getAllocations())
+        .add("cacheHits", getCacheHits())
+        .add("poolHits", getPoolHits())
+        .add("slabAllocations", getSlabAllocations())
+        .add("unpooledAllocations", getUnpooledAllocations())
+        .add("releases", getReleases())
+        .add("leaks", getLeaks())
+        .add("cachedBytes", getCachedBytes())
+        .toString();
+  }
+}
@@ -15,6 +15,8 @@
  */
 package io.atomix.storage.buffer;
 
+import io.atomix.utils.memory.ByteBuffers;
+
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
@@ -24,6 +26,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Byte buffer bytes.
  */
 public abstract class ByteBufferBytes extends AbstractBytes {
+  private static final int CHUNK_SIZE = 1024 * 8;
   protected ByteBuffer buffer;
 
   protected ByteBufferBytes(ByteBuffer buffer) {
@@ -71,7 +74,7 @@ public abstract class ByteBufferBytes extends AbstractBytes {
 
   @Override
   public Bytes zero() {
-    return this;
+    return zero(0);
   }
 
   @Override
@@ -98,48 +101,60 @@ public abstract class ByteBufferBytes extends AbstractBytes {
 
   @Override
   public Bytes zero(int offset) {
-    for (int i = index(offset); i < buffer.capacity(); i++) {
-      buffer.put(i, (byte) 0);
-    }
+    ByteBuffers.fill(buffer, index(offset), buffer.capacity() - index(offset), (byte) 0);
     return this;
   }
 
   @Override
   public Bytes zero(int offset, int length) {
-    for (int i = index(offset); i < offset + length; i++) {
-      buffer.put(i, (byte) 0);
-    }
+    ByteBuffers.fill(buffer, index(offset), length, (byte) 0);
     return this;
   }
 
   @Override
   public Bytes read(int position, byte[] bytes, int offset, int length) {
-    for (int i = 0; i < length; i++) {
-      bytes[index(offset) + i] = (byte) readByte(position + i);
-    }
+    ByteBuffers.copy(buffer, index(position), bytes, offset, length);
     return this;
   }
 
   @Override
   public Bytes read(int position, Bytes bytes, int offset, int length) {
-    for (int i = 0; i < length; i++) {
-      bytes.writeByte(offset + i, readByte(position + i));
+    if (bytes instanceof WrappedBytes) {
+      bytes = ((WrappedBytes) bytes).root();
+    }
+    if (bytes instanceof ByteBufferBytes) {
+      ByteBuffers.copy(buffer, index(position), ((ByteBufferBytes) bytes).buffer, offset, length);
+    } else {
+      byte[] chunk = new byte[Math.min(length, CHUNK_SIZE)];
+      for (int i = 0; i < length; i += chunk.length) {
+        int count = Math.min(length - i, chunk.length);
+        ByteBuffers.copy(buffer, index(position + i), chunk, 0, count);
+        bytes.write(offset + i, chunk, 0, count);
+      }
     }
     return this;
   }
 
   @Override
   public Bytes write(int position, byte[] bytes, int offset, int length) {
-    for (int i = 0; i < length; i++) {
-      buffer.put((int) position + i, (byte) bytes[index(offset) + i]);
-    }
+    ByteBuffers.copy(bytes, offset, buffer, index(position), length);
     return this;
   }
 
   @Override
   public Bytes write(int position, Bytes bytes, int offset, int length) {
-    for (int i = 0; i < length; i++) {
-      buffer.put((int) position + i, (byte) bytes.readByte(offset + i));
+    if (bytes instanceof WrappedBytes) {
+      bytes = ((WrappedBytes) bytes).root();
+    }
+    if (bytes instanceof ByteBufferBytes) {
+      ByteBuffers.copy(((ByteBufferBytes) bytes).buffer, offset, buffer, index(position), length);
+    } else {
+      byte[] chunk = new byte[Math.min(length, CHUNK_SIZE)];
+      for (int i = 0; i < length; i += chunk.length) {
+        int count = Math.min(length - i, chunk.length);
+        bytes.read(offset + i, chunk, 0, count);
+        ByteBuffers.copy(chunk, 0, buffer, index(position + i), count);
+      }
     }
     return this;
   }
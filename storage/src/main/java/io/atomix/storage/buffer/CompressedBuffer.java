@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import java.io.File;
+import java.nio.ReadOnlyBufferException;
+
+/**
+ * Compressed buffer.
+ * <p>
+ * Compressed buffers wrap {@link CompressedBytes} to provide read-only access to the uncompressed contents of a
+ * block-compressed file. Files are written with {@link #compress(File, int, File)} and opened with
+ * {@link #open(File)}.
+ */
+public class CompressedBuffer extends AbstractBuffer {
+
+  /**
+   * Returns a boolean indicating whether the given file is a compressed file.
+   *
+   * @param file The file to check.
+   * @return Indicates whether the file is a compressed file.
+   */
+  public static boolean isCompressed(File file) {
+    return CompressedBytes.isCompressed(file);
+  }
+
+  /**
+   * Compresses the first {@code length} bytes of the given file into the target file.
+   *
+   * @param source The file to compress.
+   * @param length The number of bytes to compress.
+   * @param target The file to which to write the compressed bytes.
+   * @see CompressedBytes#compress(File, int, File)
+   */
+  public static void compress(File source, int length, File target) {
+    CompressedBytes.compress(source, length, target);
+  }
+
+  /**
+   * Opens a compressed buffer.
+   * <p>
+   * The capacity of the buffer is the uncompressed length of the file.
+   *
+   * @param file The compressed file to open.
+   * @return The compressed buffer.
+   * @throws IllegalArgumentException if the file is not a compressed file
+   */
+  public static CompressedBuffer open(File file) {
+    CompressedBytes bytes = CompressedBytes.open(file);
+    return new CompressedBuffer(bytes, 0, bytes.size(), bytes.size());
+  }
+
+  private final CompressedBytes bytes;
+
+  private CompressedBuffer(CompressedBytes bytes, int offset, int initialCapacity, int maxCapacity) {
+    super(bytes, offset, initialCapacity, maxCapacity, null);
+    this.bytes = bytes;
+  }
+
+  /**
+   * Returns the underlying file object.
+   *
+   * @return The underlying file.
+   */
+  public File file() {
+    return bytes.file();
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return true;
+  }
+
+  @Override
+  protected void compact(int from, int to, int length) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public CompressedBuffer duplicate() {
+    return new CompressedBuffer(CompressedBytes.open(bytes.file()), offset(), capacity(), maxCapacity());
+  }
+
+  /**
+   * Atomically moves the underlying file to the given file.
+   *
+   * @param target The file to which to move the underlying file.
+   */
+  public void move(File target) {
+    bytes.move(target);
+  }
+
+  /**
+   * Writes the uncompressed contents of the buffer to the given file.
+   *
+   * @param target The file to which to write the uncompressed contents of the buffer.
+   */
+  public void decompress(File target) {
+    bytes.decompress(target);
+  }
+
+  /**
+   * Deletes the underlying file.
+   */
+  public void delete() {
+    bytes.delete();
+  }
+
+}
@@ -0,0 +1,529 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed bytes.
+ * <p>
+ * Compressed bytes provide read-only random access to a file written by {@link #compress(File, int, File)}. The
+ * contents of the file are split into fixed size blocks that are compressed independently, and the position of each
+ * block is stored in a block index at the end of the file, so reading any offset requires decompressing only the
+ * block that contains it. Decompressed blocks are kept in a small cache so sequential reads decompress each block
+ * only once.
+ * <p>
+ * The format of a compressed file is as follows:
+ * <ul>
+ * <li>32-bit magic number</li>
+ * <li>32-bit uncompressed block size</li>
+ * <li>32-bit uncompressed length</li>
+ * <li>32-bit block count</li>
+ * <li>64-bit position of the block index</li>
+ * <li>n-bit compressed blocks</li>
+ * <li>block index: 64-bit position and 32-bit compressed length of each block</li>
+ * </ul>
+ * Compressed bytes are thread-safe.
+ */
+public class CompressedBytes extends AbstractBytes {
+  static final int MAGIC = 0x41435a31;
+  static final int DEFAULT_BLOCK_SIZE = 1024 * 64;
+  private static final int HEADER_SIZE = 24;
+  private static final int INDEX_ENTRY_SIZE = 12;
+  private static final int CACHE_BLOCKS = 4;
+
+  /**
+   * Returns a boolean indicating whether the given file is a compressed file.
+   *
+   * @param file The file to check.
+   * @return Indicates whether the file was written by {@link #compress(File, int, File)}.
+   */
+  public static boolean isCompressed(File file) {
+    if (file.length() < HEADER_SIZE) {
+      return false;
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          return false;
+        }
+      }
+      return header.getInt(0) == MAGIC;
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Compresses the first {@code length} bytes of the given file into the target file.
+   * <p>
+   * If the source file is shorter than {@code length}, the remaining bytes are compressed as zeros. The target file
+   * is forced to disk before this method returns.
+   *
+   * @param source The file to compress.
+   * @param length The number of bytes to compress.
+   * @param target The file to which to write the compressed bytes.
+   */
+  public static void compress(File source, int length, File target) {
+    compress(source, length, target, DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Compresses the first {@code length} bytes of the given file into the target file using the given block size.
+   *
+   * @param source    The file to compress.
+   * @param length    The number of bytes to compress.
+   * @param target    The file to which to write the compressed bytes.
+   * @param blockSize The uncompressed size of each block.
+   */
+  public static void compress(File source, int length, File target, int blockSize) {
+    if (length < 0)
+      throw new IllegalArgumentException("length must be positive");
+    if (blockSize <= 0)
+      throw new IllegalArgumentException("blockSize must be positive");
+
+    int blockCount = (length + blockSize - 1) / blockSize;
+    ByteBuffer index = ByteBuffer.allocate(blockCount * INDEX_ENTRY_SIZE);
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (FileChannel input = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+         FileChannel output = FileChannel.open(target.toPath(),
+             StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      byte[] block = new byte[blockSize];
+      byte[] compressed = new byte[blockSize + blockSize / 16 + 64];
+      long position = HEADER_SIZE;
+      for (int i = 0; i < blockCount; i++) {
+        int blockLength = Math.min(blockSize, length - i * blockSize);
+        readFully(input, (long) i * blockSize, block, blockLength);
+
+        deflater.reset();
+        deflater.setInput(block, 0, blockLength);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+          if (compressedLength == compressed.length) {
+            compressed = Arrays.copyOf(compressed, compressed.length * 2);
+          }
+          compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        writeFully(output, position, ByteBuffer.wrap(compressed, 0, compressedLength));
+        index.putLong(position).putInt(compressedLength);
+        position += compressedLength;
+      }
+
+      index.flip();
+      writeFully(output, position, index);
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+          .putInt(MAGIC)
+          .putInt(blockSize)
+          .putInt(length)
+          .putInt(blockCount)
+          .putLong(position);
+      header.flip();
+      writeFully(output, 0, header);
+      output.force(true);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Opens a compressed file.
+   *
+   * @param file The compressed file to open.
+   * @return The compressed bytes.
+   * @throws IllegalArgumentException if the file is not a compressed file
+   */
+  public static CompressedBytes open(File file) {
+    return new CompressedBytes(file);
+  }
+
+  /**
+   * Reads bytes from the given channel, filling bytes beyond the end of the channel with zeros.
+   */
+  private static void readFully(FileChannel channel, long position, byte[] bytes, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        break;
+      }
+    }
+    Arrays.fill(bytes, buffer.position(), length, (byte) 0);
+  }
+
+  /**
+   * Writes all remaining bytes in the given buffer to the channel.
+   */
+  private static void writeFully(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+    int offset = buffer.position();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + (buffer.position() - offset));
+    }
+  }
+
+  private File file;
+  private final FileChannel channel;
+  private final int blockSize;
+  private final int length;
+  private final long[] blockPositions;
+  private final int[] blockLengths;
+  private final byte[][] blocks = new byte[CACHE_BLOCKS][];
+  private final int[] blockIndexes = new int[CACHE_BLOCKS];
+  private final byte[] scratch = new byte[Long.BYTES];
+  private final ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+  private Inflater inflater;
+  private byte[] compressed;
+
+  CompressedBytes(File file) {
+    if (file == null)
+      throw new NullPointerException("file cannot be null");
+
+    this.file = file;
+    Arrays.fill(blockIndexes, -1);
+    try {
+      this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      readFully(channel, 0, header.array(), HEADER_SIZE);
+      if (header.getInt() != MAGIC) {
+        channel.close();
+        throw new IllegalArgumentException("not a compressed file: " + file);
+      }
+      this.blockSize = header.getInt();
+      this.length = header.getInt();
+      int blockCount = header.getInt();
+      long indexPosition = header.getLong();
+
+      ByteBuffer index = ByteBuffer.allocate(blockCount * INDEX_ENTRY_SIZE);
+      readFully(channel, indexPosition, index.array(), index.capacity());
+      this.blockPositions = new long[blockCount];
+      this.blockLengths = new int[blockCount];
+      for (int i = 0; i < blockCount; i++) {
+        blockPositions[i] = index.getLong();
+        blockLengths[i] = index.getInt();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Returns the underlying file object.
+   *
+   * @return The underlying file.
+   */
+  public File file() {
+    return file;
+  }
+
+  /**
+   * Atomically moves the underlying file to the given file.
+   * <p>
+   * The file remains open while it's moved, so the bytes can continue to be read.
+   *
+   * @param target The file to which to move the underlying file.
+   */
+  public synchronized void move(File target) {
+    try {
+      Files.move(file.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.file = target;
+  }
+
+  /**
+   * Writes the uncompressed bytes to the given file.
+   * <p>
+   * The target file is forced to disk before this method returns.
+   *
+   * @param target The file to which to write the uncompressed bytes.
+   */
+  public synchronized void decompress(File target) {
+    try (FileChannel output = FileChannel.open(target.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      byte[] block = new byte[blockSize];
+      for (int i = 0; i < blockPositions.length; i++) {
+        int blockLength = Math.min(blockSize, length - i * blockSize);
+        inflate(i, block);
+        writeFully(output, (long) i * blockSize, ByteBuffer.wrap(block, 0, blockLength));
+      }
+      output.force(true);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public int size() {
+    return length;
+  }
+
+  @Override
+  public Bytes resize(int newSize) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public boolean isFile() {
+    return true;
+  }
+
+  @Override
+  public ByteOrder order() {
+    return ByteOrder.BIG_ENDIAN;
+  }
+
+  /**
+   * Decompresses the block with the given index into the given array.
+   */
+  private void inflate(int blockIndex, byte[] block) throws IOException {
+    int compressedLength = blockLengths[blockIndex];
+    if (compressed == null || compressed.length < compressedLength) {
+      compressed = new byte[compressedLength];
+    }
+    readFully(channel, blockPositions[blockIndex], compressed, compressedLength);
+
+    if (inflater == null) {
+      inflater = new Inflater();
+    }
+    inflater.reset();
+    inflater.setInput(compressed, 0, compressedLength);
+    int blockLength = Math.min(blockSize, length - blockIndex * blockSize);
+    int position = 0;
+    try {
+      while (position < blockLength) {
+        int count = inflater.inflate(block, position, blockLength - position);
+        if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new IOException("Corrupted block " + blockIndex + " in " + file);
+        }
+        position += count;
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupted block " + blockIndex + " in " + file, e);
+    }
+  }
+
+  /**
+   * Returns the cached block with the given index, decompressing the block if necessary.
+   */
+  private byte[] block(int blockIndex) {
+    int slot = blockIndex % CACHE_BLOCKS;
+    byte[] block = blocks[slot];
+    if (block == null) {
+      block = blocks[slot] = new byte[blockSize];
+    }
+    if (blockIndexes[slot] != blockIndex) {
+      blockIndexes[slot] = -1;
+      try {
+        inflate(blockIndex, block);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      blockIndexes[slot] = blockIndex;
+    }
+    return block;
+  }
+
+  /**
+   * Reads bytes at the given position into the given array.
+   */
+  private void readBytes(int position, byte[] bytes, int offset, int length) {
+    while (length > 0) {
+      int blockIndex = position / blockSize;
+      int blockPosition = position - blockIndex * blockSize;
+      int count = Math.min(length, blockSize - blockPosition);
+      System.arraycopy(block(blockIndex), blockPosition, bytes, offset, count);
+      position += count;
+      offset += count;
+      length -= count;
+    }
+  }
+
+  @Override
+  public synchronized Bytes read(int position, Bytes bytes, int offset, int length) {
+    checkRead(position, length);
+    if (bytes instanceof WrappedBytes) {
+      bytes = ((WrappedBytes) bytes).root();
+    }
+    if (bytes.hasArray()) {
+      readBytes(position, bytes.array(), offset, length);
+    } else {
+      byte[] readBytes = new byte[length];
+      readBytes(position, readBytes, 0, length);
+      bytes.write(offset, readBytes, 0, length);
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes read(int position, byte[] bytes, int offset, int length) {
+    checkRead(position, length);
+    readBytes(position, bytes, offset, length);
+    return this;
+  }
+
+  @Override
+  public synchronized int readByte(int offset) {
+    checkRead(offset, BYTE);
+    readBytes(offset, scratch, 0, BYTE);
+    return scratch[0];
+  }
+
+  @Override
+  public synchronized char readChar(int offset) {
+    checkRead(offset, CHARACTER);
+    readBytes(offset, scratch, 0, CHARACTER);
+    return scratchBuffer.getChar(0);
+  }
+
+  @Override
+  public synchronized short readShort(int offset) {
+    checkRead(offset, SHORT);
+    readBytes(offset, scratch, 0, SHORT);
+    return scratchBuffer.getShort(0);
+  }
+
+  @Override
+  public synchronized int readInt(int offset) {
+    checkRead(offset, INTEGER);
+    readBytes(offset, scratch, 0, INTEGER);
+    return scratchBuffer.getInt(0);
+  }
+
+  @Override
+  public synchronized long readLong(int offset) {
+    checkRead(offset, LONG);
+    readBytes(offset, scratch, 0, LONG);
+    return scratchBuffer.getLong(0);
+  }
+
+  @Override
+  public synchronized float readFloat(int offset) {
+    checkRead(offset, FLOAT);
+    readBytes(offset, scratch, 0, FLOAT);
+    return scratchBuffer.getFloat(0);
+  }
+
+  @Override
+  public synchronized double readDouble(int offset) {
+    checkRead(offset, DOUBLE);
+    readBytes(offset, scratch, 0, DOUBLE);
+    return scratchBuffer.getDouble(0);
+  }
+
+  @Override
+  public Bytes zero() {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes zero(int offset) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes zero(int offset, int length) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes write(int offset, Bytes src, int srcOffset, int length) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes write(int offset, byte[] src, int srcOffset, int length) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes writeByte(int offset, int b) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes writeChar(int offset, char c) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes writeShort(int offset, short s) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes writeInt(int offset, int i) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes writeLong(int offset, long l) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes writeFloat(int offset, float f) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public Bytes writeDouble(int offset, double d) {
+    throw new ReadOnlyBufferException();
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    if (inflater != null) {
+      inflater.end();
+      inflater = null;
+    }
+    super.close();
+  }
+
+  /**
+   * Deletes the underlying file.
+   */
+  public void delete() {
+    try {
+      close();
+      Files.delete(file.toPath());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import io.atomix.utils.memory.Memory;
+
+import java.io.File;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Disk buffer.
+ * <p>
+ * Disk buffers wrap {@link DiskBytes} to provide buffered random access to a file on local disk. Writes are buffered
+ * in memory and reads are served from a small block cache, so bytes written to the buffer are only guaranteed to be
+ * persisted once the buffer has been {@link #flush() flushed}.
+ */
+public class DiskBuffer extends AbstractBuffer {
+
+  /**
+   * Allocates a disk buffer of unlimited capacity.
+   * <p>
+   * The buffer will initially be allocated with {@code 4096} bytes. As bytes are written to the resulting buffer and
+   * the original capacity is reached, the buffer's capacity will double.
+   *
+   * @param file The file to allocate.
+   * @return The allocated buffer.
+   * @see DiskBuffer#allocate(File, int)
+   * @see DiskBuffer#allocate(File, int, int)
+   * @see DiskBuffer#allocate(File, String, int, int)
+   */
+  public static DiskBuffer allocate(File file) {
+    return allocate(file, DiskBytes.DEFAULT_MODE, DEFAULT_INITIAL_CAPACITY, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Allocates a disk buffer with the given initial capacity.
+   * <p>
+   * If the underlying file is empty, the file count will expand dynamically as bytes are written to the file.
+   * The underlying {@link DiskBytes} will be initialized to the nearest power of {@code 2}.
+   *
+   * @param file            The file to allocate.
+   * @param initialCapacity The initial capacity of the bytes to allocate.
+   * @return The allocated buffer.
+   * @see DiskBuffer#allocate(File)
+   * @see DiskBuffer#allocate(File, int, int)
+   * @see DiskBuffer#allocate(File, String, int, int)
+   */
+  public static DiskBuffer allocate(File file, int initialCapacity) {
+    return allocate(file, DiskBytes.DEFAULT_MODE, initialCapacity, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Allocates a disk buffer.
+   * <p>
+   * The underlying {@link java.io.RandomAccessFile} will be created in {@code rw} mode by default.
+   * The resulting buffer will be initialized with a capacity of {@code initialCapacity}. The underlying {@link DiskBytes}
+   * will be initialized to the nearest power of {@code 2}. As bytes are written to the file the buffer's capacity will
+   * double up to {@code maxCapacity}.
+   *
+   * @param file            The file to allocate.
+   * @param initialCapacity The initial capacity of the buffer.
+   * @param maxCapacity     The maximum allowed capacity of the buffer.
+   * @return The allocated buffer.
+   * @see DiskBuffer#allocate(File)
+   * @see DiskBuffer#allocate(File, int)
+   * @see DiskBuffer#allocate(File, String, int, int)
+   */
+  public static DiskBuffer allocate(File file, int initialCapacity, int maxCapacity) {
+    return allocate(file, DiskBytes.DEFAULT_MODE, initialCapacity, maxCapacity);
+  }
+
+  /**
+   * Allocates a disk buffer.
+   * <p>
+   * The resulting buffer will be initialized with a capacity of {@code initialCapacity}. The underlying {@link DiskBytes}
+   * will be initialized to the nearest power of {@code 2}. As bytes are written to the file the buffer's capacity will
+   * double up to {@code maxCapacity}.
+   *
+   * @param file            The file to allocate.
+   * @param mode            The mode in which to open the underlying {@link java.io.RandomAccessFile}.
+   * @param initialCapacity The initial capacity of the buffer.
+   * @param maxCapacity     The maximum allowed capacity of the buffer.
+   * @return The allocated buffer.
+   * @see DiskBuffer#allocate(File)
+   * @see DiskBuffer#allocate(File, int)
+   * @see DiskBuffer#allocate(File, int, int)
+   */
+  public static DiskBuffer allocate(File file, String mode, int initialCapacity, int maxCapacity) {
+    checkArgument(initialCapacity <= maxCapacity, "initial capacity cannot be greater than maximum capacity");
+    return new DiskBuffer(new DiskBytes(file, mode, (int) Math.min(Memory.Util.toPow2(initialCapacity), maxCapacity)), 0, initialCapacity, maxCapacity);
+  }
+
+  /**
+   * Opens a read-only disk buffer over the existing contents of a file.
+   * <p>
+   * The capacity of the buffer is fixed to the length of the file when it's opened. Read-only disk buffers read the
+   * file with positional reads into the block cache of a private file handle, so they can be used to scan a file
+   * without sharing state with other buffers of the same file.
+   *
+   * @param file The file to open.
+   * @return The read-only disk buffer.
+   */
+  public static DiskBuffer open(File file) {
+    int length = (int) Math.min(file.length(), Integer.MAX_VALUE);
+    return new DiskBuffer(new DiskBytes(file, "r", length), 0, length, length);
+  }
+
+  private final DiskBytes bytes;
+
+  private DiskBuffer(DiskBytes bytes, int offset, int initialCapacity, int maxCapacity) {
+    super(bytes, offset, initialCapacity, maxCapacity, null);
+    this.bytes = bytes;
+  }
+
+  /**
+   * Returns the underlying file object.
+   *
+   * @return The underlying file.
+   */
+  public File file() {
+    return bytes.file();
+  }
+
+  @Override
+  protected void compact(int from, int to, int length) {
+    byte[] bytes = new byte[1024];
+    int position = from;
+    while (position < from + length) {
+      int size = Math.min((from + length) - position, 1024);
+      this.bytes.read(position, bytes, 0, size);
+      this.bytes.write(to + (position - from), bytes, 0, size);
+      position += size;
+    }
+  }
+
+  /**
+   * Duplicates the buffer.
+   * <p>
+   * Buffered writes are written to the underlying file before the duplicate is opened so the duplicate sees all
+   * bytes written to this buffer.
+   *
+   * @return The duplicate buffer.
+   */
+  @Override
+  public DiskBuffer duplicate() {
+    return duplicate(bytes.mode());
+  }
+
+  /**
+   * Duplicates the buffer using the given mode.
+   *
+   * @param mode The mode with which to open the duplicate buffer.
+   * @return The duplicate buffer.
+   */
+  public DiskBuffer duplicate(String mode) {
+    bytes.flush();
+    return new DiskBuffer(new DiskBytes(bytes.file(), mode, bytes.size()), offset(), capacity(), maxCapacity());
+  }
+
+  /**
+   * Deletes the underlying file.
+   */
+  public void delete() {
+    bytes.delete();
+  }
+
+}
@@ -0,0 +1,565 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import io.atomix.utils.memory.Memory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Disk bytes.
+ * <p>
+ * Disk bytes provide random access to a file on local disk using {@link FileChannel} positional I/O. Unlike
+ * {@link FileBytes}, which performs a seek and a system call for every read or write, disk bytes buffer writes
+ * in memory and cache blocks of the file for reads:
+ * <ul>
+ * <li>Writes are appended to a write-behind buffer and written to the file when the buffer fills, when a write
+ * is not contiguous with the buffered bytes, or when the bytes are {@link #flush() flushed} or closed.</li>
+ * <li>Reads are served from a small cache of fixed size blocks that are read ahead from the file. Cached blocks
+ * are updated in place by writes, so reads always see the most recent writes.</li>
+ * </ul>
+ * Bytes are only guaranteed to be persisted to disk once {@link #flush()} has been called. Disk bytes are thread-safe,
+ * so bytes can be flushed on a background thread while they're being read or written.
+ * <p>
+ * Bytes are always stored in the underlying file in {@link ByteOrder#BIG_ENDIAN} order.
+ * To flip the byte order to read or write to/from a file in {@link ByteOrder#LITTLE_ENDIAN} order use
+ * {@link Bytes#order(ByteOrder)}.
+ */
+public class DiskBytes extends AbstractBytes {
+  static final String DEFAULT_MODE = "rw";
+  private static final int BLOCK_SIZE = 1024 * 32;
+  private static final int CACHE_BLOCKS = 8;
+  private static final int WRITE_BUFFER_SIZE = 1024 * 64;
+
+  /**
+   * Allocates a disk buffer of unlimited count.
+   * <p>
+   * The buffer will be allocated with {@link Integer#MAX_VALUE} bytes. As bytes are written to the buffer, the
+   * underlying file will expand.
+   *
+   * @param file The file to allocate.
+   * @return The allocated buffer.
+   */
+  public static DiskBytes allocate(File file) {
+    return allocate(file, DEFAULT_MODE, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Allocates a disk buffer.
+   * <p>
+   * If the underlying file is empty, the file count will expand dynamically as bytes are written to the file.
+   *
+   * @param file The file to allocate.
+   * @param size The count of the bytes to allocate.
+   * @return The allocated buffer.
+   */
+  public static DiskBytes allocate(File file, int size) {
+    return allocate(file, DEFAULT_MODE, size);
+  }
+
+  /**
+   * Allocates a disk buffer.
+   * <p>
+   * If the underlying file is empty, the file count will expand dynamically as bytes are written to the file.
+   *
+   * @param file The file to allocate.
+   * @param mode The mode in which to open the underlying {@link RandomAccessFile}.
+   * @param size The count of the bytes to allocate.
+   * @return The allocated buffer.
+   */
+  public static DiskBytes allocate(File file, String mode, int size) {
+    return new DiskBytes(file, mode, (int) Math.min(Memory.Util.toPow2(size), Integer.MAX_VALUE));
+  }
+
+  private final File file;
+  private final String mode;
+  private final RandomAccessFile randomAccessFile;
+  private final FileChannel channel;
+  private int size;
+  private final byte[] writeBuffer = new byte[WRITE_BUFFER_SIZE];
+  private int writeOffset;
+  private int writeLength;
+  private final byte[][] blocks = new byte[CACHE_BLOCKS][];
+  private final int[] blockIndexes = new int[CACHE_BLOCKS];
+  private final byte[] scratch = new byte[Long.BYTES];
+  private final ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+
+  DiskBytes(File file, String mode, int size) {
+    if (file == null)
+      throw new NullPointerException("file cannot be null");
+    if (mode == null)
+      mode = DEFAULT_MODE;
+    if (size < 0)
+      throw new IllegalArgumentException("size must be positive");
+
+    this.file = file;
+    this.mode = mode;
+    this.size = size;
+    Arrays.fill(blockIndexes, -1);
+    try {
+      this.randomAccessFile = new RandomAccessFile(file, mode);
+      if (size > randomAccessFile.length())
+        randomAccessFile.setLength(size);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.channel = randomAccessFile.getChannel();
+  }
+
+  /**
+   * Returns the underlying file object.
+   *
+   * @return The underlying file.
+   */
+  public File file() {
+    return file;
+  }
+
+  /**
+   * Returns the file mode.
+   *
+   * @return The file mode.
+   */
+  public String mode() {
+    return mode;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public synchronized Bytes resize(int newSize) {
+    if (newSize < size)
+      throw new IllegalArgumentException("cannot decrease file bytes size; use zero() to decrease file size");
+    this.size = newSize;
+    try {
+      long length = randomAccessFile.length();
+      if (size > length)
+        randomAccessFile.setLength(newSize);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return this;
+  }
+
+  @Override
+  public boolean isFile() {
+    return true;
+  }
+
+  @Override
+  public ByteOrder order() {
+    return ByteOrder.BIG_ENDIAN;
+  }
+
+  /**
+   * Reads bytes from the file into the given array, filling bytes beyond the end of the file with zeros.
+   */
+  private void readFile(int position, byte[] bytes, int offset, int length) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+    try {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + (buffer.position() - offset)) < 0) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    Arrays.fill(bytes, buffer.position(), offset + length, (byte) 0);
+  }
+
+  /**
+   * Writes bytes from the given array to the file.
+   */
+  private void writeFile(int position, byte[] bytes, int offset, int length) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer, position + (buffer.position() - offset));
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Writes the write-behind buffer to the file.
+   */
+  private void flushWrites() {
+    if (writeLength > 0) {
+      writeFile(writeOffset, writeBuffer, 0, writeLength);
+      writeLength = 0;
+    }
+  }
+
+  /**
+   * Copies bytes in the write-behind buffer that overlap the given range into the given array.
+   */
+  private void overlayWrites(int position, byte[] bytes, int offset, int length) {
+    int start = Math.max(position, writeOffset);
+    int end = Math.min(position + length, writeOffset + writeLength);
+    if (start < end) {
+      System.arraycopy(writeBuffer, start - writeOffset, bytes, offset + (start - position), end - start);
+    }
+  }
+
+  /**
+   * Returns the cached block with the given index, reading the block from the file if necessary.
+   */
+  private byte[] block(int blockIndex) {
+    int slot = blockIndex % CACHE_BLOCKS;
+    byte[] block = blocks[slot];
+    if (block == null) {
+      block = blocks[slot] = new byte[BLOCK_SIZE];
+    }
+    if (blockIndexes[slot] != blockIndex) {
+      int position = blockIndex * BLOCK_SIZE;
+      readFile(position, block, 0, BLOCK_SIZE);
+      overlayWrites(position, block, 0, BLOCK_SIZE);
+      blockIndexes[slot] = blockIndex;
+    }
+    return block;
+  }
+
+  /**
+   * Copies written bytes into any cached blocks they overlap.
+   */
+  private void updateBlocks(int position, byte[] bytes, int offset, int length) {
+    int lastBlockIndex = (position + length - 1) / BLOCK_SIZE;
+    for (int blockIndex = position / BLOCK_SIZE; blockIndex <= lastBlockIndex; blockIndex++) {
+      int slot = blockIndex % CACHE_BLOCKS;
+      if (blockIndexes[slot] == blockIndex) {
+        int blockPosition = blockIndex * BLOCK_SIZE;
+        int start = Math.max(position, blockPosition);
+        int end = Math.min(position + length, blockPosition + BLOCK_SIZE);
+        System.arraycopy(bytes, offset + (start - position), blocks[slot], start - blockPosition, end - start);
+      }
+    }
+  }
+
+  /**
+   * Invalidates all cached blocks.
+   */
+  private void invalidateBlocks() {
+    Arrays.fill(blockIndexes, -1);
+  }
+
+  /**
+   * Reads bytes at the given position into the given array.
+   */
+  private void readBytes(int position, byte[] bytes, int offset, int length) {
+    if (length == 0) {
+      return;
+    }
+
+    // Large reads bypass the block cache to avoid evicting blocks that are likely to be read again.
+    if (length >= BLOCK_SIZE) {
+      readFile(position, bytes, offset, length);
+      overlayWrites(position, bytes, offset, length);
+      return;
+    }
+
+    while (length > 0) {
+      int blockIndex = position / BLOCK_SIZE;
+      int blockPosition = position - blockIndex * BLOCK_SIZE;
+      int count = Math.min(length, BLOCK_SIZE - blockPosition);
+      System.arraycopy(block(blockIndex), blockPosition, bytes, offset, count);
+      position += count;
+      offset += count;
+      length -= count;
+    }
+  }
+
+  /**
+   * Writes bytes from the given array at the given position.
+   */
+  private void writeBytes(int position, byte[] bytes, int offset, int length) {
+    if (length == 0) {
+      return;
+    }
+
+    updateBlocks(position, bytes, offset, length);
+
+    // If the write starts within or at the end of the buffered bytes and fits in the buffer, buffer it.
+    if (writeLength > 0
+        && position >= writeOffset
+        && position <= writeOffset + writeLength
+        && position + length - writeOffset <= WRITE_BUFFER_SIZE) {
+      System.arraycopy(bytes, offset, writeBuffer, position - writeOffset, length);
+      writeLength = Math.max(writeLength, position + length - writeOffset);
+      return;
+    }
+
+    // Otherwise, write the buffered bytes to the file and start a new buffer at the write position.
+    flushWrites();
+    if (length >= WRITE_BUFFER_SIZE) {
+      writeFile(position, bytes, offset, length);
+    } else {
+      System.arraycopy(bytes, offset, writeBuffer, 0, length);
+      writeOffset = position;
+      writeLength = length;
+    }
+  }
+
+  /**
+   * Truncates the file to the given length and then extends it to the given size.
+   */
+  private void truncate(int length, int size) {
+    flushWrites();
+    invalidateBlocks();
+    try {
+      randomAccessFile.setLength(length);
+      randomAccessFile.setLength(size);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public synchronized Bytes zero() {
+    truncate(0, size);
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes zero(int offset) {
+    truncate(offset, Math.max(offset, size));
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes zero(int offset, int length) {
+    byte[] zeros = new byte[Math.min(length, WRITE_BUFFER_SIZE)];
+    int position = offset;
+    while (position < offset + length) {
+      int count = Math.min(offset + length - position, zeros.length);
+      writeBytes(position, zeros, 0, count);
+      position += count;
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes read(int position, Bytes bytes, int offset, int length) {
+    checkRead(position, length);
+    if (bytes instanceof WrappedBytes) {
+      bytes = ((WrappedBytes) bytes).root();
+    }
+    if (bytes.hasArray()) {
+      readBytes(position, bytes.array(), offset, length);
+    } else {
+      byte[] readBytes = new byte[length];
+      readBytes(position, readBytes, 0, length);
+      bytes.write(offset, readBytes, 0, length);
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes read(int position, byte[] bytes, int offset, int length) {
+    checkRead(position, length);
+    readBytes(position, bytes, offset, length);
+    return this;
+  }
+
+  @Override
+  public synchronized int readByte(int offset) {
+    checkRead(offset, BYTE);
+    readBytes(offset, scratch, 0, BYTE);
+    return scratch[0];
+  }
+
+  @Override
+  public synchronized char readChar(int offset) {
+    checkRead(offset, CHARACTER);
+    readBytes(offset, scratch, 0, CHARACTER);
+    return scratchBuffer.getChar(0);
+  }
+
+  @Override
+  public synchronized short readShort(int offset) {
+    checkRead(offset, SHORT);
+    readBytes(offset, scratch, 0, SHORT);
+    return scratchBuffer.getShort(0);
+  }
+
+  @Override
+  public synchronized int readInt(int offset) {
+    checkRead(offset, INTEGER);
+    readBytes(offset, scratch, 0, INTEGER);
+    return scratchBuffer.getInt(0);
+  }
+
+  @Override
+  public synchronized long readLong(int offset) {
+    checkRead(offset, LONG);
+    readBytes(offset, scratch, 0, LONG);
+    return scratchBuffer.getLong(0);
+  }
+
+  @Override
+  public synchronized float readFloat(int offset) {
+    checkRead(offset, FLOAT);
+    readBytes(offset, scratch, 0, FLOAT);
+    return scratchBuffer.getFloat(0);
+  }
+
+  @Override
+  public synchronized double readDouble(int offset) {
+    checkRead(offset, DOUBLE);
+    readBytes(offset, scratch, 0, DOUBLE);
+    return scratchBuffer.getDouble(0);
+  }
+
+  @Override
+  public synchronized Bytes write(int position, Bytes bytes, int offset, int length) {
+    checkWrite(position, length);
+    if (bytes instanceof WrappedBytes) {
+      bytes = ((WrappedBytes) bytes).root();
+    }
+    if (bytes.hasArray()) {
+      writeBytes(position, bytes.array(), offset, length);
+    } else {
+      byte[] writeBytes = new byte[length];
+      bytes.read(offset, writeBytes, 0, length);
+      writeBytes(position, writeBytes, 0, length);
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes write(int position, byte[] bytes, int offset, int length) {
+    checkWrite(position, length);
+    writeBytes(position, bytes, offset, length);
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes writeByte(int offset, int b) {
+    checkWrite(offset, BYTE);
+    scratch[0] = (byte) b;
+    writeBytes(offset, scratch, 0, BYTE);
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes writeChar(int offset, char c) {
+    checkWrite(offset, CHARACTER);
+    scratchBuffer.putChar(0, c);
+    writeBytes(offset, scratch, 0, CHARACTER);
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes writeShort(int offset, short s) {
+    checkWrite(offset, SHORT);
+    scratchBuffer.putShort(0, s);
+    writeBytes(offset, scratch, 0, SHORT);
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes writeInt(int offset, int i) {
+    checkWrite(offset, INTEGER);
+    scratchBuffer.putInt(0, i);
+    writeBytes(offset, scratch, 0, INTEGER);
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes writeLong(int offset, long l) {
+    checkWrite(offset, LONG);
+    scratchBuffer.putLong(0, l);
+    writeBytes(offset, scratch, 0, LONG);
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes writeFloat(int offset, float f) {
+    checkWrite(offset, FLOAT);
+    scratchBuffer.putFloat(0, f);
+    writeBytes(offset, scratch, 0, FLOAT);
+    return this;
+  }
+
+  @Override
+  public synchronized Bytes writeDouble(int offset, double d) {
+    checkWrite(offset, DOUBLE);
+    scratchBuffer.putDouble(0, d);
+    writeBytes(offset, scratch, 0, DOUBLE);
+    return this;
+  }
+
+  /**
+   * Writes buffered bytes to the file and forces them to disk.
+   * <p>
+   * Bytes may be flushed from any thread. Concurrent reads and writes are not blocked while bytes are forced to disk.
+   *
+   * @return The bytes.
+   */
+  @Override
+  public Bytes flush() {
+    synchronized (this) {
+      flushWrites();
+    }
+    try {
+      channel.force(true);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return this;
+  }
+
+  /**
+   * Writes buffered bytes to the file and closes the file.
+   * <p>
+   * Closing the bytes does not force buffered bytes to disk. Call {@link #flush()} prior to closing the bytes to
+   * ensure written bytes are persisted.
+   */
+  @Override
+  public synchronized void close() {
+    try {
+      flushWrites();
+      randomAccessFile.close();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    super.close();
+  }
+
+  /**
+   * Deletes the underlying file.
+   */
+  public void delete() {
+    try {
+      close();
+      Files.delete(file.toPath());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
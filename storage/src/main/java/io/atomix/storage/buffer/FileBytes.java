@@ -40,6 +40,7 @@ import java.nio.file.Files;
  */
 public class FileBytes extends AbstractBytes {
   static final String DEFAULT_MODE = "rw";
+  private static final int ZERO_BUFFER_SIZE = 1024 * 8;
 
   /**
    * Allocates a randomAccessFile buffer of unlimited count.
@@ -234,8 +235,9 @@ public class FileBytes extends AbstractBytes {
 
   @Override
   public Bytes zero(int offset, int length) {
-    for (int i = offset; i < offset + length; i++) {
-      writeByte(i, (byte) 0);
+    byte[] zeros = new byte[Math.min(length, ZERO_BUFFER_SIZE)];
+    for (int i = 0; i < length; i += zeros.length) {
+      write(offset + i, zeros, 0, Math.min(length - i, zeros.length));
     }
     return this;
   }
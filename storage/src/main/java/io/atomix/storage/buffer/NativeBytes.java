@@ -31,6 +31,7 @@ import java.nio.ByteOrder;
  */
 public abstract class NativeBytes extends AbstractBytes {
   private static final boolean NATIVE_ORDER = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+  private static final int CHUNK_SIZE = 1024 * 8;
   protected NativeMemory memory;
 
   protected NativeBytes(NativeMemory memory) {
@@ -77,12 +78,15 @@ public abstract class NativeBytes extends AbstractBytes {
       bytes = ((WrappedBytes) bytes).root();
 
     if (bytes instanceof NativeBytes) {
-      memory.unsafe().copyMemory(memory.address(position), ((NativeBytes) bytes).memory.address(), length);
+      memory.unsafe().copyMemory(memory.address(position), ((NativeBytes) bytes).memory.address(offset), length);
     } else if (bytes instanceof UnsafeHeapBytes) {
       memory.unsafe().copyMemory(null, memory.address(position), ((UnsafeHeapBytes) bytes).memory.array(), ((UnsafeHeapBytes) bytes).memory.address(offset), length);
     } else {
-      for (int i = 0; i < length; i++) {
-        bytes.writeByte(offset + i, memory.getByte(position + i));
+      byte[] chunk = new byte[Math.min(length, CHUNK_SIZE)];
+      for (int i = 0; i < length; i += chunk.length) {
+        int count = Math.min(length - i, chunk.length);
+        read(position + i, chunk, 0, count);
+        bytes.write(offset + i, chunk, 0, count);
       }
     }
     return this;
@@ -173,8 +177,11 @@ public abstract class NativeBytes extends AbstractBytes {
     } else if (bytes instanceof UnsafeHeapBytes) {
       memory.unsafe().copyMemory(((UnsafeHeapBytes) bytes).memory.array(), ((UnsafeHeapBytes) bytes).memory.address(offset), null, memory.address(position), length);
     } else {
-      for (int i = 0; i < length; i++) {
-        memory.putByte(position + i, (byte) bytes.readByte(offset + i));
+      byte[] chunk = new byte[Math.min(length, CHUNK_SIZE)];
+      for (int i = 0; i < length; i += chunk.length) {
+        int count = Math.min(length - i, chunk.length);
+        bytes.read(offset + i, chunk, 0, count);
+        write(position + i, chunk, 0, count);
       }
     }
     return this;
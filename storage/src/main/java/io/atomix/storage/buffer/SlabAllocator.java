@@ -0,0 +1,308 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import io.atomix.utils.concurrent.ReferenceManager;
+import io.atomix.utils.memory.HeapMemory;
+import io.atomix.utils.memory.Memory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Size class based slab allocator.
+ * <p>
+ * Buffers are allocated from power-of-two size classes between {@link #MIN_SIZE} and the allocator's maximum pooled
+ * size. Each size class is backed by a shared pool of {@link HeapMemory} slabs, and each thread keeps a small cache
+ * of slabs per size class so that most allocations and releases don't touch shared state. Buffers are returned to the
+ * allocator once all references to the buffer are released. Requests larger than the maximum pooled size are
+ * allocated as unpooled {@link UnsafeHeapBuffer}s.
+ * <p>
+ * Pooled buffers are not zeroed when they're reused, so users must not rely on the initial contents of the buffer.
+ * <p>
+ * When leak detection is enabled, the allocator tracks each pooled buffer and logs the allocation site of buffers that
+ * are garbage collected without being released. Leak detection is enabled for the {@link #DEFAULT} allocator by
+ * setting the {@code io.atomix.storage.buffer.leakDetection} system property to {@code true}.
+ */
+public class SlabAllocator implements BufferAllocator, ReferenceManager<Buffer> {
+  public static final int MIN_SIZE = 256;
+  public static final int DEFAULT_MAX_POOLED_SIZE = 1024 * 1024;
+  public static final int DEFAULT_THREAD_CACHE_SIZE = 1024 * 256;
+  public static final int DEFAULT_POOL_SIZE = 1024 * 1024 * 2;
+  public static final String LEAK_DETECTION_PROPERTY = "io.atomix.storage.buffer.leakDetection";
+
+  /**
+   * Default slab allocator.
+   */
+  public static final SlabAllocator DEFAULT = new SlabAllocator(
+      DEFAULT_MAX_POOLED_SIZE,
+      DEFAULT_THREAD_CACHE_SIZE,
+      DEFAULT_POOL_SIZE,
+      Boolean.getBoolean(LEAK_DETECTION_PROPERTY));
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SlabAllocator.class);
+  private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_SIZE);
+
+  private final int maxPooledSize;
+  private final SizeClass[] sizeClasses;
+  private final ThreadLocal<ThreadCache> threadCache;
+  private final boolean leakDetection;
+  private final ReferenceQueue<Buffer> leakQueue = new ReferenceQueue<>();
+  private final Set<LeakTracker> leakTrackers = ConcurrentHashMap.newKeySet();
+  private final BufferAllocatorStatistics statistics = new BufferAllocatorStatistics();
+
+  public SlabAllocator() {
+    this(DEFAULT_MAX_POOLED_SIZE, DEFAULT_THREAD_CACHE_SIZE, DEFAULT_POOL_SIZE, false);
+  }
+
+  /**
+   * @param maxPooledSize   the maximum size of pooled buffers, rounded up to the next power of {@code 2}
+   * @param threadCacheSize the maximum number of bytes to cache per thread for each size class
+   * @param poolSize        the maximum number of bytes to pool for each size class
+   * @param leakDetection   whether to track and log buffers that are garbage collected without being released
+   */
+  public SlabAllocator(int maxPooledSize, int threadCacheSize, int poolSize, boolean leakDetection) {
+    checkArgument(maxPooledSize >= MIN_SIZE, "maxPooledSize must be at least " + MIN_SIZE);
+    checkArgument(maxPooledSize <= HeapMemory.MAX_SIZE, "maxPooledSize cannot be greater than " + HeapMemory.MAX_SIZE);
+    checkArgument(threadCacheSize >= 0, "threadCacheSize cannot be negative");
+    checkArgument(poolSize >= 0, "poolSize cannot be negative");
+    this.maxPooledSize = (int) Memory.Util.toPow2(maxPooledSize);
+    this.sizeClasses = new SizeClass[sizeClass(this.maxPooledSize) + 1];
+    for (int i = 0; i < sizeClasses.length; i++) {
+      sizeClasses[i] = new SizeClass(MIN_SIZE << i, poolSize / (MIN_SIZE << i));
+    }
+    this.threadCache = ThreadLocal.withInitial(() -> new ThreadCache(sizeClasses, threadCacheSize));
+    this.leakDetection = leakDetection;
+  }
+
+  /**
+   * Returns the allocator statistics.
+   *
+   * @return the allocator statistics
+   */
+  public BufferAllocatorStatistics statistics() {
+    return statistics;
+  }
+
+  /**
+   * Returns a boolean indicating whether leak detection is enabled.
+   *
+   * @return indicates whether leak detection is enabled
+   */
+  public boolean isLeakDetection() {
+    return leakDetection;
+  }
+
+  @Override
+  public Buffer allocate() {
+    return allocate(AbstractBuffer.DEFAULT_INITIAL_CAPACITY, HeapMemory.MAX_SIZE);
+  }
+
+  @Override
+  public Buffer allocate(int initialCapacity) {
+    return allocate(initialCapacity, HeapMemory.MAX_SIZE);
+  }
+
+  @Override
+  public Buffer allocate(int initialCapacity, int maxCapacity) {
+    checkArgument(initialCapacity >= 0, "initial capacity cannot be negative");
+    checkArgument(initialCapacity <= maxCapacity, "initial capacity cannot be greater than maximum capacity");
+    statistics.allocations.increment();
+
+    if (initialCapacity > maxPooledSize) {
+      statistics.unpooledAllocations.increment();
+      return UnsafeHeapBuffer.allocate(initialCapacity, maxCapacity);
+    }
+
+    if (leakDetection) {
+      reportLeaks();
+    }
+
+    int sizeClass = sizeClass(initialCapacity);
+    SlabBuffer buffer = threadCache.get().poll(sizeClass);
+    if (buffer != null) {
+      statistics.cacheHits.increment();
+      statistics.cachedBytes.add(-buffer.bytes().size());
+    } else {
+      buffer = sizeClasses[sizeClass].poll();
+      if (buffer != null) {
+        statistics.poolHits.increment();
+        statistics.cachedBytes.add(-buffer.bytes().size());
+      } else {
+        statistics.slabAllocations.increment();
+        buffer = new SlabBuffer(new UnsafeHeapBytes(HeapMemory.allocate(sizeClasses[sizeClass].size)), this);
+      }
+    }
+
+    buffer.free.set(false);
+    buffer.reset(0, initialCapacity, maxCapacity);
+    buffer.acquire();
+    buffer.clear();
+    if (leakDetection) {
+      buffer.tracker = new LeakTracker(buffer, leakQueue, leakTrackers);
+    }
+    return buffer;
+  }
+
+  @Override
+  public void release(Buffer reference) {
+    SlabBuffer buffer = (SlabBuffer) reference;
+
+    // Guard against buffers being returned to the pool more than once.
+    if (!buffer.free.compareAndSet(false, true)) {
+      return;
+    }
+
+    LeakTracker tracker = buffer.tracker;
+    if (tracker != null) {
+      buffer.tracker = null;
+      tracker.close();
+    }
+    statistics.releases.increment();
+
+    // Buffers may have been resized beyond their original size class. Resized buffers are returned to the largest
+    // size class they can serve, and buffers that outgrew the largest size class are left to the garbage collector.
+    int size = buffer.bytes().size();
+    if (size > maxPooledSize) {
+      return;
+    }
+
+    int sizeClass = 31 - Integer.numberOfLeadingZeros(size) - MIN_SHIFT;
+    if (threadCache.get().offer(sizeClass, buffer) || sizeClasses[sizeClass].offer(buffer)) {
+      statistics.cachedBytes.add(size);
+    }
+  }
+
+  /**
+   * Logs and counts buffers that were garbage collected without being released.
+   */
+  private void reportLeaks() {
+    LeakTracker tracker;
+    while ((tracker = (LeakTracker) leakQueue.poll()) != null) {
+      if (tracker.close()) {
+        statistics.leaks.increment();
+        LOGGER.error("Buffer was garbage collected before being released", tracker.allocation);
+      }
+    }
+  }
+
+  /**
+   * Returns the size class index for the given size.
+   */
+  private static int sizeClass(int size) {
+    if (size <= MIN_SIZE) {
+      return 0;
+    }
+    return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+  }
+
+  /**
+   * Shared pool of slabs for a single size class.
+   */
+  private static final class SizeClass {
+    private final int size;
+    private final int capacity;
+    private final Queue<SlabBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger count = new AtomicInteger();
+
+    SizeClass(int size, int capacity) {
+      this.size = size;
+      this.capacity = capacity;
+    }
+
+    SlabBuffer poll() {
+      SlabBuffer buffer = buffers.poll();
+      if (buffer != null) {
+        count.decrementAndGet();
+      }
+      return buffer;
+    }
+
+    boolean offer(SlabBuffer buffer) {
+      if (count.incrementAndGet() > capacity) {
+        count.decrementAndGet();
+        return false;
+      }
+      buffers.add(buffer);
+      return true;
+    }
+  }
+
+  /**
+   * Per-thread cache of slabs for each size class.
+   */
+  private static final class ThreadCache {
+    private final ArrayDeque<SlabBuffer>[] buffers;
+    private final int[] capacities;
+
+    @SuppressWarnings("unchecked")
+    ThreadCache(SizeClass[] sizeClasses, int cacheSize) {
+      this.buffers = new ArrayDeque[sizeClasses.length];
+      this.capacities = new int[sizeClasses.length];
+      for (int i = 0; i < sizeClasses.length; i++) {
+        capacities[i] = cacheSize / sizeClasses[i].size;
+        buffers[i] = new ArrayDeque<>(Math.max(capacities[i], 1));
+      }
+    }
+
+    SlabBuffer poll(int sizeClass) {
+      return buffers[sizeClass].pollLast();
+    }
+
+    boolean offer(int sizeClass, SlabBuffer buffer) {
+      ArrayDeque<SlabBuffer> buffers = this.buffers[sizeClass];
+      if (buffers.size() < capacities[sizeClass]) {
+        buffers.addLast(buffer);
+        return true;
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Phantom reference used to detect buffers that are garbage collected without being released.
+   */
+  static final class LeakTracker extends PhantomReference<Buffer> {
+    private final Throwable allocation = new Throwable("Buffer allocated");
+    private final Set<LeakTracker> trackers;
+
+    LeakTracker(Buffer buffer, ReferenceQueue<Buffer> queue, Set<LeakTracker> trackers) {
+      super(buffer, queue);
+      this.trackers = trackers;
+      trackers.add(this);
+    }
+
+    /**
+     * Stops tracking the buffer.
+     *
+     * @return indicates whether the buffer was still being tracked
+     */
+    boolean close() {
+      clear();
+      return trackers.remove(this);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Heap buffer allocated from a {@link SlabAllocator} size class.
+ * <p>
+ * Slab buffers are returned to their allocator once all references to the buffer have been released.
+ */
+final class SlabBuffer extends UnsafeHeapBuffer {
+  final AtomicBoolean free = new AtomicBoolean();
+  volatile SlabAllocator.LeakTracker tracker;
+
+  SlabBuffer(UnsafeHeapBytes bytes, SlabAllocator allocator) {
+    super(bytes, allocator);
+  }
+}
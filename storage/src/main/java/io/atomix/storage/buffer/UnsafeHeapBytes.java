@@ -125,9 +125,7 @@ public class UnsafeHeapBytes extends AbstractBytes {
     } else if (bytes instanceof NativeBytes) {
       memory.unsafe().copyMemory(memory.array(), memory.address(position), null, ((NativeBytes) bytes).memory.address(offset), length);
     } else {
-      for (int i = 0; i < length; i++) {
-        bytes.writeByte(offset + i, memory.getByte(position + i));
-      }
+      bytes.write(offset, memory.array(), position, length);
     }
     return this;
   }
@@ -232,9 +230,7 @@ public class UnsafeHeapBytes extends AbstractBytes {
     } else if (bytes instanceof NativeBytes) {
       memory.unsafe().copyMemory(null, ((NativeBytes) bytes).memory.address(offset), memory.array(), memory.address(position), length);
     } else {
-      for (int i = 0; i < length; i++) {
-        memory.putByte(position + i, (byte) bytes.readByte(offset + i));
-      }
+      bytes.read(offset, memory.array(), position, length);
     }
     return this;
   }
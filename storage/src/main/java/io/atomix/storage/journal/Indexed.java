@@ -15,20 +15,44 @@
  */
 package io.atomix.storage.journal;
 
+import io.atomix.utils.serializer.Serializer;
+
 import static com.google.common.base.MoreObjects.toStringHelper;
 
 /**
  * Indexed journal entry.
+ * <p>
+ * Entries read from or written to a journal retain their serialized {@link #bytes() bytes} and
+ * {@link #checksum() checksum} as stored in the journal. Entries read from disk are decoded lazily the first time
+ * the {@link #entry() entry} is requested, so entries that are only copied between journals are never decoded.
  */
 public class Indexed<E> {
   private final long index;
-  private final E entry;
+  private volatile E entry;
   private final int size;
+  private final byte[] bytes;
+  private final long checksum;
+  private final Serializer serializer;
 
   public Indexed(long index, E entry, int size) {
+    this(index, entry, size, null, 0, null);
+  }
+
+  public Indexed(long index, E entry, byte[] bytes, long checksum) {
+    this(index, entry, bytes.length, bytes, checksum, null);
+  }
+
+  public Indexed(long index, byte[] bytes, long checksum, Serializer serializer) {
+    this(index, null, bytes.length, bytes, checksum, serializer);
+  }
+
+  private Indexed(long index, E entry, int size, byte[] bytes, long checksum, Serializer serializer) {
     this.index = index;
     this.entry = entry;
     this.size = size;
+    this.bytes = bytes;
+    this.checksum = checksum;
+    this.serializer = serializer;
   }
 
   /**
@@ -42,10 +66,17 @@ public class Indexed<E> {
 
   /**
    * Returns the indexed entry.
+   * <p>
+   * If the entry has not yet been decoded, it will be decoded from the serialized entry bytes.
    *
    * @return The indexed entry.
    */
   public E entry() {
+    E entry = this.entry;
+    if (entry == null && serializer != null) {
+      entry = serializer.decode(bytes);
+      this.entry = entry;
+    }
     return entry;
   }
 
@@ -58,13 +89,31 @@ public class Indexed<E> {
     return size;
   }
 
+  /**
+   * Returns the serialized entry bytes.
+   *
+   * @return The serialized entry bytes or {@code null} if the entry was not read from or written to a journal.
+   */
+  public byte[] bytes() {
+    return bytes;
+  }
+
+  /**
+   * Returns the checksum of the serialized entry bytes.
+   *
+   * @return The CRC32 checksum of the serialized entry bytes.
+   */
+  public long checksum() {
+    return checksum;
+  }
+
   /**
    * Returns the entry type class.
    *
    * @return The entry class.
    */
   public Class<?> type() {
-    return entry.getClass();
+    return entry().getClass();
   }
 
   /**
@@ -81,7 +130,7 @@ public class Indexed<E> {
   public String toString() {
     return toStringHelper(this)
         .add("index", index)
-        .add("entry", entry)
+        .add("entry", entry())
         .toString();
   }
-}
\ No newline at end of file
+}
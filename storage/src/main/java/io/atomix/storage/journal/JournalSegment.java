@@ -15,9 +15,15 @@
  */
 package io.atomix.storage.journal;
 
+import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.CompressedBuffer;
+import io.atomix.storage.buffer.DiskBuffer;
+import io.atomix.storage.buffer.MappedBuffer;
 import io.atomix.utils.serializer.Serializer;
 import io.atomix.storage.journal.index.JournalIndex;
 import io.atomix.storage.journal.index.SparseJournalIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkState;
@@ -28,6 +34,7 @@ import static com.google.common.base.Preconditions.checkState;
  * @author <a href="http://github.com/kuujo>Jordan Halterman</a>
  */
 public class JournalSegment<E> implements AutoCloseable {
+  private final Logger log = LoggerFactory.getLogger(getClass());
   private static final int ENTRY_CACHE_SIZE = 1024;
 
   protected final JournalSegmentFile file;
@@ -36,15 +43,27 @@ public class JournalSegment<E> implements AutoCloseable {
   protected final Serializer serializer;
   private final JournalSegmentWriter<E> writer;
   private final JournalSegmentCache cache;
+  private final JournalStatistics statistics;
   private boolean open = true;
 
   public JournalSegment(JournalSegmentFile file, JournalSegmentDescriptor descriptor, double indexDensity, int cacheSize, Serializer serializer) {
+    this(file, descriptor, indexDensity, cacheSize, serializer, new JournalStatistics());
+  }
+
+  public JournalSegment(
+      JournalSegmentFile file,
+      JournalSegmentDescriptor descriptor,
+      double indexDensity,
+      int cacheSize,
+      Serializer serializer,
+      JournalStatistics statistics) {
     this.file = file;
     this.descriptor = descriptor;
     this.index = new SparseJournalIndex(indexDensity);
     this.serializer = serializer;
     this.cache = new JournalSegmentCache(descriptor.index(), cacheSize);
-    this.writer = new JournalSegmentWriter<>(descriptor, cache, index, serializer);
+    this.statistics = statistics;
+    this.writer = new JournalSegmentWriter<>(descriptor, cache, index, serializer, statistics);
   }
 
   /**
@@ -154,7 +173,47 @@ public class JournalSegment<E> implements AutoCloseable {
    */
   JournalSegmentReader<E> createReader() {
     checkOpen();
-    return new JournalSegmentReader<>(descriptor, cache, index, serializer);
+    verify();
+    return new JournalSegmentReader<>(descriptor, cache, index, serializer, statistics);
+  }
+
+  /**
+   * Creates a new segment reader for sequential scans of the segment.
+   * <p>
+   * Memory mapped segments are scanned through a private read-only {@link DiskBuffer} rather than the segment's
+   * mapping. Pages read by a scan of a cold segment are never mapped into the process, so the operating system can
+   * reclaim them ahead of the mapped pages of the segments being written and read at the tail of the journal, and
+   * each scan only buffers a bounded number of blocks. Other segments are read through the segment's buffer.
+   *
+   * @return A new segment reader.
+   */
+  JournalSegmentReader<E> createSequentialReader() {
+    checkOpen();
+    if (!(descriptor.buffer() instanceof MappedBuffer)) {
+      return createReader();
+    }
+    // The slice holds the only reference to the file buffer, so the file is closed when the reader is closed.
+    verify();
+    DiskBuffer buffer = DiskBuffer.open(file.file());
+    Buffer slice = buffer.position(JournalSegmentDescriptor.BYTES).slice();
+    buffer.release();
+    return new JournalSegmentReader<>(descriptor, slice, cache, index, serializer, statistics);
+  }
+
+  /**
+   * Verifies the segment's entries against its seal before the segment is first read.
+   * <p>
+   * Sealed segments are loaded without scanning their entries, so their entries are scanned and validated the first
+   * time the segment is read rather than when the journal is opened.
+   *
+   * @return indicates whether the segment's entries are consistent with its seal
+   */
+  boolean verify() {
+    if (!writer.verify()) {
+      log.warn("Segment {} is not consistent with its seal; recovered to index {}", this, writer.getLastIndex());
+      return false;
+    }
+    return true;
   }
 
   /**
@@ -164,6 +223,17 @@ public class JournalSegment<E> implements AutoCloseable {
     checkState(open, "Segment not open");
   }
 
+  /**
+   * Returns a boolean indicating whether the segment is compressed.
+   * <p>
+   * Compressed segments are sealed segments that can be read but not written.
+   *
+   * @return indicates whether the segment is compressed
+   */
+  public boolean isCompressed() {
+    return descriptor.buffer() instanceof CompressedBuffer;
+  }
+
   /**
    * Returns a boolean indicating whether the segment is open.
    *
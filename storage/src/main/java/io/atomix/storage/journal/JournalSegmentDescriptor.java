@@ -18,6 +18,8 @@ package io.atomix.storage.journal;
 import com.google.common.annotations.VisibleForTesting;
 import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.Bytes;
+import io.atomix.storage.buffer.CompressedBuffer;
+import io.atomix.storage.buffer.DiskBuffer;
 import io.atomix.storage.buffer.FileBuffer;
 import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.storage.buffer.MappedBuffer;
@@ -49,8 +51,16 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <li>{@code locked} (8-bit boolean) - A boolean indicating whether the segment is locked. Segments will be locked once
  * all entries have been committed to the segment. The lock state of each segment is used to determine log compaction
  * and recovery behavior.</li>
+ * <li>{@code sealedIndex} (64-bit signed integer) - The last index in the segment once the segment has been sealed, or
+ * {@code 0} if the segment is not sealed. Segments are sealed once the journal has rolled over to the next segment and
+ * the segment has been flushed to disk.</li>
+ * <li>{@code sealedLength} (32-bit signed integer) - The length of the entries in a sealed segment.</li>
+ * <li>{@code sealedPosition} (32-bit signed integer) - The position of the last entry in a sealed segment.</li>
+ * <li>{@code sealedChecksum} (64-bit signed integer) - The CRC32 checksum of the lengths and checksums of all the
+ * entries in a sealed segment.</li>
  * </ul>
- * The remainder of the 64 segment header bytes are reserved for future metadata.
+ * Entry positions and lengths are relative to the end of the header. The remainder of the 64 segment header bytes are
+ * reserved for future metadata.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
@@ -68,6 +78,10 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
   private static final int MAX_SIZE_LENGTH = Bytes.INTEGER;    // 32-bit signed integer
   private static final int MAX_ENTRIES_LENGTH = Bytes.INTEGER; // 32-bit signed integer
   private static final int UPDATED_LENGTH = Bytes.LONG;        // 64-bit signed integer
+  private static final int LOCKED_LENGTH = Bytes.BOOLEAN;      // 8-bit boolean
+  private static final int SEALED_INDEX_LENGTH = Bytes.LONG;   // 64-bit signed integer
+  private static final int SEALED_LENGTH_LENGTH = Bytes.INTEGER; // 32-bit signed integer
+  private static final int SEALED_POSITION_LENGTH = Bytes.INTEGER; // 32-bit signed integer
 
   // The positions of each field in the header.
   private static final int VERSION_POSITION = 0;                                         // 0
@@ -76,6 +90,11 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
   private static final int MAX_SIZE_POSITION = INDEX_POSITION + INDEX_LENGTH;            // 20
   private static final int MAX_ENTRIES_POSITION = MAX_SIZE_POSITION + MAX_SIZE_LENGTH;   // 24
   private static final int UPDATED_POSITION = MAX_ENTRIES_POSITION + MAX_ENTRIES_LENGTH; // 28
+  private static final int LOCKED_POSITION = UPDATED_POSITION + UPDATED_LENGTH;          // 36
+  private static final int SEALED_INDEX_POSITION = LOCKED_POSITION + LOCKED_LENGTH;      // 37
+  private static final int SEALED_LENGTH_POSITION = SEALED_INDEX_POSITION + SEALED_INDEX_LENGTH;       // 45
+  private static final int SEALED_POSITION_POSITION = SEALED_LENGTH_POSITION + SEALED_LENGTH_LENGTH;   // 49
+  private static final int SEALED_CHECKSUM_POSITION = SEALED_POSITION_POSITION + SEALED_POSITION_LENGTH; // 53
 
   /**
    * Returns a descriptor builder.
@@ -107,6 +126,10 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
   private final int maxEntries;
   private volatile long updated;
   private volatile boolean locked;
+  private volatile long sealedIndex;
+  private volatile int sealedLength;
+  private volatile int sealedPosition;
+  private volatile long sealedChecksum;
 
   /**
    * @throws NullPointerException if {@code buffer} is null
@@ -120,6 +143,10 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
     this.maxEntries = buffer.readInt();
     this.updated = buffer.readLong();
     this.locked = buffer.readBoolean();
+    this.sealedIndex = buffer.readLong();
+    this.sealedLength = buffer.readInt();
+    this.sealedPosition = buffer.readInt();
+    this.sealedChecksum = buffer.readLong();
     buffer.skip(BYTES - buffer.position()); // 64 bytes reserved for the header
   }
 
@@ -208,6 +235,82 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
     }
   }
 
+  /**
+   * Returns a boolean indicating whether the segment has been sealed.
+   * <p>
+   * Sealed segments record the state of the segment's entries in the descriptor so the segment can be loaded without
+   * scanning its entries.
+   *
+   * @return indicates whether the segment has been sealed
+   */
+  public boolean isSealed() {
+    return sealedIndex > 0;
+  }
+
+  /**
+   * Returns the last index in the sealed segment.
+   *
+   * @return the last index in the sealed segment or {@code 0} if the segment is not sealed
+   */
+  public long sealedIndex() {
+    return sealedIndex;
+  }
+
+  /**
+   * Returns the length of the entries in the sealed segment.
+   *
+   * @return the length of the entries in the sealed segment
+   */
+  public int sealedLength() {
+    return sealedLength;
+  }
+
+  /**
+   * Returns the position of the last entry in the sealed segment.
+   *
+   * @return the position of the last entry in the sealed segment
+   */
+  public int sealedPosition() {
+    return sealedPosition;
+  }
+
+  /**
+   * Returns the checksum of the entries in the sealed segment.
+   *
+   * @return the checksum of the entries in the sealed segment
+   */
+  public long sealedChecksum() {
+    return sealedChecksum;
+  }
+
+  /**
+   * Seals the segment, writing the state of the segment's entries to the descriptor and flushing it to disk.
+   *
+   * @param index    the last index in the segment
+   * @param length   the length of the entries in the segment
+   * @param position the position of the last entry in the segment
+   * @param checksum the checksum of the entries in the segment
+   */
+  void seal(long index, int length, int position, long checksum) {
+    buffer.writeInt(SEALED_LENGTH_POSITION, length)
+        .writeInt(SEALED_POSITION_POSITION, position)
+        .writeLong(SEALED_CHECKSUM_POSITION, checksum)
+        .writeLong(SEALED_INDEX_POSITION, index)
+        .flush();
+    this.sealedLength = length;
+    this.sealedPosition = position;
+    this.sealedChecksum = checksum;
+    this.sealedIndex = index;
+  }
+
+  /**
+   * Unseals the segment before it's modified, flushing the descriptor to disk.
+   */
+  void unseal() {
+    buffer.writeLong(SEALED_INDEX_POSITION, 0).flush();
+    this.sealedIndex = 0;
+  }
+
   /**
    * Copies the segment to a new buffer.
    */
@@ -220,6 +323,10 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
         .writeInt(maxEntries)
         .writeLong(updated)
         .writeBoolean(locked)
+        .writeLong(sealedIndex)
+        .writeInt(sealedLength)
+        .writeInt(sealedPosition)
+        .writeLong(sealedChecksum)
         .skip(BYTES - buffer.position())
         .flush();
     return this;
@@ -234,10 +341,14 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
    * Deletes the descriptor.
    */
   public void delete() {
-    if (buffer instanceof FileBuffer) {
+    if (buffer instanceof DiskBuffer) {
+      ((DiskBuffer) buffer).delete();
+    } else if (buffer instanceof FileBuffer) {
       ((FileBuffer) buffer).delete();
     } else if (buffer instanceof MappedBuffer) {
       ((MappedBuffer) buffer).delete();
+    } else if (buffer instanceof CompressedBuffer) {
+      ((CompressedBuffer) buffer).delete();
     }
   }
 
@@ -28,6 +28,8 @@ public final class JournalSegmentFile {
   private static final char PART_SEPARATOR = '-';
   private static final char EXTENSION_SEPARATOR = '.';
   private static final String EXTENSION = "log";
+  private static final String PREALLOCATED_EXTENSION = ".tmp";
+  private static final String COMPRESSED_EXTENSION = ".compressed";
   private final File file;
 
   /**
@@ -76,6 +78,60 @@ public final class JournalSegmentFile {
     return new File(directory, String.format("%s-%d.log", checkNotNull(name, "name cannot be null"), id));
   }
 
+  /**
+   * Returns a boolean value indicating whether the given file appears to be a preallocated segment file.
+   *
+   * @param journalName the name of the journal
+   * @param file the file to check
+   * @return indicates whether the given file is a preallocated segment file
+   */
+  static boolean isPreallocatedFile(String journalName, File file) {
+    String fileName = file.getName();
+    return fileName.endsWith(PREALLOCATED_EXTENSION)
+        && isSegmentFile(journalName, fileName.substring(0, fileName.length() - PREALLOCATED_EXTENSION.length()));
+  }
+
+  /**
+   * Creates a preallocated segment file for the given segment ID.
+   * <p>
+   * Preallocated segment files are renamed to the segment file once the segment is created.
+   *
+   * @param name the name of the journal
+   * @param directory the journal directory
+   * @param id the segment ID
+   * @return the preallocated segment file
+   */
+  static File createPreallocatedFile(String name, File directory, long id) {
+    return new File(directory, String.format("%s-%d.log%s", checkNotNull(name, "name cannot be null"), id, PREALLOCATED_EXTENSION));
+  }
+
+  /**
+   * Returns a boolean value indicating whether the given file appears to be a compressed segment file.
+   *
+   * @param journalName the name of the journal
+   * @param file the file to check
+   * @return indicates whether the given file is a compressed segment file
+   */
+  static boolean isCompressedFile(String journalName, File file) {
+    String fileName = file.getName();
+    return fileName.endsWith(COMPRESSED_EXTENSION)
+        && isSegmentFile(journalName, fileName.substring(0, fileName.length() - COMPRESSED_EXTENSION.length()));
+  }
+
+  /**
+   * Creates a compressed segment file for the given segment ID.
+   * <p>
+   * Compressed segment files are renamed to the segment file once the compressed segment replaces the segment.
+   *
+   * @param name the name of the journal
+   * @param directory the journal directory
+   * @param id the segment ID
+   * @return the compressed segment file
+   */
+  static File createCompressedFile(String name, File directory, long id) {
+    return new File(directory, String.format("%s-%d.log%s", checkNotNull(name, "name cannot be null"), id, COMPRESSED_EXTENSION));
+  }
+
   /**
    * @throws IllegalArgumentException if {@code file} is not a valid segment file
    */
@@ -18,11 +18,12 @@ package io.atomix.storage.journal;
 import io.atomix.utils.serializer.Serializer;
 import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.Bytes;
-import io.atomix.storage.buffer.HeapBuffer;
+import io.atomix.storage.buffer.SlabAllocator;
 import io.atomix.storage.journal.index.JournalIndex;
 import io.atomix.storage.journal.index.Position;
 
 import java.nio.BufferUnderflowException;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
@@ -37,16 +38,33 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
   private final JournalSegmentCache cache;
   private final JournalIndex index;
   private final Serializer serializer;
-  private final HeapBuffer memory = HeapBuffer.allocate();
+  private final JournalStatistics statistics;
+  private final Buffer memory = SlabAllocator.DEFAULT.allocate();
   private final long firstIndex;
   private Indexed<E> currentEntry;
   private Indexed<E> nextEntry;
 
-  public JournalSegmentReader(JournalSegmentDescriptor descriptor, JournalSegmentCache cache, JournalIndex index, Serializer serializer) {
-    this.buffer = descriptor.buffer().slice().duplicate();
+  public JournalSegmentReader(
+      JournalSegmentDescriptor descriptor,
+      JournalSegmentCache cache,
+      JournalIndex index,
+      Serializer serializer,
+      JournalStatistics statistics) {
+    this(descriptor, descriptor.buffer().slice().duplicate(), cache, index, serializer, statistics);
+  }
+
+  JournalSegmentReader(
+      JournalSegmentDescriptor descriptor,
+      Buffer buffer,
+      JournalSegmentCache cache,
+      JournalIndex index,
+      Serializer serializer,
+      JournalStatistics statistics) {
+    this.buffer = buffer;
     this.cache = cache;
     this.index = index;
     this.serializer = serializer;
+    this.statistics = statistics;
     this.firstIndex = descriptor.index();
     readNext();
   }
@@ -68,6 +86,7 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
 
   @Override
   public void reset(long index) {
+    long startTime = System.nanoTime();
     reset();
     Position position = this.index.lookup(index - 1);
     if (position != null) {
@@ -75,9 +94,13 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
       buffer.position(position.position());
       readNext();
     }
+    long scanned = 0;
     while (getNextIndex() < index && hasNext()) {
       next();
+      scanned++;
     }
+    statistics.indexScannedEntries.add(scanned);
+    statistics.indexLookupLatency.record(System.nanoTime() - startTime);
   }
 
   @Override
@@ -126,6 +149,7 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
 
     Indexed cachedEntry = cache.get(index);
     if (cachedEntry != null) {
+      statistics.cacheHits.increment();
       this.nextEntry = cachedEntry;
       buffer.skip(cachedEntry.size() + Bytes.INTEGER + Bytes.INTEGER);
       return;
@@ -156,10 +180,11 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
       final Checksum crc32 = new CRC32();
       crc32.update(memory.array(), 0, length);
 
-      // If the stored checksum equals the computed checksum, return the entry.
+      // If the stored checksum equals the computed checksum, return the entry. The entry is not decoded
+      // until it's requested to avoid decoding entries that are only replicated.
       if (checksum == crc32.getValue()) {
-        E entry = serializer.decode(memory.array());
-        nextEntry = new Indexed<>(index, entry, length);
+        statistics.cacheMisses.increment();
+        nextEntry = new Indexed<>(index, Arrays.copyOf(memory.array(), length), checksum, serializer);
       } else {
         buffer.reset();
         nextEntry = null;
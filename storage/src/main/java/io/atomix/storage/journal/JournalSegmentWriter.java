@@ -15,14 +15,21 @@
  */
 package io.atomix.storage.journal;
 
+import io.atomix.storage.StorageException;
 import io.atomix.utils.serializer.Serializer;
 import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.Bytes;
+import io.atomix.storage.buffer.CompressedBuffer;
+import io.atomix.storage.buffer.DiskBuffer;
 import io.atomix.storage.buffer.FileBuffer;
-import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.storage.buffer.MappedBuffer;
+import io.atomix.storage.buffer.SlabAllocator;
 import io.atomix.storage.buffer.SlicedBuffer;
 import io.atomix.storage.journal.index.JournalIndex;
 
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
@@ -47,18 +54,126 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
   private final JournalIndex index;
   private final Buffer buffer;
   private final Serializer serializer;
-  private final HeapBuffer memory = HeapBuffer.allocate();
+  private final JournalStatistics statistics;
+  private final Buffer memory = SlabAllocator.DEFAULT.allocate();
   private final long firstIndex;
+  private final Checksum segmentChecksum = new CRC32();
+  private final ByteBuffer checksumBuffer = ByteBuffer.allocate(Bytes.INTEGER + Bytes.INTEGER);
   private Indexed<E> lastEntry;
-
-  public JournalSegmentWriter(JournalSegmentDescriptor descriptor, JournalSegmentCache cache, JournalIndex index, Serializer serializer) {
+  private int lastPosition;
+  private boolean verified = true;
+
+  public JournalSegmentWriter(
+      JournalSegmentDescriptor descriptor,
+      JournalSegmentCache cache,
+      JournalIndex index,
+      Serializer serializer,
+      JournalStatistics statistics) {
     this.descriptor = descriptor;
     this.cache = cache;
     this.index = index;
     this.buffer = descriptor.buffer().slice();
     this.serializer = serializer;
+    this.statistics = statistics;
     this.firstIndex = descriptor.index();
+    if (!descriptor.isSealed() || !resetSealed()) {
+      reset(0);
+    }
+  }
+
+  /**
+   * Initializes the writer from the segment's seal without scanning the segment.
+   * <p>
+   * Only the last entry in the segment is read to check that the seal is consistent with the segment's entries.
+   * The remaining entries are verified against the seal when the segment is first {@link #verify() verified}.
+   *
+   * @return indicates whether the seal is consistent with the segment
+   */
+  private boolean resetSealed() {
+    final long lastIndex = descriptor.sealedIndex();
+    final int position = descriptor.sealedPosition();
+    if (lastIndex < firstIndex || position < 0 || position >= descriptor.sealedLength()) {
+      return false;
+    }
+
+    buffer.clear();
+    try {
+      // Read the last entry in the segment.
+      buffer.position(position);
+      final int length = buffer.readInt();
+      if (length <= 0) {
+        buffer.clear();
+        return false;
+      }
+      final long checksum = buffer.readUnsignedInt();
+      buffer.read(memory.clear().limit(length));
+      memory.flip();
+
+      // The last entry must be valid and must be followed by the end of the segment's entries.
+      final Checksum crc32 = new CRC32();
+      crc32.update(memory.array(), 0, length);
+      if (checksum != crc32.getValue() || buffer.position() != descriptor.sealedLength() || buffer.mark().readInt() != 0) {
+        buffer.clear();
+        return false;
+      }
+      buffer.reset();
+
+      lastEntry = new Indexed<>(lastIndex, Arrays.copyOf(memory.array(), length), checksum, serializer);
+      lastPosition = position;
+      verified = false;
+      return true;
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+      buffer.clear();
+      return false;
+    }
+  }
+
+  /**
+   * Verifies the entries in a segment that was loaded from its seal.
+   * <p>
+   * The segment's entries are scanned and their checksums validated as if the segment had been loaded without a seal.
+   * If the entries are not consistent with the seal, the writer is reset to the last valid entry in the segment.
+   *
+   * @return indicates whether the segment's entries are consistent with the seal
+   */
+  boolean verify() {
+    if (verified) {
+      return true;
+    }
+
+    verified = true;
+    lastEntry = null;
     reset(0);
+    return getLastIndex() == descriptor.sealedIndex() && segmentChecksum.getValue() == descriptor.sealedChecksum();
+  }
+
+  /**
+   * Seals the segment, recording the state of the segment's entries in the segment descriptor.
+   * <p>
+   * Segments are sealed once they've been flushed to disk so sealed segments can be loaded without scanning their
+   * entries. Empty segments are not sealed.
+   */
+  void seal() {
+    if (lastEntry != null && verified) {
+      descriptor.seal(lastEntry.index(), buffer.position(), lastPosition, segmentChecksum.getValue());
+    }
+  }
+
+  /**
+   * Unseals the segment before it's modified.
+   */
+  private void unseal() {
+    verify();
+    descriptor.unseal();
+  }
+
+  /**
+   * Updates the segment checksum with the length and checksum of an entry.
+   */
+  private void updateChecksum(int length, long checksum) {
+    checksumBuffer.clear();
+    checksumBuffer.putInt(length).putInt((int) checksum);
+    segmentChecksum.update(checksumBuffer.array(), 0, checksumBuffer.capacity());
   }
 
   /**
@@ -68,8 +183,9 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
   private void reset(long index) {
     long nextIndex = firstIndex;
 
-    // Clear the buffer indexes.
+    // Clear the buffer indexes and the segment checksum.
     buffer.clear();
+    segmentChecksum.reset();
 
     // Record the current buffer position.
     int position = buffer.position();
@@ -91,10 +207,11 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
       final Checksum crc32 = new CRC32();
       crc32.update(memory.array(), 0, length);
 
-      // If the stored checksum equals the computed checksum, return the entry.
+      // If the stored checksum equals the computed checksum, set the last entry to be decoded lazily.
       if (checksum == crc32.getValue()) {
-        final E entry = serializer.decode(memory.array());
-        lastEntry = new Indexed<>(nextIndex, entry, length);
+        lastEntry = new Indexed<>(nextIndex, Arrays.copyOf(memory.array(), length), checksum, serializer);
+        lastPosition = position;
+        updateChecksum(length, checksum);
         this.index.index(nextIndex, position);
         nextIndex++;
       } else {
@@ -178,7 +295,57 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     if (entry.index() < nextIndex) {
       truncate(entry.index() - 1);
     }
-    append(entry.entry());
+
+    // If the entry is already serialized, append the serialized bytes without re-encoding the entry.
+    if (entry.bytes() != null) {
+      appendBytes(entry.bytes(), entry.checksum());
+    } else {
+      append(entry.entry());
+    }
+  }
+
+  /**
+   * Appends a serialized entry to the segment.
+   * <p>
+   * The checksum is verified against the entry bytes before the entry is written, and the appended entry
+   * will not be decoded until it's read.
+   *
+   * @param bytes    the serialized entry bytes
+   * @param checksum the CRC32 checksum of the entry bytes
+   * @throws StorageException.InvalidChecksum if the checksum does not match the entry bytes
+   */
+  private void appendBytes(byte[] bytes, long checksum) {
+    // Store the entry index.
+    final long index = getNextIndex();
+
+    // Verify the checksum for the entry.
+    final Checksum crc32 = new CRC32();
+    crc32.update(bytes, 0, bytes.length);
+    if (crc32.getValue() != checksum) {
+      throw new StorageException.InvalidChecksum("Checksum mismatch for entry " + index);
+    }
+
+    // A sealed segment must be unsealed before it's written.
+    if (descriptor.isSealed()) {
+      unseal();
+    }
+
+    // Record the current buffer position;
+    int position = buffer.position();
+
+    // Write the entry length and entry to the segment.
+    buffer.writeInt(bytes.length)
+        .writeUnsignedInt(checksum)
+        .write(bytes);
+
+    // Update the last entry with the correct index/term/length.
+    Indexed<E> indexedEntry = new Indexed<>(index, bytes, checksum, serializer);
+    this.lastEntry = indexedEntry;
+    this.lastPosition = position;
+    updateChecksum(bytes.length, checksum);
+    this.cache.put(indexedEntry);
+    this.index.index(index, position);
+    recordAppend(bytes.length);
   }
 
   @Override
@@ -196,6 +363,11 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     crc32.update(bytes, 0, length);
     final long checksum = crc32.getValue();
 
+    // A sealed segment must be unsealed before it's written.
+    if (descriptor.isSealed()) {
+      unseal();
+    }
+
     // Record the current buffer position;
     int position = buffer.position();
 
@@ -205,13 +377,24 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
         .write(bytes);
 
     // Update the last entry with the correct index/term/length.
-    Indexed<E> indexedEntry = new Indexed<>(index, entry, length);
+    Indexed<E> indexedEntry = new Indexed<>(index, entry, bytes, checksum);
     this.lastEntry = indexedEntry;
+    this.lastPosition = position;
+    updateChecksum(length, checksum);
     this.cache.put(indexedEntry);
     this.index.index(index, position);
+    recordAppend(length);
     return (Indexed<T>) indexedEntry;
   }
 
+  /**
+   * Records an appended entry and its header in the journal statistics.
+   */
+  private void recordAppend(int length) {
+    statistics.appends.mark();
+    statistics.appendedBytes.mark(length + Bytes.INTEGER + Bytes.INTEGER);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public void truncate(long index) {
@@ -220,12 +403,18 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
       return;
     }
 
+    // A sealed segment must be unsealed before it's truncated.
+    if (descriptor.isSealed()) {
+      unseal();
+    }
+
     // Reset the last entry.
     lastEntry = null;
 
     // If the index is less than the segment index, clear the segment buffer.
     if (index < descriptor.index()) {
       buffer.zero().clear();
+      segmentChecksum.reset();
       this.cache.truncate(index);
       this.index.truncate(index);
       return;
@@ -235,21 +424,31 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     this.cache.truncate(index);
     this.index.truncate(index);
 
+    // Record the end of the written entries. Bytes beyond the end are already zeroed.
+    int end = buffer.position();
+
     // Reset the writer to the given index.
     reset(index);
 
-    // Zero entries after the given index.
-    buffer.zero(buffer.position());
+    // Zero entries after the given index. Only the truncated entries need to be zeroed rather than the remainder
+    // of the segment.
+    int position = buffer.position();
+    if (end > position) {
+      buffer.zero(position, end - position);
+    }
   }
 
   @Override
   public void flush() {
+    long startTime = System.nanoTime();
     buffer.flush();
+    statistics.flushLatency.record(System.nanoTime() - startTime);
   }
 
   @Override
   public void close() {
     buffer.close();
+    memory.close();
   }
 
   /**
@@ -257,10 +456,14 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
    */
   void delete() {
     Buffer buffer = this.buffer instanceof SlicedBuffer ? ((SlicedBuffer) this.buffer).root() : this.buffer;
-    if (buffer instanceof FileBuffer) {
+    if (buffer instanceof DiskBuffer) {
+      ((DiskBuffer) buffer).delete();
+    } else if (buffer instanceof FileBuffer) {
       ((FileBuffer) buffer).delete();
     } else if (buffer instanceof MappedBuffer) {
       ((MappedBuffer) buffer).delete();
+    } else if (buffer instanceof CompressedBuffer) {
+      ((CompressedBuffer) buffer).delete();
     }
   }
 }
\ No newline at end of file
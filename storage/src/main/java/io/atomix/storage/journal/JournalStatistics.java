@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.storage.statistics.Histogram;
+import io.atomix.storage.statistics.Meter;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Journal statistics.
+ * <p>
+ * Statistics are updated by the journal as entries are written, flushed, read and compacted. Segment statistics are
+ * read from the journal to which the statistics are bound when they're requested. The same statistics may be bound to
+ * successive instances of a journal, in which case counters accumulate across the instances.
+ */
+public class JournalStatistics {
+  final Meter appends = new Meter();
+  final Meter appendedBytes = new Meter();
+  final Histogram flushLatency = new Histogram();
+  final LongAdder cacheHits = new LongAdder();
+  final LongAdder cacheMisses = new LongAdder();
+  final Histogram indexLookupLatency = new Histogram();
+  final LongAdder indexScannedEntries = new LongAdder();
+  final LongAdder compactions = new LongAdder();
+  final LongAdder compactedSegments = new LongAdder();
+  final LongAdder compactedBytes = new LongAdder();
+  private volatile SegmentedJournal<?> journal;
+
+  /**
+   * Binds the statistics to the given journal.
+   *
+   * @param journal the journal from which to read segment statistics
+   */
+  void bind(SegmentedJournal<?> journal) {
+    this.journal = journal;
+  }
+
+  /**
+   * Returns the number of entries appended to the journal.
+   *
+   * @return the number of entries appended to the journal
+   */
+  public long getAppends() {
+    return appends.getCount();
+  }
+
+  /**
+   * Returns the one minute moving average rate at which entries are appended to the journal.
+   *
+   * @return the number of entries appended per second
+   */
+  public double getAppendRate() {
+    return appends.getRate();
+  }
+
+  /**
+   * Returns the number of bytes appended to the journal, including entry headers.
+   *
+   * @return the number of bytes appended to the journal
+   */
+  public long getAppendedBytes() {
+    return appendedBytes.getCount();
+  }
+
+  /**
+   * Returns the one minute moving average rate at which bytes are appended to the journal.
+   *
+   * @return the number of bytes appended per second
+   */
+  public double getAppendByteRate() {
+    return appendedBytes.getRate();
+  }
+
+  /**
+   * Returns the histogram of segment flush latencies in nanoseconds.
+   *
+   * @return the histogram of segment flush latencies
+   */
+  public Histogram getFlushLatency() {
+    return flushLatency;
+  }
+
+  /**
+   * Returns the number of entries read from the segment caches.
+   *
+   * @return the number of entries read from the segment caches
+   */
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * Returns the number of entries read from segment buffers rather than the segment caches.
+   *
+   * @return the number of entries read from segment buffers
+   */
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * Returns the ratio of entries read from the segment caches.
+   *
+   * @return the segment cache hit rate
+   */
+  public double getCacheHitRate() {
+    long hits = getCacheHits();
+    long reads = hits + getCacheMisses();
+    return reads == 0 ? 0 : hits / (double) reads;
+  }
+
+  /**
+   * Returns the histogram of the time taken to seek readers to an index in nanoseconds.
+   * <p>
+   * Each seek looks up the nearest indexed position and then scans forward to the requested entry.
+   *
+   * @return the histogram of reader seek latencies
+   */
+  public Histogram getIndexLookupLatency() {
+    return indexLookupLatency;
+  }
+
+  /**
+   * Returns the number of entries scanned after index lookups to reach the requested entries.
+   *
+   * @return the number of entries scanned after index lookups
+   */
+  public long getIndexScannedEntries() {
+    return indexScannedEntries.sum();
+  }
+
+  /**
+   * Returns the mean number of entries scanned per index lookup.
+   *
+   * @return the mean number of entries scanned per index lookup
+   */
+  public double getIndexScanLength() {
+    long lookups = indexLookupLatency.getCount();
+    return lookups == 0 ? 0 : getIndexScannedEntries() / (double) lookups;
+  }
+
+  /**
+   * Returns the number of compactions that removed segments from the journal.
+   *
+   * @return the number of compactions
+   */
+  public long getCompactions() {
+    return compactions.sum();
+  }
+
+  /**
+   * Returns the number of segments removed by compaction.
+   *
+   * @return the number of segments removed by compaction
+   */
+  public long getCompactedSegments() {
+    return compactedSegments.sum();
+  }
+
+  /**
+   * Returns the number of bytes reclaimed by compaction.
+   *
+   * @return the number of bytes reclaimed by compaction
+   */
+  public long getCompactedBytes() {
+    return compactedBytes.sum();
+  }
+
+  /**
+   * Returns the number of segments in the journal.
+   *
+   * @return the number of segments in the journal
+   */
+  public int getSegmentCount() {
+    SegmentedJournal<?> journal = this.journal;
+    return journal != null && journal.isOpen() ? journal.getSegments().size() : 0;
+  }
+
+  /**
+   * Returns the sizes of the segments in the journal.
+   *
+   * @return the size in bytes of each segment in the journal, keyed by segment ID
+   */
+  public SortedMap<Long, Long> getSegmentSizes() {
+    SegmentedJournal<?> journal = this.journal;
+    if (journal == null || !journal.isOpen()) {
+      return Collections.emptySortedMap();
+    }
+    SortedMap<Long, Long> sizes = new TreeMap<>();
+    for (JournalSegment<?> segment : journal.getSegments()) {
+      sizes.put(segment.id(), segment.size());
+    }
+    return sizes;
+  }
+
+  /**
+   * Returns the total size of the segments in the journal.
+   *
+   * @return the total size in bytes of the segments in the journal
+   */
+  public long getSize() {
+    return getSegmentSizes().values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("appends", getAppends())
+        .add("appendRate", getAppendRate())
+        .add("appendedBytes", getAppendedBytes())
+        .add("flushLatency", getFlushLatency())
+        .add("cacheHitRate", getCacheHitRate())
+        .add("indexLookupLatency", getIndexLookupLatency())
+        .add("indexScanLength", getIndexScanLength())
+        .add("compactedBytes", getCompactedBytes())
+        .add("segments", getSegmentCount())
+        .add("size", getSize())
+        .toString();
+  }
+}
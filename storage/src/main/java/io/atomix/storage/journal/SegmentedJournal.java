@@ -19,6 +19,9 @@ import com.google.common.collect.Sets;
 import io.atomix.storage.StorageException;
 import io.atomix.storage.StorageLevel;
 import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.Bytes;
+import io.atomix.storage.buffer.CompressedBuffer;
+import io.atomix.storage.buffer.DiskBuffer;
 import io.atomix.storage.buffer.FileBuffer;
 import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.storage.buffer.MappedBuffer;
@@ -28,16 +31,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static io.atomix.utils.concurrent.Threads.namedThreads;
 
 /**
  *
@@ -58,6 +76,8 @@ public class SegmentedJournal<E> implements Journal<E> {
 
   private static final int DEFAULT_BUFFER_SIZE = 1024 * 64;
   private static final int SEGMENT_BUFFER_FACTOR = 3;
+  private static final int PREALLOCATE_BUFFER_SIZE = 1024 * 1024;
+  private static final int EXECUTOR_TERMINATION_TIMEOUT = 10;
 
   private final Logger log = LoggerFactory.getLogger(getClass());
   private final String name;
@@ -68,6 +88,8 @@ public class SegmentedJournal<E> implements Journal<E> {
   private final int maxEntriesPerSegment;
   private final double indexDensity;
   private final int cacheSize;
+  private final boolean compressSegments;
+  private final JournalStatistics statistics;
 
   private final NavigableMap<Long, JournalSegment<E>> segments = new ConcurrentSkipListMap<>();
   private final Collection<SegmentedJournalReader<E>> readers = Sets.newConcurrentHashSet();
@@ -76,6 +98,16 @@ public class SegmentedJournal<E> implements Journal<E> {
   private final SegmentedJournalWriter<E> writer;
   private volatile boolean open = true;
 
+  private final ExecutorService allocateExecutor;
+  private final ExecutorService flushExecutor;
+  private final ExecutorService compressExecutor;
+  private final Map<JournalSegment<E>, CompletableFuture<JournalSegment<E>>> compressFutures = new LinkedHashMap<>();
+  private CompletableFuture<Void> segmentFuture = CompletableFuture.completedFuture(null);
+  private Throwable segmentFailure;
+  private CompletableFuture<File> preallocatedFuture;
+  private long preallocatedId;
+  private volatile long rollOverTime;
+
   public SegmentedJournal(
       String name,
       StorageLevel storageLevel,
@@ -85,6 +117,33 @@ public class SegmentedJournal<E> implements Journal<E> {
       int maxEntriesPerSegment,
       double indexDensity,
       int cacheSize) {
+    this(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment, indexDensity, cacheSize, false);
+  }
+
+  public SegmentedJournal(
+      String name,
+      StorageLevel storageLevel,
+      File directory,
+      Serializer serializer,
+      int maxSegmentSize,
+      int maxEntriesPerSegment,
+      double indexDensity,
+      int cacheSize,
+      boolean compressSegments) {
+    this(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment, indexDensity, cacheSize, compressSegments, new JournalStatistics());
+  }
+
+  public SegmentedJournal(
+      String name,
+      StorageLevel storageLevel,
+      File directory,
+      Serializer serializer,
+      int maxSegmentSize,
+      int maxEntriesPerSegment,
+      double indexDensity,
+      int cacheSize,
+      boolean compressSegments,
+      JournalStatistics statistics) {
     this.name = checkNotNull(name, "name cannot be null");
     this.storageLevel = checkNotNull(storageLevel, "storageLevel cannot be null");
     this.directory = checkNotNull(directory, "directory cannot be null");
@@ -93,8 +152,24 @@ public class SegmentedJournal<E> implements Journal<E> {
     this.maxEntriesPerSegment = maxEntriesPerSegment;
     this.indexDensity = indexDensity;
     this.cacheSize = cacheSize;
+    this.compressSegments = compressSegments && storageLevel != StorageLevel.MEMORY;
+    this.statistics = checkNotNull(statistics, "statistics cannot be null");
+    if (storageLevel != StorageLevel.MEMORY) {
+      this.allocateExecutor = Executors.newSingleThreadExecutor(namedThreads("atomix-journal-" + name + "-allocator-%d", log));
+      this.flushExecutor = Executors.newSingleThreadExecutor(namedThreads("atomix-journal-" + name + "-flusher-%d", log));
+    } else {
+      this.allocateExecutor = null;
+      this.flushExecutor = null;
+    }
+    if (this.compressSegments) {
+      this.compressExecutor = Executors.newSingleThreadExecutor(namedThreads("atomix-journal-" + name + "-compressor-%d", log));
+    } else {
+      this.compressExecutor = null;
+    }
     open();
     this.writer = openWriter();
+    preallocateNextSegment();
+    statistics.bind(this);
   }
 
   /**
@@ -154,6 +229,27 @@ public class SegmentedJournal<E> implements Journal<E> {
     return maxEntriesPerSegment;
   }
 
+  /**
+   * Returns the time taken by the most recent segment roll-over.
+   * <p>
+   * Segment files are preallocated in the background, so roll-over time should remain low unless segments are
+   * filled faster than they can be preallocated.
+   *
+   * @return the time taken by the most recent segment roll-over in nanoseconds
+   */
+  public long getRollOverTime() {
+    return rollOverTime;
+  }
+
+  /**
+   * Returns the journal statistics.
+   *
+   * @return the journal statistics
+   */
+  public JournalStatistics statistics() {
+    return statistics;
+  }
+
   /**
    * Opens a new journal writer.
    *
@@ -172,9 +268,17 @@ public class SegmentedJournal<E> implements Journal<E> {
       segments.put(segment.descriptor().index(), segment);
     }
 
-    // If a segment doesn't already exist, create an initial segment starting at index 1.
+    // If a segment doesn't already exist, create an initial segment starting at index 1. Compressed segments are
+    // read-only, so if the last segment was compressed it's decompressed before it's written.
     if (!segments.isEmpty()) {
       currentSegment = segments.lastEntry().getValue();
+      if (currentSegment.isCompressed()) {
+        decompressSegment(currentSegment);
+      }
+
+      // Sealed segments are loaded without scanning their entries, but the last segment is always scanned to recover
+      // the entries that will be written after it.
+      currentSegment.verify();
     } else {
       JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder()
           .withId(1)
@@ -235,8 +339,9 @@ public class SegmentedJournal<E> implements Journal<E> {
    * @param index the starting index of the journal
    * @return the first segment
    */
-  JournalSegment<E> resetSegments(long index) {
+  synchronized JournalSegment<E> resetSegments(long index) {
     assertOpen();
+    awaitSegmentTasks();
 
     // If the index already equals the first segment index, skip the reset.
     JournalSegment<E> firstSegment = getFirstSegment();
@@ -245,6 +350,7 @@ public class SegmentedJournal<E> implements Journal<E> {
     }
 
     for (JournalSegment<E> segment : segments.values()) {
+      cancelCompression(segment);
       segment.close();
       segment.delete();
     }
@@ -283,6 +389,15 @@ public class SegmentedJournal<E> implements Journal<E> {
     return segment != null ? segment.getValue() : null;
   }
 
+  /**
+   * Returns the segments in the journal.
+   *
+   * @return the segments in the journal
+   */
+  Collection<JournalSegment<E>> getSegments() {
+    return segments.values();
+  }
+
   /**
    * Creates and returns the next segment.
    *
@@ -291,7 +406,10 @@ public class SegmentedJournal<E> implements Journal<E> {
    */
   synchronized JournalSegment<E> getNextSegment() {
     assertOpen();
-    assertDiskSpace();
+    long startTime = System.nanoTime();
+
+    // Replace sealed segments that have been compressed in the background with their compressed segments.
+    installCompressedSegments();
 
     JournalSegment lastSegment = getLastSegment();
     JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder()
@@ -301,12 +419,377 @@ public class SegmentedJournal<E> implements Journal<E> {
         .withMaxEntries(maxEntriesPerSegment)
         .build();
 
-    currentSegment = createSegment(descriptor);
+    // If a file has been preallocated for the segment, use it. Otherwise, create the segment synchronously.
+    File preallocatedFile = getPreallocatedFile(descriptor.id());
+    if (preallocatedFile != null) {
+      currentSegment = createPreallocatedSegment(descriptor, preallocatedFile);
+    } else {
+      assertDiskSpace();
+      currentSegment = createSegment(descriptor);
+    }
 
     segments.put(descriptor.index(), currentSegment);
+    preallocateNextSegment();
+    rollOverTime = System.nanoTime() - startTime;
     return currentSegment;
   }
 
+  /**
+   * Preallocates a file for the segment following the last segment in the background.
+   */
+  private synchronized void preallocateNextSegment() {
+    if (allocateExecutor == null) {
+      return;
+    }
+
+    long id = getLastSegment().id() + 1;
+    File file = JournalSegmentFile.createPreallocatedFile(name, directory, id);
+    preallocatedId = id;
+    preallocatedFuture = CompletableFuture.supplyAsync(() -> preallocate(file), allocateExecutor);
+  }
+
+  /**
+   * Allocates and zeroes a segment file of the maximum segment size.
+   */
+  private File preallocate(File file) {
+    assertDiskSpace();
+    try (FileChannel channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer zeros = ByteBuffer.allocate(Math.min(PREALLOCATE_BUFFER_SIZE, maxSegmentSize));
+      long position = 0;
+      while (position < maxSegmentSize) {
+        zeros.clear().limit((int) Math.min(zeros.capacity(), maxSegmentSize - position));
+        position += channel.write(zeros, position);
+      }
+      channel.force(true);
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+    log.trace("Preallocated segment file: {}", file.getName());
+    return file;
+  }
+
+  /**
+   * Returns the preallocated file for the segment with the given ID, waiting for the file to be preallocated.
+   *
+   * @param id the segment ID
+   * @return the preallocated segment file or {@code null} if no file has been preallocated for the segment
+   * @throws StorageException.OutOfDiskSpace if there's not enough space to preallocate the segment
+   */
+  private File getPreallocatedFile(long id) {
+    CompletableFuture<File> future = preallocatedFuture;
+    preallocatedFuture = null;
+    if (future == null) {
+      return null;
+    }
+
+    // If the segments have been reset or truncated since the file was preallocated, discard the file.
+    if (preallocatedId != id) {
+      try {
+        future.join();
+      } catch (CompletionException e) {
+        // A partially preallocated file is deleted below.
+      }
+      JournalSegmentFile.createPreallocatedFile(name, directory, preallocatedId).delete();
+      return null;
+    }
+
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof StorageException.OutOfDiskSpace) {
+        throw (StorageException.OutOfDiskSpace) e.getCause();
+      }
+      log.warn("Failed to preallocate segment", e.getCause());
+      return null;
+    }
+  }
+
+  /**
+   * Creates a new segment from a preallocated file.
+   * <p>
+   * The descriptor is written to the file before the segment is loaded, and the segment file and directory are
+   * synced to disk in the background.
+   */
+  private JournalSegment<E> createPreallocatedSegment(JournalSegmentDescriptor descriptor, File preallocatedFile) {
+    File segmentFile = JournalSegmentFile.createSegmentFile(name, directory, descriptor.id());
+    try {
+      Files.move(preallocatedFile.toPath(), segmentFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      try (FileChannel channel = FileChannel.open(segmentFile.toPath(), StandardOpenOption.WRITE)) {
+        Buffer buffer = HeapBuffer.allocate(JournalSegmentDescriptor.BYTES);
+        descriptor.copyTo(buffer);
+        channel.write(ByteBuffer.wrap(buffer.array(), 0, JournalSegmentDescriptor.BYTES), 0);
+      }
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+
+    JournalSegment<E> segment = storageLevel == StorageLevel.MAPPED
+        ? loadMappedSegment(descriptor.id())
+        : loadDiskSegment(descriptor.id());
+    submitSegmentTask(() -> {
+      sync(segmentFile);
+      sync(directory);
+    });
+    log.debug("Created segment from preallocated file: {}", segment);
+    return segment;
+  }
+
+  /**
+   * Forces the given file or directory to disk.
+   */
+  private void sync(File file) {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // Directories cannot be synced on all platforms.
+      if (!file.isDirectory()) {
+        throw new StorageException(e);
+      }
+    }
+  }
+
+  /**
+   * Flushes the given segment in the background.
+   * <p>
+   * Segment flushes are completed before the journal writer is {@link SegmentedJournalWriter#flush() flushed}.
+   *
+   * @param segment the segment to flush
+   * @return a future to be completed once the segment and all previously flushed segments have been flushed
+   */
+  CompletableFuture<Void> flushSegment(JournalSegment<E> segment) {
+    if (flushExecutor == null) {
+      segment.writer().flush();
+      return CompletableFuture.completedFuture(null);
+    }
+    return submitSegmentTask(() -> {
+      if (segment.isOpen()) {
+        segment.writer().flush();
+      }
+    });
+  }
+
+  /**
+   * Submits a task to be run on the flusher thread after all previously submitted tasks.
+   * <p>
+   * A failed task does not prevent subsequent tasks from running. The failure is reported on the task's own future
+   * and by the next call to {@link #flushSegments()}.
+   *
+   * @return a future to be completed once the task is complete
+   */
+  private synchronized CompletableFuture<Void> submitSegmentTask(Runnable task) {
+    CompletableFuture<Void> future = segmentFuture.thenRunAsync(() -> {
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        log.error("Segment task failed", e);
+        synchronized (this) {
+          if (segmentFailure == null) {
+            segmentFailure = e;
+          }
+        }
+        throw e;
+      }
+    }, flushExecutor);
+    segmentFuture = future.exceptionally(error -> null);
+    return future;
+  }
+
+  /**
+   * Waits for background segment flushes to complete.
+   *
+   * @throws StorageException if a background segment task failed since segments were last flushed
+   */
+  void flushSegments() {
+    CompletableFuture<Void> future;
+    synchronized (this) {
+      future = segmentFuture;
+    }
+    future.join();
+
+    Throwable failure;
+    synchronized (this) {
+      failure = segmentFailure;
+      segmentFailure = null;
+    }
+    if (failure != null) {
+      throw new StorageException(failure);
+    }
+  }
+
+  /**
+   * Waits for background segment tasks to complete before segments are closed, ignoring failures.
+   */
+  void awaitSegmentTasks() {
+    try {
+      flushSegments();
+    } catch (StorageException e) {
+      // Failures are logged by the segment task.
+    }
+  }
+
+  /**
+   * Seals a full segment once the journal has rolled over to the next segment.
+   * <p>
+   * The segment is flushed and sealed in the background. If segment compression is enabled, the segment is then
+   * compressed on the compressor thread, and the compressed segment replaces the sealed segment the next time the
+   * journal rolls over to a new segment.
+   *
+   * @param segment the segment to seal
+   */
+  void sealSegment(JournalSegment<E> segment) {
+    CompletableFuture<Void> flushFuture = flushSegment(segment);
+
+    // Once the segment has been flushed, record its state in the segment descriptor so it can be loaded without
+    // scanning its entries.
+    if (flushExecutor != null) {
+      flushFuture = submitSegmentTask(() -> {
+        if (segment.isOpen()) {
+          segment.writer().seal();
+        }
+      });
+    }
+
+    if (compressExecutor != null) {
+      // Compress the entries and the zero length that terminates them.
+      int length = (int) segment.size() + Bytes.INTEGER;
+      synchronized (this) {
+        cancelCompression(segment);
+        compressFutures.put(segment, flushFuture.thenApplyAsync(v -> compress(segment, length), compressExecutor));
+      }
+    }
+  }
+
+  /**
+   * Compresses the given segment to a compressed segment file.
+   *
+   * @return the compressed segment or {@code null} if compression did not reduce the size of the segment
+   */
+  private JournalSegment<E> compress(JournalSegment<E> segment, int length) {
+    File file = JournalSegmentFile.createCompressedFile(name, directory, segment.id());
+    CompressedBuffer.compress(segment.file().file(), length, file);
+    if (file.length() >= length) {
+      log.debug("Skipped compression of segment {}: {} bytes compressed to {} bytes", segment.id(), length, file.length());
+      file.delete();
+      return null;
+    }
+    return loadCompressedSegment(file, segment.file().file());
+  }
+
+  /**
+   * Cancels compression of the given segment, discarding the compressed segment once it's complete.
+   */
+  private synchronized void cancelCompression(JournalSegment<E> segment) {
+    CompletableFuture<JournalSegment<E>> future = compressFutures.remove(segment);
+    if (future != null) {
+      future.thenAccept(this::discardSegment);
+    }
+  }
+
+  /**
+   * Closes and deletes a segment that was never added to the journal.
+   */
+  private void discardSegment(JournalSegment<E> segment) {
+    if (segment != null) {
+      segment.close();
+      segment.delete();
+    }
+  }
+
+  /**
+   * Replaces sealed segments with the compressed segments that have been completed in the background.
+   */
+  private synchronized void installCompressedSegments() {
+    Iterator<Map.Entry<JournalSegment<E>, CompletableFuture<JournalSegment<E>>>> iterator = compressFutures.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<JournalSegment<E>, CompletableFuture<JournalSegment<E>>> entry = iterator.next();
+      if (!entry.getValue().isDone()) {
+        continue;
+      }
+
+      iterator.remove();
+      JournalSegment<E> compressedSegment;
+      try {
+        compressedSegment = entry.getValue().join();
+      } catch (CompletionException e) {
+        log.warn("Failed to compress segment {}", entry.getKey(), e.getCause());
+        continue;
+      }
+
+      if (compressedSegment != null) {
+        installCompressedSegment(entry.getKey(), compressedSegment);
+      }
+    }
+  }
+
+  /**
+   * Replaces the given sealed segment with its compressed segment.
+   * <p>
+   * The compressed segment file atomically replaces the segment file, and readers of the sealed segment are moved to
+   * the compressed segment before the sealed segment is closed.
+   */
+  private void installCompressedSegment(JournalSegment<E> segment, JournalSegment<E> compressedSegment) {
+    // If the segment has been removed or written since it was sealed, discard the compressed segment.
+    if (!segment.isOpen()
+        || segments.get(segment.index()) != segment
+        || segment == currentSegment
+        || compressedSegment.lastIndex() != segment.lastIndex()) {
+      discardSegment(compressedSegment);
+      return;
+    }
+
+    try {
+      ((CompressedBuffer) compressedSegment.descriptor().buffer()).move(segment.file().file());
+    } catch (RuntimeException e) {
+      log.warn("Failed to replace segment {} with compressed segment", segment, e);
+      discardSegment(compressedSegment);
+      return;
+    }
+
+    replaceSegment(segment, compressedSegment);
+    log.debug("Compressed segment: {}", compressedSegment);
+  }
+
+  /**
+   * Replaces a compressed segment with an uncompressed segment so the segment can be written.
+   *
+   * @param segment the compressed segment to decompress
+   * @return the uncompressed segment
+   */
+  synchronized JournalSegment<E> decompressSegment(JournalSegment<E> segment) {
+    File segmentFile = segment.file().file();
+    File file = JournalSegmentFile.createPreallocatedFile(name, directory, segment.id());
+    try {
+      ((CompressedBuffer) segment.descriptor().buffer()).decompress(file);
+      Files.move(file.toPath(), segmentFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      file.delete();
+      throw new StorageException(e);
+    }
+
+    JournalSegment<E> uncompressedSegment = storageLevel == StorageLevel.MAPPED
+        ? loadMappedSegment(segment.id())
+        : loadDiskSegment(segment.id());
+    replaceSegment(segment, uncompressedSegment);
+    log.debug("Decompressed segment: {}", uncompressedSegment);
+    return uncompressedSegment;
+  }
+
+  /**
+   * Replaces a segment whose file has been replaced, moving readers to the new segment.
+   */
+  private void replaceSegment(JournalSegment<E> segment, JournalSegment<E> replacement) {
+    segments.put(segment.index(), replacement);
+    if (currentSegment == segment) {
+      currentSegment = replacement;
+    }
+    for (SegmentedJournalReader<E> reader : readers) {
+      reader.replaceSegment(segment, replacement);
+    }
+    segment.close();
+    submitSegmentTask(() -> sync(directory));
+  }
+
   /**
    * Returns the segment following the segment with the given ID.
    *
@@ -344,7 +827,9 @@ public class SegmentedJournal<E> implements Journal<E> {
    *
    * @param segment The segment to remove.
    */
-  synchronized void removeSegment(JournalSegment segment) {
+  synchronized void removeSegment(JournalSegment<E> segment) {
+    awaitSegmentTasks();
+    cancelCompression(segment);
     segments.remove(segment.index());
     segment.close();
     segment.delete();
@@ -375,7 +860,7 @@ public class SegmentedJournal<E> implements Journal<E> {
    * @return The segment instance.
    */
   protected JournalSegment<E> newSegment(JournalSegmentFile segmentFile, JournalSegmentDescriptor descriptor) {
-    return new JournalSegment<>(segmentFile, descriptor, indexDensity, cacheSize, serializer);
+    return new JournalSegment<>(segmentFile, descriptor, indexDensity, cacheSize, serializer, statistics);
   }
 
   /**
@@ -383,7 +868,7 @@ public class SegmentedJournal<E> implements Journal<E> {
    */
   private JournalSegment<E> createDiskSegment(JournalSegmentDescriptor descriptor) {
     File segmentFile = JournalSegmentFile.createSegmentFile(name, directory, descriptor.id());
-    Buffer buffer = FileBuffer.allocate(segmentFile, Math.min(DEFAULT_BUFFER_SIZE, descriptor.maxSegmentSize()), Integer.MAX_VALUE);
+    Buffer buffer = DiskBuffer.allocate(segmentFile, Math.min(DEFAULT_BUFFER_SIZE, descriptor.maxSegmentSize()), Integer.MAX_VALUE);
     descriptor.copyTo(buffer);
     JournalSegment<E> segment = newSegment(new JournalSegmentFile(segmentFile), descriptor);
     log.debug("Created disk segment: {}", segment);
@@ -435,7 +920,7 @@ public class SegmentedJournal<E> implements Journal<E> {
    */
   private JournalSegment<E> loadDiskSegment(long segmentId) {
     File file = JournalSegmentFile.createSegmentFile(name, directory, segmentId);
-    Buffer buffer = FileBuffer.allocate(file, Math.min(DEFAULT_BUFFER_SIZE, maxSegmentSize), Integer.MAX_VALUE);
+    Buffer buffer = DiskBuffer.allocate(file, Math.min(DEFAULT_BUFFER_SIZE, maxSegmentSize), Integer.MAX_VALUE);
     JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(buffer);
     JournalSegment<E> segment = newSegment(new JournalSegmentFile(file), descriptor);
     log.debug("Loaded disk segment: {} ({})", descriptor.id(), file.getName());
@@ -466,6 +951,20 @@ public class SegmentedJournal<E> implements Journal<E> {
     return segment;
   }
 
+  /**
+   * Loads a compressed segment.
+   *
+   * @param file        the compressed segment file
+   * @param segmentFile the segment file to which the compressed segment file will be moved
+   */
+  private JournalSegment<E> loadCompressedSegment(File file, File segmentFile) {
+    Buffer buffer = CompressedBuffer.open(file);
+    JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(buffer);
+    JournalSegment<E> segment = newSegment(new JournalSegmentFile(segmentFile), descriptor);
+    log.debug("Loaded compressed segment: {} ({})", descriptor.id(), file.getName());
+    return segment;
+  }
+
   /**
    * Loads all segments from disk.
    *
@@ -480,13 +979,38 @@ public class SegmentedJournal<E> implements Journal<E> {
     // Iterate through all files in the log directory.
     for (File file : directory.listFiles(File::isFile)) {
 
+      // If the file is a segment file that was preallocated but never used, delete it.
+      if (JournalSegmentFile.isPreallocatedFile(name, file)) {
+        log.debug("Deleting preallocated segment file: {}", file.getName());
+        file.delete();
+        continue;
+      }
+
+      // If the file is a compressed segment file that was never installed, delete it.
+      if (JournalSegmentFile.isCompressedFile(name, file)) {
+        log.debug("Deleting compressed segment file: {}", file.getName());
+        file.delete();
+        continue;
+      }
+
       // If the file looks like a segment file, attempt to load the segment.
       if (JournalSegmentFile.isSegmentFile(name, file)) {
         JournalSegmentFile segmentFile = new JournalSegmentFile(file);
-        JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES));
+        boolean compressed = CompressedBuffer.isCompressed(file);
+        JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(compressed
+            ? CompressedBuffer.open(file)
+            : FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES));
+
+        // If the descriptor was never written to a preallocated segment file, the segment contains no entries.
+        if (descriptor.id() == 0) {
+          log.debug("Deleting empty segment file: {}", file.getName());
+          descriptor.close();
+          file.delete();
+          continue;
+        }
 
         // Load the segment.
-        JournalSegment<E> segment = loadSegment(descriptor.id());
+        JournalSegment<E> segment = compressed ? loadCompressedSegment(file, file) : loadSegment(descriptor.id());
 
         // If a segment with an equal or lower index has already been loaded, ensure this segment is not superseded
         // by the earlier segment. This can occur due to segments being combined during log compaction.
@@ -529,6 +1053,7 @@ public class SegmentedJournal<E> implements Journal<E> {
         while (nextEntry != null) {
           if (nextEntry.getValue().index() < segment.index() + segment.length()) {
             segments.remove(nextEntry.getKey());
+            nextEntry.getValue().close();
             nextEntry = segments.higherEntry(segment.index());
           } else {
             break;
@@ -539,7 +1064,7 @@ public class SegmentedJournal<E> implements Journal<E> {
       }
     }
 
-    for (Long segmentId : segments.keySet()) {
+    for (Long segmentId : new ArrayList<>(segments.keySet())) {
       JournalSegment<E> segment = segments.get(segmentId);
       Map.Entry<Long, JournalSegment<E>> previousEntry = segments.floorEntry(segmentId - 1);
       if (previousEntry != null) {
@@ -547,6 +1072,7 @@ public class SegmentedJournal<E> implements Journal<E> {
         if (previousSegment.lastIndex() != segment.index() - 1) {
           log.warn("Found misaligned segment {}", segment);
           segments.remove(segmentId);
+          segment.close();
         }
       }
     }
@@ -573,7 +1099,9 @@ public class SegmentedJournal<E> implements Journal<E> {
    * @param index The index at which to reset readers.
    */
   void resetTail(long index) {
+    JournalSegment<E> lastSegment = getLastSegment();
     for (SegmentedJournalReader<E> reader : readers) {
+      reader.truncateSegment(lastSegment);
       if (reader.getNextIndex() >= index) {
         reader.reset(index);
       }
@@ -592,6 +1120,24 @@ public class SegmentedJournal<E> implements Journal<E> {
     return reader;
   }
 
+  /**
+   * Opens a new reader for sequential scans of the journal.
+   * <p>
+   * Sequential readers are intended for readers that scan large ranges of the journal that are not otherwise being
+   * read, e.g. to catch up a lagging replica. In {@link StorageLevel#MAPPED} journals, sequential readers read sealed
+   * segments with positional file reads through a small private block cache rather than through the shared segment
+   * mappings, so scanning cold segments doesn't compete with the mapped pages at the tail of the journal. For other
+   * storage levels, sequential readers are equivalent to {@link #openReader(long) readers}.
+   *
+   * @param index The index at which to start reading.
+   * @return A new sequential journal reader.
+   */
+  public SegmentedJournalReader<E> openSequentialReader(long index) {
+    SegmentedJournalReader<E> reader = new SegmentedJournalReader<>(this, index, true);
+    readers.add(reader);
+    return reader;
+  }
+
   void closeReader(SegmentedJournalReader<E> reader) {
     readers.remove(reader);
   }
@@ -630,17 +1176,23 @@ public class SegmentedJournal<E> implements Journal<E> {
    *
    * @param index The index up to which to compact the journal.
    */
-  public void compact(long index) {
+  public synchronized void compact(long index) {
     Map.Entry<Long, JournalSegment<E>> segmentEntry = segments.floorEntry(index);
     if (segmentEntry != null) {
       SortedMap<Long, JournalSegment<E>> compactSegments = segments.headMap(segmentEntry.getValue().index());
       if (!compactSegments.isEmpty()) {
         log.debug("{} - Compacting {} segment(s)", name, compactSegments.size());
-        for (JournalSegment segment : compactSegments.values()) {
+        awaitSegmentTasks();
+        for (JournalSegment<E> segment : compactSegments.values()) {
           log.trace("Deleting segment: {}", segment);
+          long size = storageLevel == StorageLevel.MEMORY ? segment.size() : segment.file().file().length();
+          cancelCompression(segment);
           segment.close();
           segment.delete();
+          statistics.compactedSegments.increment();
+          statistics.compactedBytes.add(size);
         }
+        statistics.compactions.increment();
         compactSegments.clear();
         resetHead(segmentEntry.getValue().index());
       }
@@ -649,6 +1201,33 @@ public class SegmentedJournal<E> implements Journal<E> {
 
   @Override
   public void close() {
+    // Close open readers to return their buffers to the allocator.
+    new ArrayList<>(readers).forEach(SegmentedJournalReader::close);
+
+    if (compressExecutor != null) {
+      synchronized (this) {
+        new ArrayList<>(compressFutures.keySet()).forEach(this::cancelCompression);
+      }
+      compressExecutor.shutdownNow();
+      awaitTermination(compressExecutor);
+    }
+    if (flushExecutor != null) {
+      awaitSegmentTasks();
+
+      // Cancel the preallocation if it hasn't started and wait for the allocator to stop before deleting the file.
+      CompletableFuture<File> preallocatedFuture = this.preallocatedFuture;
+      this.preallocatedFuture = null;
+      if (preallocatedFuture != null) {
+        preallocatedFuture.cancel(false);
+      }
+      allocateExecutor.shutdown();
+      flushExecutor.shutdown();
+      awaitTermination(allocateExecutor);
+      awaitTermination(flushExecutor);
+      if (preallocatedFuture != null) {
+        JournalSegmentFile.createPreallocatedFile(name, directory, preallocatedId).delete();
+      }
+    }
     segments.values().forEach(segment -> {
       log.debug("Closing segment: {}", segment);
       segment.close();
@@ -657,6 +1236,19 @@ public class SegmentedJournal<E> implements Journal<E> {
     open = false;
   }
 
+  /**
+   * Waits for the given executor to complete running tasks after it has been shut down.
+   */
+  private void awaitTermination(ExecutorService executor) {
+    try {
+      if (!executor.awaitTermination(EXECUTOR_TERMINATION_TIMEOUT, TimeUnit.SECONDS)) {
+        log.warn("Timed out waiting for journal executor to terminate");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   /**
    * Segmented journal builder.
    */
@@ -667,6 +1259,7 @@ public class SegmentedJournal<E> implements Journal<E> {
     private static final int DEFAULT_MAX_ENTRIES_PER_SEGMENT = 1024 * 1024;
     private static final double DEFAULT_INDEX_DENSITY = .005;
     private static final int DEFAULT_CACHE_SIZE = 1024;
+    private static final boolean DEFAULT_COMPRESS_SEGMENTS = false;
 
     protected String name = DEFAULT_NAME;
     protected StorageLevel storageLevel = StorageLevel.DISK;
@@ -676,6 +1269,8 @@ public class SegmentedJournal<E> implements Journal<E> {
     protected int maxEntriesPerSegment = DEFAULT_MAX_ENTRIES_PER_SEGMENT;
     protected double indexDensity = DEFAULT_INDEX_DENSITY;
     protected int cacheSize = DEFAULT_CACHE_SIZE;
+    protected boolean compressSegments = DEFAULT_COMPRESS_SEGMENTS;
+    protected JournalStatistics statistics;
 
     protected Builder() {
     }
@@ -812,6 +1407,47 @@ public class SegmentedJournal<E> implements Journal<E> {
       return this;
     }
 
+    /**
+     * Enables compression of sealed segments, returning the builder for method chaining.
+     * <p>
+     * When segment compression is enabled, segments are compressed in the background once the journal has rolled
+     * over to a new segment. Compressed segments are read transparently but can't be written, so a compressed segment
+     * is decompressed if the journal is truncated back into it. Segment compression is ignored for
+     * {@link StorageLevel#MEMORY} journals.
+     *
+     * @return The journal builder.
+     */
+    public Builder<E> withCompressSegments() {
+      return withCompressSegments(true);
+    }
+
+    /**
+     * Sets whether to compress sealed segments, returning the builder for method chaining.
+     *
+     * @param compressSegments Whether to compress sealed segments.
+     * @return The journal builder.
+     * @see #withCompressSegments()
+     */
+    public Builder<E> withCompressSegments(boolean compressSegments) {
+      this.compressSegments = compressSegments;
+      return this;
+    }
+
+    /**
+     * Sets the statistics to which the journal records its activity, returning the builder for method chaining.
+     * <p>
+     * By default, each journal records its activity to its own statistics. Providing statistics allows them to be
+     * shared across successive instances of a journal.
+     *
+     * @param statistics The journal statistics.
+     * @return The journal builder.
+     * @throws NullPointerException If the {@code statistics} are {@code null}
+     */
+    public Builder<E> withStatistics(JournalStatistics statistics) {
+      this.statistics = checkNotNull(statistics, "statistics cannot be null");
+      return this;
+    }
+
     /**
      * Builds the journal.
      *
@@ -819,7 +1455,8 @@ public class SegmentedJournal<E> implements Journal<E> {
      */
     @Override
     public SegmentedJournal<E> build() {
-      return new SegmentedJournal<>(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment, indexDensity, cacheSize);
+      return new SegmentedJournal<>(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment, indexDensity, cacheSize, compressSegments,
+          statistics != null ? statistics : new JournalStatistics());
     }
   }
 }
\ No newline at end of file
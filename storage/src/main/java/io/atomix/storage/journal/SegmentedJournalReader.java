@@ -24,12 +24,19 @@ import java.util.NoSuchElementException;
  */
 public class SegmentedJournalReader<E> implements JournalReader<E> {
   private final SegmentedJournal<E> journal;
+  private final boolean sequential;
   private JournalSegment<E> currentSegment;
   private Indexed<E> previousEntry;
   private JournalSegmentReader<E> currentReader;
+  private boolean open = true;
 
   public SegmentedJournalReader(SegmentedJournal<E> journal, long index) {
+    this(journal, index, false);
+  }
+
+  public SegmentedJournalReader(SegmentedJournal<E> journal, long index, boolean sequential) {
     this.journal = journal;
+    this.sequential = sequential;
     initialize(index);
   }
 
@@ -38,7 +45,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
    */
   private void initialize(long index) {
     currentSegment = journal.getSegment(index);
-    currentReader = currentSegment.createReader();
+    currentReader = createReader(currentSegment);
     long nextIndex = getNextIndex();
     while (index > nextIndex && hasNext()) {
       next();
@@ -85,7 +92,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
   public void reset() {
     currentReader.close();
     currentSegment = journal.getFirstSegment();
-    currentReader = currentSegment.createReader();
+    currentReader = createReader(currentSegment);
     previousEntry = null;
   }
 
@@ -114,7 +121,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
       if (segment != null) {
         currentReader.close();
         currentSegment = segment;
-        currentReader = currentSegment.createReader();
+        currentReader = createReader(currentSegment);
       }
     }
 
@@ -137,8 +144,9 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
       JournalSegment<E> nextSegment = journal.getNextSegment(currentSegment.index());
       if (nextSegment != null && nextSegment.index() == getNextIndex()) {
         previousEntry = currentReader.getCurrentEntry();
+        currentReader.close();
         currentSegment = nextSegment;
-        currentReader = currentSegment.createReader();
+        currentReader = createReader(currentSegment);
         return currentReader.hasNext();
       }
       return false;
@@ -152,8 +160,9 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
       JournalSegment<E> nextSegment = journal.getNextSegment(currentSegment.index());
       if (nextSegment != null && nextSegment.index() == getNextIndex()) {
         previousEntry = currentReader.getCurrentEntry();
+        currentReader.close();
         currentSegment = nextSegment;
-        currentReader = currentSegment.createReader();
+        currentReader = createReader(currentSegment);
         return currentReader.next();
       } else {
         throw new NoSuchElementException();
@@ -164,9 +173,58 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
     }
   }
 
+  /**
+   * Creates a reader for the given segment.
+   * <p>
+   * Sequential readers scan sealed segments with {@link JournalSegment#createSequentialReader()} and read the last
+   * segment, which is still being written, through the segment's shared buffer.
+   */
+  private JournalSegmentReader<E> createReader(JournalSegment<E> segment) {
+    if (sequential && segment != journal.getLastSegment()) {
+      return segment.createSequentialReader();
+    }
+    return segment.createReader();
+  }
+
+  /**
+   * Reopens the reader of the given segment after the segment has been truncated.
+   * <p>
+   * Sequential readers may have buffered bytes of the segment that were truncated, so the segment reader is reopened
+   * at the reader's current position.
+   *
+   * @param segment the segment that was truncated
+   */
+  void truncateSegment(JournalSegment<E> segment) {
+    if (sequential) {
+      replaceSegment(segment, segment);
+    }
+  }
+
+  /**
+   * Moves the reader to a segment that has replaced the given segment.
+   * <p>
+   * Segments are replaced when they're compressed or decompressed. The replacement segment contains the same entries
+   * as the replaced segment, so the reader's position is preserved.
+   *
+   * @param segment     the segment that was replaced
+   * @param replacement the segment that replaced it
+   */
+  void replaceSegment(JournalSegment<E> segment, JournalSegment<E> replacement) {
+    if (currentSegment == segment) {
+      long nextIndex = getNextIndex();
+      currentReader.close();
+      currentSegment = replacement;
+      currentReader = createReader(currentSegment);
+      currentReader.reset(nextIndex);
+    }
+  }
+
   @Override
-  public void close() {
-    currentReader.close();
-    journal.closeReader(this);
+  public synchronized void close() {
+    if (open) {
+      open = false;
+      currentReader.close();
+      journal.closeReader(this);
+    }
   }
 }
\ No newline at end of file
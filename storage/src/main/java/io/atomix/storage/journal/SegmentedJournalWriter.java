@@ -16,6 +16,7 @@
 package io.atomix.storage.journal;
 
 import java.nio.BufferOverflowException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Log writer.
@@ -54,6 +55,7 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
    * @param index the index to which to reset the head of the journal
    */
   public void reset(long index) {
+    journal.awaitSegmentTasks();
     currentWriter.close();
     currentSegment = journal.resetSegments(index);
     currentWriter = currentSegment.writer();
@@ -64,18 +66,14 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
   public <T extends E> Indexed<T> append(T entry) {
     try {
       if (currentWriter.isFull()) {
-        currentWriter.flush();
-        currentSegment = journal.getNextSegment();
-        currentWriter = currentSegment.writer();
+        rollOver();
       }
       return currentWriter.append(entry);
     } catch (BufferOverflowException e) {
       if (currentWriter.firstIndex() == currentWriter.getNextIndex()) {
         throw e;
       }
-      currentWriter.flush();
-      currentSegment = journal.getNextSegment();
-      currentWriter = currentSegment.writer();
+      rollOver();
       return currentWriter.append(entry);
     }
   }
@@ -84,24 +82,32 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
   public void append(Indexed<E> entry) {
     try {
       if (currentWriter.isFull()) {
-        currentWriter.flush();
-        currentSegment = journal.getNextSegment();
-        currentWriter = currentSegment.writer();
+        rollOver();
       }
       currentWriter.append(entry);
     } catch (BufferOverflowException e) {
       if (currentWriter.firstIndex() == currentWriter.getNextIndex()) {
         throw e;
       }
-      currentWriter.flush();
-      currentSegment = journal.getNextSegment();
-      currentWriter = currentSegment.writer();
+      rollOver();
       currentWriter.append(entry);
     }
   }
 
+  /**
+   * Seals the current segment and rolls over to the next segment.
+   */
+  private void rollOver() {
+    journal.sealSegment(currentSegment);
+    currentSegment = journal.getNextSegment();
+    currentWriter = currentSegment.writer();
+  }
+
   @Override
   public void truncate(long index) {
+    // Wait for background segment flushes to complete before segments are closed or written again.
+    journal.awaitSegmentTasks();
+
     // Delete all segments with first indexes greater than the given index.
     while (index < currentWriter.firstIndex() - 1) {
       currentWriter.close();
@@ -110,6 +116,12 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
       currentWriter = currentSegment.writer();
     }
 
+    // Compressed segments can't be written, so decompress the segment before it's truncated.
+    if (currentSegment.isCompressed()) {
+      currentSegment = journal.decompressSegment(currentSegment);
+      currentWriter = currentSegment.writer();
+    }
+
     // Truncate the current index.
     currentWriter.truncate(index);
 
@@ -117,11 +129,31 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
     journal.resetTail(index + 1);
   }
 
+  /**
+   * Flushes written entries to disk.
+   * <p>
+   * Segments that were filled since the last flush are flushed in the background when the journal rolls over to a
+   * new segment. Those flushes are completed before the current segment is flushed.
+   */
   @Override
   public void flush() {
+    journal.flushSegments();
     currentWriter.flush();
   }
 
+  /**
+   * Flushes written entries to disk in the background.
+   * <p>
+   * The flush is performed on the journal's flusher thread after any pending segment flushes. Entries appended after
+   * this method is called are not guaranteed to be persisted when the returned future is completed.
+   *
+   * @return a future to be completed with the last index written prior to the flush once the flush is complete
+   */
+  public CompletableFuture<Long> flushAsync() {
+    long index = getLastIndex();
+    return journal.flushSegment(currentSegment).thenApply(v -> index);
+  }
+
   @Override
   public void close() {
     currentWriter.close();
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.statistics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Histogram of non-negative values.
+ * <p>
+ * Values are counted in power-of-two buckets, so recording a value is lock-free and the histogram has a fixed size
+ * regardless of how many values are recorded. Percentiles are estimated as the upper bound of the bucket in which
+ * they fall and are accurate to within a factor of {@code 2}. Durations are recorded in nanoseconds.
+ */
+public class Histogram {
+  private static final int BUCKETS = Long.SIZE;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKETS];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  public Histogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a value in the histogram.
+   *
+   * @param value the value to record
+   */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    buckets[BUCKETS - Long.numberOfLeadingZeros(value)].increment();
+    count.increment();
+    total.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Returns the number of values recorded in the histogram.
+   *
+   * @return the number of values recorded in the histogram
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Returns the sum of all values recorded in the histogram.
+   *
+   * @return the sum of all values recorded in the histogram
+   */
+  public long getTotal() {
+    return total.sum();
+  }
+
+  /**
+   * Returns the mean of the values recorded in the histogram.
+   *
+   * @return the mean of the values recorded in the histogram
+   */
+  public double getMean() {
+    long count = getCount();
+    return count == 0 ? 0 : getTotal() / (double) count;
+  }
+
+  /**
+   * Returns the largest value recorded in the histogram.
+   *
+   * @return the largest value recorded in the histogram
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns an estimate of the given percentile of the values recorded in the histogram.
+   *
+   * @param percentile the percentile to estimate, between {@code 0} and {@code 1}
+   * @return the upper bound of the bucket containing the percentile
+   * @throws IllegalArgumentException if the percentile is not between {@code 0} and {@code 1}
+   */
+  public long getPercentile(double percentile) {
+    checkArgument(percentile >= 0 && percentile <= 1, "percentile must be between 0 and 1");
+    long[] counts = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets[i].sum();
+      count += counts[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = Math.max((long) Math.ceil(percentile * count), 1);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        long bound = i == 0 ? 0 : i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+        return Math.min(bound, getMax());
+      }
+    }
+    return getMax();
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("count", getCount())
+        .add("mean", getMean())
+        .add("max", getMax())
+        .toString();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Meter that counts events and tracks the rate at which they occur.
+ * <p>
+ * The rate is a one minute exponentially weighted moving average that is updated every five seconds. The average
+ * is updated lazily when events are marked or the rate is read, so an idle meter has no background cost.
+ */
+public class Meter {
+  private static final long TICK_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+  private static final double TICK_SECONDS = TICK_INTERVAL / (double) TimeUnit.SECONDS.toNanos(1);
+  private static final double ALPHA = 1 - Math.exp(-TICK_SECONDS / TimeUnit.MINUTES.toSeconds(1));
+
+  private final LongSupplier clock;
+  private final LongAdder count = new LongAdder();
+  private final LongAdder uncounted = new LongAdder();
+  private final AtomicLong lastTick;
+  private volatile boolean initialized;
+  private volatile double rate;
+
+  public Meter() {
+    this(System::nanoTime);
+  }
+
+  Meter(LongSupplier clock) {
+    this.clock = clock;
+    this.lastTick = new AtomicLong(clock.getAsLong());
+  }
+
+  /**
+   * Marks the occurrence of a single event.
+   */
+  public void mark() {
+    mark(1);
+  }
+
+  /**
+   * Marks the occurrence of the given number of events.
+   *
+   * @param events the number of events that occurred
+   */
+  public void mark(long events) {
+    tickIfNecessary();
+    count.add(events);
+    uncounted.add(events);
+  }
+
+  /**
+   * Returns the total number of events marked.
+   *
+   * @return the total number of events marked
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Returns the one minute moving average rate of events.
+   *
+   * @return the one minute moving average number of events per second
+   */
+  public double getRate() {
+    tickIfNecessary();
+    return rate;
+  }
+
+  /**
+   * Updates the moving average for each tick interval that has elapsed since it was last updated.
+   */
+  private void tickIfNecessary() {
+    long oldTick = lastTick.get();
+    long age = clock.getAsLong() - oldTick;
+    if (age > TICK_INTERVAL) {
+      long newTick = oldTick + age - age % TICK_INTERVAL;
+      if (lastTick.compareAndSet(oldTick, newTick)) {
+        tick(age / TICK_INTERVAL);
+      }
+    }
+  }
+
+  /**
+   * Folds the events marked since the last tick into the moving average.
+   * <p>
+   * Events are attributed to the first elapsed interval, and the average decays through the remaining intervals.
+   */
+  private void tick(long ticks) {
+    double instantRate = uncounted.sumThenReset() / TICK_SECONDS;
+    double rate = this.rate;
+    if (initialized) {
+      rate += ALPHA * (instantRate - rate);
+    } else {
+      rate = instantRate;
+      initialized = true;
+    }
+    this.rate = rate * Math.pow(1 - ALPHA, ticks - 1);
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("count", getCount())
+        .add("rate", getRate())
+        .toString();
+  }
+}
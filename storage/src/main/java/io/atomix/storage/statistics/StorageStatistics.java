@@ -15,16 +15,31 @@
  */
 package io.atomix.storage.statistics;
 
+import io.atomix.storage.journal.JournalStatistics;
+
 import java.io.File;
 
+import static com.google.common.base.MoreObjects.toStringHelper;
+
 /**
  * Atomix storage statistics.
+ * <p>
+ * Storage statistics combine the disk space available to the storage directory with live statistics for the journal
+ * and snapshots stored in it.
  */
 public class StorageStatistics {
   private final File file;
+  private final JournalStatistics journal;
+  private final Histogram snapshotLatency = new Histogram();
+  private final Histogram snapshotInstallLatency = new Histogram();
 
   public StorageStatistics(File file) {
+    this(file, new JournalStatistics());
+  }
+
+  public StorageStatistics(File file, JournalStatistics journal) {
     this.file = file;
+    this.journal = journal;
   }
 
   /**
@@ -53,4 +68,42 @@ public class StorageStatistics {
   public long getTotalSpace() {
     return file.getTotalSpace();
   }
+
+  /**
+   * Returns the journal statistics.
+   *
+   * @return the journal statistics
+   */
+  public JournalStatistics getJournalStatistics() {
+    return journal;
+  }
+
+  /**
+   * Returns the histogram of the time taken to take and persist snapshots in nanoseconds.
+   *
+   * @return the histogram of snapshot latencies
+   */
+  public Histogram getSnapshotLatency() {
+    return snapshotLatency;
+  }
+
+  /**
+   * Returns the histogram of the time taken to install snapshots in nanoseconds.
+   *
+   * @return the histogram of snapshot install latencies
+   */
+  public Histogram getSnapshotInstallLatency() {
+    return snapshotInstallLatency;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("usableSpace", getUsableSpace())
+        .add("totalSpace", getTotalSpace())
+        .add("journal", getJournalStatistics())
+        .add("snapshotLatency", getSnapshotLatency())
+        .add("snapshotInstallLatency", getSnapshotInstallLatency())
+        .toString();
+  }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffer benchmarks.
+ * <p>
+ * Benchmarks cover primitive reads and writes, bulk copies and zeroing for each buffer type. Run the benchmarks
+ * with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferBenchmark {
+  private static final int PRIMITIVES = 1024;
+
+  @Param({"heap", "direct", "unsafe-heap", "unsafe-direct", "mapped"})
+  private String type;
+
+  @Param({"65536", "4194304"})
+  private int size;
+
+  private File file;
+  private Buffer buffer;
+  private Buffer target;
+  private byte[] bytes;
+
+  @Setup
+  public void setup() throws IOException {
+    file = File.createTempFile("buffer-benchmark", ".bin");
+    buffer = createBuffer(file);
+    target = HeapBuffer.allocate(size, size);
+    bytes = new byte[size];
+    buffer.write(bytes).clear();
+  }
+
+  private Buffer createBuffer(File file) {
+    switch (type) {
+      case "heap":
+        return HeapBuffer.allocate(size, size);
+      case "direct":
+        return DirectBuffer.allocate(size, size);
+      case "unsafe-heap":
+        return UnsafeHeapBuffer.allocate(size, size);
+      case "unsafe-direct":
+        return UnsafeDirectBuffer.allocate(size, size);
+      case "mapped":
+        return MappedBuffer.allocate(file, size, size);
+      default:
+        throw new AssertionError();
+    }
+  }
+
+  @TearDown
+  public void teardown() throws IOException {
+    buffer.close();
+    target.close();
+    Files.deleteIfExists(file.toPath());
+  }
+
+  @Benchmark
+  public void writeInt() {
+    buffer.clear();
+    for (int i = 0; i < PRIMITIVES; i++) {
+      buffer.writeInt(i);
+    }
+  }
+
+  @Benchmark
+  public void readInt(Blackhole blackhole) {
+    buffer.clear();
+    for (int i = 0; i < PRIMITIVES; i++) {
+      blackhole.consume(buffer.readInt());
+    }
+  }
+
+  @Benchmark
+  public void writeLong() {
+    buffer.clear();
+    for (int i = 0; i < PRIMITIVES; i++) {
+      buffer.writeLong(i);
+    }
+  }
+
+  @Benchmark
+  public void readLong(Blackhole blackhole) {
+    buffer.clear();
+    for (int i = 0; i < PRIMITIVES; i++) {
+      blackhole.consume(buffer.readLong());
+    }
+  }
+
+  @Benchmark
+  public Buffer readBytes() {
+    return buffer.clear().read(bytes);
+  }
+
+  @Benchmark
+  public Buffer writeBytes() {
+    return buffer.clear().write(bytes);
+  }
+
+  @Benchmark
+  public Buffer copyToBuffer() {
+    return buffer.clear().read(target.clear());
+  }
+
+  @Benchmark
+  public Buffer copyFromBuffer() {
+    return buffer.clear().write(target.clear());
+  }
+
+  @Benchmark
+  public Buffer zero() {
+    return buffer.zero(0);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(BufferBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Disk buffer test.
+ */
+public class DiskBufferTest extends BufferTest {
+  @AfterClass
+  public static void afterTest() {
+    FileTesting.cleanFiles();
+  }
+
+  @Override
+  protected Buffer createBuffer(int capacity) {
+    return DiskBuffer.allocate(FileTesting.createFile(), capacity);
+  }
+
+  @Override
+  protected Buffer createBuffer(int capacity, int maxCapacity) {
+    return DiskBuffer.allocate(FileTesting.createFile(), capacity, maxCapacity);
+  }
+
+  /**
+   * Tests reopening a file that has been closed.
+   */
+  @Test
+  public void testPersist() {
+    File file = FileTesting.createFile();
+    try (DiskBuffer buffer = DiskBuffer.allocate(file, 16)) {
+      buffer.writeLong(10).writeLong(11).flip();
+      assertEquals(buffer.readLong(), 10);
+      assertEquals(buffer.readLong(), 11);
+    }
+    try (DiskBuffer buffer = DiskBuffer.allocate(file, 16)) {
+      assertEquals(buffer.readLong(), 10);
+      assertEquals(buffer.readLong(), 11);
+    }
+  }
+
+  /**
+   * Tests that buffered writes are visible to reads and written to the file on flush.
+   */
+  @Test
+  public void testBufferedWrites() {
+    File file = FileTesting.createFile();
+    try (DiskBuffer buffer = DiskBuffer.allocate(file, 1024 * 1024)) {
+      for (int i = 0; i < 1024 * 64; i++) {
+        buffer.writeInt(i);
+      }
+      buffer.writeLong(0, 1);
+      buffer.flip();
+      assertEquals(buffer.readLong(), 1);
+      for (int i = 2; i < 1024 * 64; i++) {
+        assertEquals(buffer.readInt(), i);
+      }
+
+      buffer.flush();
+      try (DiskBuffer duplicate = DiskBuffer.allocate(file, 1024 * 1024)) {
+        assertEquals(duplicate.readLong(), 1);
+        for (int i = 2; i < 1024 * 64; i++) {
+          assertEquals(duplicate.readInt(), i);
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests deleting a file.
+   */
+  @Test
+  public void testDelete() {
+    File file = FileTesting.createFile();
+    DiskBuffer buffer = DiskBuffer.allocate(file, 16);
+    buffer.writeLong(10).writeLong(11).flip();
+    assertEquals(buffer.readLong(), 10);
+    assertEquals(buffer.readLong(), 11);
+    assertTrue(Files.exists(file.toPath()));
+    buffer.delete();
+    assertFalse(Files.exists(file.toPath()));
+  }
+
+}
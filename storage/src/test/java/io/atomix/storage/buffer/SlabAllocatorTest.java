@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Slab allocator test.
+ */
+public class SlabAllocatorTest extends BufferTest {
+  private final SlabAllocator allocator = new SlabAllocator();
+
+  @Override
+  protected Buffer createBuffer(int capacity) {
+    return allocator.allocate(capacity);
+  }
+
+  @Override
+  protected Buffer createBuffer(int capacity, int maxCapacity) {
+    return allocator.allocate(capacity, maxCapacity);
+  }
+
+  @Test
+  public void testReuseReleasedBuffer() {
+    Buffer buffer = allocator.allocate(1000);
+    buffer.writeLong(1234);
+    buffer.close();
+
+    Buffer reused = allocator.allocate(600);
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertEquals(600, reused.capacity());
+    assertEquals(1, reused.references());
+
+    Buffer other = allocator.allocate(600);
+    assertNotSame(reused, other);
+    reused.close();
+    other.close();
+
+    BufferAllocatorStatistics statistics = allocator.statistics();
+    assertEquals(3, statistics.getAllocations());
+    assertEquals(1, statistics.getCacheHits());
+    assertEquals(2, statistics.getSlabAllocations());
+    assertEquals(3, statistics.getReleases());
+    assertEquals(0, statistics.getActiveBuffers());
+    assertEquals(1024 * 2, statistics.getCachedBytes());
+  }
+
+  @Test
+  public void testSizeClasses() {
+    Buffer small = allocator.allocate(100);
+    assertEquals(SlabAllocator.MIN_SIZE, small.bytes().size());
+    small.close();
+
+    Buffer large = allocator.allocate(SlabAllocator.MIN_SIZE + 1);
+    assertNotSame(small, large);
+    assertEquals(SlabAllocator.MIN_SIZE * 2, large.bytes().size());
+    large.close();
+  }
+
+  @Test
+  public void testReleaseReferences() {
+    Buffer buffer = allocator.allocate(128);
+    buffer.acquire();
+    assertFalse(buffer.release());
+    assertEquals(0, allocator.statistics().getReleases());
+    assertTrue(buffer.release());
+    assertEquals(1, allocator.statistics().getReleases());
+
+    // Releasing a buffer more than once must not return it to the pool twice.
+    buffer.close();
+    assertEquals(1, allocator.statistics().getReleases());
+    assertNotSame(allocator.allocate(128), allocator.allocate(128));
+  }
+
+  @Test
+  public void testResizedBuffer() {
+    Buffer buffer = allocator.allocate(256);
+    buffer.write(new byte[2048]);
+    assertEquals(2048, buffer.bytes().size());
+    buffer.close();
+    assertSame(buffer, allocator.allocate(2048));
+  }
+
+  @Test
+  public void testUnpooledAllocation() {
+    Buffer buffer = allocator.allocate(SlabAllocator.DEFAULT_MAX_POOLED_SIZE + 1);
+    assertFalse(buffer instanceof SlabBuffer);
+    buffer.close();
+    assertEquals(1, allocator.statistics().getUnpooledAllocations());
+    assertEquals(0, allocator.statistics().getCachedBytes());
+  }
+
+  @Test
+  public void testSharedPool() throws Exception {
+    SlabAllocator allocator = new SlabAllocator(SlabAllocator.DEFAULT_MAX_POOLED_SIZE, 0, SlabAllocator.DEFAULT_POOL_SIZE, false);
+    Buffer first = allocator.allocate(512);
+    first.close();
+    Buffer second = CompletableFuture.supplyAsync(() -> allocator.allocate(512)).get();
+    assertSame(first, second);
+    assertEquals(1, allocator.statistics().getPoolHits());
+  }
+
+  @Test
+  public void testLeakDetection() {
+    SlabAllocator allocator = new SlabAllocator(SlabAllocator.DEFAULT_MAX_POOLED_SIZE, SlabAllocator.DEFAULT_THREAD_CACHE_SIZE, SlabAllocator.DEFAULT_POOL_SIZE, true);
+    assertTrue(allocator.isLeakDetection());
+    SlabBuffer buffer = (SlabBuffer) allocator.allocate(512);
+    assertNotNull(buffer.tracker);
+    buffer.close();
+    assertNull(buffer.tracker);
+    assertEquals(0, allocator.statistics().getLeaks());
+  }
+}
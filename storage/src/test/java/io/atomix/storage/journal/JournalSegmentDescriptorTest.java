@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Segment descriptor test.
@@ -121,6 +123,39 @@ public class JournalSegmentDescriptorTest {
     assertEquals(descriptor.updated(), time);
   }
 
+  /**
+   * Tests sealing the segment descriptor.
+   */
+  @Test
+  public void testDescriptorSeal() {
+    Buffer buffer = FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES);
+    JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder(buffer)
+      .withId(2)
+      .withIndex(1025)
+      .withMaxSegmentSize(1024 * 1024)
+      .withMaxEntries(2048)
+      .build();
+    assertFalse(descriptor.isSealed());
+
+    descriptor.seal(1100, 4096, 4000, 1234);
+    buffer.close();
+
+    descriptor = new JournalSegmentDescriptor(FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES));
+    assertTrue(descriptor.isSealed());
+    assertEquals(descriptor.sealedIndex(), 1100);
+    assertEquals(descriptor.sealedLength(), 4096);
+    assertEquals(descriptor.sealedPosition(), 4000);
+    assertEquals(descriptor.sealedChecksum(), 1234);
+    assertEquals(descriptor.maxEntries(), 2048);
+
+    descriptor.unseal();
+    descriptor.close();
+
+    descriptor = new JournalSegmentDescriptor(FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES));
+    assertFalse(descriptor.isSealed());
+    descriptor.close();
+  }
+
   /**
    * Deletes the descriptor file.
    */
@@ -17,6 +17,7 @@ package io.atomix.storage.journal;
 
 import io.atomix.utils.serializer.Serializer;
 import io.atomix.utils.serializer.KryoNamespace;
+import io.atomix.storage.StorageException;
 import io.atomix.storage.StorageLevel;
 import org.junit.After;
 import org.junit.Before;
@@ -30,9 +31,13 @@ import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Log test.
@@ -55,6 +60,17 @@ public class JournalTest {
         .build();
   }
 
+  private SegmentedJournal<TestEntry> createCompressedJournal() {
+    return SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withMaxSegmentSize(1024)
+        .withCompressSegments()
+        .build();
+  }
+
   @Test
   public void testLogWriteRead() throws Exception {
     Journal<TestEntry> journal = createJournal(StorageLevel.MEMORY);
@@ -176,6 +192,263 @@ public class JournalTest {
     assertTrue(reader.hasNext());
     assertEquals(1, reader.next().index());
     assertFalse(reader.hasNext());
+    journal.close();
+  }
+
+  @Test
+  public void testAppendSerializedEntries() throws Exception {
+    Journal<TestEntry> source = createJournal(StorageLevel.DISK);
+    JournalWriter<TestEntry> sourceWriter = source.writer();
+    for (int i = 0; i < 10; i++) {
+      sourceWriter.append(new TestEntry(32));
+    }
+
+    Journal<TestEntry> target = SegmentedJournal.<TestEntry>builder()
+        .withName("target")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .build();
+    JournalWriter<TestEntry> targetWriter = target.writer();
+
+    // Copy the serialized entries from the source journal to the target journal.
+    JournalReader<TestEntry> sourceReader = source.openReader(1);
+    while (sourceReader.hasNext()) {
+      Indexed<TestEntry> entry = sourceReader.next();
+      targetWriter.append(new Indexed<>(entry.index(), entry.bytes(), entry.checksum(), serializer));
+    }
+    assertEquals(10, targetWriter.getLastIndex());
+
+    sourceReader.reset();
+    JournalReader<TestEntry> targetReader = target.openReader(1);
+    while (sourceReader.hasNext()) {
+      Indexed<TestEntry> sourceEntry = sourceReader.next();
+      Indexed<TestEntry> targetEntry = targetReader.next();
+      assertEquals(sourceEntry.index(), targetEntry.index());
+      assertEquals(sourceEntry.checksum(), targetEntry.checksum());
+      assertArrayEquals(sourceEntry.bytes(), targetEntry.bytes());
+      assertNotNull(targetEntry.entry());
+    }
+    assertFalse(targetReader.hasNext());
+
+    // Entries with invalid checksums should not be appended.
+    byte[] bytes = serializer.encode(new TestEntry(32));
+    try {
+      targetWriter.append(new Indexed<>(11, bytes, 0, serializer));
+      fail();
+    } catch (StorageException.InvalidChecksum e) {
+    }
+    assertEquals(10, targetWriter.getLastIndex());
+
+    source.close();
+    target.close();
+  }
+
+  @Test
+  public void testPreallocateSegments() throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withMaxSegmentSize(1024)
+        .build();
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < 100; i++) {
+      writer.append(new TestEntry(32));
+    }
+    writer.flush();
+    assertTrue(journal.getRollOverTime() > 0);
+    journal.close();
+
+    // Preallocated segment files should not be loaded as segments.
+    journal = createJournal(StorageLevel.DISK);
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= 100; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    assertFalse(reader.hasNext());
+    journal.close();
+  }
+
+  @Test
+  public void testSealedSegments() throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withMaxSegmentSize(1024)
+        .build();
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < 100; i++) {
+      writer.append(new TestEntry(32));
+    }
+    writer.flush();
+    assertTrue(journal.getFirstSegment().descriptor().isSealed());
+    assertFalse(journal.getLastSegment().descriptor().isSealed());
+    journal.close();
+
+    // Sealed segments should be loaded without scanning their entries and verified when they're read.
+    journal = createJournal(StorageLevel.DISK);
+    assertEquals(100, journal.writer().getLastIndex());
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= 100; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    assertFalse(reader.hasNext());
+
+    // Truncating a sealed segment should unseal it.
+    journal.writer().truncate(10);
+    assertFalse(journal.getLastSegment().descriptor().isSealed());
+    journal.writer().append(new TestEntry(32));
+    journal.close();
+
+    journal = createJournal(StorageLevel.DISK);
+    assertEquals(11, journal.writer().getLastIndex());
+    journal.close();
+  }
+
+  @Test
+  public void testSequentialReader() throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.MAPPED)
+        .withMaxSegmentSize(1024)
+        .build();
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < 100; i++) {
+      writer.append(new TestEntry(32));
+    }
+
+    JournalReader<TestEntry> reader = journal.openSequentialReader(1);
+    for (int i = 1; i <= 50; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+
+    // Entries written after the journal is truncated should be read by sequential readers of the truncated segment.
+    writer.truncate(55);
+    Indexed<TestEntry> entry = writer.append(new TestEntry(16));
+    for (int i = 51; i <= 55; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    assertTrue(reader.hasNext());
+    Indexed<TestEntry> indexed = reader.next();
+    assertEquals(56, indexed.index());
+    assertEquals(entry.size(), indexed.size());
+    assertFalse(reader.hasNext());
+    reader.close();
+    journal.close();
+  }
+
+  @Test
+  public void testCompressSegments() throws Exception {
+    SegmentedJournal<TestEntry> journal = createCompressedJournal();
+    JournalWriter<TestEntry> writer = journal.writer();
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 0; i < 1000; i++) {
+      writer.append(new TestEntry(32));
+      if (i % 100 == 0) {
+        Thread.sleep(10);
+      }
+    }
+
+    // Compressed segments should be read transparently.
+    for (int i = 1; i <= 1000; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    assertFalse(reader.hasNext());
+    assertTrue(journal.getFirstSegment().isCompressed());
+
+    // Truncating the journal into a compressed segment should decompress the segment.
+    writer.truncate(150);
+    assertFalse(journal.getLastSegment().isCompressed());
+    writer.append(new TestEntry(32));
+    assertEquals(151, writer.getLastIndex());
+    writer.flush();
+    journal.close();
+
+    // Compressed segments should be loaded from disk.
+    journal = createCompressedJournal();
+    reader = journal.openReader(1);
+    for (int i = 1; i <= 151; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    assertFalse(reader.hasNext());
+    journal.close();
+  }
+
+  @Test
+  public void testStatistics() throws Exception {
+    JournalStatistics statistics = new JournalStatistics();
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withMaxSegmentSize(1024)
+        .withStatistics(statistics)
+        .build();
+    assertSame(statistics, journal.statistics());
+
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < 100; i++) {
+      writer.append(new TestEntry(32));
+    }
+    writer.flush();
+    assertEquals(100, statistics.getAppends());
+    assertTrue(statistics.getAppendedBytes() > 100 * 32);
+    assertTrue(statistics.getFlushLatency().getCount() > 0);
+    assertTrue(statistics.getSegmentCount() > 1);
+    assertEquals(statistics.getSegmentCount(), statistics.getSegmentSizes().size());
+    assertTrue(statistics.getSize() > 100 * 32);
+
+    // Recently written entries should be read from the segment caches.
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    while (reader.hasNext()) {
+      reader.next();
+    }
+    assertEquals(0, statistics.getCacheMisses());
+    assertEquals(1, statistics.getCacheHitRate(), 0);
+    reader.close();
+    journal.close();
+
+    // Statistics should accumulate across instances of the journal.
+    journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withMaxSegmentSize(1024)
+        .withStatistics(statistics)
+        .build();
+    reader = journal.openReader(1);
+    reader.reset(50);
+    assertEquals(50, reader.getNextIndex());
+    assertTrue(statistics.getCacheMisses() > 0);
+
+    // Rewinding a reader should seek through the segment index.
+    long lookups = statistics.getIndexLookupLatency().getCount();
+    reader.reset(45);
+    assertEquals(45, reader.getNextIndex());
+    assertEquals(lookups + 1, statistics.getIndexLookupLatency().getCount());
+    reader.close();
+
+    int segments = statistics.getSegmentCount();
+    journal.compact(100);
+    assertEquals(1, statistics.getCompactions());
+    assertEquals(segments - statistics.getSegmentCount(), statistics.getCompactedSegments());
+    assertTrue(statistics.getCompactedBytes() > 0);
+    journal.close();
+    assertEquals(0, statistics.getSegmentCount());
   }
 
   @Before
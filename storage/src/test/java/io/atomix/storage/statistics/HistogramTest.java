@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.statistics;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Histogram and meter test.
+ */
+public class HistogramTest {
+  @Test
+  public void testHistogram() {
+    Histogram histogram = new Histogram();
+    assertEquals(0, histogram.getPercentile(.5));
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+    assertEquals(100, histogram.getCount());
+    assertEquals(5050, histogram.getTotal());
+    assertEquals(50.5, histogram.getMean(), 0);
+    assertEquals(100, histogram.getMax());
+
+    // Percentiles are estimated to within a power of two.
+    long median = histogram.getPercentile(.5);
+    assertTrue(median >= 50 && median < 100);
+    assertEquals(100, histogram.getPercentile(.99));
+    assertEquals(1, histogram.getPercentile(0));
+  }
+
+  @Test
+  public void testMeter() {
+    AtomicLong time = new AtomicLong();
+    Meter meter = new Meter(time::get);
+    meter.mark(50);
+    assertEquals(50, meter.getCount());
+    assertEquals(0, meter.getRate(), 0);
+
+    // The rate is updated once a tick interval has elapsed.
+    time.addAndGet(TimeUnit.SECONDS.toNanos(6));
+    assertEquals(10, meter.getRate(), .001);
+
+    // The rate decays while the meter is idle.
+    time.addAndGet(TimeUnit.MINUTES.toNanos(5));
+    assertTrue(meter.getRate() < .1);
+    assertEquals(50, meter.getCount());
+  }
+}
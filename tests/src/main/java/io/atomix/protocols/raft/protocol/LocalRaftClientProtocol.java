@@ -22,6 +22,7 @@ import io.atomix.utils.serializer.Serializer;
 import io.atomix.utils.concurrent.Futures;
 
 import java.net.ConnectException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -34,7 +35,7 @@ import java.util.function.Function;
  */
 public class LocalRaftClientProtocol extends LocalRaftProtocol implements RaftClientProtocol {
   private Function<HeartbeatRequest, CompletableFuture<HeartbeatResponse>> heartbeatHandler;
-  private final Map<Long, Consumer<PublishRequest>> publishListeners = Maps.newConcurrentMap();
+  private final Map<Long, Function<List<PublishRequest>, CompletableFuture<PublishResponse>>> publishListeners = Maps.newConcurrentMap();
 
   public LocalRaftClientProtocol(NodeId nodeId, Serializer serializer, Map<NodeId, LocalRaftServerProtocol> servers, Map<NodeId, LocalRaftClientProtocol> clients) {
     super(serializer, servers, clients);
@@ -75,6 +76,11 @@ public class LocalRaftClientProtocol extends LocalRaftProtocol implements RaftCl
     return getServer(nodeId).thenCompose(protocol -> protocol.command(encode(request))).thenApply(this::decode);
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> commandBatch(NodeId nodeId, CommandBatchRequest request) {
+    return getServer(nodeId).thenCompose(protocol -> protocol.commandBatch(encode(request))).thenApply(this::decode);
+  }
+
   @Override
   public CompletableFuture<MetadataResponse> metadata(NodeId nodeId, MetadataRequest request) {
     return getServer(nodeId).thenCompose(protocol -> protocol.metadata(encode(request))).thenApply(this::decode);
@@ -108,16 +114,23 @@ public class LocalRaftClientProtocol extends LocalRaftProtocol implements RaftCl
     });
   }
 
-  void publish(long sessionId, byte[] request) {
-    Consumer<PublishRequest> listener = publishListeners.get(sessionId);
+  CompletableFuture<byte[]> publish(long sessionId, byte[] request) {
+    Function<List<PublishRequest>, CompletableFuture<PublishResponse>> listener = publishListeners.get(sessionId);
     if (listener != null) {
-      listener.accept(decode(request));
+      return listener.apply(decode(request)).thenApply(this::encode);
+    } else {
+      return Futures.exceptionalFuture(new ConnectException());
     }
   }
 
   @Override
   public void registerPublishListener(SessionId sessionId, Consumer<PublishRequest> listener, Executor executor) {
-    publishListeners.put(sessionId.id(), request -> executor.execute(() -> listener.accept(request)));
+    publishListeners.put(sessionId.id(), requests -> CompletableFuture.supplyAsync(() -> {
+      requests.forEach(listener);
+      return PublishResponse.builder()
+          .withStatus(RaftResponse.Status.OK)
+          .build();
+    }, executor));
   }
 
   @Override
@@ -22,6 +22,7 @@ import io.atomix.utils.serializer.Serializer;
 import io.atomix.utils.concurrent.Futures;
 
 import java.net.ConnectException;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -37,6 +38,7 @@ public class LocalRaftServerProtocol extends LocalRaftProtocol implements RaftSe
   private Function<KeepAliveRequest, CompletableFuture<KeepAliveResponse>> keepAliveHandler;
   private Function<QueryRequest, CompletableFuture<QueryResponse>> queryHandler;
   private Function<CommandRequest, CompletableFuture<CommandResponse>> commandHandler;
+  private Function<CommandBatchRequest, CompletableFuture<CommandBatchResponse>> commandBatchHandler;
   private Function<MetadataRequest, CompletableFuture<MetadataResponse>> metadataHandler;
   private Function<JoinRequest, CompletableFuture<JoinResponse>> joinHandler;
   private Function<LeaveRequest, CompletableFuture<LeaveResponse>> leaveHandler;
@@ -46,6 +48,7 @@ public class LocalRaftServerProtocol extends LocalRaftProtocol implements RaftSe
   private Function<PollRequest, CompletableFuture<PollResponse>> pollHandler;
   private Function<VoteRequest, CompletableFuture<VoteResponse>> voteHandler;
   private Function<TransferRequest, CompletableFuture<TransferResponse>> transferHandler;
+  private Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> readIndexHandler;
   private Function<AppendRequest, CompletableFuture<AppendResponse>> appendHandler;
   private final Map<Long, Consumer<ResetRequest>> resetListeners = Maps.newConcurrentMap();
 
@@ -97,6 +100,11 @@ public class LocalRaftServerProtocol extends LocalRaftProtocol implements RaftSe
     return getServer(nodeId).thenCompose(listener -> listener.command(encode(request))).thenApply(this::decode);
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> commandBatch(NodeId nodeId, CommandBatchRequest request) {
+    return getServer(nodeId).thenCompose(listener -> listener.commandBatch(encode(request))).thenApply(this::decode);
+  }
+
   @Override
   public CompletableFuture<MetadataResponse> metadata(NodeId nodeId, MetadataRequest request) {
     return getServer(nodeId).thenCompose(listener -> listener.metadata(encode(request))).thenApply(this::decode);
@@ -132,6 +140,11 @@ public class LocalRaftServerProtocol extends LocalRaftProtocol implements RaftSe
     return getServer(nodeId).thenCompose(listener -> listener.install(encode(request))).thenApply(this::decode);
   }
 
+  @Override
+  public CompletableFuture<ReadIndexResponse> readIndex(NodeId nodeId, ReadIndexRequest request) {
+    return getServer(nodeId).thenCompose(listener -> listener.readIndex(encode(request))).thenApply(this::decode);
+  }
+
   @Override
   public CompletableFuture<PollResponse> poll(NodeId nodeId, PollRequest request) {
     return getServer(nodeId).thenCompose(listener -> listener.poll(encode(request))).thenApply(this::decode);
@@ -148,8 +161,8 @@ public class LocalRaftServerProtocol extends LocalRaftProtocol implements RaftSe
   }
 
   @Override
-  public void publish(NodeId nodeId, PublishRequest request) {
-    getClient(nodeId).thenAccept(protocol -> protocol.publish(request.session(), encode(request)));
+  public CompletableFuture<PublishResponse> publish(NodeId nodeId, List<PublishRequest> requests) {
+    return getClient(nodeId).thenCompose(protocol -> protocol.publish(requests.get(0).session(), encode(requests))).thenApply(this::decode);
   }
 
   @Override
@@ -247,6 +260,24 @@ public class LocalRaftServerProtocol extends LocalRaftProtocol implements RaftSe
     this.commandHandler = null;
   }
 
+  CompletableFuture<byte[]> commandBatch(byte[] request) {
+    if (commandBatchHandler != null) {
+      return commandBatchHandler.apply(decode(request)).thenApply(this::encode);
+    } else {
+      return Futures.exceptionalFuture(new ConnectException());
+    }
+  }
+
+  @Override
+  public void registerCommandBatchHandler(Function<CommandBatchRequest, CompletableFuture<CommandBatchResponse>> handler) {
+    this.commandBatchHandler = handler;
+  }
+
+  @Override
+  public void unregisterCommandBatchHandler() {
+    this.commandBatchHandler = null;
+  }
+
   CompletableFuture<byte[]> metadata(byte[] request) {
     if (metadataHandler != null) {
       return metadataHandler.apply(decode(request)).thenApply(this::encode);
@@ -409,6 +440,24 @@ public class LocalRaftServerProtocol extends LocalRaftProtocol implements RaftSe
     }
   }
 
+  @Override
+  public void registerReadIndexHandler(Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> handler) {
+    this.readIndexHandler = handler;
+  }
+
+  @Override
+  public void unregisterReadIndexHandler() {
+    this.readIndexHandler = null;
+  }
+
+  CompletableFuture<byte[]> readIndex(byte[] request) {
+    if (readIndexHandler != null) {
+      return readIndexHandler.apply(decode(request)).thenApply(this::encode);
+    } else {
+      return Futures.exceptionalFuture(new ConnectException());
+    }
+  }
+
   CompletableFuture<byte[]> append(byte[] request) {
     if (appendHandler != null) {
       return appendHandler.apply(decode(request)).thenApply(this::encode);
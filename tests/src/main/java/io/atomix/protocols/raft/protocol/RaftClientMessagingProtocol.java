@@ -21,6 +21,7 @@ import io.atomix.messaging.MessagingService;
 import io.atomix.primitive.session.SessionId;
 import io.atomix.utils.serializer.Serializer;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -60,6 +61,11 @@ public class RaftClientMessagingProtocol extends RaftMessagingProtocol implement
     return sendAndReceive(nodeId, "command", request);
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> commandBatch(NodeId nodeId, CommandBatchRequest request) {
+    return sendAndReceive(nodeId, "command-batch", request);
+  }
+
   @Override
   public CompletableFuture<MetadataResponse> metadata(NodeId nodeId, MetadataRequest request) {
     return sendAndReceive(nodeId, "metadata", request);
@@ -85,7 +91,11 @@ public class RaftClientMessagingProtocol extends RaftMessagingProtocol implement
   @Override
   public void registerPublishListener(SessionId sessionId, Consumer<PublishRequest> listener, Executor executor) {
     messagingService.registerHandler(String.format("publish-%d", sessionId.id()), (e, p) -> {
-      listener.accept(serializer.decode(p));
+      List<PublishRequest> requests = serializer.decode(p);
+      requests.forEach(listener);
+      return serializer.encode(PublishResponse.builder()
+          .withStatus(RaftResponse.Status.OK)
+          .build());
     }, executor);
   }
 
@@ -21,6 +21,7 @@ import io.atomix.messaging.MessagingService;
 import io.atomix.primitive.session.SessionId;
 import io.atomix.utils.serializer.Serializer;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -59,6 +60,11 @@ public class RaftServerMessagingProtocol extends RaftMessagingProtocol implement
     return sendAndReceive(nodeId, "command", request);
   }
 
+  @Override
+  public CompletableFuture<CommandBatchResponse> commandBatch(NodeId nodeId, CommandBatchRequest request) {
+    return sendAndReceive(nodeId, "command-batch", request);
+  }
+
   @Override
   public CompletableFuture<MetadataResponse> metadata(NodeId nodeId, MetadataRequest request) {
     return sendAndReceive(nodeId, "metadata", request);
@@ -94,6 +100,11 @@ public class RaftServerMessagingProtocol extends RaftMessagingProtocol implement
     return sendAndReceive(nodeId, "transfer", request);
   }
 
+  @Override
+  public CompletableFuture<ReadIndexResponse> readIndex(NodeId nodeId, ReadIndexRequest request) {
+    return sendAndReceive(nodeId, "read-index", request);
+  }
+
   @Override
   public CompletableFuture<PollResponse> poll(NodeId nodeId, PollRequest request) {
     return sendAndReceive(nodeId, "poll", request);
@@ -110,8 +121,8 @@ public class RaftServerMessagingProtocol extends RaftMessagingProtocol implement
   }
 
   @Override
-  public void publish(NodeId nodeId, PublishRequest request) {
-    sendAsync(nodeId, String.format("publish-%d", request.session()), request);
+  public CompletableFuture<PublishResponse> publish(NodeId nodeId, List<PublishRequest> requests) {
+    return sendAndReceive(nodeId, String.format("publish-%d", requests.get(0).session()), requests);
   }
 
   @Override
@@ -169,6 +180,16 @@ public class RaftServerMessagingProtocol extends RaftMessagingProtocol implement
     unregisterHandler("command");
   }
 
+  @Override
+  public void registerCommandBatchHandler(Function<CommandBatchRequest, CompletableFuture<CommandBatchResponse>> handler) {
+    registerHandler("command-batch", handler);
+  }
+
+  @Override
+  public void unregisterCommandBatchHandler() {
+    unregisterHandler("command-batch");
+  }
+
   @Override
   public void registerMetadataHandler(Function<MetadataRequest, CompletableFuture<MetadataResponse>> handler) {
     registerHandler("metadata", handler);
@@ -239,6 +260,16 @@ public class RaftServerMessagingProtocol extends RaftMessagingProtocol implement
     unregisterHandler("transfer");
   }
 
+  @Override
+  public void registerReadIndexHandler(Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> handler) {
+    registerHandler("read-index", handler);
+  }
+
+  @Override
+  public void unregisterReadIndexHandler() {
+    unregisterHandler("read-index");
+  }
+
   @Override
   public void registerPollHandler(Function<PollRequest, CompletableFuture<PollResponse>> handler) {
     registerHandler("poll", handler);
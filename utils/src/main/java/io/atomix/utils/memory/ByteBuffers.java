@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Bulk memory operations for {@link ByteBuffer}s.
+ * <p>
+ * Operations are implemented with the supported {@link ByteBuffer} and array APIs. Heap buffers are handled with
+ * array intrinsics, and direct and mapped buffers are handled with bulk transfers and word-at-a-time loops rather
+ * than per-byte access. None of the operations modify the position, limit or mark of the buffers they're given.
+ */
+public final class ByteBuffers {
+  private static final int CHUNK_SIZE = 1024 * 8;
+  private static final ByteBuffer ZEROS = ByteBuffer.allocateDirect(CHUNK_SIZE).asReadOnlyBuffer();
+
+  /**
+   * Fills a region of the given buffer with the given byte.
+   *
+   * @param buffer the buffer to fill
+   * @param offset the offset at which to begin filling the buffer
+   * @param length the number of bytes to fill
+   * @param value  the value with which to fill the buffer
+   * @throws IndexOutOfBoundsException if the region is not within the buffer's capacity
+   */
+  public static void fill(ByteBuffer buffer, int offset, int length, byte value) {
+    checkBounds(buffer, offset, length);
+    if (buffer.hasArray()) {
+      int start = buffer.arrayOffset() + offset;
+      Arrays.fill(buffer.array(), start, start + length, value);
+    } else if (value == 0 && length >= CHUNK_SIZE) {
+      // Large regions of off-heap memory are zeroed with bulk copies from a shared zeroed buffer.
+      ByteBuffer target = buffer.duplicate();
+      target.clear();
+      target.position(offset);
+      int remaining = length;
+      while (remaining > 0) {
+        ByteBuffer zeros = ZEROS.duplicate();
+        zeros.limit(Math.min(remaining, CHUNK_SIZE));
+        remaining -= zeros.remaining();
+        target.put(zeros);
+      }
+    } else {
+      long word = value & 0xffL;
+      word |= word << 8;
+      word |= word << 16;
+      word |= word << 32;
+      int position = offset;
+      int end = offset + length;
+      for (; position <= end - Long.BYTES; position += Long.BYTES) {
+        buffer.putLong(position, word);
+      }
+      for (; position < end; position++) {
+        buffer.put(position, value);
+      }
+    }
+  }
+
+  /**
+   * Copies bytes from one buffer to another.
+   * <p>
+   * The source and target may be the same buffer, in which case overlapping regions are copied as if through an
+   * intermediate buffer.
+   *
+   * @param src       the buffer from which to copy bytes
+   * @param srcOffset the offset in the source buffer from which to begin copying
+   * @param dst       the buffer to which to copy bytes
+   * @param dstOffset the offset in the target buffer at which to begin copying
+   * @param length    the number of bytes to copy
+   * @throws IndexOutOfBoundsException if either region is not within its buffer's capacity
+   */
+  public static void copy(ByteBuffer src, int srcOffset, ByteBuffer dst, int dstOffset, int length) {
+    checkBounds(src, srcOffset, length);
+    checkBounds(dst, dstOffset, length);
+    if (src.hasArray() && dst.hasArray()) {
+      System.arraycopy(src.array(), src.arrayOffset() + srcOffset, dst.array(), dst.arrayOffset() + dstOffset, length);
+    } else if (src.hasArray()) {
+      copy(src.array(), src.arrayOffset() + srcOffset, dst, dstOffset, length);
+    } else if (dst.hasArray()) {
+      copy(src, srcOffset, dst.array(), dst.arrayOffset() + dstOffset, length);
+    } else {
+      ByteBuffer source = src.duplicate();
+      source.clear();
+      source.limit(srcOffset + length);
+      source.position(srcOffset);
+      ByteBuffer target = dst.duplicate();
+      target.clear();
+      target.position(dstOffset);
+      target.put(source);
+    }
+  }
+
+  /**
+   * Copies bytes from a buffer to an array.
+   *
+   * @param src       the buffer from which to copy bytes
+   * @param srcOffset the offset in the source buffer from which to begin copying
+   * @param dst       the array to which to copy bytes
+   * @param dstOffset the offset in the array at which to begin copying
+   * @param length    the number of bytes to copy
+   * @throws IndexOutOfBoundsException if either region is out of bounds
+   */
+  public static void copy(ByteBuffer src, int srcOffset, byte[] dst, int dstOffset, int length) {
+    checkBounds(src, srcOffset, length);
+    if (src.hasArray()) {
+      System.arraycopy(src.array(), src.arrayOffset() + srcOffset, dst, dstOffset, length);
+    } else {
+      ByteBuffer source = src.duplicate();
+      source.clear();
+      source.position(srcOffset);
+      source.get(dst, dstOffset, length);
+    }
+  }
+
+  /**
+   * Copies bytes from an array to a buffer.
+   *
+   * @param src       the array from which to copy bytes
+   * @param srcOffset the offset in the array from which to begin copying
+   * @param dst       the buffer to which to copy bytes
+   * @param dstOffset the offset in the target buffer at which to begin copying
+   * @param length    the number of bytes to copy
+   * @throws IndexOutOfBoundsException if either region is out of bounds
+   */
+  public static void copy(byte[] src, int srcOffset, ByteBuffer dst, int dstOffset, int length) {
+    checkBounds(dst, dstOffset, length);
+    if (dst.hasArray()) {
+      System.arraycopy(src, srcOffset, dst.array(), dst.arrayOffset() + dstOffset, length);
+    } else {
+      ByteBuffer target = dst.duplicate();
+      target.clear();
+      target.position(dstOffset);
+      target.put(src, srcOffset, length);
+    }
+  }
+
+  /**
+   * Lexicographically compares regions of two buffers, treating bytes as unsigned values.
+   *
+   * @param a       the first buffer
+   * @param aOffset the offset of the region in the first buffer
+   * @param b       the second buffer
+   * @param bOffset the offset of the region in the second buffer
+   * @param length  the number of bytes to compare
+   * @return a negative value, zero, or a positive value as the first region is less than, equal to, or greater than
+   * the second region
+   * @throws IndexOutOfBoundsException if either region is not within its buffer's capacity
+   */
+  public static int compare(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length) {
+    checkBounds(a, aOffset, length);
+    checkBounds(b, bOffset, length);
+
+    // Big endian words compare in the same order as their bytes.
+    ByteBuffer left = a.duplicate().order(ByteOrder.BIG_ENDIAN);
+    ByteBuffer right = b.duplicate().order(ByteOrder.BIG_ENDIAN);
+    int i = 0;
+    for (; i <= length - Long.BYTES; i += Long.BYTES) {
+      long l = left.getLong(aOffset + i);
+      long r = right.getLong(bOffset + i);
+      if (l != r) {
+        return Long.compareUnsigned(l, r);
+      }
+    }
+    for (; i < length; i++) {
+      int result = (left.get(aOffset + i) & 0xff) - (right.get(bOffset + i) & 0xff);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Computes the CRC32 checksum of a region of the given buffer.
+   *
+   * @param buffer the buffer for which to compute the checksum
+   * @param offset the offset of the region for which to compute the checksum
+   * @param length the number of bytes for which to compute the checksum
+   * @return the CRC32 checksum of the region
+   * @throws IndexOutOfBoundsException if the region is not within the buffer's capacity
+   */
+  public static long checksum(ByteBuffer buffer, int offset, int length) {
+    CRC32 crc32 = new CRC32();
+    update(crc32, buffer, offset, length);
+    return crc32.getValue();
+  }
+
+  /**
+   * Updates the given CRC32 checksum with a region of the given buffer.
+   *
+   * @param crc32  the checksum to update
+   * @param buffer the buffer with which to update the checksum
+   * @param offset the offset of the region with which to update the checksum
+   * @param length the number of bytes with which to update the checksum
+   * @throws IndexOutOfBoundsException if the region is not within the buffer's capacity
+   */
+  public static void update(CRC32 crc32, ByteBuffer buffer, int offset, int length) {
+    checkBounds(buffer, offset, length);
+    if (buffer.hasArray()) {
+      crc32.update(buffer.array(), buffer.arrayOffset() + offset, length);
+    } else {
+      ByteBuffer source = buffer.duplicate();
+      source.clear();
+      source.limit(offset + length);
+      source.position(offset);
+      crc32.update(source);
+    }
+  }
+
+  /**
+   * Checks that the given region is within the buffer's capacity.
+   */
+  private static void checkBounds(ByteBuffer buffer, int offset, int length) {
+    if (offset < 0 || length < 0 || offset > buffer.capacity() - length) {
+      throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", capacity: " + buffer.capacity());
+    }
+  }
+
+  private ByteBuffers() {
+  }
+}
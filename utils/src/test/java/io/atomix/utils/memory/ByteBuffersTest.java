@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.memory;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Byte buffers test.
+ */
+public class ByteBuffersTest {
+  private final Random random = new Random(1);
+
+  private ByteBuffer[] createBuffers(int size) {
+    ByteBuffer offset = ByteBuffer.allocate(size + 3);
+    offset.position(3);
+    return new ByteBuffer[]{ByteBuffer.allocate(size), ByteBuffer.allocateDirect(size), offset.slice()};
+  }
+
+  private byte[] randomBytes(int size) {
+    byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  private byte[] toArray(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.capacity()];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = buffer.get(i);
+    }
+    return bytes;
+  }
+
+  @Test
+  public void testFill() {
+    for (int size : new int[]{7, 1024, 1024 * 64 + 5}) {
+      for (ByteBuffer buffer : createBuffers(size)) {
+        byte[] bytes = randomBytes(size);
+        ByteBuffers.copy(bytes, 0, buffer, 0, size);
+        ByteBuffers.fill(buffer, 1, size - 2, (byte) 0);
+        ByteBuffers.fill(buffer, 0, 1, (byte) 7);
+
+        byte[] expected = bytes.clone();
+        for (int i = 1; i < size - 1; i++) {
+          expected[i] = 0;
+        }
+        expected[0] = 7;
+        assertArrayEquals(expected, toArray(buffer));
+        assertEquals(0, buffer.position());
+      }
+    }
+  }
+
+  @Test
+  public void testCopy() {
+    int size = 1024 * 20 + 3;
+    byte[] bytes = randomBytes(size);
+    for (ByteBuffer source : createBuffers(size)) {
+      ByteBuffers.copy(bytes, 0, source, 0, size);
+      for (ByteBuffer target : createBuffers(size)) {
+        ByteBuffers.copy(source, 5, target, 11, size - 20);
+        for (int i = 0; i < size - 20; i++) {
+          assertEquals(bytes[5 + i], target.get(11 + i));
+        }
+
+        byte[] array = new byte[size];
+        ByteBuffers.copy(source, 0, array, 0, size);
+        assertArrayEquals(bytes, array);
+      }
+    }
+  }
+
+  @Test
+  public void testCompare() {
+    int size = 1029;
+    byte[] bytes = randomBytes(size);
+    for (ByteBuffer left : createBuffers(size)) {
+      for (ByteBuffer right : createBuffers(size)) {
+        ByteBuffers.copy(bytes, 0, left, 0, size);
+        ByteBuffers.copy(bytes, 0, right, 0, size);
+        assertEquals(0, ByteBuffers.compare(left, 0, right, 0, size));
+
+        right.put(1000, (byte) (bytes[1000] + 1));
+        assertTrue(ByteBuffers.compare(left, 0, right, 0, size) != 0);
+        assertEquals(0, ByteBuffers.compare(left, 0, right, 0, 1000));
+
+        // Bytes are compared as unsigned values.
+        left.put(1028, (byte) 0x01);
+        right.put(1028, (byte) 0xff);
+        assertTrue(ByteBuffers.compare(left, 1028, right, 1028, 1) < 0);
+        assertTrue(ByteBuffers.compare(right, 1021, left, 1021, 8) > 0);
+      }
+    }
+  }
+
+  @Test
+  public void testChecksum() {
+    int size = 4099;
+    byte[] bytes = randomBytes(size);
+    CRC32 crc32 = new CRC32();
+    crc32.update(bytes, 10, size - 20);
+    for (ByteBuffer buffer : createBuffers(size)) {
+      ByteBuffers.copy(bytes, 0, buffer, 0, size);
+      assertEquals(crc32.getValue(), ByteBuffers.checksum(buffer, 10, size - 20));
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testFillOutOfBounds() {
+    ByteBuffers.fill(ByteBuffer.allocate(10), 5, 6, (byte) 0);
+  }
+}